@@ -53,18 +53,29 @@ public class ClassificationConfig {
 
 	/**
 	 * Gets the {@link Comparator} which defines the order in which releasable to
-	 * lists should be sorted.
+	 * lists should be sorted, from the bound {@link ClassificationContext} if there is one.
 	 * 
 	 * @return the configured {@link Comparator}.
 	 */
 	public static Comparator<String> releasableToOrder() {
-		Config config = getInstance();
-		if (config.trquinnClassificationReltoOrder.equals(FIVEEYESFIRST)) {
+		ClassificationContext context = ClassificationContext.bound();
+		if (context != null) {
+			return context.releasableToOrder();
+		}
+		return releasableToOrder(getInstance().trquinnClassificationReltoOrder);
+	}
+
+	static Comparator<String> releasableToOrder(String order) {
+		if (order.equals(FIVEEYESFIRST)) {
 			return Utils.FIVE_EYES_FIRST;
 		}
 		return Utils.AUS_FIRST;
 	}
 
+	static String configuredReleasableToOrder() {
+		return getInstance().trquinnClassificationReltoOrder;
+	}
+
 	/**
 	 * Returns if the Classifications are in production mode.
 	 * 
@@ -77,10 +88,20 @@ public class ClassificationConfig {
 	 * <p>
 	 * Defaults to false. Needs to be set by a developer to use real
 	 * {@link io.github.trquinn76.classification.aus.model.Classification}'s.
+	 * <p>
+	 * While a {@link ClassificationContext} is bound to the current thread, its production mode is returned instead.
 	 * 
 	 * @return true if in Production Mode, false otherwise.
 	 */
 	public static boolean productionMode() {
+		ClassificationContext context = ClassificationContext.bound();
+		if (context != null) {
+			return context.productionMode();
+		}
+		return configuredProductionMode();
+	}
+
+	static boolean configuredProductionMode() {
 		Config config = getInstance();
 		return config.trquinnClassificationProductionMode;
 	}
@@ -118,6 +139,8 @@ public class ClassificationConfig {
 
 	private static Config getInstance() {
 		if (INSTANCE == null) {
+			ConfigLoadEvent event = new ConfigLoadEvent();
+			event.begin();
 			List<String> filesToSearch = makeListOfConfigFiles();
 			List<Properties> configProperties = readPropertiesConfigFiles(filesToSearch);
 
@@ -134,6 +157,8 @@ public class ClassificationConfig {
 			config.develTopSecretName = getConfig(DEVELTOPSECRETNAME, configProperties);
 
 			INSTANCE = config;
+			Instrumentation.configLoaded(event, filesToSearch, configProperties.size(),
+					config.trquinnClassificationProductionMode);
 		}
 		return INSTANCE;
 	}
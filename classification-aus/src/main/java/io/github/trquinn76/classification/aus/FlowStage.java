@@ -0,0 +1,263 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Flow.Processor} which applies a {@link Step} to each item, for a single {@link Flow.Subscriber}.
+ * <p>
+ * No more than {@code bufferSize} items are requested from upstream ahead of downstream demand, so no more than
+ * {@code bufferSize} outputs are ever buffered. Upstream is replenished in batches of three quarters of
+ * {@code bufferSize}, as outputs are delivered downstream, or as inputs are absorbed without producing an output.
+ * Downstream signals are always delivered by a single thread at a time, from a drain loop which may run on the thread
+ * of an upstream signal, or of a downstream request. The {@link Step} runs within the {@link ClassificationContext}
+ * bound when the stage was created.
+ *
+ * @param <T> the input type.
+ * @param <R> the output type.
+ */
+final class FlowStage<T, R> implements Flow.Processor<T, R>, Flow.Subscription {
+
+	/**
+	 * The work done for each item. {@link #apply(Object)} and {@link #finish()} are never called concurrently.
+	 *
+	 * @param <T> the input type.
+	 * @param <R> the output type.
+	 */
+	interface Step<T, R> {
+
+		/**
+		 * @param item the input.
+		 * @return the output, or null if the input produced no output.
+		 */
+		R apply(T item);
+
+		/**
+		 * Called when upstream completes.
+		 *
+		 * @return any final output, or null.
+		 */
+		default R finish() {
+			return null;
+		}
+	}
+
+	private static final Flow.Subscription CANCELLED = new Flow.Subscription() {
+		@Override
+		public void request(long n) {
+		}
+
+		@Override
+		public void cancel() {
+		}
+	};
+
+	private final Step<T, R> step;
+	private final ClassificationContext context = ClassificationContext.bound();
+	private final int limit;
+	private final int bufferSize;
+	private final Queue<R> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicReference<Flow.Subscriber<? super R>> downstream = new AtomicReference<>();
+	private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+	private final AtomicLong requested = new AtomicLong();
+	private final AtomicInteger absorbed = new AtomicInteger();
+	private final AtomicInteger wip = new AtomicInteger();
+	private volatile boolean done = false;
+	private volatile Throwable error = null;
+	private volatile boolean cancelled = false;
+	// only accessed by the drain loop.
+	private int consumed = 0;
+	private boolean terminated = false;
+
+	FlowStage(Step<T, R> step, int bufferSize) {
+		Objects.requireNonNull(step);
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+		}
+		this.step = step;
+		this.bufferSize = bufferSize;
+		this.limit = Math.max(1, bufferSize - (bufferSize >> 2));
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super R> subscriber) {
+		Objects.requireNonNull(subscriber);
+		if (!this.downstream.compareAndSet(null, subscriber)) {
+			subscriber.onSubscribe(CANCELLED);
+			subscriber.onError(new IllegalStateException("Only one Subscriber is supported."));
+			return;
+		}
+		subscriber.onSubscribe(this);
+		drain();
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		Objects.requireNonNull(subscription);
+		if (!this.upstream.compareAndSet(null, subscription)) {
+			subscription.cancel();
+			return;
+		}
+		if (this.cancelled) {
+			subscription.cancel();
+		}
+		else {
+			subscription.request(this.bufferSize);
+		}
+	}
+
+	@Override
+	public void onNext(T item) {
+		if (this.done || this.cancelled) {
+			return;
+		}
+		R output;
+		try {
+			output = this.context == null ? this.step.apply(item) : this.context.get(() -> this.step.apply(item));
+		}
+		catch (RuntimeException e) {
+			cancelUpstream();
+			onError(e);
+			return;
+		}
+		if (output == null) {
+			this.absorbed.incrementAndGet();
+		}
+		else {
+			this.queue.offer(output);
+		}
+		drain();
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		if (this.done) {
+			return;
+		}
+		this.error = Objects.requireNonNull(throwable);
+		this.done = true;
+		drain();
+	}
+
+	@Override
+	public void onComplete() {
+		if (this.done) {
+			return;
+		}
+		try {
+			R output = this.context == null ? this.step.finish() : this.context.get(this.step::finish);
+			if (output != null) {
+				this.queue.offer(output);
+			}
+		}
+		catch (RuntimeException e) {
+			this.error = e;
+		}
+		this.done = true;
+		drain();
+	}
+
+	@Override
+	public void request(long n) {
+		if (n <= 0) {
+			cancelUpstream();
+			onError(new IllegalArgumentException("Requests must be positive: " + n));
+			return;
+		}
+		this.requested.getAndAccumulate(n, (current, added) -> {
+			long sum = current + added;
+			return sum < 0 ? Long.MAX_VALUE : sum;
+		});
+		drain();
+	}
+
+	@Override
+	public void cancel() {
+		this.cancelled = true;
+		cancelUpstream();
+		drain();
+	}
+
+	private void cancelUpstream() {
+		Flow.Subscription subscription = this.upstream.getAndSet(CANCELLED);
+		if (subscription != null) {
+			subscription.cancel();
+		}
+	}
+
+	private void drain() {
+		if (this.wip.getAndIncrement() != 0) {
+			return;
+		}
+		int missed = 1;
+		do {
+			Flow.Subscriber<? super R> subscriber = this.downstream.get();
+			if (subscriber != null && !this.terminated) {
+				long demand = this.requested.get();
+				long emitted = 0;
+				while (!this.terminated) {
+					if (checkTerminated(subscriber)) {
+						break;
+					}
+					if (emitted == demand) {
+						break;
+					}
+					R item = this.queue.poll();
+					if (item == null) {
+						break;
+					}
+					subscriber.onNext(item);
+					emitted++;
+					replenish(1);
+				}
+				if (emitted != 0 && demand != Long.MAX_VALUE) {
+					this.requested.addAndGet(-emitted);
+				}
+			}
+			if (this.terminated) {
+				this.queue.clear();
+			}
+			else {
+				replenish(this.absorbed.getAndSet(0));
+			}
+			missed = this.wip.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	private boolean checkTerminated(Flow.Subscriber<? super R> subscriber) {
+		if (this.cancelled) {
+			this.terminated = true;
+			return true;
+		}
+		if (this.done) {
+			Throwable throwable = this.error;
+			if (throwable != null) {
+				this.terminated = true;
+				subscriber.onError(throwable);
+				return true;
+			}
+			if (this.queue.isEmpty()) {
+				this.terminated = true;
+				subscriber.onComplete();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void replenish(int count) {
+		this.consumed += count;
+		if (this.consumed >= this.limit) {
+			Flow.Subscription subscription = this.upstream.get();
+			if (subscription != null && !this.done) {
+				subscription.request(this.consumed);
+			}
+			this.consumed = 0;
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityCaveat;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+
+/**
+ * Maintains the merge of a changing collection of {@link ProtectiveMarker}'s, such as the items of a briefing pack,
+ * with the same result as {@link Utils#merge(java.util.Collection)}.
+ * <p>
+ * Rather than refolding the whole collection on each change, the {@link HighWaterMarkAggregator} keeps a count of the
+ * markers carrying each component: each {@link Classification}, code word, foreign government marking and
+ * {@link ReleasabilityType}, and each country of a {@code REL} {@link ReleasabilityCaveat}. A country is in the merged
+ * releasable to list while it is named by every {@code REL} caveat, so countries are also grouped by their count. Adding
+ * or removing a {@link ProtectiveMarker} therefore costs time in proportion to the size of that marker, and not of the
+ * collection.
+ * <p>
+ * A {@link HighWaterMarkAggregator} may be shared between threads.
+ */
+public final class HighWaterMarkAggregator {
+
+	private final Map<ProtectiveMarker, Integer> markers = new HashMap<>();
+	private final TreeMap<Classification, Integer> classifications = new TreeMap<>();
+	private final Map<String, Integer> codeWords = new HashMap<>();
+	private final Map<String, Integer> foreignGovernmentMarkings = new HashMap<>();
+	private final int[] releasabilityTypes = new int[ReleasabilityType.values().length];
+	private final Map<String, Integer> releasableToCounts = new HashMap<>();
+	private final Map<Integer, Set<String>> releasableToByCount = new HashMap<>();
+	private int size = 0;
+
+	/**
+	 * Constructor for an empty collection.
+	 */
+	public HighWaterMarkAggregator() {
+	}
+
+	/**
+	 * Adds a {@link ProtectiveMarker} to the collection. A {@link ProtectiveMarker} may be added more than once.
+	 *
+	 * @param marker the {@link ProtectiveMarker} to add. May not be null.
+	 */
+	public synchronized void add(ProtectiveMarker marker) {
+		Objects.requireNonNull(marker);
+		this.markers.merge(marker, 1, Integer::sum);
+		update(marker, 1);
+		this.size++;
+	}
+
+	/**
+	 * Adds every {@link ProtectiveMarker} of another {@link HighWaterMarkAggregator} to the collection, as if each
+	 * occurrence were added in turn. This costs time in proportion to the distinct markers of the other
+	 * {@link HighWaterMarkAggregator}, rather than to every occurrence.
+	 *
+	 * @param other the {@link HighWaterMarkAggregator} whose markers to add. May not be null.
+	 */
+	public void addAll(HighWaterMarkAggregator other) {
+		Map<ProtectiveMarker, Integer> markers;
+		// copied first, so that the two aggregators are never locked at once.
+		synchronized (other) {
+			markers = new HashMap<>(other.markers);
+		}
+		synchronized (this) {
+			markers.forEach((marker, count) -> {
+				this.markers.merge(marker, count, Integer::sum);
+				update(marker, count);
+				this.size += count;
+			});
+		}
+	}
+
+	/**
+	 * Removes one occurrence of a {@link ProtectiveMarker} from the collection.
+	 *
+	 * @param marker the {@link ProtectiveMarker} to remove. May be null.
+	 * @return true if the {@link ProtectiveMarker} was in the collection.
+	 */
+	public synchronized boolean remove(ProtectiveMarker marker) {
+		if (marker == null || !this.markers.containsKey(marker)) {
+			return false;
+		}
+		count(this.markers, marker, -1);
+		update(marker, -1);
+		this.size--;
+		return true;
+	}
+
+	/**
+	 * Removes every {@link ProtectiveMarker} from the collection.
+	 */
+	public synchronized void clear() {
+		this.markers.clear();
+		this.classifications.clear();
+		this.codeWords.clear();
+		this.foreignGovernmentMarkings.clear();
+		this.releasableToCounts.clear();
+		this.releasableToByCount.clear();
+		Arrays.fill(this.releasabilityTypes, 0);
+		this.size = 0;
+	}
+
+	/**
+	 * @return the number of {@link ProtectiveMarker}'s in the collection, counting each occurrence.
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return the highest {@link Classification} in the collection, or null if the collection is empty.
+	 */
+	public synchronized Classification classification() {
+		return this.classifications.isEmpty() ? null : this.classifications.lastKey();
+	}
+
+	/**
+	 * Provides the merge of the collection, as {@link Utils#merge(java.util.Collection)} would.
+	 * <p>
+	 * The returned {@link ProtectiveMarkerBuilder} may be in an invalid state, and may need additional changes to
+	 * be able to build a valid {@link ProtectiveMarker}.
+	 *
+	 * @return a new {@link ProtectiveMarkerBuilder} representing the merge, or null if the collection is empty.
+	 */
+	public synchronized ProtectiveMarkerBuilder merged() {
+		if (this.size == 0) {
+			return null;
+		}
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder()
+				.setClassification(this.classifications.lastKey())
+				.setCodeWords(this.codeWords.keySet())
+				.setForeignGovernmentMarkings(this.foreignGovernmentMarkings.keySet());
+		// the most restrictive releasability applies.
+		for (ReleasabilityType type : ReleasabilityType.values()) {
+			int count = this.releasabilityTypes[type.ordinal()];
+			if (count > 0) {
+				if (type == ReleasabilityType.REL) {
+					builder.setReleasableToList(this.releasableToByCount.getOrDefault(count, Set.of()));
+				}
+				builder.setReleasability(type);
+				break;
+			}
+		}
+		return builder;
+	}
+
+	private void update(ProtectiveMarker marker, int delta) {
+		count(this.classifications, marker.classification(), delta);
+		SecurityCaveats caveats = marker.securityCaveats();
+		if (caveats == null) {
+			return;
+		}
+		caveats.codeWords().forEach(codeWord -> count(this.codeWords, codeWord, delta));
+		caveats.foreignGovernmentMarkings().forEach(fgm -> count(this.foreignGovernmentMarkings, fgm, delta));
+		ReleasabilityCaveat releasability = caveats.releasabilityCaveat();
+		if (releasability != null) {
+			this.releasabilityTypes[releasability.type().ordinal()] += delta;
+			if (releasability.type() == ReleasabilityType.REL) {
+				releasability.releasableToList().forEach(country -> countCountry(country, delta));
+			}
+		}
+	}
+
+	private void countCountry(String country, int delta) {
+		int before = this.releasableToCounts.getOrDefault(country, 0);
+		int after = before + delta;
+		if (before > 0) {
+			Set<String> countries = this.releasableToByCount.get(before);
+			countries.remove(country);
+			if (countries.isEmpty()) {
+				this.releasableToByCount.remove(before);
+			}
+		}
+		if (after > 0) {
+			this.releasableToCounts.put(country, after);
+			this.releasableToByCount.computeIfAbsent(after, count -> new HashSet<>()).add(country);
+		}
+		else {
+			this.releasableToCounts.remove(country);
+		}
+	}
+
+	private static <K> void count(Map<K, Integer> counts, K key, int delta) {
+		counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+	}
+}
@@ -0,0 +1,233 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+/**
+ * Tracks the high water mark of every {@link ProtectiveMarker} observed while a task, such as the handling of a
+ * request, runs, including by the subtasks it forks.
+ * <p>
+ * A {@link HighWaterMarkScope} is bound to the current thread by {@link #run(Runnable)} or {@link #get(Supplier)}, and
+ * code called by the task reports each {@link ProtectiveMarker} it reads to {@link #observe(ProtectiveMarker)}, without
+ * being given the scope. Subtasks wrapped by {@link #fork(Callable)} bind the scope on the thread which runs them,
+ * which may be a virtual thread. Each binding folds the markers it observes into its own
+ * {@link HighWaterMarkAggregator} as they are observed, on its own thread without contention, and adds its aggregate to
+ * that of the scope when it ends, so the markers of a subtask are combined into the scope once the subtask has been
+ * joined. Markers observed while another scope is bound within this one are also observed by this one.
+ * <p>
+ * {@link #merged()} provides the merge of every marker observed by the bindings which have ended, and by those of the
+ * current thread, as {@link Utils#merge(java.util.Collection)} would, built into a {@link ProtectiveMarker}. On the
+ * current thread this includes the markers observed while another scope is bound within this one, before that scope
+ * ends. The markers of a subtask which is still running are not included.
+ */
+public final class HighWaterMarkScope {
+
+	private static final ThreadLocal<Binding> BOUND = new ThreadLocal<>();
+
+	// set once a scope has been bound, so that applications which never bind one skip the thread local lookup.
+	private static volatile boolean used = false;
+
+	private final HighWaterMarkAggregator joined = new HighWaterMarkAggregator();
+
+	/**
+	 * Constructor for a scope in which no marker has been observed. The scope observes markers only while it is bound,
+	 * by {@link #run(Runnable)}, {@link #get(Supplier)} or a subtask wrapped by {@link #fork(Callable)}.
+	 */
+	public HighWaterMarkScope() {
+	}
+
+	/**
+	 * Observes a {@link ProtectiveMarker} in the {@link HighWaterMarkScope} bound to the current thread, if there is
+	 * one.
+	 *
+	 * @param marker the {@link ProtectiveMarker} read. May not be null.
+	 * @return true if a {@link HighWaterMarkScope} is bound, false if the marker was ignored.
+	 */
+	public static boolean observe(ProtectiveMarker marker) {
+		Objects.requireNonNull(marker);
+		Binding binding = used ? BOUND.get() : null;
+		if (binding == null) {
+			return false;
+		}
+		binding.aggregator().add(marker);
+		return true;
+	}
+
+	/**
+	 * Provides the {@link HighWaterMarkScope} bound to the current thread, so that code which forks subtasks may do so
+	 * within it.
+	 *
+	 * @return the innermost {@link HighWaterMarkScope} bound to the current thread, or null.
+	 */
+	public static HighWaterMarkScope current() {
+		Binding binding = used ? BOUND.get() : null;
+		return binding == null ? null : binding.scope;
+	}
+
+	/**
+	 * Runs the given task with this {@link HighWaterMarkScope} bound to the current thread.
+	 *
+	 * @param task the task to run. May not be null.
+	 */
+	public void run(Runnable task) {
+		Objects.requireNonNull(task);
+		Binding binding = bind();
+		try {
+			task.run();
+		} finally {
+			unbind(binding);
+		}
+	}
+
+	/**
+	 * Runs the given task with this {@link HighWaterMarkScope} bound to the current thread, and provides its result.
+	 *
+	 * @param <T>  the type of the result.
+	 * @param task the task to run. May not be null.
+	 * @return the result of the task.
+	 */
+	public <T> T get(Supplier<T> task) {
+		Objects.requireNonNull(task);
+		Binding binding = bind();
+		try {
+			return task.get();
+		} finally {
+			unbind(binding);
+		}
+	}
+
+	/**
+	 * Wraps a subtask, so that it runs with this {@link HighWaterMarkScope} bound to whichever thread runs it, such as
+	 * a virtual thread of an {@link java.util.concurrent.ExecutorService}. The {@link ClassificationContext} bound
+	 * when the subtask is forked is bound while it runs too.
+	 *
+	 * @param <T>  the type of the result.
+	 * @param task the subtask. May not be null.
+	 * @return a {@link Callable} which runs the subtask within this scope.
+	 */
+	public <T> Callable<T> fork(Callable<T> task) {
+		Objects.requireNonNull(task);
+		return ClassificationContext.capture(() -> {
+			Binding binding = bind();
+			try {
+				return task.call();
+			} finally {
+				unbind(binding);
+			}
+		});
+	}
+
+	/**
+	 * Wraps a subtask, so that it runs with this {@link HighWaterMarkScope}, and the {@link ClassificationContext}
+	 * bound when it is forked, bound to whichever thread runs it.
+	 *
+	 * @param task the subtask. May not be null.
+	 * @return a {@link Runnable} which runs the subtask within this scope.
+	 */
+	public Runnable fork(Runnable task) {
+		Objects.requireNonNull(task);
+		return ClassificationContext.capture(() -> run(task));
+	}
+
+	/**
+	 * @return the highest {@link Classification} observed, or null if no marker has been observed.
+	 */
+	public Classification classification() {
+		return aggregator().classification();
+	}
+
+	/**
+	 * Provides the merge of every {@link ProtectiveMarker} observed, as {@link Utils#merge(java.util.Collection)}
+	 * would.
+	 *
+	 * @return the merged {@link ProtectiveMarker}, or null if no marker has been observed.
+	 * @throws IllegalStateException if the merge is not a valid {@link ProtectiveMarker}.
+	 */
+	public ProtectiveMarker merged() {
+		ProtectiveMarkerBuilder merged = aggregator().merged();
+		return merged == null ? null : merged.build();
+	}
+
+	/**
+	 * @return the aggregate of the bindings which have ended, combined with those still bound to the current thread
+	 *		 within the outermost binding of this scope.
+	 */
+	private HighWaterMarkAggregator aggregator() {
+		Binding innermost = used ? BOUND.get() : null;
+		Binding outermost = null;
+		for (Binding binding = innermost; binding != null; binding = binding.outer) {
+			if (binding.scope == this) {
+				outermost = binding;
+			}
+		}
+		if (outermost == null) {
+			return this.joined;
+		}
+		// a binding nested within one of this scope, of any scope, holds markers this scope observed, which are only
+		// added to the enclosing binding when the nested binding ends.
+		HighWaterMarkAggregator aggregator = this.joined;
+		for (Binding binding = innermost; binding != outermost.outer; binding = binding.outer) {
+			if (binding.aggregator != null) {
+				if (aggregator == this.joined) {
+					aggregator = new HighWaterMarkAggregator();
+					aggregator.addAll(this.joined);
+				}
+				aggregator.addAll(binding.aggregator);
+			}
+		}
+		return aggregator;
+	}
+
+	private Binding bind() {
+		used = true;
+		Binding binding = new Binding(this, BOUND.get());
+		BOUND.set(binding);
+		return binding;
+	}
+
+	private void unbind(Binding binding) {
+		if (binding.outer == null) {
+			BOUND.remove();
+		} else {
+			BOUND.set(binding.outer);
+		}
+		if (binding.aggregator == null) {
+			return;
+		}
+		if (binding.outer != null) {
+			// the enclosing binding observed them too.
+			binding.outer.aggregator().addAll(binding.aggregator);
+		}
+		if (binding.outer == null || binding.outer.scope != this) {
+			// otherwise the enclosing binding of this scope adds them when it ends.
+			this.joined.addAll(binding.aggregator);
+		}
+	}
+
+	/**
+	 * The markers observed by a single binding of a scope, which is only changed by the thread it is bound to.
+	 */
+	private static final class Binding {
+
+		private final HighWaterMarkScope scope;
+		private final Binding outer;
+		// created when the first marker is observed, so that subtasks which observe none allocate nothing.
+		private HighWaterMarkAggregator aggregator = null;
+
+		private Binding(HighWaterMarkScope scope, Binding outer) {
+			this.scope = scope;
+			this.outer = outer;
+		}
+
+		private HighWaterMarkAggregator aggregator() {
+			if (this.aggregator == null) {
+				this.aggregator = new HighWaterMarkAggregator();
+			}
+			return this.aggregator;
+		}
+	}
+}
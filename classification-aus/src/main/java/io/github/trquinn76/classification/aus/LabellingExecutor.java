@@ -0,0 +1,184 @@
+package io.github.trquinn76.classification.aus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+/**
+ * Labels records with {@link ProtectiveMarker}'s by running a {@link Labeller} for each record on its own virtual
+ * thread.
+ * <p>
+ * Labelling typically waits on external classifiers, so each task runs on a virtual thread, which costs little while
+ * it waits. A {@link Semaphore} bounds the number of tasks labelling at once, protecting the classifiers from overload.
+ * Each running task is lent a {@link ProtectiveMarkerBuilder} from a pool, which holds no more builders than the
+ * concurrency limit. Builders are cleared before they are lent, and a pool is used rather than a
+ * {@link ThreadLocal} as each virtual thread runs a single task. The built {@link ProtectiveMarker}'s are passed
+ * through a {@link ProtectiveMarkerInterner}, so identical results share a single instance.
+ * <p>
+ * Each record is labelled within the {@link ClassificationContext} bound when it was submitted.
+ * <p>
+ * A {@link LabellingExecutor} may be shared between threads, and should be closed when no longer needed. Closing waits
+ * for submitted tasks to finish.
+ */
+public final class LabellingExecutor implements AutoCloseable {
+
+	/**
+	 * Labels a single record, by populating a {@link ProtectiveMarkerBuilder}.
+	 *
+	 * @param <T> the record type.
+	 */
+	@FunctionalInterface
+	public interface Labeller<T> {
+
+		/**
+		 * @param record  the record to label.
+		 * @param builder an empty {@link ProtectiveMarkerBuilder} to populate. It must not be used once this method
+		 *                returns.
+		 * @throws Exception if the record can not be labelled.
+		 */
+		void label(T record, ProtectiveMarkerBuilder builder) throws Exception;
+	}
+
+	private final Semaphore permits;
+	private final int maximumConcurrency;
+	private final ProtectiveMarkerInterner interner;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Queue<ProtectiveMarkerBuilder> builders = new ConcurrentLinkedQueue<>();
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	private final AtomicLong completed = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * Constructor, using the shared {@link ProtectiveMarkerInterner}.
+	 *
+	 * @param maximumConcurrency the largest number of records to label at once. Must be positive.
+	 */
+	public LabellingExecutor(int maximumConcurrency) {
+		this(maximumConcurrency, ProtectiveMarkerInterner.shared());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maximumConcurrency the largest number of records to label at once. Must be positive.
+	 * @param interner           the {@link ProtectiveMarkerInterner} to coalesce results with. May not be null.
+	 */
+	public LabellingExecutor(int maximumConcurrency, ProtectiveMarkerInterner interner) {
+		if (maximumConcurrency <= 0) {
+			throw new IllegalArgumentException("maximumConcurrency must be positive: " + maximumConcurrency);
+		}
+		this.maximumConcurrency = maximumConcurrency;
+		this.permits = new Semaphore(maximumConcurrency);
+		this.interner = Objects.requireNonNull(interner);
+	}
+
+	/**
+	 * Submits a record for labelling. The task waits on its virtual thread for a concurrency permit, so the caller is
+	 * never blocked.
+	 *
+	 * @param <T>      the record type.
+	 * @param record   the record to label.
+	 * @param labeller the {@link Labeller}. May not be null.
+	 * @return a {@link CompletableFuture} of the {@link ProtectiveMarker}, which completes exceptionally if the
+	 *         {@link Labeller} throws, or populates an invalid {@link ProtectiveMarkerBuilder}.
+	 */
+	public <T> CompletableFuture<ProtectiveMarker> submit(T record, Labeller<? super T> labeller) {
+		Objects.requireNonNull(labeller);
+		CompletableFuture<ProtectiveMarker> result = new CompletableFuture<>();
+		this.executor.execute(ClassificationContext.capture(() -> {
+			try {
+				this.permits.acquire();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				result.completeExceptionally(e);
+				return;
+			}
+			run(record, labeller, result);
+		}));
+		return result;
+	}
+
+	/**
+	 * Labels a collection of records, waiting until every record has been labelled. Permits are acquired before each
+	 * task is started, so no more than the concurrency limit of virtual threads exist at once, however large the
+	 * collection.
+	 *
+	 * @param <T>      the record type.
+	 * @param records  the records to label. May not be null.
+	 * @param labeller the {@link Labeller}. May not be null.
+	 * @return a completed {@link CompletableFuture} for each record, in the order of the records.
+	 * @throws InterruptedException if interrupted while waiting. Tasks already started continue.
+	 */
+	public <T> List<CompletableFuture<ProtectiveMarker>> labelAll(Collection<? extends T> records,
+			Labeller<? super T> labeller) throws InterruptedException {
+		Objects.requireNonNull(records);
+		Objects.requireNonNull(labeller);
+		List<CompletableFuture<ProtectiveMarker>> results = new ArrayList<>(records.size());
+		for (T record : records) {
+			this.permits.acquire();
+			CompletableFuture<ProtectiveMarker> result = new CompletableFuture<>();
+			results.add(result);
+			try {
+				this.executor.execute(ClassificationContext.capture(() -> run(record, labeller, result)));
+			}
+			catch (RuntimeException e) {
+				this.permits.release();
+				throw e;
+			}
+		}
+		// every task has finished once all of the permits can be taken.
+		this.permits.acquire(this.maximumConcurrency);
+		this.permits.release(this.maximumConcurrency);
+		return results;
+	}
+
+	/**
+	 * @return a snapshot of the labelling done so far.
+	 */
+	public LabellingStatistics statistics() {
+		return new LabellingStatistics(this.completed.get(), this.failed.get(),
+				Duration.ofNanos(this.latencies.percentile(50)), Duration.ofNanos(this.latencies.percentile(90)),
+				Duration.ofNanos(this.latencies.percentile(99)), Duration.ofNanos(this.latencies.max()));
+	}
+
+	/**
+	 * Stops accepting records, and waits for submitted records to be labelled.
+	 */
+	@Override
+	public void close() {
+		this.executor.close();
+	}
+
+	private <T> void run(T record, Labeller<? super T> labeller, CompletableFuture<ProtectiveMarker> result) {
+		long start = System.nanoTime();
+		ProtectiveMarkerBuilder builder = this.builders.poll();
+		builder = builder == null ? new ProtectiveMarkerBuilder() : builder.clear();
+		try {
+			labeller.label(record, builder);
+			ProtectiveMarker marker = this.interner.intern(builder.build());
+			this.completed.incrementAndGet();
+			result.complete(marker);
+		}
+		catch (Exception e) {
+			this.failed.incrementAndGet();
+			result.completeExceptionally(e);
+		}
+		finally {
+			this.latencies.record(System.nanoTime() - start);
+			this.builders.offer(builder);
+			this.permits.release();
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package io.github.trquinn76.classification.aus;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the work done by a {@link LabellingExecutor}.
+ * <p>
+ * Latencies measure each labelling task from when it started running, after waiting for a concurrency permit, until
+ * its {@link io.github.trquinn76.classification.aus.model.ProtectiveMarker} was built, or it failed. Percentiles have
+ * a relative error of no more than one in sixteen.
+ *
+ * @param completed the number of tasks which produced a marker.
+ * @param failed    the number of tasks which failed.
+ * @param p50       the median latency.
+ * @param p90       the 90th percentile latency.
+ * @param p99       the 99th percentile latency.
+ * @param max       the largest latency.
+ */
+public record LabellingStatistics(long completed, long failed, Duration p50, Duration p90, Duration p99,
+		Duration max) {
+}
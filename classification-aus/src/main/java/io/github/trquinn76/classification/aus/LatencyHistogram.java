@@ -0,0 +1,83 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of durations in nanoseconds, with a relative error of no more than one in sixteen.
+ * <p>
+ * Durations below 16ns each have a bucket. Above that, each power of two is split into 16 buckets, so 960 buckets cover
+ * every positive long. Percentiles are reported as the upper bound of the bucket they fall in, capped at the largest
+ * duration recorded.
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	void record(long nanos) {
+		long value = Math.max(0, nanos);
+		this.counts.incrementAndGet(index(value));
+		this.count.incrementAndGet();
+		this.max.accumulateAndGet(value, Math::max);
+	}
+
+	long count() {
+		return this.count.get();
+	}
+
+	long max() {
+		return this.max.get();
+	}
+
+	/**
+	 * @param percentile the percentile, from 0 to 100.
+	 * @return the duration in nanoseconds at or below which the given percentage of durations fall, or zero if no
+	 *         durations have been recorded.
+	 */
+	long percentile(double percentile) {
+		long total = 0;
+		long[] snapshot = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = this.counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), max());
+			}
+		}
+		return max();
+	}
+
+	static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long subBucket = index % SUB_BUCKETS;
+		long lower = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		return lower + width - 1 < 0 ? Long.MAX_VALUE : lower + width - 1;
+	}
+}
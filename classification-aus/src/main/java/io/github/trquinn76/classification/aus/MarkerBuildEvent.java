@@ -0,0 +1,26 @@
+package io.github.trquinn76.classification.aus;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The build of a {@link io.github.trquinn76.classification.aus.model.ProtectiveMarker} by a
+ * {@link ProtectiveMarkerBuilder}.
+ */
+@Name("io.github.trquinn76.classification.aus.MarkerBuild")
+@Label("Marker Build")
+@Category({ "Classification", "AUS" })
+@StackTrace(false)
+final class MarkerBuildEvent extends Event {
+
+	@Label("Classification")
+	String classification;
+
+	@Label("Valid")
+	@Description("False if the builder was not in a valid state.")
+	boolean valid;
+}
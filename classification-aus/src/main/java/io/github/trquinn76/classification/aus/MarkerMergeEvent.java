@@ -0,0 +1,25 @@
+package io.github.trquinn76.classification.aus;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The merge of {@link io.github.trquinn76.classification.aus.model.ProtectiveMarker}'s by {@link Utils}.
+ */
+@Name("io.github.trquinn76.classification.aus.MarkerMerge")
+@Label("Marker Merge")
+@Category({ "Classification", "AUS" })
+@StackTrace(false)
+final class MarkerMergeEvent extends Event {
+
+	@Label("Marker Count")
+	int markerCount;
+
+	@Label("Classification")
+	@Description("The merged Classification, if any.")
+	String classification;
+}
@@ -0,0 +1,32 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.Objects;
+
+/**
+ * A possible Protective Marking found by a {@link MarkingScanner}.
+ * <p>
+ * A candidate is only located, not validated. The {@link ProtectiveMarkerParser} is used to determine if the text is a
+ * valid {@link io.github.trquinn76.classification.aus.model.ProtectiveMarker}.
+ *
+ * @param offset      the offset, in bytes of UTF-8, of the start of the candidate within the scanned input.
+ * @param text        the text of the candidate, from the start of the Classification to the end of the line, with
+ *                    trailing white space removed. May not be null.
+ * @param caveatTerms the number of Special Handling, Releasability and Information Management terms found within the
+ *                    candidate.
+ * @param truncated   true if the line was longer than the maximum marking length of the scanner, and the text has
+ *                    been cut short.
+ */
+public record MarkingCandidate(long offset, String text, int caveatTerms, boolean truncated) {
+
+	/**
+	 * Constructor.
+	 *
+	 * @param offset      the offset, in bytes of UTF-8, of the start of the candidate within the scanned input.
+	 * @param text        the text of the candidate. May not be null.
+	 * @param caveatTerms the number of caveat terms found within the candidate.
+	 * @param truncated   true if the text has been cut short.
+	 */
+	public MarkingCandidate {
+		Objects.requireNonNull(text);
+	}
+}
@@ -0,0 +1,574 @@
+package io.github.trquinn76.classification.aus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import io.github.trquinn76.classification.aus.model.DevelopmentClassification;
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.PSPFClassification;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+/**
+ * Scans text for possible Protective Markings, such as those in the banner or footer of a document.
+ * <p>
+ * The scanner builds a single Aho-Corasick automaton from the vocabulary of the scheme: the
+ * {@link io.github.trquinn76.classification.aus.model.Classification}'s of the configured mode, and the
+ * {@link SpecialHandlingInstruction}, {@link InformationManagementTypes} and {@link ReleasabilityType} terms. The input
+ * is read once. Outside a candidate only a Classification matters, so the input is skipped eight bytes at a time until
+ * a byte which may start one, and the automaton is only followed from there, with a single table lookup per byte. Each
+ * Classification found, which is a whole word, starts a {@link MarkingCandidate} which runs to the end of the line, or
+ * to the next Classification.
+ * <p>
+ * Candidates are only located, not validated. Use a {@link ProtectiveMarkerParser} to turn a candidate into a
+ * {@link io.github.trquinn76.classification.aus.model.ProtectiveMarker}.
+ * <p>
+ * Input is read in fixed size chunks, and at most {@code maximumMarkingLength} bytes of a candidate are held, so memory
+ * use does not depend on the size of the input. Input is scanned as UTF-8, and text from a {@link Reader} is encoded
+ * to UTF-8 as it is read, so all offsets are in bytes of UTF-8.
+ * <p>
+ * The Classification vocabulary is taken from the configuration when the scanner is created. A
+ * {@link MarkingScanner} is immutable, and may be shared between threads.
+ */
+public final class MarkingScanner {
+
+	/**
+	 * The default maximum length, in bytes, of a {@link MarkingCandidate}.
+	 */
+	public static final int DEFAULT_MAXIMUM_MARKING_LENGTH = 512;
+
+	private static final int CHUNK_SIZE = 1 << 16;
+	private static final int CHAR_CHUNK_SIZE = 1 << 13;
+
+	private static final byte CLASSIFICATION = 1;
+	private static final byte CAVEAT = 2;
+	private static final byte LINE_END = 3;
+
+	private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+	private static final long ONES = 0x0101010101010101L;
+	private static final long LOW_BITS = ONES * 0x7F;
+	private static final long HIGH_BITS = ONES * 0x80;
+
+	private static final boolean[] BOUNDARY = new boolean[256];
+	static {
+		for (int b = 0; b < 128; b++) {
+			BOUNDARY[b] = !Character.isLetterOrDigit(b) && b != '-' && b != '_';
+		}
+	}
+
+	private final int maximumMarkingLength;
+	private final byte[][] terms;
+	private final byte[] kinds;
+	private final int maximumTermLength;
+
+	/** Maps each byte to its symbol class. Bytes which appear in no term share class 0. */
+	private final byte[] classOf = new byte[256];
+	private final int shift;
+	/**
+	 * The transitions of the automaton, indexed by the row offset of the current state plus the symbol class. Each
+	 * value is the row offset of the next state, or its complement when the next state completes a term.
+	 */
+	private final int[] next;
+	/** The longest term completed by each state, or -1. */
+	private final int[] matchTerm;
+	/** The bytes which move the automaton out of its initial state. */
+	private final boolean[] startsTerm = new boolean[256];
+	/** The bytes which start a Classification. */
+	private final boolean[] startsClassification = new boolean[256];
+	/**
+	 * Whether the bytes which start a Classification are all ASCII, so the input can be tested for them eight bytes at
+	 * a time, by {@link #startsClassification(long)}.
+	 */
+	private final boolean wordSkip;
+	/** Each byte is {@code 128} plus the highest byte which starts a Classification. */
+	private final long belowHighest;
+	/** Each byte is {@code 128} less the lowest byte which starts a Classification. */
+	private final long aboveLowest;
+
+	/**
+	 * Constructor, using the {@link #DEFAULT_MAXIMUM_MARKING_LENGTH}.
+	 */
+	public MarkingScanner() {
+		this(DEFAULT_MAXIMUM_MARKING_LENGTH);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maximumMarkingLength the maximum length, in bytes, of a {@link MarkingCandidate}. Longer candidates are
+	 *                             truncated. Must be positive.
+	 */
+	public MarkingScanner(int maximumMarkingLength) {
+		if (maximumMarkingLength <= 0) {
+			throw new IllegalArgumentException("maximumMarkingLength must be positive: " + maximumMarkingLength);
+		}
+		this.maximumMarkingLength = maximumMarkingLength;
+
+		Map<String, Byte> vocabulary = new LinkedHashMap<>();
+		if (ClassificationConfig.productionMode()) {
+			for (PSPFClassification classification : PSPFClassification.values()) {
+				vocabulary.put(classification.toString(), CLASSIFICATION);
+			}
+		} else {
+			for (DevelopmentClassification classification : DevelopmentClassification.values()) {
+				vocabulary.put(classification.toString(), CLASSIFICATION);
+			}
+		}
+		for (SpecialHandlingInstruction instruction : SpecialHandlingInstruction.values()) {
+			vocabulary.putIfAbsent(instruction.name(), CAVEAT);
+			vocabulary.putIfAbsent(instruction.toString(), CAVEAT);
+		}
+		for (InformationManagementTypes type : InformationManagementTypes.values()) {
+			vocabulary.putIfAbsent(type.name(), CAVEAT);
+			vocabulary.putIfAbsent(type.toString(), CAVEAT);
+		}
+		for (ReleasabilityType type : ReleasabilityType.values()) {
+			vocabulary.putIfAbsent(type.name(), CAVEAT);
+		}
+		vocabulary.put("\n", LINE_END);
+		vocabulary.put("\r", LINE_END);
+
+		this.terms = new byte[vocabulary.size()][];
+		this.kinds = new byte[vocabulary.size()];
+		int index = 0;
+		int longest = 0;
+		for (Map.Entry<String, Byte> entry : vocabulary.entrySet()) {
+			this.terms[index] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+			this.kinds[index] = entry.getValue();
+			longest = Math.max(longest, this.terms[index].length);
+			index++;
+		}
+		this.maximumTermLength = longest;
+
+		int classCount = 1;
+		for (byte[] term : this.terms) {
+			for (byte b : term) {
+				if (this.classOf[b & 0xFF] == 0) {
+					this.classOf[b & 0xFF] = (byte) classCount++;
+				}
+			}
+		}
+		this.shift = 32 - Integer.numberOfLeadingZeros(classCount - 1);
+		int width = 1 << this.shift;
+
+		// build the trie of all terms.
+		List<int[]> trie = new ArrayList<>();
+		List<Integer> terminal = new ArrayList<>();
+		trie.add(newRow(width));
+		terminal.add(-1);
+		for (int term = 0; term < this.terms.length; term++) {
+			int state = 0;
+			for (byte b : this.terms[term]) {
+				int symbol = this.classOf[b & 0xFF] & 0xFF;
+				if (trie.get(state)[symbol] < 0) {
+					trie.get(state)[symbol] = trie.size();
+					trie.add(newRow(width));
+					terminal.add(-1);
+				}
+				state = trie.get(state)[symbol];
+			}
+			terminal.set(state, term);
+		}
+
+		// complete the trie into a deterministic automaton, breadth first, so failure states are always done first.
+		int states = trie.size();
+		int[] dfa = new int[states * width];
+		int[] failure = new int[states];
+		this.matchTerm = new int[states];
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		this.matchTerm[0] = -1;
+		for (int symbol = 0; symbol < width; symbol++) {
+			int child = trie.get(0)[symbol];
+			if (child < 0) {
+				dfa[symbol] = 0;
+			} else {
+				dfa[symbol] = child;
+				failure[child] = 0;
+				queue.add(child);
+			}
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			this.matchTerm[state] = terminal.get(state) >= 0 ? terminal.get(state) : this.matchTerm[failure[state]];
+			for (int symbol = 0; symbol < width; symbol++) {
+				int child = trie.get(state)[symbol];
+				int fallback = dfa[failure[state] * width + symbol];
+				if (child < 0) {
+					dfa[state * width + symbol] = fallback;
+				} else {
+					dfa[state * width + symbol] = child;
+					failure[child] = fallback;
+					queue.add(child);
+				}
+			}
+		}
+
+		this.next = new int[dfa.length];
+		for (int i = 0; i < dfa.length; i++) {
+			int target = dfa[i];
+			int row = target << this.shift;
+			// matchTerm of the target is final, as every state is dequeued before the table is encoded.
+			this.next[i] = this.matchTerm[target] >= 0 ? ~row : row;
+		}
+		for (int b = 0; b < 256; b++) {
+			this.startsTerm[b] = dfa[this.classOf[b] & 0xFF] != 0;
+		}
+
+		int lowest = 0xFF;
+		int highest = 0;
+		for (int term = 0; term < this.terms.length; term++) {
+			if (this.kinds[term] == CLASSIFICATION) {
+				int first = this.terms[term][0] & 0xFF;
+				this.startsClassification[first] = true;
+				lowest = Math.min(lowest, first);
+				highest = Math.max(highest, first);
+			}
+		}
+		this.wordSkip = lowest > 0 && highest < 0x80;
+		this.belowHighest = ONES * (0x80 + highest);
+		this.aboveLowest = ONES * (0x80 - lowest);
+	}
+
+	/**
+	 * Finds the bytes of a word which lie between the lowest and highest bytes which start a Classification, inclusive.
+	 * Each byte is tested separately, so no carry or borrow crosses from one byte to the next.
+	 *
+	 * @param word eight bytes of input, the first in the lowest byte.
+	 * @return the word with the high bit of each byte in the range set, and all other bits clear.
+	 */
+	private long startsClassification(long word) {
+		long low = word & LOW_BITS;
+		return (this.belowHighest - low) & ~word & (low + this.aboveLowest) & HIGH_BITS;
+	}
+
+	private static int[] newRow(int width) {
+		int[] row = new int[width];
+		Arrays.fill(row, -1);
+		return row;
+	}
+
+	/**
+	 * Scans the remaining bytes of the given {@link ByteBuffer}, as UTF-8. The position of the buffer is not changed.
+	 *
+	 * @param buffer   the {@link ByteBuffer} to scan. May not be null.
+	 * @param consumer receives each {@link MarkingCandidate} found, in order. May not be null.
+	 */
+	public void scan(ByteBuffer buffer, Consumer<MarkingCandidate> consumer) {
+		Objects.requireNonNull(buffer);
+		Scan scan = new Scan(Objects.requireNonNull(consumer));
+		if (buffer.hasArray()) {
+			scan.scan(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.arrayOffset() + buffer.limit());
+		} else {
+			byte[] chunk = new byte[CHUNK_SIZE];
+			for (int position = buffer.position(); position < buffer.limit();) {
+				int length = Math.min(chunk.length, buffer.limit() - position);
+				buffer.get(position, chunk, 0, length);
+				scan.scan(chunk, 0, length);
+				position += length;
+			}
+		}
+		scan.finish();
+	}
+
+	/**
+	 * Scans a blocking {@link ReadableByteChannel}, as UTF-8, until it reaches end of stream. The channel is not
+	 * closed.
+	 *
+	 * @param channel  the {@link ReadableByteChannel} to scan. May not be null.
+	 * @param consumer receives each {@link MarkingCandidate} found, in order. May not be null.
+	 * @throws IOException if reading the channel fails.
+	 */
+	public void scan(ReadableByteChannel channel, Consumer<MarkingCandidate> consumer) throws IOException {
+		Objects.requireNonNull(channel);
+		Scan scan = new Scan(Objects.requireNonNull(consumer));
+		byte[] array = new byte[CHUNK_SIZE];
+		ByteBuffer chunk = ByteBuffer.wrap(array);
+		while (channel.read(chunk) >= 0) {
+			scan.scan(array, 0, chunk.position());
+			chunk.clear();
+		}
+		scan.scan(array, 0, chunk.position());
+		scan.finish();
+	}
+
+	/**
+	 * Scans a {@link Reader} until it reaches end of stream. The characters read are encoded as UTF-8 before they are
+	 * scanned, so the offsets of the {@link MarkingCandidate}'s found are in bytes of UTF-8. The reader is not closed.
+	 *
+	 * @param reader   the {@link Reader} to scan. May not be null.
+	 * @param consumer receives each {@link MarkingCandidate} found, in order. May not be null.
+	 * @throws IOException if reading fails.
+	 */
+	public void scan(Reader reader, Consumer<MarkingCandidate> consumer) throws IOException {
+		Objects.requireNonNull(reader);
+		Scan scan = new Scan(Objects.requireNonNull(consumer));
+		CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		CharBuffer chars = CharBuffer.allocate(CHAR_CHUNK_SIZE);
+		// a full buffer of chars always fits, as no char encodes to more than 3 bytes.
+		byte[] array = new byte[CHUNK_SIZE];
+		ByteBuffer bytes = ByteBuffer.wrap(array);
+		boolean endOfInput = false;
+		while (!endOfInput) {
+			endOfInput = reader.read(chars) < 0;
+			chars.flip();
+			encoder.encode(chars, bytes, endOfInput);
+			if (endOfInput) {
+				encoder.flush(bytes);
+			}
+			scan.scan(array, 0, bytes.position());
+			bytes.clear();
+			// retains the high half of a surrogate pair split across reads.
+			chars.compact();
+		}
+		scan.finish();
+	}
+
+	/**
+	 * Scans the given text.
+	 *
+	 * @param text the text to scan. May not be null.
+	 * @return the {@link MarkingCandidate}'s found, in order.
+	 */
+	public List<MarkingCandidate> scan(String text) {
+		List<MarkingCandidate> candidates = new ArrayList<>();
+		scan(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), candidates::add);
+		return candidates;
+	}
+
+	/**
+	 * The state of a single scan. The input is passed to a {@link Scan} in consecutive chunks, and any term or
+	 * candidate which spans two chunks is carried over.
+	 */
+	private final class Scan {
+
+		private final Consumer<MarkingCandidate> consumer;
+
+		/** The stream offset of the first byte of the current chunk. */
+		private long chunkStart;
+		private int row;
+
+		/** The last bytes of the previous chunk, used to check the byte preceding a term which spans chunks. */
+		private final byte[] tail = new byte[maximumTermLength];
+		private int tailLength;
+
+		/** A Classification which ended at the end of the previous chunk, and which is followed by an unseen byte. */
+		private int pendingTerm = -1;
+		private long pendingStart;
+
+		private final byte[] candidate = new byte[maximumMarkingLength];
+		private long candidateStart = -1;
+		private int candidateLength;
+		/** The stream offset up to which the input has been copied into the candidate. */
+		private long candidateCopied;
+		private int caveatTerms;
+
+		Scan(Consumer<MarkingCandidate> consumer) {
+			this.consumer = consumer;
+		}
+
+		void scan(byte[] chunk, int from, int to) {
+			if (from == to) {
+				return;
+			}
+			if (pendingTerm >= 0) {
+				int term = pendingTerm;
+				pendingTerm = -1;
+				if (BOUNDARY[chunk[from] & 0xFF]) {
+					open(term, pendingStart, chunk, from);
+				}
+			}
+
+			int[] next = MarkingScanner.this.next;
+			byte[] classOf = MarkingScanner.this.classOf;
+			boolean[] startsTerm = MarkingScanner.this.startsTerm;
+			int row = this.row;
+			int i = from;
+			while (i < to) {
+				if (row == 0 && candidateStart < 0) {
+					// outside a candidate, input which starts no Classification can be skipped without following the
+					// automaton, as the terms it may hold only count towards a candidate.
+					i = skipToClassification(chunk, i, to);
+					if (i == to) {
+						this.row = 0;
+						endChunk(chunk, from, to);
+						return;
+					}
+				} else if (row == 0) {
+					// most input is not part of any term, and can be skipped without following the automaton.
+					while (!startsTerm[chunk[i] & 0xFF]) {
+						if (++i == to) {
+							this.row = 0;
+							endChunk(chunk, from, to);
+							return;
+						}
+					}
+				}
+				int target = next[row + (classOf[chunk[i] & 0xFF] & 0xFF)];
+				if (target >= 0) {
+					row = target;
+				} else {
+					row = ~target;
+					match(chunk, from, to, i, matchTerm[row >>> shift]);
+				}
+				i++;
+			}
+			this.row = row;
+			endChunk(chunk, from, to);
+		}
+
+		/**
+		 * @return the index of the first byte from {@code i} which starts a Classification, or {@code to} if there is
+		 *         none.
+		 */
+		private int skipToClassification(byte[] chunk, int i, int to) {
+			boolean[] startsClassification = MarkingScanner.this.startsClassification;
+			while (i < to) {
+				if (wordSkip && i <= to - Long.BYTES) {
+					long found = startsClassification((long) LONGS.get(chunk, i));
+					if (found == 0) {
+						i += Long.BYTES;
+						continue;
+					}
+					i += Long.numberOfTrailingZeros(found) >>> 3;
+				}
+				if (startsClassification[chunk[i] & 0xFF]) {
+					return i;
+				}
+				i++;
+			}
+			return to;
+		}
+
+		private void endChunk(byte[] chunk, int from, int to) {
+			long chunkEnd = chunkStart + (to - from);
+			if (candidateStart >= 0) {
+				append(chunk, from, chunkEnd);
+			}
+			int keep = Math.min(tail.length, to - from);
+			int retain = Math.min(tailLength, tail.length - keep);
+			System.arraycopy(tail, tailLength - retain, tail, 0, retain);
+			System.arraycopy(chunk, to - keep, tail, retain, keep);
+			tailLength = retain + keep;
+			chunkStart = chunkEnd;
+		}
+
+		void finish() {
+			if (pendingTerm >= 0) {
+				// the end of the input is a word boundary.
+				open(pendingTerm, pendingStart, null, 0);
+				pendingTerm = -1;
+			}
+			if (candidateStart >= 0) {
+				emit(null, 0, chunkStart);
+			}
+		}
+
+		private void match(byte[] chunk, int from, int to, int index, int term) {
+			long end = chunkStart + (index - from) + 1;
+			switch (kinds[term]) {
+			case LINE_END:
+				if (candidateStart >= 0) {
+					emit(chunk, from, end - 1);
+				}
+				break;
+			case CAVEAT:
+				if (candidateStart >= 0 && isWord(chunk, from, to, index, end - terms[term].length)) {
+					caveatTerms++;
+				}
+				break;
+			case CLASSIFICATION:
+				long start = end - terms[term].length;
+				if (start > 0 && !BOUNDARY[byteAt(chunk, from, start - 1) & 0xFF]) {
+					break;
+				}
+				if (index + 1 < to) {
+					if (BOUNDARY[chunk[index + 1] & 0xFF]) {
+						open(term, start, chunk, from);
+					}
+				} else {
+					pendingTerm = term;
+					pendingStart = start;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		/**
+		 * Checks a term is a whole word, where the following byte is in this chunk. Used only for counting.
+		 */
+		private boolean isWord(byte[] chunk, int from, int to, int index, long start) {
+			if (start > 0 && !BOUNDARY[byteAt(chunk, from, start - 1) & 0xFF]) {
+				return false;
+			}
+			return index + 1 >= to || BOUNDARY[chunk[index + 1] & 0xFF];
+		}
+
+		private byte byteAt(byte[] chunk, int from, long offset) {
+			if (offset >= chunkStart) {
+				return chunk[from + (int) (offset - chunkStart)];
+			}
+			// tail always holds enough bytes, as no term is longer than it.
+			return tail[tailLength - (int) (chunkStart - offset)];
+		}
+
+		private void open(int term, long start, byte[] chunk, int from) {
+			if (candidateStart >= 0) {
+				if (start <= candidateStart) {
+					// a longer form of the Classification which started this candidate.
+					return;
+				}
+				emit(chunk, from, start);
+			}
+			byte[] text = terms[term];
+			candidateLength = Math.min(text.length, candidate.length);
+			System.arraycopy(text, 0, candidate, 0, candidateLength);
+			candidateStart = start;
+			candidateCopied = start + text.length;
+			caveatTerms = 0;
+		}
+
+		private void append(byte[] chunk, int from, long upTo) {
+			if (upTo > candidateCopied) {
+				int length = (int) Math.min(upTo - candidateCopied, candidate.length - candidateLength);
+				if (length > 0) {
+					System.arraycopy(chunk, from + (int) (candidateCopied - chunkStart), candidate, candidateLength,
+							length);
+					candidateLength += length;
+				}
+				candidateCopied = upTo;
+			}
+		}
+
+		private void emit(byte[] chunk, int from, long end) {
+			append(chunk, from, end);
+			long total = end - candidateStart;
+			int length = (int) Math.min(candidateLength, total);
+			while (length > 0 && (candidate[length - 1] == ' ' || candidate[length - 1] == '\t')) {
+				length--;
+			}
+			consumer.accept(new MarkingCandidate(candidateStart, new String(candidate, 0, length,
+					StandardCharsets.UTF_8), caveatTerms, total > candidate.length));
+			candidateStart = -1;
+		}
+	}
+}
@@ -0,0 +1,347 @@
+package io.github.trquinn76.classification.aus;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingCaveat;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+/**
+ * Rewrites obsolete and legacy parts of stored markings, such as the obsolete {@code NATIONAL-CABINET}
+ * {@link SpecialHandlingInstruction}, or Classifications from before the PSPF, according to a list of
+ * {@link MigrationRule}'s.
+ * <p>
+ * The rules are compiled when the engine is created: Classification and code word rules into hash maps, and Special
+ * Handling Instruction rules into an array indexed by ordinal, so the cost of applying them does not grow with the
+ * number of rules. Markings may be migrated as {@link ProtectiveMarker}'s, in their text form, or in the binary form of
+ * a {@link ProtectiveMarkerCodec}. Legacy Classifications are matched at the start of text markings before they are
+ * parsed, as they can not be held by a {@link ProtectiveMarker}, or encoded.
+ * <p>
+ * Stored data typically holds a small number of distinct markings many times over, so the outcome for each distinct
+ * input is computed once, and held in a bounded map which is cleared when it becomes full. The rewritten marking is
+ * validated by a {@link ProtectiveMarkerBuilder}, and a record which can not be read, or whose rewritten marking is
+ * not valid, is returned unchanged, and counted as failed. A {@link MigrationReport} of the records migrated, and of
+ * how many each rule rewrote, is available from {@link #report()}.
+ * <p>
+ * A {@link MigrationEngine} may be shared between threads, and the {@link Stream} functions may be given parallel
+ * streams. The outcomes depend on the configured mode, so a new {@link MigrationEngine} should be created if the
+ * configuration is changed, and each {@link ClassificationContext} should create, and use, its own.
+ */
+public final class MigrationEngine {
+
+	/**
+	 * The maximum number of outcomes held for each form of marking by default.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1 << 16;
+
+	private enum Status {
+		UNCHANGED, MIGRATED, FAILED
+	}
+
+	private record Outcome<T>(T result, Status status, int[] fired) {
+	}
+
+	private static final int[] NONE = new int[0];
+
+	private final List<MigrationRule> rules;
+	private final Map<String, Integer> classificationRules = new HashMap<>();
+	private final Classification[] classifications;
+	private final int[] classificationLengths;
+	private final int[] specialHandlingRules = new int[SpecialHandlingInstruction.values().length];
+	private final Map<String, Integer> codeWordRules = new HashMap<>();
+	private final ProtectiveMarkerParser parser;
+	private final ProtectiveMarkerCodec codec;
+	private final int maximumSize;
+	private final ConcurrentHashMap<ProtectiveMarker, Outcome<ProtectiveMarker>> markers = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Outcome<String>> texts = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<ByteBuffer, Outcome<byte[]>> encoded = new ConcurrentHashMap<>();
+	private final LongAdder records = new LongAdder();
+	private final LongAdder migrated = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder[] ruleCounts;
+
+	/**
+	 * Constructor, using a {@link ProtectiveMarkerParser} which reads every word as a code word, and a
+	 * {@link ProtectiveMarkerCodec} with the built in dictionary.
+	 *
+	 * @param rules the {@link MigrationRule}'s to apply. May not be null.
+	 */
+	public MigrationEngine(Collection<MigrationRule> rules) {
+		this(rules, new ProtectiveMarkerParser(), new ProtectiveMarkerCodec(), DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param rules       the {@link MigrationRule}'s to apply. May not be null. No two rules of a
+	 *                    {@link MigrationRule.Kind} may match the same value.
+	 * @param parser      the {@link ProtectiveMarkerParser} to read text markings with. May not be null.
+	 * @param codec       the {@link ProtectiveMarkerCodec} to read and write binary markings with. May not be null.
+	 * @param maximumSize the maximum number of outcomes to hold for each form of marking. Must be positive.
+	 * @throws IllegalArgumentException if two rules match the same value, or a rule names a value which does not
+	 *                                  exist.
+	 */
+	public MigrationEngine(Collection<MigrationRule> rules, ProtectiveMarkerParser parser, ProtectiveMarkerCodec codec,
+			int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+		}
+		this.rules = List.copyOf(rules);
+		this.parser = Objects.requireNonNull(parser);
+		this.codec = Objects.requireNonNull(codec);
+		this.maximumSize = maximumSize;
+		this.classifications = new Classification[this.rules.size()];
+		this.ruleCounts = new LongAdder[this.rules.size()];
+		Arrays.fill(this.specialHandlingRules, -1);
+		for (int i = 0; i < this.rules.size(); i++) {
+			MigrationRule rule = this.rules.get(i);
+			this.ruleCounts[i] = new LongAdder();
+			boolean duplicate = switch (rule.kind()) {
+				case CLASSIFICATION -> {
+					this.classifications[i] = Classification.fromString(rule.to());
+					yield this.classificationRules.putIfAbsent(rule.from(), i) != null;
+				}
+				case SPECIAL_HANDLING_INSTRUCTION -> {
+					int ordinal = SpecialHandlingInstruction.valueOf(rule.from()).ordinal();
+					if (rule.to() != null) {
+						SpecialHandlingInstruction.valueOf(rule.to());
+					}
+					boolean taken = this.specialHandlingRules[ordinal] >= 0;
+					this.specialHandlingRules[ordinal] = i;
+					yield taken;
+				}
+				case CODE_WORD -> this.codeWordRules.putIfAbsent(rule.from(), i) != null;
+			};
+			if (duplicate) {
+				throw new IllegalArgumentException("More than one MigrationRule matches " + rule.kind() + " "
+						+ rule.from());
+			}
+		}
+		this.classificationLengths = this.classificationRules.keySet().stream().map(String::length).distinct()
+				.sorted(Comparator.reverseOrder()).mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * @return the {@link MigrationRule}'s applied, in the order given.
+	 */
+	public List<MigrationRule> rules() {
+		return this.rules;
+	}
+
+	/**
+	 * @param marker the {@link ProtectiveMarker} to migrate. May not be null.
+	 * @return the migrated {@link ProtectiveMarker}, or the given one if no rule applies, or its migration is not
+	 *         valid.
+	 */
+	public ProtectiveMarker migrate(ProtectiveMarker marker) {
+		Objects.requireNonNull(marker);
+		Outcome<ProtectiveMarker> outcome = this.markers.get(marker);
+		if (outcome == null) {
+			outcome = apply(marker);
+			remember(this.markers, marker, outcome);
+		}
+		return count(outcome).result();
+	}
+
+	/**
+	 * @param text the text form of a marking. May not be null.
+	 * @return the text of the migrated marking, or the given text if no rule applies, it can not be parsed, or its
+	 *         migration is not valid.
+	 */
+	public String migrate(String text) {
+		Objects.requireNonNull(text);
+		Outcome<String> outcome = this.texts.get(text);
+		if (outcome == null) {
+			outcome = applyText(text);
+			remember(this.texts, text, outcome);
+		}
+		return count(outcome).result();
+	}
+
+	/**
+	 * @param bytes the encoded form of a marking. May not be null, and must not be modified while this function runs.
+	 * @return the encoded form of the migrated marking, or the given bytes if no rule applies, they can not be
+	 *         decoded, or the migration is not valid.
+	 */
+	public byte[] migrate(byte[] bytes) {
+		Objects.requireNonNull(bytes);
+		Outcome<byte[]> outcome = this.encoded.get(ByteBuffer.wrap(bytes));
+		if (outcome == null) {
+			outcome = applyEncoded(bytes);
+			remember(this.encoded, ByteBuffer.wrap(bytes.clone()), outcome);
+		}
+		count(outcome);
+		// the held result is shared, so callers are given their own copy of it.
+		return outcome.status() == Status.MIGRATED ? outcome.result().clone() : bytes;
+	}
+
+	/**
+	 * Migrates a {@link Stream} of text markings. The returned {@link Stream} is lazy, and is parallel if the given
+	 * {@link Stream} is.
+	 *
+	 * @param texts the text forms of markings. May not be null.
+	 * @return a {@link Stream} of the migrated text forms, in order.
+	 */
+	public Stream<String> migrateTexts(Stream<String> texts) {
+		return texts.map(this::migrate);
+	}
+
+	/**
+	 * Migrates a {@link Stream} of encoded markings. The returned {@link Stream} is lazy, and is parallel if the given
+	 * {@link Stream} is.
+	 *
+	 * @param encoded the encoded forms of markings. May not be null.
+	 * @return a {@link Stream} of the migrated encoded forms, in order.
+	 */
+	public Stream<byte[]> migrateEncoded(Stream<byte[]> encoded) {
+		return encoded.map(this::migrate);
+	}
+
+	/**
+	 * @return a snapshot of the records migrated so far.
+	 */
+	public MigrationReport report() {
+		Map<MigrationRule, Long> counts = new LinkedHashMap<>();
+		for (int i = 0; i < this.rules.size(); i++) {
+			counts.put(this.rules.get(i), this.ruleCounts[i].sum());
+		}
+		return new MigrationReport(this.records.sum(), this.migrated.sum(), this.failed.sum(), counts);
+	}
+
+	private <T> Outcome<T> count(Outcome<T> outcome) {
+		this.records.increment();
+		if (outcome.status() == Status.MIGRATED) {
+			this.migrated.increment();
+		} else if (outcome.status() == Status.FAILED) {
+			this.failed.increment();
+		}
+		for (int rule : outcome.fired()) {
+			this.ruleCounts[rule].increment();
+		}
+		return outcome;
+	}
+
+	private <K, T> void remember(ConcurrentHashMap<K, Outcome<T>> outcomes, K key, Outcome<T> outcome) {
+		if (outcomes.size() >= this.maximumSize) {
+			outcomes.clear();
+		}
+		outcomes.putIfAbsent(key, outcome);
+	}
+
+	private Outcome<ProtectiveMarker> apply(ProtectiveMarker marker) {
+		List<Integer> fired = new ArrayList<>();
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder(marker);
+
+		Integer classificationRule = this.classificationRules.get(marker.classification().toString());
+		if (classificationRule != null) {
+			fired.add(classificationRule);
+			builder.setClassification(this.classifications[classificationRule]);
+		}
+		SecurityCaveats caveats = marker.securityCaveats();
+		if (caveats != null) {
+			SpecialHandlingCaveat caveat = caveats.specialHandlingCaveat();
+			int specialHandlingRule = caveat == null ? -1 : this.specialHandlingRules[caveat.instruction().ordinal()];
+			if (specialHandlingRule >= 0) {
+				fired.add(specialHandlingRule);
+				String to = this.rules.get(specialHandlingRule).to();
+				builder.clearSpecialHandlingInstruction();
+				if (to != null) {
+					builder.setSpecialHandlingInstruction(SpecialHandlingInstruction.valueOf(to));
+				}
+			}
+			if (!this.codeWordRules.isEmpty()) {
+				Set<String> codeWords = new TreeSet<>();
+				for (String codeWord : caveats.codeWords()) {
+					Integer codeWordRule = this.codeWordRules.get(codeWord);
+					if (codeWordRule == null) {
+						codeWords.add(codeWord);
+						continue;
+					}
+					fired.add(codeWordRule);
+					String to = this.rules.get(codeWordRule).to();
+					if (to != null) {
+						codeWords.add(to);
+					}
+				}
+				builder.setCodeWords(codeWords);
+			}
+		}
+
+		if (fired.isEmpty()) {
+			return new Outcome<>(marker, Status.UNCHANGED, NONE);
+		}
+		int[] rules = fired.stream().mapToInt(Integer::intValue).toArray();
+		if (!builder.isValid().isEmpty()) {
+			return new Outcome<>(marker, Status.FAILED, NONE);
+		}
+		return new Outcome<>(builder.build(), Status.MIGRATED, rules);
+	}
+
+	private Outcome<String> applyText(String text) {
+		String rewritten = text;
+		int classificationRule = -1;
+		int start = 0;
+		while (start < text.length() && text.charAt(start) == ' ') {
+			start++;
+		}
+		for (int length : this.classificationLengths) {
+			int end = start + length;
+			if (end > text.length() || (end < text.length() && text.charAt(end) != ' ')) {
+				continue;
+			}
+			Integer rule = this.classificationRules.get(text.substring(start, end));
+			if (rule != null) {
+				classificationRule = rule;
+				rewritten = text.substring(0, start) + this.rules.get(rule).to() + text.substring(end);
+				break;
+			}
+		}
+
+		Optional<ProtectiveMarker> parsed = this.parser.tryParse(rewritten);
+		if (parsed.isEmpty()) {
+			return new Outcome<>(text, Status.FAILED, NONE);
+		}
+		Outcome<ProtectiveMarker> outcome = apply(parsed.get());
+		if (outcome.status() == Status.FAILED || (classificationRule < 0 && outcome.status() == Status.UNCHANGED)) {
+			return new Outcome<>(text, outcome.status(), outcome.fired());
+		}
+		int[] fired = outcome.fired();
+		if (classificationRule >= 0) {
+			fired = new int[outcome.fired().length + 1];
+			fired[0] = classificationRule;
+			System.arraycopy(outcome.fired(), 0, fired, 1, outcome.fired().length);
+		}
+		return new Outcome<>(outcome.result().toString(), Status.MIGRATED, fired);
+	}
+
+	private Outcome<byte[]> applyEncoded(byte[] bytes) {
+		ProtectiveMarker marker;
+		try {
+			marker = this.codec.decode(bytes);
+		} catch (IllegalArgumentException e) {
+			return new Outcome<>(null, Status.FAILED, NONE);
+		}
+		Outcome<ProtectiveMarker> outcome = apply(marker);
+		if (outcome.status() != Status.MIGRATED) {
+			return new Outcome<>(null, outcome.status(), NONE);
+		}
+		return new Outcome<>(this.codec.encode(outcome.result()), Status.MIGRATED, outcome.fired());
+	}
+}
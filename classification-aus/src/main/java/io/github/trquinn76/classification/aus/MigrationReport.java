@@ -0,0 +1,55 @@
+package io.github.trquinn76.classification.aus;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A snapshot of the work done by a {@link MigrationEngine}.
+ *
+ * @param records    the number of records migrated, including those left unchanged or which failed.
+ * @param migrated   the number of records rewritten by at least one {@link MigrationRule}.
+ * @param failed     the number of records which could not be read, or whose rewritten marking was not valid. These
+ *                   are left unchanged.
+ * @param ruleCounts the number of records each {@link MigrationRule} rewrote, in the order the rules were given.
+ */
+public record MigrationReport(long records, long migrated, long failed, Map<MigrationRule, Long> ruleCounts) {
+
+	/**
+	 * Constructor, performing a defensive copy of the rule counts, which keeps their order.
+	 *
+	 * @param records    the number of records migrated.
+	 * @param migrated   the number of records rewritten by at least one {@link MigrationRule}.
+	 * @param failed     the number of records which could not be read, or whose rewritten marking was not valid.
+	 * @param ruleCounts the number of records each {@link MigrationRule} rewrote. May not be null.
+	 */
+	public MigrationReport {
+		Objects.requireNonNull(ruleCounts);
+		ruleCounts = Collections.unmodifiableMap(new LinkedHashMap<>(ruleCounts));
+	}
+
+	/**
+	 * @return the number of records left unchanged, as no {@link MigrationRule} applied to them.
+	 */
+	public long unchanged() {
+		return this.records - this.migrated - this.failed;
+	}
+
+	/**
+	 * Writes the report as lines of text, the totals followed by a tab separated count for each {@link MigrationRule}.
+	 *
+	 * @param out where to write the report. May not be null.
+	 * @throws IOException if the report can not be written.
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		out.append("records\t").append(Long.toString(this.records)).append('\n');
+		out.append("migrated\t").append(Long.toString(this.migrated)).append('\n');
+		out.append("unchanged\t").append(Long.toString(unchanged())).append('\n');
+		out.append("failed\t").append(Long.toString(this.failed)).append('\n');
+		for (Map.Entry<MigrationRule, Long> entry : this.ruleCounts.entrySet()) {
+			out.append(entry.getKey().toString()).append('\t').append(entry.getValue().toString()).append('\n');
+		}
+	}
+}
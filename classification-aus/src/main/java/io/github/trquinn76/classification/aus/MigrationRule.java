@@ -0,0 +1,95 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.Objects;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+/**
+ * A declarative rule for rewriting obsolete or legacy parts of stored markings, applied by a {@link MigrationEngine}.
+ * <p>
+ * Rules are created with the factory functions of each {@link Kind}. A rule with a null {@code to} removes the part it
+ * matches.
+ *
+ * @param kind the {@link Kind} of part the rule rewrites.
+ * @param from the text of the part matched.
+ * @param to   the text of the replacement, or null if the part is removed.
+ */
+public record MigrationRule(Kind kind, String from, String to) {
+
+	/**
+	 * The parts of a marking which may be rewritten.
+	 */
+	public enum Kind {
+		/**
+		 * The Classification, matched by its text. Legacy Classifications, such as those from before the PSPF, are
+		 * matched at the start of text markings, before they are parsed.
+		 */
+		CLASSIFICATION,
+		/**
+		 * The {@link SpecialHandlingInstruction}, matched by its enumeration name.
+		 */
+		SPECIAL_HANDLING_INSTRUCTION,
+		/**
+		 * A code word.
+		 */
+		CODE_WORD
+	}
+
+	/**
+	 * Constructor. Prefer the factory functions, which check the values of each {@link Kind}.
+	 *
+	 * @param kind the {@link Kind} of part the rule rewrites. May not be null.
+	 * @param from the text of the part matched. May not be null or blank.
+	 * @param to   the text of the replacement, or null if the part is removed. A {@link Kind#CLASSIFICATION} may not
+	 *             be removed.
+	 */
+	public MigrationRule {
+		Objects.requireNonNull(kind);
+		Objects.requireNonNull(from);
+		if (from.isBlank()) {
+			throw new IllegalArgumentException("A MigrationRule must match a non-blank value.");
+		}
+		if (to == null && kind == Kind.CLASSIFICATION) {
+			throw new IllegalArgumentException("A Classification may be replaced, but not removed: " + from);
+		}
+	}
+
+	/**
+	 * @param legacyText the text of the Classification to replace, which need not be a current Classification, such
+	 *                   as {@code X-IN-CONFIDENCE}. May not be null or blank.
+	 * @param to         the {@link Classification} to replace it with. May not be null.
+	 * @return a new {@link Kind#CLASSIFICATION} {@link MigrationRule}.
+	 */
+	public static MigrationRule classification(String legacyText, Classification to) {
+		return new MigrationRule(Kind.CLASSIFICATION, legacyText, to.toString());
+	}
+
+	/**
+	 * @param from the obsolete {@link SpecialHandlingInstruction}. May not be null.
+	 * @param to   the {@link SpecialHandlingInstruction} to replace it with, or null to remove it. May not be
+	 *             EXCLUSIVE_FOR, which needs a recipient.
+	 * @return a new {@link Kind#SPECIAL_HANDLING_INSTRUCTION} {@link MigrationRule}.
+	 */
+	public static MigrationRule specialHandlingInstruction(SpecialHandlingInstruction from,
+			SpecialHandlingInstruction to) {
+		if (to == SpecialHandlingInstruction.EXCLUSIVE_FOR) {
+			throw new IllegalArgumentException("May not migrate to EXCLUSIVE_FOR, which needs a recipient.");
+		}
+		return new MigrationRule(Kind.SPECIAL_HANDLING_INSTRUCTION, from.name(), to == null ? null : to.name());
+	}
+
+	/**
+	 * @param from the code word to replace. May not be null or blank.
+	 * @param to   the code word to replace it with, or null to remove it.
+	 * @return a new {@link Kind#CODE_WORD} {@link MigrationRule}.
+	 */
+	public static MigrationRule codeWord(String from, String to) {
+		return new MigrationRule(Kind.CODE_WORD, from, to);
+	}
+
+	@Override
+	public String toString() {
+		return this.kind + " " + this.from + " -> " + (this.to == null ? "(removed)" : this.to);
+	}
+}
@@ -0,0 +1,92 @@
+package io.github.trquinn76.classification.aus;
+
+/**
+ * The 128 bit x64 variant of Austin Appleby's MurmurHash3, with a seed of 0.
+ * <p>
+ * The result is the same on every platform and JVM, and matches other implementations of MurmurHash3_x64_128, such as
+ * Guava's {@code Hashing.murmur3_128()}, whose bytes are {@code h1} then {@code h2} in little endian order.
+ */
+final class MurmurHash3 {
+
+	private static final long C1 = 0x87c37b91114253d5L;
+	private static final long C2 = 0x4cf5ad432745937fL;
+
+	private MurmurHash3() {
+	}
+
+	/**
+	 * @param data   the bytes to hash.
+	 * @param length the number of bytes, from the start of {@code data}, to hash.
+	 * @return {@code h1} as the high 64 bits, and {@code h2} as the low 64 bits.
+	 */
+	static MarkerFingerprint hash128(byte[] data, int length) {
+		long h1 = 0;
+		long h2 = 0;
+		int blocks = length / 16;
+		for (int i = 0; i < blocks; i++) {
+			long k1 = getLong(data, i * 16);
+			long k2 = getLong(data, i * 16 + 8);
+
+			h1 ^= mixK1(k1);
+			h1 = Long.rotateLeft(h1, 27);
+			h1 += h2;
+			h1 = h1 * 5 + 0x52dce729;
+
+			h2 ^= mixK2(k2);
+			h2 = Long.rotateLeft(h2, 31);
+			h2 += h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		long k1 = 0;
+		long k2 = 0;
+		int tail = blocks * 16;
+		for (int i = length - tail - 1; i >= 8; i--) {
+			k2 = (k2 << 8) | (data[tail + i] & 0xff);
+		}
+		for (int i = Math.min(length - tail, 8) - 1; i >= 0; i--) {
+			k1 = (k1 << 8) | (data[tail + i] & 0xff);
+		}
+		h1 ^= mixK1(k1);
+		h2 ^= mixK2(k2);
+
+		h1 ^= length;
+		h2 ^= length;
+		h1 += h2;
+		h2 += h1;
+		h1 = fmix(h1);
+		h2 = fmix(h2);
+		h1 += h2;
+		h2 += h1;
+		return new MarkerFingerprint(h1, h2);
+	}
+
+	private static long getLong(byte[] data, int offset) {
+		long value = 0;
+		for (int i = 7; i >= 0; i--) {
+			value = (value << 8) | (data[offset + i] & 0xff);
+		}
+		return value;
+	}
+
+	private static long mixK1(long k1) {
+		k1 *= C1;
+		k1 = Long.rotateLeft(k1, 31);
+		return k1 * C2;
+	}
+
+	private static long mixK2(long k2) {
+		k2 *= C2;
+		k2 = Long.rotateLeft(k2, 33);
+		return k2 * C1;
+	}
+
+	private static long fmix(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+}
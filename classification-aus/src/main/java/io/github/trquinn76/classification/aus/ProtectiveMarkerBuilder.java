@@ -3,10 +3,12 @@ package io.github.trquinn76.classification.aus;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 
 import io.github.trquinn76.classification.aus.model.Classification;
@@ -34,6 +36,29 @@ public class ProtectiveMarkerBuilder {
 	
 	private static final Logger LOGGER = Logger.getLogger(ProtectiveMarkerBuilder.class.getCanonicalName());
 
+	private static final int CLASSIFICATION = 1;
+	private static final int INFORMATION_MANAGEMENT = 1 << 1;
+	private static final int CAVEATS = 1 << 2;
+	private static final int SPECIAL_HANDLING = 1 << 3;
+	private static final int RELEASABILITY = 1 << 4;
+	private static final int ALL_FIELDS = (1 << 5) - 1;
+
+	/**
+	 * A validation rule, named as reported to {@link MarkerMetrics}, with the fields it depends on.
+	 */
+	private record Rule(String name, int fields, BiConsumer<ProtectiveMarkerBuilder, List<String>> check) {
+	}
+
+	private static final List<Rule> RULES = List.of(
+			new Rule("classification", CLASSIFICATION, ProtectiveMarkerBuilder::checkClassificationValid),
+			new Rule("informationManagementMarker", INFORMATION_MANAGEMENT,
+					ProtectiveMarkerBuilder::checkInformationManagementMarkerValid),
+			new Rule("securityCaveat", CLASSIFICATION | CAVEATS | SPECIAL_HANDLING | RELEASABILITY,
+					ProtectiveMarkerBuilder::checkSecurityCaveatValid),
+			new Rule("specialHandlingInstruction", SPECIAL_HANDLING,
+					ProtectiveMarkerBuilder::checkSpecialHandlingInstructionsValid),
+			new Rule("releasability", RELEASABILITY, ProtectiveMarkerBuilder::checkReleasabilityValid));
+
 	private Classification classification = null;
 	private Set<InformationManagementTypes> informationManagementTypes = new TreeSet<>();
 	private Set<String> immLegislativeSecrecyWarnings = new TreeSet<>();
@@ -44,6 +69,16 @@ public class ProtectiveMarkerBuilder {
 	private ReleasabilityType releasabilityType = null;
 	private Set<String> releasableToList = new TreeSet<>(ClassificationConfig.releasableToOrder());
 
+	// the fields changed since the last validation, and each rule's report from then. isValid() only re-runs the
+	// rules which depend on changed fields.
+	private int changedFields = ALL_FIELDS;
+	private final List<List<String>> ruleReports = new ArrayList<>(Collections.nCopies(RULES.size(), List.of()));
+
+	// the marker this builder was seeded from, and the fields which still hold its values. build() reuses the parts of
+	// the seed whose fields are unchanged, rather than rebuilding them.
+	private ProtectiveMarker seed = null;
+	private int seededFields = 0;
+
 	public ProtectiveMarkerBuilder() {
 
 	}
@@ -53,30 +88,58 @@ public class ProtectiveMarkerBuilder {
 	 * 
 	 * Creates an instance of {@link ProtectiveMarkerBuilder} which is populated with the values from the given
 	 * {@code protectiveMarker} parameter.
+	 * <p>
+	 * The builder shares the immutable lists of the {@link ProtectiveMarker}, and only copies a list when its field is
+	 * first modified. {@link #build()} reuses the parts of the {@link ProtectiveMarker} whose fields are unchanged, so
+	 * changing one field of an existing marking costs little more than the change.
 	 * 
 	 * @param protectiveMarker the {@link ProtectiveMarker} with which to populate the builder.
 	 */
 	public ProtectiveMarkerBuilder(ProtectiveMarker protectiveMarker) {
+		this.seed = protectiveMarker;
 		this.classification = protectiveMarker.classification();
-		protectiveMarker.informationManagementMarkers().forEach(imm -> {
+		boolean informationManagementSeeded = true;
+		InformationManagementTypes previous = null;
+		for (InformationManagementMarker imm : protectiveMarker.informationManagementMarkers()) {
 			this.informationManagementTypes.add(imm.type());
 			if (imm.type() == InformationManagementTypes.LEGISLATIVE_SECRECY) {
-				this.immLegislativeSecrecyWarnings.addAll(imm.legislationSecrecyWarnings());
+				this.immLegislativeSecrecyWarnings = SharedListSet.of(imm.legislationSecrecyWarnings(),
+						Comparator.naturalOrder());
+				informationManagementSeeded &= this.immLegislativeSecrecyWarnings instanceof SharedListSet;
+			} else {
+				informationManagementSeeded &= imm.legislationSecrecyWarnings().isEmpty();
 			}
-		});
+			// a list out of order, or with values a build would drop, is not reused.
+			informationManagementSeeded &= previous == null || previous.compareTo(imm.type()) < 0;
+			previous = imm.type();
+		}
+		if (informationManagementSeeded) {
+			this.seededFields |= INFORMATION_MANAGEMENT;
+		}
 		SecurityCaveats sc = protectiveMarker.securityCaveats();
 		if (sc != null) {
-			this.codeWords.addAll(sc.codeWords());
-			this.foreignGovernmentMarkings.addAll(sc.foreignGovernmentMarkings());
+			this.codeWords = SharedListSet.of(sc.codeWords(), Comparator.naturalOrder());
+			this.foreignGovernmentMarkings = SharedListSet.of(sc.foreignGovernmentMarkings(),
+					Comparator.naturalOrder());
+			if (this.codeWords instanceof SharedListSet && this.foreignGovernmentMarkings instanceof SharedListSet) {
+				this.seededFields |= CAVEATS;
+			}
 			SpecialHandlingCaveat shc = sc.specialHandlingCaveat();
 			if (shc != null) {
 				this.specialHandlingInstruction = shc.instruction();
 				this.specialHandlingExclusiveFor = shc.exclusiveFor();
 			}
+			this.seededFields |= SPECIAL_HANDLING;
 			ReleasabilityCaveat releasability = sc.releasabilityCaveat();
 			if (releasability != null) {
 				this.releasabilityType = releasability.type();
-				this.releasableToList.addAll(releasability.releasableToList());
+				this.releasableToList = SharedListSet.of(releasability.releasableToList(),
+						ClassificationConfig.releasableToOrder());
+				if (this.releasableToList instanceof SharedListSet) {
+					this.seededFields |= RELEASABILITY;
+				}
+			} else {
+				this.seededFields |= RELEASABILITY;
 			}
 		}
 	}
@@ -89,6 +152,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder setClassification(Classification classification) {
 		this.classification = classification;
+		changed(CLASSIFICATION);
 		return this;
 	}
 	
@@ -100,6 +164,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder setClassification(String name) {
 		this.classification = new Classification(name);
+		changed(CLASSIFICATION);
 		return this;
 	}
 
@@ -119,6 +184,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder unofficial() {
 		this.classification = Classification.unofficial();
+		changed(CLASSIFICATION);
 		return this;
 	}
 	
@@ -129,6 +195,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder official() {
 		this.classification = Classification.official();
+		changed(CLASSIFICATION);
 		return this;
 	}
 	
@@ -139,6 +206,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder officialSensitive() {
 		this.classification = Classification.officialSensitive();
+		changed(CLASSIFICATION);
 		return this;
 	}
 	
@@ -151,6 +219,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder protect() {
 		this.classification = Classification.protect();
+		changed(CLASSIFICATION);
 		return this;
 	}
 	
@@ -161,6 +230,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder secret() {
 		this.classification = Classification.secret();
+		changed(CLASSIFICATION);
 		return this;
 	}
 	
@@ -171,6 +241,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder topSecret() {
 		this.classification = Classification.topSecret();
+		changed(CLASSIFICATION);
 		return this;
 	}
 
@@ -181,6 +252,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder legalPrivilege() {
 		this.informationManagementTypes.add(InformationManagementTypes.LEGAL_PRIVILEGE);
+		changed(INFORMATION_MANAGEMENT);
 		return this;
 	}
 
@@ -199,8 +271,9 @@ public class ProtectiveMarkerBuilder {
 					"A Legislative Secrecy Information Management Marker requires a Warning string");
 		}
 		this.informationManagementTypes.add(InformationManagementTypes.LEGISLATIVE_SECRECY);
-		this.immLegislativeSecrecyWarnings.clear();
+		this.immLegislativeSecrecyWarnings = SharedListSet.cleared(this.immLegislativeSecrecyWarnings);
 		this.immLegislativeSecrecyWarnings.add(warning);
+		changed(INFORMATION_MANAGEMENT);
 		return this;
 	}
 	
@@ -222,7 +295,9 @@ public class ProtectiveMarkerBuilder {
 					"A Legislative Secrecy Information Management Marker requires a Warning string");
 		}
 		this.informationManagementTypes.add(InformationManagementTypes.LEGISLATIVE_SECRECY);
+		this.immLegislativeSecrecyWarnings = SharedListSet.writable(this.immLegislativeSecrecyWarnings);
 		this.immLegislativeSecrecyWarnings.add(warning);
+		changed(INFORMATION_MANAGEMENT);
 		return this;
 	}
 
@@ -233,6 +308,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder personalPrivacy() {
 		this.informationManagementTypes.add(InformationManagementTypes.PERSONAL_PRIVACY);
+		changed(INFORMATION_MANAGEMENT);
 		return this;
 	}
 
@@ -261,7 +337,8 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder clearInformationManagementMarkers() {
 		this.informationManagementTypes.clear();
-		this.immLegislativeSecrecyWarnings.clear();
+		this.immLegislativeSecrecyWarnings = SharedListSet.cleared(this.immLegislativeSecrecyWarnings);
+		changed(INFORMATION_MANAGEMENT);
 		return this;
 	}
 
@@ -274,6 +351,7 @@ public class ProtectiveMarkerBuilder {
 	public ProtectiveMarkerBuilder setCodeWords(Set<String> codes) {
 		Objects.requireNonNull(codes);
 		this.codeWords = new TreeSet<>(codes);
+		changed(CAVEATS);
 		return this;
 	}
 
@@ -285,7 +363,9 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder addCodeword(String codeWord) {
 		Objects.requireNonNull(codeWord);
+		this.codeWords = SharedListSet.writable(this.codeWords);
 		this.codeWords.add(codeWord);
+		changed(CAVEATS);
 		return this;
 	}
 
@@ -304,7 +384,8 @@ public class ProtectiveMarkerBuilder {
 	 * @return this for function chaining.
 	 */
 	public ProtectiveMarkerBuilder clearCodeWords() {
-		this.codeWords.clear();
+		this.codeWords = SharedListSet.cleared(this.codeWords);
+		changed(CAVEATS);
 		return this;
 	}
 
@@ -317,6 +398,7 @@ public class ProtectiveMarkerBuilder {
 	public ProtectiveMarkerBuilder setForeignGovernmentMarkings(Set<String> markings) {
 		Objects.requireNonNull(markings);
 		this.foreignGovernmentMarkings = new TreeSet<>(markings);
+		changed(CAVEATS);
 		return this;
 	}
 
@@ -328,7 +410,9 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder addForeignGovernmentMarking(String marking) {
 		Objects.requireNonNull(marking);
+		this.foreignGovernmentMarkings = SharedListSet.writable(this.foreignGovernmentMarkings);
 		this.foreignGovernmentMarkings.add(marking);
+		changed(CAVEATS);
 		return this;
 	}
 
@@ -347,7 +431,8 @@ public class ProtectiveMarkerBuilder {
 	 * @return this for function chaining.
 	 */
 	public ProtectiveMarkerBuilder clearForeignGovernmentMarkers() {
-		this.foreignGovernmentMarkings.clear();
+		this.foreignGovernmentMarkings = SharedListSet.cleared(this.foreignGovernmentMarkings);
+		changed(CAVEATS);
 		return this;
 	}
 
@@ -359,6 +444,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder setSpecialHandlingInstruction(SpecialHandlingInstruction instruction) {
 		this.specialHandlingInstruction = instruction;
+		changed(SPECIAL_HANDLING);
 		return this;
 	}
 
@@ -379,6 +465,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder setSpecialHandlingExclusiveFor(String exclusiveFor) {
 		this.specialHandlingExclusiveFor = exclusiveFor;
+		changed(SPECIAL_HANDLING);
 		return this;
 	}
 
@@ -408,6 +495,7 @@ public class ProtectiveMarkerBuilder {
 	public ProtectiveMarkerBuilder delicateSource() {
 		this.specialHandlingInstruction = SpecialHandlingInstruction.DELICATE_SOURCE;
 		this.specialHandlingExclusiveFor = null;
+		changed(SPECIAL_HANDLING);
 		return this;
 	}
 	
@@ -419,6 +507,7 @@ public class ProtectiveMarkerBuilder {
 	public ProtectiveMarkerBuilder orcon() {
 		this.specialHandlingInstruction = SpecialHandlingInstruction.ORCON;
 		this.specialHandlingExclusiveFor = null;
+		changed(SPECIAL_HANDLING);
 		return this;
 	}
 	
@@ -436,6 +525,7 @@ public class ProtectiveMarkerBuilder {
 		}
 		this.specialHandlingInstruction = SpecialHandlingInstruction.EXCLUSIVE_FOR;
 		this.specialHandlingExclusiveFor = addressee;
+		changed(SPECIAL_HANDLING);
 		return this;
 	}
 	
@@ -447,6 +537,7 @@ public class ProtectiveMarkerBuilder {
 	public ProtectiveMarkerBuilder cabinet() {
 		this.specialHandlingInstruction = SpecialHandlingInstruction.CABINET;
 		this.specialHandlingExclusiveFor = null;
+		changed(SPECIAL_HANDLING);
 		return this;
 	}
 	
@@ -458,6 +549,7 @@ public class ProtectiveMarkerBuilder {
 	public ProtectiveMarkerBuilder clearSpecialHandlingInstruction() {
 		this.specialHandlingInstruction = null;
 		this.specialHandlingExclusiveFor = null;
+		changed(SPECIAL_HANDLING);
 		return this;
 	}
 
@@ -473,8 +565,10 @@ public class ProtectiveMarkerBuilder {
 		this.releasabilityType = type;
 		if (ReleasabilityType.REL == type) {
 			// Having set releasability type to REL am ensuring that AUS exists in the Releasable To list.
+			this.releasableToList = SharedListSet.writable(this.releasableToList);
 			this.releasableToList.add("AUS");
 		}
+		changed(RELEASABILITY);
 		return this;
 	}
 
@@ -499,6 +593,7 @@ public class ProtectiveMarkerBuilder {
 		Objects.requireNonNull(releasableToList);
 		this.releasableToList = new TreeSet<>(ClassificationConfig.releasableToOrder());
 		this.releasableToList.addAll(releasableToList);
+		changed(RELEASABILITY);
 		return this;
 	}
 
@@ -509,7 +604,9 @@ public class ProtectiveMarkerBuilder {
 	 * @return this for function chaining.
 	 */
 	public ProtectiveMarkerBuilder addReleasableToCountry(String countryCode) {
+		this.releasableToList = SharedListSet.writable(this.releasableToList);
 		this.releasableToList.add(countryCode);
+		changed(RELEASABILITY);
 		return this;
 	}
 
@@ -530,7 +627,8 @@ public class ProtectiveMarkerBuilder {
 	 * @return this for function chaining.
 	 */
 	public ProtectiveMarkerBuilder clearReleasableToList() {
-		this.releasableToList.clear();
+		this.releasableToList = SharedListSet.cleared(this.releasableToList);
+		changed(RELEASABILITY);
 		return this;
 	}
 	
@@ -541,6 +639,7 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder clearReleasability() {
 		this.releasabilityType = null;
+		changed(RELEASABILITY);
 		return clearReleasableToList();
 	}
 	
@@ -560,7 +659,8 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder austeo() {
 		this.releasabilityType = ReleasabilityType.AUSTEO;
-		this.releasableToList.clear();
+		this.releasableToList = SharedListSet.cleared(this.releasableToList);
+		changed(RELEASABILITY);
 		return this;
 	}
 	
@@ -571,7 +671,8 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder agao() {
 		this.releasabilityType = ReleasabilityType.AGAO;
-		this.releasableToList.clear();
+		this.releasableToList = SharedListSet.cleared(this.releasableToList);
+		changed(RELEASABILITY);
 		return this;
 	}
 	
@@ -583,8 +684,9 @@ public class ProtectiveMarkerBuilder {
 	 */
 	public ProtectiveMarkerBuilder rel(String... releasableToList) {
 		this.releasabilityType = ReleasabilityType.REL;
-		this.releasableToList.clear();
+		this.releasableToList = SharedListSet.cleared(this.releasableToList);
 		this.releasableToList.addAll(Arrays.asList(releasableToList));
+		changed(RELEASABILITY);
 		return this;
 	}
 
@@ -610,6 +712,9 @@ public class ProtectiveMarkerBuilder {
 		clearForeignGovernmentMarkers();
 		clearSpecialHandlingInstruction();
 		clearReleasability();
+		// a builder reused in another ClassificationContext takes on its releasable to order.
+		this.releasableToList = SharedListSet.cleared(this.releasableToList, ClassificationConfig.releasableToOrder());
+		this.changedFields = ALL_FIELDS;
 		
 		return this;
 	}
@@ -618,18 +723,27 @@ public class ProtectiveMarkerBuilder {
 	 * Used to determine if the {@link ProtectiveMarkerBuilder} is in a valid state, and able to build a
 	 * {@link ProtectiveMarker}.
 	 * 
+	 * Only the rules which depend on fields changed since the last call are re-run, so repeated calls while a UI edits
+	 * the builder cost in proportion to the edit.
+	 * 
 	 * @return a list of String, which reports on invalid parts of the builder which would need to be fixed in order
 	 * 		to perform a build. If there are no problems, and the builder is in a valid state, this list is empty.
 	 */
 	public List<String> isValid() {
-		List<String> report = new ArrayList<>();
-
-		checkClassificationValid(report);
-		checkInformationManagementMarkerValid(report);
-		checkSecurityCaveatValid(report);
-		checkSpecialHandlingInstructionsValid(report);
-		checkReleasabilityValid(report);
+		if (this.changedFields != 0) {
+			for (int i = 0; i < RULES.size(); i++) {
+				Rule rule = RULES.get(i);
+				if ((rule.fields() & this.changedFields) != 0) {
+					List<String> ruleReport = new ArrayList<>();
+					rule.check().accept(this, ruleReport);
+					this.ruleReports.set(i, ruleReport.isEmpty() ? List.of() : ruleReport);
+				}
+			}
+			this.changedFields = 0;
+		}
 
+		List<String> report = new ArrayList<>();
+		this.ruleReports.forEach(report::addAll);
 		return report;
 	}
 
@@ -640,6 +754,8 @@ public class ProtectiveMarkerBuilder {
 	 * @throws IllegalStateException if the builder is not in a valid state, then this exception is thrown.
 	 */
 	public ProtectiveMarker build() {
+		MarkerBuildEvent event = new MarkerBuildEvent();
+		event.begin();
 		List<String> report = isValid();
 
 		if (report.size() > 0) {
@@ -647,32 +763,77 @@ public class ProtectiveMarkerBuilder {
 			for (String line: report) {
 				LOGGER.severe(line);
 			}
+			Instrumentation.buildFailed(event, report, this::failedRules);
 			throw new IllegalStateException("Invalid state, cannot build Protective Marking.");
 		}
 
 		ReleasabilityCaveat relCaveat = null;
 		if (haveReleasabilityCaveat()) {
-			List<String> relToList = List.copyOf(this.releasableToList);
-			relCaveat = new ReleasabilityCaveat(this.releasabilityType, relToList);
+			if (seeded(RELEASABILITY)) {
+				relCaveat = this.seed.securityCaveats().releasabilityCaveat();
+			} else {
+				List<String> relToList = SharedListSet.list(this.releasableToList);
+				relCaveat = new ReleasabilityCaveat(this.releasabilityType, relToList);
+			}
 		}
 
 		SpecialHandlingCaveat shCaveat = null;
 		if (haveSpecialHandlingCaveat()) {
-			shCaveat = new SpecialHandlingCaveat(this.specialHandlingInstruction, this.specialHandlingExclusiveFor);
+			if (seeded(SPECIAL_HANDLING)) {
+				shCaveat = this.seed.securityCaveats().specialHandlingCaveat();
+			} else {
+				shCaveat = new SpecialHandlingCaveat(this.specialHandlingInstruction, this.specialHandlingExclusiveFor);
+			}
 		}
 
 		SecurityCaveats securityCaveats = null;
 		if (haveSecurityCaveat()) {
-			List<String> cwList = List.copyOf(this.codeWords);
-			List<String> fmList = List.copyOf(this.foreignGovernmentMarkings);
-			securityCaveats = new SecurityCaveats(cwList, fmList, shCaveat, relCaveat);
+			if (seeded(CAVEATS | SPECIAL_HANDLING | RELEASABILITY)) {
+				securityCaveats = this.seed.securityCaveats();
+			} else {
+				List<String> cwList = SharedListSet.list(this.codeWords);
+				List<String> fmList = SharedListSet.list(this.foreignGovernmentMarkings);
+				securityCaveats = new SecurityCaveats(cwList, fmList, shCaveat, relCaveat);
+			}
 		}
 		
-		List<InformationManagementMarker> immList = buildInformationManagementMarkers();
+		List<InformationManagementMarker> immList = seeded(INFORMATION_MANAGEMENT)
+				? this.seed.informationManagementMarkers()
+				: buildInformationManagementMarkers();
 
+		Instrumentation.built(event, this.classification);
 		return new ProtectiveMarker(this.classification, immList, securityCaveats);
 	}
 
+	/**
+	 * Records that the given fields have changed, so must be validated again and no longer hold the values of the seed.
+	 */
+	private void changed(int fields) {
+		this.changedFields |= fields;
+		this.seededFields &= ~fields;
+	}
+
+	/**
+	 * @return true if all the given fields still hold the values of the {@link ProtectiveMarker} the builder was seeded
+	 *         from.
+	 */
+	private boolean seeded(int fields) {
+		return (this.seededFields & fields) == fields;
+	}
+
+	/**
+	 * @return the names of the validation rules which are not met, as reported to {@link MarkerMetrics}.
+	 */
+	private List<String> failedRules() {
+		List<String> rules = new ArrayList<>();
+		for (int i = 0; i < RULES.size(); i++) {
+			if (!this.ruleReports.get(i).isEmpty()) {
+				rules.add(RULES.get(i).name());
+			}
+		}
+		return rules;
+	}
+
 	private void checkClassificationValid(List<String> report) {
 		if (this.classification == null) {
 			report.add("Classification must be set.");
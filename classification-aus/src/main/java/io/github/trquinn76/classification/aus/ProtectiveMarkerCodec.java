@@ -0,0 +1,398 @@
+package io.github.trquinn76.classification.aus;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.DevelopmentClassification;
+import io.github.trquinn76.classification.aus.model.InformationManagementMarker;
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.PSPFClassification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityCaveat;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingCaveat;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+/**
+ * Encodes {@link ProtectiveMarker}'s in a compact binary form, and decodes them again.
+ * <p>
+ * The encoded form is:
+ * <ul>
+ * <li>a version byte, currently {@value #VERSION}.</li>
+ * <li>a flags byte, recording production mode and which optional parts of the marker are present.</li>
+ * <li>the {@link Classification}, as the ordinal of its enumeration entry.</li>
+ * <li>the code words, and foreign government markings, as a count followed by each String.</li>
+ * <li>if present, the {@link SpecialHandlingInstruction} ordinal, and any Exclusive For String.</li>
+ * <li>if present, the {@link ReleasabilityType} ordinal, followed by the count and Strings of the releasable to
+ * list.</li>
+ * <li>the Information Management Markers, as a count followed by each type ordinal, and the count and Strings of its
+ * legislative secrecy warnings.</li>
+ * </ul>
+ * Counts and lengths are written as unsigned variable length integers, using 7 bits per byte. Each String is written as
+ * a reference into the dictionary of the {@link ProtectiveMarkerCodec}, or as a reference of 0 followed by the length
+ * and UTF-8 bytes of the String when it is not in the dictionary.
+ * <p>
+ * The dictionary always begins with the Five Eyes country codes, and may be extended with frequently used code words
+ * and other values. The encoding and decoding parties must use the same dictionary.
+ * <p>
+ * Markers are decoded in the currently configured mode. Decoding a marker encoded in the other mode is an error, so
+ * that a development marking can never be read as a real one, or the reverse.
+ */
+public final class ProtectiveMarkerCodec {
+
+	/**
+	 * The version of the encoded form written by this codec.
+	 */
+	public static final byte VERSION = 1;
+
+	private static final List<String> BUILT_IN_DICTIONARY = List.of(Utils.AUS, Utils.CAN, Utils.GBR, Utils.NZL,
+			Utils.USA);
+
+	private static final int PRODUCTION_MODE = 0x01;
+	private static final int SECURITY_CAVEATS = 0x02;
+	private static final int SPECIAL_HANDLING_CAVEAT = 0x04;
+	private static final int EXCLUSIVE_FOR = 0x08;
+	private static final int RELEASABILITY_CAVEAT = 0x10;
+
+	private static final PSPFClassification[] PSPF_CLASSIFICATIONS = PSPFClassification.values();
+	private static final DevelopmentClassification[] DEVELOPMENT_CLASSIFICATIONS = DevelopmentClassification
+			.values();
+	private static final SpecialHandlingInstruction[] SPECIAL_HANDLING_INSTRUCTIONS = SpecialHandlingInstruction
+			.values();
+	private static final ReleasabilityType[] RELEASABILITY_TYPES = ReleasabilityType.values();
+	private static final InformationManagementTypes[] INFORMATION_MANAGEMENT_TYPES = InformationManagementTypes
+			.values();
+
+	private final String[] dictionary;
+	private final Map<String, Integer> references;
+
+	/**
+	 * Constructor for a codec which uses only the built in dictionary.
+	 */
+	public ProtectiveMarkerCodec() {
+		this(List.of());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param dictionary additional Strings, such as code words, which are encoded as a reference rather than in full.
+	 *                   The order is significant, and must be the same when encoding and decoding. May be empty, may
+	 *                   not be null.
+	 */
+	public ProtectiveMarkerCodec(Collection<String> dictionary) {
+		Objects.requireNonNull(dictionary);
+		List<String> entries = new ArrayList<>(BUILT_IN_DICTIONARY);
+		entries.addAll(dictionary);
+		this.dictionary = entries.toArray(new String[0]);
+		this.references = new HashMap<>();
+		for (int i = 0; i < this.dictionary.length; i++) {
+			// the first occurrence of a duplicated entry is used.
+			this.references.putIfAbsent(Objects.requireNonNull(this.dictionary[i]), i + 1);
+		}
+	}
+
+	/**
+	 * Writes the encoded form of the given {@link ProtectiveMarker} into the {@code buffer}, starting at its current
+	 * position.
+	 * <p>
+	 * If the {@code buffer} does not have enough space remaining, its position is restored to where it was before
+	 * this call, and a {@link BufferOverflowException} is thrown.
+	 *
+	 * @param marker the {@link ProtectiveMarker} to encode. May not be null.
+	 * @param buffer the {@link ByteBuffer} to write into. May not be null.
+	 * @return the number of bytes written.
+	 * @throws BufferOverflowException if the marker does not fit in the remaining space of the buffer.
+	 */
+	public int encode(ProtectiveMarker marker, ByteBuffer buffer) {
+		Objects.requireNonNull(marker);
+		Objects.requireNonNull(buffer);
+		int start = buffer.position();
+		try {
+			boolean productionMode = ClassificationConfig.productionMode();
+			SecurityCaveats sc = marker.securityCaveats();
+			SpecialHandlingCaveat shc = sc != null ? sc.specialHandlingCaveat() : null;
+			ReleasabilityCaveat rc = sc != null ? sc.releasabilityCaveat() : null;
+
+			int flags = productionMode ? PRODUCTION_MODE : 0;
+			if (sc != null)
+				flags |= SECURITY_CAVEATS;
+			if (shc != null)
+				flags |= SPECIAL_HANDLING_CAVEAT;
+			if (shc != null && shc.exclusiveFor() != null)
+				flags |= EXCLUSIVE_FOR;
+			if (rc != null)
+				flags |= RELEASABILITY_CAVEAT;
+
+			buffer.put(VERSION);
+			buffer.put((byte) flags);
+			buffer.put((byte) classificationOrdinal(marker.classification(), productionMode));
+			if (sc != null) {
+				putStrings(sc.codeWords(), buffer);
+				putStrings(sc.foreignGovernmentMarkings(), buffer);
+				if (shc != null) {
+					buffer.put((byte) shc.instruction().ordinal());
+					if (shc.exclusiveFor() != null) {
+						putString(shc.exclusiveFor(), buffer);
+					}
+				}
+				if (rc != null) {
+					buffer.put((byte) rc.type().ordinal());
+					putStrings(rc.releasableToList(), buffer);
+				}
+			}
+			putVarint(marker.informationManagementMarkers().size(), buffer);
+			for (InformationManagementMarker imm : marker.informationManagementMarkers()) {
+				buffer.put((byte) imm.type().ordinal());
+				putStrings(imm.legislationSecrecyWarnings(), buffer);
+			}
+		} catch (BufferOverflowException boe) {
+			buffer.position(start);
+			throw boe;
+		}
+		return buffer.position() - start;
+	}
+
+	/**
+	 * Encodes the given {@link ProtectiveMarker} into a new, exactly sized, byte array.
+	 *
+	 * @param marker the {@link ProtectiveMarker} to encode. May not be null.
+	 * @return the encoded form of the marker.
+	 */
+	public byte[] encode(ProtectiveMarker marker) {
+		byte[] bytes = new byte[encodedLength(marker)];
+		encode(marker, ByteBuffer.wrap(bytes));
+		return bytes;
+	}
+
+	/**
+	 * Calculates the number of bytes {@code encode()} will write for the given {@link ProtectiveMarker}.
+	 *
+	 * @param marker the {@link ProtectiveMarker} to measure. May not be null.
+	 * @return the length in bytes of the encoded form of the marker.
+	 */
+	public int encodedLength(ProtectiveMarker marker) {
+		Objects.requireNonNull(marker);
+		// version, flags and classification.
+		int length = 3;
+		SecurityCaveats sc = marker.securityCaveats();
+		if (sc != null) {
+			length += stringsLength(sc.codeWords());
+			length += stringsLength(sc.foreignGovernmentMarkings());
+			SpecialHandlingCaveat shc = sc.specialHandlingCaveat();
+			if (shc != null) {
+				length += 1;
+				if (shc.exclusiveFor() != null) {
+					length += stringLength(shc.exclusiveFor());
+				}
+			}
+			ReleasabilityCaveat rc = sc.releasabilityCaveat();
+			if (rc != null) {
+				length += 1 + stringsLength(rc.releasableToList());
+			}
+		}
+		length += varintLength(marker.informationManagementMarkers().size());
+		for (InformationManagementMarker imm : marker.informationManagementMarkers()) {
+			length += 1 + stringsLength(imm.legislationSecrecyWarnings());
+		}
+		return length;
+	}
+
+	/**
+	 * Reads an encoded {@link ProtectiveMarker} from the {@code buffer}, starting at its current position. On return
+	 * the position of the {@code buffer} is immediately after the encoded marker.
+	 *
+	 * @param buffer the {@link ByteBuffer} to read from. May not be null.
+	 * @return the decoded {@link ProtectiveMarker}.
+	 * @throws IllegalArgumentException if the buffer does not contain a valid encoded marker, or the marker was encoded
+	 *                                  in a different production mode.
+	 */
+	public ProtectiveMarker decode(ByteBuffer buffer) {
+		Objects.requireNonNull(buffer);
+		try {
+			byte version = buffer.get();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Unsupported encoded ProtectiveMarker version: " + version);
+			}
+			int flags = buffer.get();
+			boolean productionMode = ClassificationConfig.productionMode();
+			if (((flags & PRODUCTION_MODE) != 0) != productionMode) {
+				throw new IllegalArgumentException(
+						"Encoded ProtectiveMarker production mode does not match configured production mode: "
+								+ productionMode);
+			}
+			Classification classification = classification(buffer.get(), productionMode);
+
+			SecurityCaveats sc = null;
+			if ((flags & SECURITY_CAVEATS) != 0) {
+				List<String> codeWords = getStrings(buffer);
+				List<String> foreignGovernmentMarkings = getStrings(buffer);
+				SpecialHandlingCaveat shc = null;
+				if ((flags & SPECIAL_HANDLING_CAVEAT) != 0) {
+					SpecialHandlingInstruction instruction = SPECIAL_HANDLING_INSTRUCTIONS[buffer.get()];
+					String exclusiveFor = (flags & EXCLUSIVE_FOR) != 0 ? getString(buffer) : null;
+					shc = new SpecialHandlingCaveat(instruction, exclusiveFor);
+				}
+				ReleasabilityCaveat rc = null;
+				if ((flags & RELEASABILITY_CAVEAT) != 0) {
+					ReleasabilityType type = RELEASABILITY_TYPES[buffer.get()];
+					rc = new ReleasabilityCaveat(type, getStrings(buffer));
+				}
+				sc = new SecurityCaveats(codeWords, foreignGovernmentMarkings, shc, rc);
+			}
+
+			int immCount = getCount(buffer);
+			List<InformationManagementMarker> imms = new ArrayList<>(immCount);
+			for (int i = 0; i < immCount; i++) {
+				InformationManagementTypes type = INFORMATION_MANAGEMENT_TYPES[buffer.get()];
+				imms.add(new InformationManagementMarker(type, getStrings(buffer)));
+			}
+			return new ProtectiveMarker(classification, imms, sc);
+		} catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+			throw new IllegalArgumentException("Invalid encoded ProtectiveMarker", e);
+		}
+	}
+
+	/**
+	 * Decodes the given bytes as a {@link ProtectiveMarker}.
+	 *
+	 * @param bytes the encoded form of a marker. May not be null.
+	 * @return the decoded {@link ProtectiveMarker}.
+	 * @throws IllegalArgumentException if the bytes are not a valid encoded marker, or the marker was encoded in a
+	 *                                  different production mode.
+	 */
+	public ProtectiveMarker decode(byte[] bytes) {
+		return decode(ByteBuffer.wrap(bytes));
+	}
+
+	private static int classificationOrdinal(Classification classification, boolean productionMode) {
+		if (productionMode) {
+			return PSPFClassification.valueOf(classification.classificationName()).ordinal();
+		}
+		return DevelopmentClassification.valueOf(classification.classificationName()).ordinal();
+	}
+
+	private static Classification classification(int ordinal, boolean productionMode) {
+		if (productionMode) {
+			return new Classification(PSPF_CLASSIFICATIONS[ordinal].name());
+		}
+		return new Classification(DEVELOPMENT_CLASSIFICATIONS[ordinal].name());
+	}
+
+	private void putStrings(List<String> values, ByteBuffer buffer) {
+		putVarint(values.size(), buffer);
+		for (String value : values) {
+			putString(value, buffer);
+		}
+	}
+
+	private void putString(String value, ByteBuffer buffer) {
+		Integer reference = references.get(value);
+		if (reference != null) {
+			putVarint(reference, buffer);
+		} else {
+			buffer.put((byte) 0);
+			putVarint(ProtectiveMarkerRenderer.utf8Length(value), buffer);
+			ProtectiveMarkerRenderer.putText(value, buffer);
+		}
+	}
+
+	private int stringsLength(List<String> values) {
+		int length = varintLength(values.size());
+		for (String value : values) {
+			length += stringLength(value);
+		}
+		return length;
+	}
+
+	private int stringLength(String value) {
+		Integer reference = references.get(value);
+		if (reference != null) {
+			return varintLength(reference);
+		}
+		int utf8Length = ProtectiveMarkerRenderer.utf8Length(value);
+		return 1 + varintLength(utf8Length) + utf8Length;
+	}
+
+	private List<String> getStrings(ByteBuffer buffer) {
+		int count = getCount(buffer);
+		List<String> values = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			values.add(getString(buffer));
+		}
+		return values;
+	}
+
+	private String getString(ByteBuffer buffer) {
+		int reference = getVarint(buffer);
+		if (reference > 0) {
+			return dictionary[reference - 1];
+		}
+		int length = getCount(buffer);
+		String value;
+		if (buffer.hasArray()) {
+			value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+					StandardCharsets.UTF_8);
+			buffer.position(buffer.position() + length);
+		} else {
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return value;
+	}
+
+	/**
+	 * Reads a count, which can never be more than the number of bytes remaining, so that corrupt input can not cause
+	 * excessive allocation.
+	 */
+	private static int getCount(ByteBuffer buffer) {
+		int count = getVarint(buffer);
+		if (count > buffer.remaining()) {
+			throw new IllegalArgumentException("Invalid encoded count: " + count);
+		}
+		return count;
+	}
+
+	static void putVarint(int value, ByteBuffer buffer) {
+		while ((value & ~0x7F) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	static int getVarint(ByteBuffer buffer) {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				if (value < 0) {
+					break;
+				}
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Invalid encoded varint");
+	}
+
+	static int varintLength(int value) {
+		int length = 1;
+		while ((value & ~0x7F) != 0) {
+			value >>>= 7;
+			length++;
+		}
+		return length;
+	}
+}
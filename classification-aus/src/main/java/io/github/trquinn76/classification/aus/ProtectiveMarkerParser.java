@@ -0,0 +1,312 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import io.github.trquinn76.classification.aus.model.DevelopmentClassification;
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.PSPFClassification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+/**
+ * Parses the text form of a {@link ProtectiveMarker}, as produced by its {@code toString()} function, back into a
+ * {@link ProtectiveMarker}.
+ * <p>
+ * The text is expected to be made of, in order:
+ * <ul>
+ * <li>the {@link io.github.trquinn76.classification.aus.model.Classification}, for the configured mode.</li>
+ * <li>code words and foreign government markings, separated by spaces.</li>
+ * <li>optionally, a {@link SpecialHandlingInstruction}, followed by the named recipient if it is EXCLUSIVE_FOR.</li>
+ * <li>optionally, a {@link ReleasabilityType}, followed by a '/' separated releasable to list if it is REL.</li>
+ * <li>any {@link InformationManagementTypes}, with LEGISLATIVE_SECRECY followed by its quoted warnings.</li>
+ * </ul>
+ * Special Handling Instructions and Information Management Markers are accepted in either their enumeration name
+ * form, as produced by {@code toString()}, or their display form, such as {@code EXCLUSIVE-FOR} and
+ * {@code Legal Privilege}.
+ * <p>
+ * The text form does not distinguish code words from foreign government markings. Every word is read as a code word,
+ * unless it is one of the foreign government markings given to the constructor. Code words and foreign government
+ * markings must be upper case letters, digits, '-' and '_'.
+ * <p>
+ * The parsed marker is validated by the {@link ProtectiveMarkerBuilder}. A {@link ProtectiveMarkerParser} is immutable,
+ * and may be shared between threads.
+ */
+public final class ProtectiveMarkerParser {
+
+	private static final Vocabulary<PSPFClassification> PSPF_CLASSIFICATIONS = Vocabulary
+			.of(PSPFClassification.class, Object::toString);
+	private static final Vocabulary<DevelopmentClassification> DEVELOPMENT_CLASSIFICATIONS = Vocabulary
+			.of(DevelopmentClassification.class, Object::toString);
+	private static final Vocabulary<SpecialHandlingInstruction> SPECIAL_HANDLING_INSTRUCTIONS = Vocabulary
+			.of(SpecialHandlingInstruction.class, Enum::name, Object::toString);
+	private static final Vocabulary<ReleasabilityType> RELEASABILITY_TYPES = Vocabulary.of(ReleasabilityType.class,
+			Enum::name);
+	private static final Vocabulary<InformationManagementTypes> INFORMATION_MANAGEMENT_TYPES = Vocabulary
+			.of(InformationManagementTypes.class, Enum::name, Object::toString);
+
+	private final Set<String> foreignGovernmentMarkings;
+
+	/**
+	 * Constructor for a parser which reads every word as a code word.
+	 */
+	public ProtectiveMarkerParser() {
+		this(Set.of());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param foreignGovernmentMarkings the words which are read as foreign government markings rather than code words.
+	 *                                  May be empty, may not be null.
+	 */
+	public ProtectiveMarkerParser(Set<String> foreignGovernmentMarkings) {
+		this.foreignGovernmentMarkings = Set.copyOf(foreignGovernmentMarkings);
+	}
+
+	/**
+	 * Parses the given text.
+	 *
+	 * @param text the text form of a {@link ProtectiveMarker}. May not be null.
+	 * @return the {@link ProtectiveMarker}.
+	 * @throws IllegalArgumentException if the text is not a valid {@link ProtectiveMarker}.
+	 */
+	public ProtectiveMarker parse(String text) {
+		Objects.requireNonNull(text);
+		List<String> report = new ArrayList<>();
+		ProtectiveMarkerBuilder builder = read(text, report);
+		Instrumentation.parsed(report.isEmpty());
+		if (!report.isEmpty()) {
+			throw new IllegalArgumentException("Unable to parse \"" + text + "\" as a ProtectiveMarker: "
+					+ String.join(" ", report));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Parses the given text, without raising an exception if it is not valid. This is preferred when parsing text
+	 * which is expected to often not be a marking, such as {@link MarkingCandidate}'s.
+	 *
+	 * @param text the text form of a {@link ProtectiveMarker}. May not be null.
+	 * @return the {@link ProtectiveMarker}, or empty if the text is not a valid {@link ProtectiveMarker}.
+	 */
+	public Optional<ProtectiveMarker> tryParse(String text) {
+		Objects.requireNonNull(text);
+		List<String> report = new ArrayList<>();
+		ProtectiveMarkerBuilder builder = read(text, report);
+		Instrumentation.parsed(report.isEmpty());
+		return report.isEmpty() ? Optional.of(builder.build()) : Optional.empty();
+	}
+
+	/**
+	 * Reads the text into a {@link ProtectiveMarkerBuilder}, adding any problems found to the report. The builder may
+	 * only be built if the report is empty.
+	 */
+	private ProtectiveMarkerBuilder read(String text, List<String> report) {
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+		Cursor cursor = new Cursor(text);
+
+		String classification = readClassification(cursor);
+		if (classification == null) {
+			report.add("No Classification found.");
+			return builder;
+		}
+		builder.setClassification(classification);
+
+		boolean haveSpecialHandling = false;
+		boolean haveReleasability = false;
+		boolean haveInformationManagement = false;
+		while (cursor.skipSpaces()) {
+			SpecialHandlingInstruction instruction = readSpecialHandlingInstruction(cursor);
+			if (instruction != null) {
+				if (haveSpecialHandling || haveReleasability || haveInformationManagement) {
+					report.add("Unexpected Special Handling Instruction: " + instruction + ".");
+					return builder;
+				}
+				haveSpecialHandling = true;
+				builder.setSpecialHandlingInstruction(instruction);
+				if (instruction == SpecialHandlingInstruction.EXCLUSIVE_FOR) {
+					builder.setSpecialHandlingExclusiveFor(readExclusiveFor(cursor));
+				}
+				continue;
+			}
+			ReleasabilityType releasability = readReleasabilityType(cursor);
+			if (releasability != null) {
+				if (haveReleasability || haveInformationManagement) {
+					report.add("Unexpected Releasability: " + releasability + ".");
+					return builder;
+				}
+				haveReleasability = true;
+				builder.setReleasability(releasability);
+				if (releasability == ReleasabilityType.REL && cursor.skipSpaces()) {
+					for (String country : cursor.word().split("/")) {
+						builder.addReleasableToCountry(country);
+					}
+				}
+				continue;
+			}
+			InformationManagementTypes type = readInformationManagementType(cursor);
+			if (type != null) {
+				haveInformationManagement = true;
+				switch (type) {
+				case LEGAL_PRIVILEGE:
+					builder.legalPrivilege();
+					break;
+				case PERSONAL_PRIVACY:
+					builder.personalPrivacy();
+					break;
+				case LEGISLATIVE_SECRECY:
+					if (!readWarnings(cursor, builder, report)) {
+						return builder;
+					}
+					break;
+				}
+				continue;
+			}
+			String word = cursor.word();
+			if (haveSpecialHandling || haveReleasability || haveInformationManagement || !isCaveatWord(word)) {
+				report.add("Unexpected word: \"" + word + "\".");
+				return builder;
+			}
+			if (foreignGovernmentMarkings.contains(word)) {
+				builder.addForeignGovernmentMarking(word);
+			} else {
+				builder.addCodeword(word);
+			}
+		}
+		report.addAll(builder.isValid());
+		return builder;
+	}
+
+	private static String readClassification(Cursor cursor) {
+		cursor.skipSpaces();
+		Enum<?> classification = ClassificationConfig.productionMode() ? cursor.consume(PSPF_CLASSIFICATIONS)
+				: cursor.consume(DEVELOPMENT_CLASSIFICATIONS);
+		return classification == null ? null : classification.name();
+	}
+
+	private static SpecialHandlingInstruction readSpecialHandlingInstruction(Cursor cursor) {
+		return cursor.consume(SPECIAL_HANDLING_INSTRUCTIONS);
+	}
+
+	private static ReleasabilityType readReleasabilityType(Cursor cursor) {
+		return cursor.consume(RELEASABILITY_TYPES);
+	}
+
+	private static InformationManagementTypes readInformationManagementType(Cursor cursor) {
+		return cursor.consume(INFORMATION_MANAGEMENT_TYPES);
+	}
+
+	/**
+	 * The named recipient runs up to the next Releasability or Information Management term, and may contain spaces.
+	 */
+	private static String readExclusiveFor(Cursor cursor) {
+		StringBuilder recipient = new StringBuilder();
+		while (cursor.skipSpaces()) {
+			int mark = cursor.position;
+			if (readReleasabilityType(cursor) != null || readInformationManagementType(cursor) != null) {
+				cursor.position = mark;
+				break;
+			}
+			if (recipient.length() > 0) {
+				recipient.append(' ');
+			}
+			recipient.append(cursor.word());
+		}
+		return recipient.isEmpty() ? null : recipient.toString();
+	}
+
+	private static boolean readWarnings(Cursor cursor, ProtectiveMarkerBuilder builder, List<String> report) {
+		boolean found = false;
+		while (cursor.skipSpaces() && cursor.peek() == '"') {
+			int close = cursor.text.indexOf('"', cursor.position + 1);
+			if (close < 0) {
+				report.add("Unterminated Legislative Secrecy Warning.");
+				return false;
+			}
+			String warning = cursor.text.substring(cursor.position + 1, close);
+			if (warning.isBlank()) {
+				report.add("Blank Legislative Secrecy Warning.");
+				return false;
+			}
+			builder.addLegislativeSecrecy(warning);
+			cursor.position = close + 1;
+			found = true;
+		}
+		if (!found) {
+			report.add("Missing Legislation Secrecy Warning for Legislative Secrecy Marker.");
+		}
+		return found;
+	}
+
+	private static boolean isCaveatWord(String word) {
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if (!Character.isUpperCase(c) && !Character.isDigit(c) && c != '-' && c != '_') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A position within the text being parsed.
+	 */
+	private static final class Cursor {
+
+		private final String text;
+		private int position;
+
+		Cursor(String text) {
+			this.text = text;
+		}
+
+		/**
+		 * Skips white space.
+		 *
+		 * @return true if there is more text.
+		 */
+		boolean skipSpaces() {
+			while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+				position++;
+			}
+			return position < text.length();
+		}
+
+		char peek() {
+			return text.charAt(position);
+		}
+
+		/**
+		 * Consumes the longest text of the {@link Vocabulary} at the position, which is followed by white space or the
+		 * end of text.
+		 *
+		 * @return the constant of the text consumed, or null.
+		 */
+		<E extends Enum<E>> E consume(Vocabulary<E> vocabulary) {
+			for (int length : vocabulary.lengths()) {
+				int end = position + length;
+				if (end <= text.length() && (end == text.length() || Character.isWhitespace(text.charAt(end)))) {
+					E found = vocabulary.get(text, position, end);
+					if (found != null) {
+						position = end;
+						return found;
+					}
+				}
+			}
+			return null;
+		}
+
+		String word() {
+			int start = position;
+			while (position < text.length() && !Character.isWhitespace(text.charAt(position))) {
+				position++;
+			}
+			return text.substring(start, position);
+		}
+	}
+}
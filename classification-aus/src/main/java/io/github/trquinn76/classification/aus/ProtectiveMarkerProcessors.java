@@ -0,0 +1,172 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+/**
+ * Provides {@link Flow.Processor} stages for pipelines of {@link ProtectiveMarker}'s built on
+ * {@link java.util.concurrent.Flow}.
+ * <p>
+ * Each stage supports a single {@link Flow.Subscriber}, and honours its demand. A stage requests no more than its
+ * buffer size of items from upstream ahead of downstream demand, and replenishes upstream in batches rather than an
+ * item at a time, so a stage never buffers more than its buffer size of items. Items which a stage rejects, or absorbs
+ * into a window, are replenished without waiting for downstream demand.
+ * <p>
+ * If a stage throws, upstream is cancelled, and the exception is passed downstream with {@code onError}.
+ * <p>
+ * Items are processed within the {@link ClassificationContext} bound when the stage was created, whichever thread
+ * delivers them.
+ */
+public final class ProtectiveMarkerProcessors {
+
+	/**
+	 * The number of items each stage requests ahead of demand by default.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = Flow.defaultBufferSize();
+
+	/**
+	 * Creates a stage which parses the text form of {@link ProtectiveMarker}'s.
+	 *
+	 * @param parser   the {@link ProtectiveMarkerParser}. May not be null.
+	 * @param rejected receives each text which is not a valid {@link ProtectiveMarker}. May not be null.
+	 * @return a new {@link Flow.Processor}.
+	 */
+	public static Flow.Processor<String, ProtectiveMarker> parse(ProtectiveMarkerParser parser,
+			Consumer<? super String> rejected) {
+		return parse(parser, rejected, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a stage which parses the text form of {@link ProtectiveMarker}'s.
+	 *
+	 * @param parser     the {@link ProtectiveMarkerParser}. May not be null.
+	 * @param rejected   receives each text which is not a valid {@link ProtectiveMarker}. May not be null.
+	 * @param bufferSize the number of items to request ahead of demand. Must be positive.
+	 * @return a new {@link Flow.Processor}.
+	 */
+	public static Flow.Processor<String, ProtectiveMarker> parse(ProtectiveMarkerParser parser,
+			Consumer<? super String> rejected, int bufferSize) {
+		Objects.requireNonNull(parser);
+		Objects.requireNonNull(rejected);
+		return new FlowStage<>(text -> {
+			ProtectiveMarker marker = parser.tryParse(text).orElse(null);
+			if (marker == null) {
+				rejected.accept(text);
+			}
+			return marker;
+		}, bufferSize);
+	}
+
+	/**
+	 * Creates a stage which builds {@link ProtectiveMarker}'s from {@link ProtectiveMarkerBuilder}'s, where
+	 * {@link ProtectiveMarkerBuilder#isValid()} reports no problems.
+	 *
+	 * @param rejected receives each {@link ProtectiveMarkerBuilder} which is not valid. May not be null.
+	 * @return a new {@link Flow.Processor}.
+	 */
+	public static Flow.Processor<ProtectiveMarkerBuilder, ProtectiveMarker> validate(
+			Consumer<? super ProtectiveMarkerBuilder> rejected) {
+		return validate(rejected, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a stage which builds {@link ProtectiveMarker}'s from {@link ProtectiveMarkerBuilder}'s, where
+	 * {@link ProtectiveMarkerBuilder#isValid()} reports no problems.
+	 *
+	 * @param rejected   receives each {@link ProtectiveMarkerBuilder} which is not valid. May not be null.
+	 * @param bufferSize the number of items to request ahead of demand. Must be positive.
+	 * @return a new {@link Flow.Processor}.
+	 */
+	public static Flow.Processor<ProtectiveMarkerBuilder, ProtectiveMarker> validate(
+			Consumer<? super ProtectiveMarkerBuilder> rejected, int bufferSize) {
+		Objects.requireNonNull(rejected);
+		return new FlowStage<>(builder -> {
+			if (!builder.isValid().isEmpty()) {
+				rejected.accept(builder);
+				return null;
+			}
+			return builder.build();
+		}, bufferSize);
+	}
+
+	/**
+	 * Creates a stage which replaces each {@link ProtectiveMarker} with its canonical instance.
+	 *
+	 * @param interner the {@link ProtectiveMarkerInterner}. May not be null.
+	 * @return a new {@link Flow.Processor}.
+	 */
+	public static Flow.Processor<ProtectiveMarker, ProtectiveMarker> intern(ProtectiveMarkerInterner interner) {
+		return intern(interner, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a stage which replaces each {@link ProtectiveMarker} with its canonical instance.
+	 *
+	 * @param interner   the {@link ProtectiveMarkerInterner}. May not be null.
+	 * @param bufferSize the number of items to request ahead of demand. Must be positive.
+	 * @return a new {@link Flow.Processor}.
+	 */
+	public static Flow.Processor<ProtectiveMarker, ProtectiveMarker> intern(ProtectiveMarkerInterner interner,
+			int bufferSize) {
+		Objects.requireNonNull(interner);
+		return new FlowStage<>(interner::intern, bufferSize);
+	}
+
+	/**
+	 * Creates a stage which merges each window of {@code windowSize} consecutive {@link ProtectiveMarker}'s, as
+	 * {@link Utils#merge(java.util.Collection)} would. A final partial window is merged when upstream completes.
+	 * <p>
+	 * Windows are merged as their {@link ProtectiveMarker}'s arrive, so a window is never buffered. The merged
+	 * {@link ProtectiveMarkerBuilder}'s may be in an invalid state.
+	 *
+	 * @param windowSize the number of {@link ProtectiveMarker}'s in each window. Must be positive.
+	 * @return a new {@link Flow.Processor}.
+	 */
+	public static Flow.Processor<ProtectiveMarker, ProtectiveMarkerBuilder> merge(int windowSize) {
+		return merge(windowSize, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a stage which merges each window of {@code windowSize} consecutive {@link ProtectiveMarker}'s, as
+	 * {@link Utils#merge(java.util.Collection)} would. A final partial window is merged when upstream completes.
+	 * <p>
+	 * Windows are merged as their {@link ProtectiveMarker}'s arrive, so a window is never buffered. The merged
+	 * {@link ProtectiveMarkerBuilder}'s may be in an invalid state.
+	 *
+	 * @param windowSize the number of {@link ProtectiveMarker}'s in each window. Must be positive.
+	 * @param bufferSize the number of items to request ahead of demand. Must be positive.
+	 * @return a new {@link Flow.Processor}.
+	 */
+	public static Flow.Processor<ProtectiveMarker, ProtectiveMarkerBuilder> merge(int windowSize, int bufferSize) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+		}
+		return new FlowStage<>(new FlowStage.Step<ProtectiveMarker, ProtectiveMarkerBuilder>() {
+			private ProtectiveMarkerBuilder window = null;
+			private int count = 0;
+
+			@Override
+			public ProtectiveMarkerBuilder apply(ProtectiveMarker marker) {
+				this.window = this.window == null ? Utils.merge(marker, null) : Utils.merge(this.window, marker);
+				if (++this.count < windowSize) {
+					return null;
+				}
+				return finish();
+			}
+
+			@Override
+			public ProtectiveMarkerBuilder finish() {
+				ProtectiveMarkerBuilder merged = this.window;
+				this.window = null;
+				this.count = 0;
+				return merged;
+			}
+		}, bufferSize);
+	}
+
+	private ProtectiveMarkerProcessors() {
+	}
+}
@@ -0,0 +1,253 @@
+package io.github.trquinn76.classification.aus;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.DevelopmentClassification;
+import io.github.trquinn76.classification.aus.model.InformationManagementMarker;
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.PSPFClassification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityCaveat;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingCaveat;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+/**
+ * Renders {@link ProtectiveMarker}'s directly as UTF-8 bytes.
+ * <p>
+ * The bytes written are exactly those of {@code marker.toString().getBytes(StandardCharsets.UTF_8)}, but are written
+ * straight into a caller supplied {@link ByteBuffer}, such as a network or file output buffer, without first creating
+ * the intermediate String. The text of every enumeration value is encoded once, when this class is loaded, so that
+ * only free text values such as code words and country codes need to be encoded per call. Those values are almost
+ * always ASCII, and are written a character at a time without allocation.
+ */
+public final class ProtectiveMarkerRenderer {
+
+	private static final byte SPACE = ' ';
+	private static final byte SLASH = '/';
+	private static final byte QUOTE = '"';
+
+	private static final byte[][] PSPF_CLASSIFICATIONS = encodeTexts(PSPFClassification.values());
+	private static final byte[][] DEVELOPMENT_CLASSIFICATIONS = encodeTexts(DevelopmentClassification.values());
+	// the record toString() functions use the enumeration name() for these values.
+	private static final byte[][] SPECIAL_HANDLING_INSTRUCTIONS = encodeNames(SpecialHandlingInstruction.values());
+	private static final byte[][] RELEASABILITY_TYPES = encodeNames(ReleasabilityType.values());
+	private static final byte[][] INFORMATION_MANAGEMENT_TYPES = encodeNames(InformationManagementTypes.values());
+
+	/**
+	 * Writes the UTF-8 form of the given {@link ProtectiveMarker} into the {@code buffer}, starting at its current
+	 * position.
+	 * <p>
+	 * If the {@code buffer} does not have enough space remaining, its position is restored to where it was before
+	 * this call, and a {@link BufferOverflowException} is thrown. {@code renderedLength()} may be used to size the
+	 * buffer beforehand.
+	 *
+	 * @param marker the {@link ProtectiveMarker} to render. May not be null.
+	 * @param buffer the {@link ByteBuffer} to write into. May not be null.
+	 * @return the number of bytes written.
+	 * @throws BufferOverflowException if the marker does not fit in the remaining space of the buffer.
+	 */
+	public static int render(ProtectiveMarker marker, ByteBuffer buffer) {
+		Objects.requireNonNull(marker);
+		Objects.requireNonNull(buffer);
+		int start = buffer.position();
+		try {
+			buffer.put(classificationBytes(marker.classification()));
+			if (marker.securityCaveats() != null) {
+				buffer.put(SPACE);
+				putSecurityCaveats(marker.securityCaveats(), buffer);
+			}
+			for (InformationManagementMarker imm : marker.informationManagementMarkers()) {
+				buffer.put(SPACE);
+				putInformationManagementMarker(imm, buffer);
+			}
+		} catch (BufferOverflowException boe) {
+			buffer.position(start);
+			throw boe;
+		}
+		return buffer.position() - start;
+	}
+
+	/**
+	 * Calculates the number of bytes {@code render()} will write for the given {@link ProtectiveMarker}.
+	 *
+	 * @param marker the {@link ProtectiveMarker} to measure. May not be null.
+	 * @return the length in bytes of the UTF-8 form of the marker.
+	 */
+	public static int renderedLength(ProtectiveMarker marker) {
+		Objects.requireNonNull(marker);
+		int length = classificationBytes(marker.classification()).length;
+		SecurityCaveats sc = marker.securityCaveats();
+		if (sc != null) {
+			length += 1 + securityCaveatsLength(sc);
+		}
+		for (InformationManagementMarker imm : marker.informationManagementMarkers()) {
+			length += 1 + INFORMATION_MANAGEMENT_TYPES[imm.type().ordinal()].length;
+			for (String warning : imm.legislationSecrecyWarnings()) {
+				length += 3 + utf8Length(warning);
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Renders the given {@link ProtectiveMarker} into a new, exactly sized, byte array.
+	 *
+	 * @param marker the {@link ProtectiveMarker} to render. May not be null.
+	 * @return the UTF-8 bytes of the marker.
+	 */
+	public static byte[] toBytes(ProtectiveMarker marker) {
+		byte[] bytes = new byte[renderedLength(marker)];
+		render(marker, ByteBuffer.wrap(bytes));
+		return bytes;
+	}
+
+	private static void putSecurityCaveats(SecurityCaveats sc, ByteBuffer buffer) {
+		boolean first = putWords(sc.codeWords(), true, buffer);
+		first = putWords(sc.foreignGovernmentMarkings(), first, buffer);
+		SpecialHandlingCaveat shc = sc.specialHandlingCaveat();
+		if (shc != null) {
+			if (!first)
+				buffer.put(SPACE);
+			buffer.put(SPECIAL_HANDLING_INSTRUCTIONS[shc.instruction().ordinal()]);
+			if (shc.exclusiveFor() != null) {
+				buffer.put(SPACE);
+				putText(shc.exclusiveFor(), buffer);
+			}
+			first = false;
+		}
+		ReleasabilityCaveat rc = sc.releasabilityCaveat();
+		if (rc != null) {
+			if (!first)
+				buffer.put(SPACE);
+			buffer.put(RELEASABILITY_TYPES[rc.type().ordinal()]);
+			List<String> countries = rc.releasableToList();
+			for (int i = 0; i < countries.size(); i++) {
+				buffer.put(i == 0 ? SPACE : SLASH);
+				putText(countries.get(i), buffer);
+			}
+		}
+	}
+
+	private static int securityCaveatsLength(SecurityCaveats sc) {
+		int length = 0;
+		int parts = 0;
+		for (String codeWord : sc.codeWords()) {
+			length += utf8Length(codeWord);
+			parts++;
+		}
+		for (String marking : sc.foreignGovernmentMarkings()) {
+			length += utf8Length(marking);
+			parts++;
+		}
+		SpecialHandlingCaveat shc = sc.specialHandlingCaveat();
+		if (shc != null) {
+			length += SPECIAL_HANDLING_INSTRUCTIONS[shc.instruction().ordinal()].length;
+			if (shc.exclusiveFor() != null) {
+				length += 1 + utf8Length(shc.exclusiveFor());
+			}
+			parts++;
+		}
+		ReleasabilityCaveat rc = sc.releasabilityCaveat();
+		if (rc != null) {
+			length += RELEASABILITY_TYPES[rc.type().ordinal()].length;
+			for (String country : rc.releasableToList()) {
+				length += 1 + utf8Length(country);
+			}
+			parts++;
+		}
+		// separating spaces.
+		return parts > 0 ? length + parts - 1 : length;
+	}
+
+	private static void putInformationManagementMarker(InformationManagementMarker imm, ByteBuffer buffer) {
+		buffer.put(INFORMATION_MANAGEMENT_TYPES[imm.type().ordinal()]);
+		for (String warning : imm.legislationSecrecyWarnings()) {
+			buffer.put(SPACE).put(QUOTE);
+			putText(warning, buffer);
+			buffer.put(QUOTE);
+		}
+	}
+
+	private static boolean putWords(List<String> words, boolean first, ByteBuffer buffer) {
+		for (String word : words) {
+			if (!first)
+				buffer.put(SPACE);
+			putText(word, buffer);
+			first = false;
+		}
+		return first;
+	}
+
+	private static byte[] classificationBytes(Classification classification) {
+		if (ClassificationConfig.productionMode()) {
+			return PSPF_CLASSIFICATIONS[PSPFClassification.valueOf(classification.classificationName()).ordinal()];
+		}
+		return DEVELOPMENT_CLASSIFICATIONS[DevelopmentClassification.valueOf(classification.classificationName())
+				.ordinal()];
+	}
+
+	/**
+	 * Writes the given text as UTF-8. ASCII characters are written directly, and only text containing other
+	 * characters falls back to the {@link String} encoder.
+	 */
+	static void putText(String text, ByteBuffer buffer) {
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c >= 0x80) {
+				buffer.put(text.substring(i).getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+			buffer.put((byte) c);
+		}
+	}
+
+	static int utf8Length(String text) {
+		int length = text.length();
+		int bytes = length;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c >= 0x80) {
+				if (c < 0x800) {
+					bytes += 1;
+				} else if (Character.isHighSurrogate(c) && i + 1 < length
+						&& Character.isLowSurrogate(text.charAt(i + 1))) {
+					// 4 bytes for the 2 chars of the pair.
+					bytes += 2;
+					i++;
+				} else if (Character.isSurrogate(c)) {
+					// unpaired surrogates are replaced with a single '?'.
+				} else {
+					bytes += 2;
+				}
+			}
+		}
+		return bytes;
+	}
+
+	private static byte[][] encodeTexts(Enum<?>[] values) {
+		byte[][] encoded = new byte[values.length][];
+		for (Enum<?> value : values) {
+			encoded[value.ordinal()] = value.toString().getBytes(StandardCharsets.UTF_8);
+		}
+		return encoded;
+	}
+
+	private static byte[][] encodeNames(Enum<?>[] values) {
+		byte[][] encoded = new byte[values.length][];
+		for (Enum<?> value : values) {
+			encoded[value.ordinal()] = value.name().getBytes(StandardCharsets.UTF_8);
+		}
+		return encoded;
+	}
+
+	private ProtectiveMarkerRenderer() {
+	}
+}
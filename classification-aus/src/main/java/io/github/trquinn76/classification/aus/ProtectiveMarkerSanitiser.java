@@ -0,0 +1,138 @@
+package io.github.trquinn76.classification.aus;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityCaveat;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+
+/**
+ * Filters items labelled with {@link ProtectiveMarker}'s down to those which may be released at a target
+ * {@link Classification} ceiling, and optionally to a foreign country.
+ * <p>
+ * A {@link ProtectiveMarker} is permitted when:
+ * <ul>
+ * <li>its {@link Classification} is no higher than the ceiling.</li>
+ * <li>if the target country is a foreign country, and the {@link Classification} is {@code PROTECTED} or higher, it
+ * has a {@link ReleasabilityType#REL} {@link ReleasabilityCaveat} naming the target country. {@code AUSTEO} and
+ * {@code AGAO} markers are never released to a foreign country, and lower Classifications may not carry a
+ * {@link ReleasabilityCaveat}.</li>
+ * </ul>
+ * Labelled data typically carries a small number of distinct markers, so the verdict for each distinct marker is
+ * computed once and held in a bounded map, making the cost of each item a single lookup. The map is cleared when it
+ * reaches its maximum size. Items without a marker are never permitted.
+ * <p>
+ * A {@link ProtectiveMarkerSanitiser} may be shared between threads. The verdicts depend on the configured mode, so a
+ * new {@link ProtectiveMarkerSanitiser} should be created if the configuration is changed.
+ */
+public final class ProtectiveMarkerSanitiser {
+
+	/**
+	 * The maximum number of verdicts held by default.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+	private final Classification ceiling;
+	private final String country;
+	private final int maximumSize;
+	private final ConcurrentHashMap<ProtectiveMarker, Boolean> verdicts = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param ceiling the highest {@link Classification} to permit. May not be null.
+	 * @param country the three letter code of the country items are released to, or null if they stay in Australia.
+	 */
+	public ProtectiveMarkerSanitiser(Classification ceiling, String country) {
+		this(ceiling, country, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param ceiling     the highest {@link Classification} to permit. May not be null.
+	 * @param country     the three letter code of the country items are released to, or null if they stay in
+	 *                    Australia.
+	 * @param maximumSize the maximum number of verdicts to hold. Must be positive.
+	 */
+	public ProtectiveMarkerSanitiser(Classification ceiling, String country, int maximumSize) {
+		Objects.requireNonNull(ceiling);
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+		}
+		this.ceiling = ceiling;
+		this.country = Utils.AUS.equals(country) ? null : country;
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Decides whether an item with the given {@link ProtectiveMarker} may be released.
+	 *
+	 * @param marker the {@link ProtectiveMarker}. May be null, in which case the item is not permitted.
+	 * @return true if the item may be released.
+	 */
+	public boolean permits(ProtectiveMarker marker) {
+		if (marker == null) {
+			return false;
+		}
+		Boolean verdict = this.verdicts.get(marker);
+		if (verdict == null) {
+			verdict = verdict(marker);
+			if (this.verdicts.size() >= this.maximumSize) {
+				this.verdicts.clear();
+			}
+			this.verdicts.putIfAbsent(marker, verdict);
+		}
+		return verdict;
+	}
+
+	/**
+	 * Filters a {@link Stream} of labelled items. The returned {@link Stream} is lazy, and may be parallel.
+	 *
+	 * @param <T>      the item type.
+	 * @param items    the items to filter. May not be null.
+	 * @param markerOf provides the {@link ProtectiveMarker} of an item. May not be null.
+	 * @return a {@link Stream} of the permitted items, in order.
+	 */
+	public <T> Stream<T> sanitise(Stream<T> items, Function<? super T, ProtectiveMarker> markerOf) {
+		Objects.requireNonNull(items);
+		Objects.requireNonNull(markerOf);
+		return items.filter(item -> permits(markerOf.apply(item)));
+	}
+
+	/**
+	 * Filters an {@link Iterator} of labelled items. The returned {@link Iterator} is lazy, and does not support
+	 * removal.
+	 *
+	 * @param <T>      the item type.
+	 * @param items    the items to filter. May not be null.
+	 * @param markerOf provides the {@link ProtectiveMarker} of an item. May not be null.
+	 * @return an {@link Iterator} of the permitted items, in order.
+	 */
+	public <T> Iterator<T> sanitise(Iterator<T> items, Function<? super T, ProtectiveMarker> markerOf) {
+		Objects.requireNonNull(items);
+		return sanitise(StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false),
+				markerOf).iterator();
+	}
+
+	private boolean verdict(ProtectiveMarker marker) {
+		if (marker.classification().compareTo(this.ceiling) > 0) {
+			return false;
+		}
+		if (this.country == null || marker.classification().compareTo(Classification.protect()) < 0) {
+			return true;
+		}
+		ReleasabilityCaveat releasability = marker.securityCaveats() == null ? null
+				: marker.securityCaveats().releasabilityCaveat();
+		return releasability != null && releasability.type() == ReleasabilityType.REL
+				&& releasability.releasableToList().contains(this.country);
+	}
+}
@@ -77,11 +77,14 @@ public class Utils {
 	 */
 	public static ProtectiveMarkerBuilder merge(ProtectiveMarker alpha, ProtectiveMarker beta) {
 		Objects.requireNonNull(alpha);
+		MarkerMergeEvent event = new MarkerMergeEvent();
+		event.begin();
 		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder(alpha);
 		builder.clearInformationManagementMarkers().setSpecialHandlingInstruction(null).setSpecialHandlingExclusiveFor(null);
 		if (beta != null) {
 			builder = merge(builder, beta);
 		}
+		Instrumentation.merged(event, beta == null ? 1 : 2, builder);
 		return builder;
 	}
 	
@@ -105,6 +108,8 @@ public class Utils {
 	 */
 	public static ProtectiveMarkerBuilder merge(Collection<ProtectiveMarker> protectiveMarkings) {
 		Objects.requireNonNull(protectiveMarkings);
+		MarkerMergeEvent event = new MarkerMergeEvent();
+		event.begin();
 		ProtectiveMarkerBuilder builder = null;
 		for (ProtectiveMarker marking : protectiveMarkings) {
 			if (builder == null) {
@@ -115,6 +120,7 @@ public class Utils {
 				builder = merge(builder, marking);
 			}
 		}
+		Instrumentation.merged(event, protectiveMarkings.size(), builder);
 		return builder;
 	}
 	
@@ -3,6 +3,7 @@ package io.github.trquinn76.classification.aus.model;
 import java.util.Objects;
 
 import io.github.trquinn76.classification.aus.ClassificationConfig;
+import io.github.trquinn76.classification.aus.Vocabulary;
 
 /**
  * Represents a specific Classification such as OFFICIAL or SECRET.
@@ -24,6 +25,11 @@ import io.github.trquinn76.classification.aus.ClassificationConfig;
  * @param classificationName defines the name of an entry in the currently configured Classification enumeration.
  */
 public record Classification(String classificationName) implements Comparable<Classification> {
+
+	private static final Vocabulary<PSPFClassification> PSPF_TEXTS = Vocabulary.of(PSPFClassification.class,
+			Object::toString);
+	private static final Vocabulary<DevelopmentClassification> DEVELOPMENT_TEXTS = Vocabulary.of(
+			DevelopmentClassification.class, Object::toString);
 	
 	/**
 	 * Constructor.
@@ -122,6 +128,23 @@ public record Classification(String classificationName) implements Comparable<Cl
 		return new Classification(DevelopmentClassification.DEVELOPMENT_TOP_SECRET.name());
 	}
 	
+	/**
+	 * Maps from the {@code toString()} value of a current {@link Classification} back to the {@link Classification}.
+	 * 
+	 * @param text the text to map.
+	 * @return the {@link Classification} for which the given text equals the result of the {@code toString()} function.
+	 * @throws IllegalArgumentException if the given String does not map to a current {@link Classification}.
+	 */
+	public static Classification fromString(String text) {
+		Objects.requireNonNull(text);
+		Enum<?> classification = ClassificationConfig.productionMode() ? PSPF_TEXTS.get(text)
+				: DEVELOPMENT_TEXTS.get(text);
+		if (classification != null) {
+			return new Classification(classification.name());
+		}
+		throw new IllegalArgumentException("Unable to map string \"" + text + "\" to a Classification");
+	}
+	
 	/**
 	 * Will determine if the given text String will map to a current {@link Classification}.
 	 * <p>
@@ -132,20 +155,9 @@ public record Classification(String classificationName) implements Comparable<Cl
 	 */
 	public static boolean isString(String text) {
 		if (ClassificationConfig.productionMode()) {
-			for (PSPFClassification classification : PSPFClassification.values()) {
-				if (classification.toString().equals(text)) {
-					return true;
-				}
-			}
-		}
-		else {
-			for (DevelopmentClassification classification : DevelopmentClassification.values()) {
-				if (classification.toString().equals(text)) {
-					return true;
-				}
-			}
+			return PSPF_TEXTS.contains(text);
 		}
-		return false;
+		return DEVELOPMENT_TEXTS.contains(text);
 	}
 
 	@Override
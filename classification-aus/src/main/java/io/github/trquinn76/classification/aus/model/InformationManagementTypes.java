@@ -2,6 +2,8 @@ package io.github.trquinn76.classification.aus.model;
 
 import java.util.Objects;
 
+import io.github.trquinn76.classification.aus.Vocabulary;
+
 /**
  * These are a subset of the controlled list of terms for the `Rights Type` property in the National Archives of
  * Australia's Australian Government Record Keeping Metadata Standard.
@@ -16,6 +18,9 @@ public enum InformationManagementTypes {
 	LEGISLATIVE_SECRECY("Legislative Secrecy"),
 	PERSONAL_PRIVACY("Personal Privacy");
 	
+	private static final Vocabulary<InformationManagementTypes> TEXTS = Vocabulary.of(
+			InformationManagementTypes.class, Object::toString);
+
 	private final String text;
 	
 	private InformationManagementTypes(String text) {
@@ -36,10 +41,9 @@ public enum InformationManagementTypes {
 	 */
 	public static InformationManagementTypes fromString(String text) {
 		Objects.requireNonNull(text);
-		for (InformationManagementTypes imt : InformationManagementTypes.values()) {
-			if (imt.toString().equals(text)) {
-				return imt;
-			}
+		InformationManagementTypes imt = TEXTS.get(text);
+		if (imt != null) {
+			return imt;
 		}
 		throw new IllegalArgumentException("Unable to map string \"" + text + "\" to an InformationManagementTypes");
 	}
@@ -53,11 +57,6 @@ public enum InformationManagementTypes {
 	 * 		{@link InformationManagementTypes} will return true, otherwise will return false.
 	 */
 	public static boolean isString(String text) {
-		for (InformationManagementTypes imt : InformationManagementTypes.values()) {
-			if (imt.toString().equals(text)) {
-				return true;
-			}
-		}
-		return false;
+		return TEXTS.contains(text);
 	}
 }
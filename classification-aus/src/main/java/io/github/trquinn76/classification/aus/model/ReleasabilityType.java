@@ -1,5 +1,9 @@
 package io.github.trquinn76.classification.aus.model;
 
+import java.util.Objects;
+
+import io.github.trquinn76.classification.aus.Vocabulary;
+
 /**
  * The set of Releasability types defined in the PSPF Guidelines, table 24.
  * 
@@ -14,4 +18,32 @@ public enum ReleasabilityType {
 	AUSTEO,
 	AGAO,
 	REL;
+	
+	private static final Vocabulary<ReleasabilityType> TEXTS = Vocabulary.of(ReleasabilityType.class, Object::toString);
+	
+	/**
+	 * Maps from a String back to a {@link ReleasabilityType}.
+	 * 
+	 * @param text the text to map.
+	 * @return the {@link ReleasabilityType} for which the given text equals to result of the {@code toString()}
+	 *         function.
+	 * @throws IllegalArgumentException if the given String does not map to any {@link ReleasabilityType}.
+	 */
+	public static ReleasabilityType fromString(String text) {
+		Objects.requireNonNull(text);
+		ReleasabilityType type = TEXTS.get(text);
+		if (type != null) {
+			return type;
+		}
+		throw new IllegalArgumentException("Unable to map string \"" + text + "\" to a ReleasabilityType");
+	}
+	
+	/**
+	 * Returns true if the given text will map to a {@link ReleasabilityType}.
+	 * @param text the text to check for a matching {@link ReleasabilityType}.
+	 * @return true if the text will map to a {@link ReleasabilityType}. false otherwise.
+	 */
+	public static boolean isString(String text) {
+		return TEXTS.contains(text);
+	}
 }
@@ -2,6 +2,8 @@ package io.github.trquinn76.classification.aus.model;
 
 import java.util.Objects;
 
+import io.github.trquinn76.classification.aus.Vocabulary;
+
 /**
  * The set of {@link SpecialHandlingInstruction}'s supported.
  * <p>
@@ -16,6 +18,9 @@ public enum SpecialHandlingInstruction {
 	CABINET("CABINET"),
 	NATIONAL_CABINET("NATIONAL-CABINET"); // obsolete!
 	
+	private static final Vocabulary<SpecialHandlingInstruction> TEXTS = Vocabulary.of(
+			SpecialHandlingInstruction.class, Object::toString);
+
 	private final String text;
 	
 	private SpecialHandlingInstruction(String text) {
@@ -37,10 +42,9 @@ public enum SpecialHandlingInstruction {
 	 */
 	public static SpecialHandlingInstruction fromString(String text) {
 		Objects.requireNonNull(text);
-		for (SpecialHandlingInstruction shi : SpecialHandlingInstruction.values()) {
-			if (shi.toString().equals(text)) {
-				return shi;
-			}
+		SpecialHandlingInstruction shi = TEXTS.get(text);
+		if (shi != null) {
+			return shi;
 		}
 		throw new IllegalArgumentException("Unable to map string \"" + text + "\" to a SpecialHandlingInstruction");
 	}
@@ -51,11 +55,6 @@ public enum SpecialHandlingInstruction {
 	 * @return true if the text will map to a {@link SpecialHandlingInstruction}. false otherwise.
 	 */
 	public static boolean isString(String text) {
-		for (SpecialHandlingInstruction shi : SpecialHandlingInstruction.values()) {
-			if (shi.toString().equals(text)) {
-				return true;
-			}
-		}
-		return false;
+		return TEXTS.contains(text);
 	}
 }
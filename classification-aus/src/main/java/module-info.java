@@ -3,7 +3,10 @@
  */
 open module io.github.trquinn76.classification.aus {
 	requires java.logging;
+	requires jdk.jfr;
 	
 	exports io.github.trquinn76.classification.aus;
 	exports io.github.trquinn76.classification.aus.model;
+
+	uses io.github.trquinn76.classification.aus.MarkerMetrics;
 }
\ No newline at end of file
@@ -5,10 +5,17 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.Comparator;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class ClassificationConfigTest {
 	
+	@BeforeEach
+	void beforeEach() {
+		// other test classes may already have loaded the config.
+		ClassificationConfig.reset();
+	}
+	
 	@AfterEach
 	void afterEach() {
 		ClassificationConfig.reset();
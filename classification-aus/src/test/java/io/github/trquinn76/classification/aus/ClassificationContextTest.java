@@ -0,0 +1,178 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+class ClassificationContextTest {
+
+	private static final ClassificationContext PRODUCTION = ClassificationContext.of(true,
+			ClassificationConfig.FIVEEYESFIRST);
+	private static final ClassificationContext DEVELOPMENT = ClassificationContext.of(false,
+			ClassificationConfig.AUSFIRST);
+
+	@AfterEach
+	void afterEach() {
+		ClassificationConfig.reset();
+	}
+
+	@Test
+	void defaultContextTest() {
+		assertNull(ClassificationContext.bound());
+		assertEquals(ClassificationContext.defaultContext(), ClassificationContext.current());
+		assertFalse(ClassificationContext.current().productionMode());
+		assertEquals(ClassificationConfig.releasableToOrder(), ClassificationContext.current().releasableToOrder());
+		assertThrows(IllegalArgumentException.class, () -> ClassificationContext.of(true, "nzlfirst"));
+	}
+
+	@Test
+	void boundContextTest() {
+		PRODUCTION.run(() -> {
+			assertSame(PRODUCTION, ClassificationContext.current());
+			assertTrue(ClassificationConfig.productionMode());
+			assertEquals(Utils.FIVE_EYES_FIRST, ClassificationConfig.releasableToOrder());
+			assertEquals("SECRET", Classification.secret().classificationName());
+			DEVELOPMENT.run(() -> {
+				assertEquals("DEVELOPMENT_SECRET", Classification.secret().classificationName());
+				assertEquals(Utils.AUS_FIRST, ClassificationConfig.releasableToOrder());
+			});
+			assertEquals("SECRET", Classification.secret().classificationName());
+		});
+		assertFalse(ClassificationConfig.productionMode());
+		assertEquals(ClassificationContext.defaultContext().releasableToOrder(),
+			ClassificationConfig.releasableToOrder());
+		assertNull(ClassificationContext.bound());
+	}
+
+	@Test
+	void restoredOnExceptionTest() {
+		assertThrows(IllegalStateException.class, () -> PRODUCTION.run(() -> {
+			throw new IllegalStateException();
+		}));
+		assertNull(ClassificationContext.bound());
+		assertFalse(ClassificationConfig.productionMode());
+	}
+
+	@Test
+	void parseAndRenderTest() {
+		ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+		ProtectiveMarker production = PRODUCTION.get(() -> parser.parse("SECRET AAA REL AUS/USA"));
+		assertEquals("SECRET", production.classification().classificationName());
+		assertEquals("SECRET AAA REL AUS/USA", PRODUCTION.get(production::toString));
+		assertArrayEquals(PRODUCTION.get(() -> production.toString().getBytes()),
+				PRODUCTION.get(() -> ProtectiveMarkerRenderer.toBytes(production)));
+		ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+		byte[] encoded = PRODUCTION.get(() -> codec.encode(production));
+		assertEquals(production, PRODUCTION.get(() -> codec.decode(encoded)));
+		assertThrows(IllegalArgumentException.class, () -> codec.decode(encoded));
+
+		ProtectiveMarker development = parser.parse("Development-SECRET AAA REL AUS/USA");
+		assertEquals("Development-SECRET AAA REL AUS/USA", development.toString());
+		assertThrows(IllegalArgumentException.class, () -> parser.parse("SECRET AAA REL AUS/USA"));
+	}
+
+	@Test
+	void concurrentTenantsTest() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CountDownLatch latch = new CountDownLatch(2);
+			Future<String> production = executor.submit(() -> PRODUCTION.get(() -> awaitSecret(latch)));
+			Future<String> development = executor.submit(() -> DEVELOPMENT.get(() -> awaitSecret(latch)));
+			assertEquals("SECRET", production.get());
+			assertEquals("DEVELOPMENT_SECRET", development.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void sharedInternerTest() {
+		ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(16);
+		assertEquals("SECRET", PRODUCTION.get(() -> interner.classification("SECRET")).classificationName());
+		assertEquals("DEVELOPMENT_SECRET", interner.classification("DEVELOPMENT_SECRET").classificationName());
+		assertThrows(IllegalArgumentException.class, () -> interner.classification("SECRET"));
+	}
+
+	@Test
+	void labellingExecutorTest() throws Exception {
+		LabellingExecutor.Labeller<String> labeller = (record, builder) -> builder.secret().rel("AUS", "FRA", "USA");
+		try (LabellingExecutor executor = new LabellingExecutor(1)) {
+			ProtectiveMarker development = DEVELOPMENT.get(() -> executor.submit("a", labeller))
+					.get(5, TimeUnit.SECONDS);
+			assertEquals("DEVELOPMENT_SECRET", development.classification().classificationName());
+			assertEquals(List.of("AUS", "FRA", "USA"),
+					development.securityCaveats().releasabilityCaveat().releasableToList());
+
+			// the pooled builder takes on the releasable to order of the submitting context.
+			ProtectiveMarker production = PRODUCTION.get(() -> executor.submit("b", labeller))
+					.get(5, TimeUnit.SECONDS);
+			assertEquals("SECRET", production.classification().classificationName());
+			assertEquals(List.of("AUS", "USA", "FRA"),
+					production.securityCaveats().releasabilityCaveat().releasableToList());
+
+			List<CompletableFuture<ProtectiveMarker>> results = PRODUCTION
+					.get(() -> assertDoesNotThrow(() -> executor.labelAll(List.of("c", "d"), labeller)));
+			for (CompletableFuture<ProtectiveMarker> result : results) {
+				assertEquals(production, result.get());
+			}
+		}
+	}
+
+	@Test
+	void processorsTest() throws Exception {
+		Flow.Processor<String, ProtectiveMarker> parse = PRODUCTION
+				.get(() -> ProtectiveMarkerProcessors.parse(new ProtectiveMarkerParser(), text -> fail(text)));
+		CompletableFuture<ProtectiveMarker> result = new CompletableFuture<>();
+		parse.subscribe(new Flow.Subscriber<>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(1);
+			}
+
+			@Override
+			public void onNext(ProtectiveMarker item) {
+				result.complete(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				result.completeExceptionally(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+		// the publisher delivers the text on a pool thread, where no context is bound.
+		try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+			publisher.subscribe(parse);
+			publisher.submit("SECRET AAA REL AUS/USA");
+		}
+		assertEquals("SECRET", result.get(5, TimeUnit.SECONDS).classification().classificationName());
+	}
+
+	private static String awaitSecret(CountDownLatch latch) {
+		// both tasks hold their contexts at the same time.
+		latch.countDown();
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return Classification.secret().classificationName();
+	}
+}
@@ -0,0 +1,133 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+
+class HighWaterMarkAggregatorTest {
+
+	private final List<ProtectiveMarker> samples = List.of(
+			new ProtectiveMarkerBuilder().official().build(),
+			new ProtectiveMarkerBuilder().protect().legalPrivilege().build(),
+			new ProtectiveMarkerBuilder().protect().rel("AUS", "GBR", "NZL").build(),
+			new ProtectiveMarkerBuilder().secret().addCodeword("AAA").rel("AUS", "NZL", "USA").build(),
+			new ProtectiveMarkerBuilder().secret().addCodeword("BBB").addForeignGovernmentMarking("NZL SECRET").build(),
+			new ProtectiveMarkerBuilder().topSecret().addCodeword("AAA").austeo().build(),
+			new ProtectiveMarkerBuilder().protect().agao().cabinet().build());
+
+	@Test
+	void emptyTest() {
+		HighWaterMarkAggregator aggregator = new HighWaterMarkAggregator();
+		assertNull(aggregator.merged());
+		assertNull(aggregator.classification());
+		assertFalse(aggregator.remove(samples.get(0)));
+		assertFalse(aggregator.remove(null));
+	}
+
+	@Test
+	void releasabilityTest() {
+		HighWaterMarkAggregator aggregator = new HighWaterMarkAggregator();
+		aggregator.add(samples.get(2));
+		aggregator.add(samples.get(3));
+		assertEquals(ReleasabilityType.REL, aggregator.merged().getReleasabilityType());
+		assertEquals(List.of("AUS", "NZL"), new ArrayList<>(aggregator.merged().getReleasableToList()));
+
+		aggregator.add(samples.get(5));
+		assertEquals(Classification.topSecret(), aggregator.classification());
+		assertEquals(ReleasabilityType.AUSTEO, aggregator.merged().getReleasabilityType());
+		assertTrue(aggregator.merged().getReleasableToList().isEmpty());
+
+		// removing the most restrictive marker restores the REL intersection.
+		assertTrue(aggregator.remove(samples.get(5)));
+		assertEquals(Classification.secret(), aggregator.classification());
+		assertEquals(List.of("AUS", "NZL"), new ArrayList<>(aggregator.merged().getReleasableToList()));
+
+		assertTrue(aggregator.remove(samples.get(3)));
+		assertEquals(List.of("AUS", "GBR", "NZL"), new ArrayList<>(aggregator.merged().getReleasableToList()));
+	}
+
+	@Test
+	void matchesUtilsMergeTest() {
+		Random random = new Random(42);
+		HighWaterMarkAggregator aggregator = new HighWaterMarkAggregator();
+		List<ProtectiveMarker> pack = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			if (pack.isEmpty() || random.nextInt(3) > 0) {
+				ProtectiveMarker marker = samples.get(random.nextInt(samples.size()));
+				pack.add(marker);
+				aggregator.add(marker);
+			}
+			else {
+				ProtectiveMarker marker = pack.remove(random.nextInt(pack.size()));
+				assertTrue(aggregator.remove(marker));
+			}
+			assertEquals(pack.size(), aggregator.size());
+			assertMerged(Utils.merge(pack), aggregator.merged());
+		}
+		aggregator.clear();
+		assertNull(aggregator.merged());
+	}
+
+	@Test
+	void addAllTest() {
+		HighWaterMarkAggregator first = new HighWaterMarkAggregator();
+		HighWaterMarkAggregator second = new HighWaterMarkAggregator();
+		samples.subList(0, 3).forEach(first::add);
+		samples.forEach(second::add);
+		first.addAll(second);
+		assertEquals(samples.size() + 3, first.size());
+		assertMerged(Utils.merge(samples), first.merged());
+
+		// each occurrence is added, so each may be removed again.
+		samples.forEach(first::remove);
+		assertMerged(Utils.merge(samples.subList(0, 3)), first.merged());
+		first.addAll(first);
+		assertEquals(6, first.size());
+		assertMerged(Utils.merge(samples.subList(0, 3)), first.merged());
+		assertEquals(samples.size(), second.size());
+	}
+
+	@Test
+	void concurrentTest() throws InterruptedException {
+		HighWaterMarkAggregator aggregator = new HighWaterMarkAggregator();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int editor = 0; editor < 4; editor++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 1000; i++) {
+					ProtectiveMarker marker = samples.get(i % samples.size());
+					aggregator.add(marker);
+					aggregator.merged();
+					aggregator.remove(marker);
+				}
+			});
+		}
+		aggregator.add(samples.get(3));
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		assertEquals(1, aggregator.size());
+		assertMerged(Utils.merge(List.of(samples.get(3))), aggregator.merged());
+	}
+
+	private static void assertMerged(ProtectiveMarkerBuilder expected, ProtectiveMarkerBuilder actual) {
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+		assertEquals(expected.getClassificiation(), actual.getClassificiation());
+		assertEquals(expected.getCodewords(), actual.getCodewords());
+		assertEquals(expected.getForeignGovernmentMarkings(), actual.getForeignGovernmentMarkings());
+		assertEquals(expected.getReleasabilityType(), actual.getReleasabilityType());
+		assertEquals(new ArrayList<>(expected.getReleasableToList()), new ArrayList<>(actual.getReleasableToList()));
+	}
+}
@@ -0,0 +1,133 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+class LabellingExecutorTest {
+
+	/**
+	 * Stands in for an external classifier, which takes a little time to answer, and tracks how many records it is
+	 * asked to label at once.
+	 */
+	private static final class StandInClassifier implements LabellingExecutor.Labeller<Integer> {
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger maximumInFlight = new AtomicInteger();
+
+		@Override
+		public void label(Integer record, ProtectiveMarkerBuilder builder) throws Exception {
+			maximumInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(2);
+				if (record % 3 == 0) {
+					builder.secret().addCodeword("AAA").rel("AUS", "NZL");
+				}
+				else {
+					builder.official();
+				}
+			}
+			finally {
+				inFlight.decrementAndGet();
+			}
+		}
+	}
+
+	@Test
+	void labelAllTest() throws Exception {
+		StandInClassifier classifier = new StandInClassifier();
+		try (LabellingExecutor executor = new LabellingExecutor(500, new ProtectiveMarkerInterner(16))) {
+			List<Integer> records = IntStream.range(0, 10_000).boxed().toList();
+			long start = System.nanoTime();
+			List<CompletableFuture<ProtectiveMarker>> results = executor.labelAll(records, classifier);
+			long elapsed = System.nanoTime() - start;
+
+			assertEquals(records.size(), results.size());
+			results.forEach(result -> assertTrue(result.isDone()));
+			assertTrue(classifier.maximumInFlight.get() <= 500);
+			// 10,000 records of 2ms each, labelled serially, would take 20 seconds.
+			assertTrue(elapsed < TimeUnit.SECONDS.toNanos(10), "took " + Duration.ofNanos(elapsed));
+
+			ProtectiveMarker secret = results.get(0).get();
+			ProtectiveMarker official = results.get(1).get();
+			assertEquals(new ProtectiveMarkerBuilder().secret().addCodeword("AAA").rel("AUS", "NZL").build(), secret);
+			assertEquals(new ProtectiveMarkerBuilder().official().build(), official);
+			for (int i = 0; i < records.size(); i++) {
+				assertSame(i % 3 == 0 ? secret : official, results.get(i).get());
+			}
+
+			LabellingStatistics statistics = executor.statistics();
+			assertEquals(10_000, statistics.completed());
+			assertEquals(0, statistics.failed());
+			assertTrue(statistics.p50().toNanos() >= TimeUnit.MILLISECONDS.toNanos(1));
+			assertTrue(statistics.p50().compareTo(statistics.p90()) <= 0);
+			assertTrue(statistics.p90().compareTo(statistics.p99()) <= 0);
+			assertTrue(statistics.p99().compareTo(statistics.max()) <= 0);
+		}
+	}
+
+	@Test
+	void submitTest() throws Exception {
+		StandInClassifier classifier = new StandInClassifier();
+		try (LabellingExecutor executor = new LabellingExecutor(4)) {
+			List<CompletableFuture<ProtectiveMarker>> results = IntStream.range(0, 100)
+					.mapToObj(i -> executor.submit(i, classifier)).toList();
+			CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+			assertTrue(classifier.maximumInFlight.get() <= 4);
+			assertEquals(100, executor.statistics().completed());
+		}
+	}
+
+	@Test
+	void failureTest() throws Exception {
+		try (LabellingExecutor executor = new LabellingExecutor(2)) {
+			CompletableFuture<ProtectiveMarker> invalid = executor.submit("invalid",
+					(record, builder) -> builder.official().addCodeword("AAA"));
+			CompletableFuture<ProtectiveMarker> thrown = executor.submit("thrown", (record, builder) -> {
+				throw new Exception(record);
+			});
+			ExecutionException e = assertThrows(ExecutionException.class, () -> invalid.get(5, TimeUnit.SECONDS));
+			assertInstanceOf(IllegalStateException.class, e.getCause());
+			e = assertThrows(ExecutionException.class, () -> thrown.get(5, TimeUnit.SECONDS));
+			assertEquals("thrown", e.getCause().getMessage());
+
+			// builders are cleared before they are reused.
+			for (int i = 0; i < 10; i++) {
+				assertEquals(new ProtectiveMarkerBuilder().official().build(),
+						executor.submit(i, (record, builder) -> builder.official()).get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(2, executor.statistics().failed());
+			assertEquals(10, executor.statistics().completed());
+		}
+		assertThrows(IllegalArgumentException.class, () -> new LabellingExecutor(0));
+	}
+
+	@Test
+	void latencyHistogramTest() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.percentile(50));
+		for (long value = 1; value <= 1000; value++) {
+			histogram.record(value * 1000);
+		}
+		assertEquals(1000, histogram.count());
+		assertEquals(1_000_000, histogram.max());
+		assertEquals(500_000, histogram.percentile(50), 500_000 / 16);
+		assertEquals(990_000, histogram.percentile(99), 990_000 / 16);
+		assertEquals(1_000_000, histogram.percentile(100));
+		for (long value : new long[] { 0, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE }) {
+			int index = LatencyHistogram.index(value);
+			assertTrue(LatencyHistogram.upperBound(index) >= value);
+			assertTrue(index == 0 || LatencyHistogram.upperBound(index - 1) < value);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+class MarkerFingerprintTest {
+
+	@AfterEach
+	void afterEach() {
+		ClassificationConfig.reset();
+		System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+	}
+
+	private static MarkerFingerprint murmur(String text) {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		return MurmurHash3.hash128(bytes, bytes.length);
+	}
+
+	private static ProtectiveMarker sample() {
+		return new ProtectiveMarkerBuilder().secret().addCodeword("AAA").rel("AUS", "NZL").legalPrivilege().build();
+	}
+
+	@Test
+	void murmurHash3Test() {
+		assertEquals(new MarkerFingerprint(0, 0), murmur(""));
+		// the same values as Guava's Hashing.murmur3_128(), read as two little endian longs.
+		assertEquals(new MarkerFingerprint(0xcbd8a7b341bd9b02L, 0x5b1e906a48ae1d19L), murmur("hello"));
+		assertEquals(new MarkerFingerprint(0xe34bbc7bbc071b6cL, 0x7a433ca9c49a9347L),
+				murmur("The quick brown fox jumps over the lazy dog"));
+	}
+
+	@Test
+	void fingerprintTest() {
+		MarkerFingerprint fingerprint = MarkerFingerprint.of(sample());
+		assertEquals(fingerprint, MarkerFingerprint.of(sample()));
+		// the builder puts the releasable to list in order, so equal markers have equal fingerprints.
+		assertEquals(fingerprint, MarkerFingerprint.of(new ProtectiveMarkerBuilder().secret().addCodeword("AAA")
+				.rel("NZL", "AUS").legalPrivilege().build()));
+
+		assertNotEquals(fingerprint, MarkerFingerprint.of(new ProtectiveMarkerBuilder().secret().addCodeword("BBB")
+				.rel("AUS", "NZL").legalPrivilege().build()));
+		assertNotEquals(fingerprint, MarkerFingerprint.of(new ProtectiveMarkerBuilder().topSecret()
+				.addCodeword("AAA").rel("AUS", "NZL").legalPrivilege().build()));
+		// a code word is not mistaken for a foreign government marking.
+		assertNotEquals(MarkerFingerprint.of(new ProtectiveMarkerBuilder().secret().addCodeword("AAA").build()),
+				MarkerFingerprint.of(new ProtectiveMarkerBuilder().secret().addForeignGovernmentMarking("AAA")
+						.build()));
+	}
+
+	@Test
+	void stableTest() {
+		// pinned, as fingerprints are shared between JVMs and releases.
+		assertEquals("1af671c458053381ce8ba7eee448b041", MarkerFingerprint.of(sample()).toString());
+
+		MarkerFingerprint development = MarkerFingerprint.of(sample());
+		ClassificationConfigTest
+				.setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+		ClassificationConfig.reset();
+		assertTrue(ClassificationConfig.productionMode());
+		assertEquals(development, MarkerFingerprint.of(sample()));
+	}
+
+	@Test
+	void bytesAndStringTest() {
+		MarkerFingerprint fingerprint = MarkerFingerprint.of(sample());
+		assertEquals(MarkerFingerprint.BYTES, fingerprint.toBytes().length);
+		assertEquals(fingerprint, MarkerFingerprint.fromBytes(fingerprint.toBytes()));
+		assertEquals(fingerprint, MarkerFingerprint.fromString(fingerprint.toString()));
+		assertEquals("0000000000000001ffffffffffffffff", new MarkerFingerprint(1, -1).toString());
+
+		assertThrows(IllegalArgumentException.class, () -> MarkerFingerprint.fromBytes(new byte[15]));
+		assertThrows(IllegalArgumentException.class, () -> MarkerFingerprint.fromString("0123"));
+		assertThrows(IllegalArgumentException.class,
+				() -> MarkerFingerprint.fromString("0000000000000001fffffffffffffffg"));
+	}
+
+	@Test
+	void internerTest() {
+		ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(16);
+		MarkerFingerprint fingerprint = interner.fingerprint(sample());
+		assertEquals(MarkerFingerprint.of(sample()), fingerprint);
+		assertSame(fingerprint, interner.fingerprint(sample()));
+		assertEquals(1, interner.size());
+	}
+}
@@ -0,0 +1,133 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class MarkerMetricsTest {
+
+	/**
+	 * Counts by metric name and tag.
+	 */
+	private static final class CountingMetrics implements MarkerMetrics {
+
+		private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+		private final List<Long> values = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void increment(String counter, String tag) {
+			counts.computeIfAbsent(counter + ":" + tag, key -> new LongAdder()).increment();
+		}
+
+		@Override
+		public void record(String histogram, long value) {
+			values.add(value);
+		}
+
+		long count(String counter, String tag) {
+			LongAdder adder = counts.get(counter + ":" + tag);
+			return adder == null ? 0 : adder.sum();
+		}
+	}
+
+	private final ProtectiveMarker official = new ProtectiveMarkerBuilder().official().build();
+	private final ProtectiveMarker secret = new ProtectiveMarkerBuilder().secret().addCodeword("AAA").build();
+
+	@AfterEach
+	void uninstall() {
+		MarkerMetrics.install(null);
+	}
+
+	@Test
+	void metricsTest() {
+		CountingMetrics metrics = new CountingMetrics();
+		MarkerMetrics.install(metrics);
+
+		new ProtectiveMarkerBuilder().secret().build();
+		new ProtectiveMarkerBuilder().secret().build();
+		assertEquals(2, metrics.count(MarkerMetrics.BUILD, Classification.secret().classificationName()));
+
+		ProtectiveMarkerBuilder invalid = new ProtectiveMarkerBuilder().official().addCodeword("AAA").rel("NZL");
+		assertThrows(IllegalStateException.class, invalid::build);
+		assertEquals(0, metrics.count(MarkerMetrics.VALIDATION_FAILURE, "classification"));
+		assertEquals(1, metrics.count(MarkerMetrics.VALIDATION_FAILURE, "securityCaveat"));
+		assertEquals(1, metrics.count(MarkerMetrics.VALIDATION_FAILURE, "releasability"));
+
+		Utils.merge(List.of(official, secret, official));
+		Utils.merge(official, secret);
+		Utils.merge(official, null);
+		assertEquals(List.of(3L, 2L, 1L), metrics.values);
+
+		ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+		parser.tryParse(secret.toString());
+		parser.tryParse("not a marking");
+		assertThrows(IllegalArgumentException.class, () -> parser.parse("not a marking"));
+		assertEquals(1, metrics.count(MarkerMetrics.PARSE, "parsed"));
+		assertEquals(2, metrics.count(MarkerMetrics.PARSE, "rejected"));
+
+		MarkerMetrics.install(null);
+		new ProtectiveMarkerBuilder().secret().build();
+		assertEquals(3, metrics.count(MarkerMetrics.BUILD, Classification.secret().classificationName()));
+	}
+
+	@Test
+	void flightRecorderTest() throws Exception {
+		Path file = Files.createTempFile("classification", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(MarkerBuildEvent.class).withThreshold(Duration.ZERO);
+			recording.enable(MarkerValidationFailedEvent.class);
+			recording.enable(MarkerMergeEvent.class).withThreshold(Duration.ZERO);
+			recording.start();
+
+			new ProtectiveMarkerBuilder().secret().build();
+			assertThrows(IllegalStateException.class, () -> new ProtectiveMarkerBuilder().build());
+			Utils.merge(official, secret);
+
+			recording.stop();
+			recording.dump(file);
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+			List<RecordedEvent> builds = named(events, "MarkerBuild");
+			assertEquals(2, builds.size());
+			assertTrue(builds.get(0).getBoolean("valid"));
+			assertEquals(Classification.secret().classificationName(), builds.get(0).getString("classification"));
+			assertFalse(builds.get(1).getBoolean("valid"));
+
+			List<RecordedEvent> failures = named(events, "MarkerValidationFailed");
+			assertEquals(1, failures.size());
+			assertEquals("classification", failures.get(0).getString("rules"));
+			assertEquals(1, failures.get(0).getInt("problemCount"));
+
+			List<RecordedEvent> merges = named(events, "MarkerMerge");
+			assertEquals(1, merges.size());
+			assertEquals(2, merges.get(0).getInt("markerCount"));
+			assertEquals(Classification.secret().classificationName(), merges.get(0).getString("classification"));
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+		return events.stream()
+				.filter(event -> event.getEventType().getName().equals("io.github.trquinn76.classification.aus." + name))
+				.sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+				.toList();
+	}
+}
@@ -0,0 +1,187 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+class MarkingScannerTest {
+
+	@AfterEach
+	void afterEach() {
+		// ensure modified config is reverted even if test fails.
+		ClassificationConfig.reset();
+		System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+	}
+
+	@Test
+	void bannerAndFooterTest() {
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+		ProtectiveMarker banner = builder.secret().addCodeword("AAA").rel("AUS", "NZL").legalPrivilege().build();
+		ProtectiveMarker footer = builder.clear().officialSensitive().personalPrivacy().build();
+		String header = "Minute to the Secretary\n";
+		String text = header + banner + "\r\n\r\nThe body of the minute.\n\n  " + footer + "  \n";
+
+		List<MarkingCandidate> candidates = new MarkingScanner().scan(text);
+		assertEquals(2, candidates.size());
+		assertEquals(banner.toString(), candidates.get(0).text());
+		assertEquals(header.length(), candidates.get(0).offset());
+		assertEquals(2, candidates.get(0).caveatTerms());
+		assertEquals(footer.toString(), candidates.get(1).text());
+		assertFalse(candidates.get(1).truncated());
+
+		ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+		assertEquals(banner, parser.parse(candidates.get(0).text()));
+		assertEquals(footer, parser.parse(candidates.get(1).text()));
+	}
+
+	@Test
+	void wordBoundaryTest() {
+		MarkingScanner scanner = new MarkingScanner();
+		String secret = Classification.secret().toString();
+		assertTrue(scanner.scan("x" + secret + " AAA").isEmpty());
+		assertTrue(scanner.scan(secret + "ARY AAA").isEmpty());
+		assertEquals(List.of(secret + "."), texts(scanner.scan("it is " + secret + ".")));
+	}
+
+	@Test
+	void longestClassificationTest() {
+		MarkingScanner scanner = new MarkingScanner();
+		String officialSensitive = Classification.officialSensitive().toString();
+		String topSecret = Classification.topSecret().toString();
+		assertEquals(List.of(officialSensitive), texts(scanner.scan(officialSensitive)));
+		assertEquals(List.of(topSecret + " AAA"), texts(scanner.scan(topSecret + " AAA")));
+	}
+
+	@Test
+	void classificationEndsCandidateTest() {
+		String secret = Classification.secret().toString();
+		String protect = Classification.protect().toString();
+		assertEquals(List.of(secret + " AAA", protect + " BBB"),
+				texts(new MarkingScanner().scan(secret + " AAA " + protect + " BBB")));
+	}
+
+	@Test
+	void everyAlignmentTest() {
+		// skipped input holds caveat terms, non-ASCII bytes and bytes near those which start a Classification.
+		String filler = "Re: ORCON café PRIVACY DELICATE Sir ";
+		String marking = new ProtectiveMarkerBuilder().secret().addCodeword("AAA").build().toString();
+		MarkingScanner scanner = new MarkingScanner();
+		for (int length = 0; length < 24; length++) {
+			String prefix = filler.repeat(2).substring(0, filler.length() + length) + " ";
+			List<MarkingCandidate> candidates = scanner.scan(prefix + marking + "\n" + filler + "\n");
+			assertEquals(1, candidates.size(), "prefix " + length);
+			assertEquals(marking, candidates.get(0).text());
+			assertEquals(prefix.getBytes(StandardCharsets.UTF_8).length, candidates.get(0).offset());
+		}
+	}
+
+	@Test
+	void chunkBoundaryTest() throws IOException {
+		String marking = new ProtectiveMarkerBuilder().topSecret().addCodeword("AAA").austeo().build().toString();
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			text.append("filler ".repeat(i % 7)).append(marking).append('\n');
+		}
+		byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+		MarkingScanner scanner = new MarkingScanner();
+		List<MarkingCandidate> expected = scanner.scan(text.toString());
+		assertEquals(100, expected.size());
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+		List<MarkingCandidate> fromDirect = new ArrayList<>();
+		scanner.scan(direct, fromDirect::add);
+		assertEquals(expected, fromDirect);
+		assertEquals(0, direct.position());
+
+		// every chunk size splits terms and candidates at a different point.
+		for (int chunk = 1; chunk < 40; chunk++) {
+			List<MarkingCandidate> fromChannel = new ArrayList<>();
+			scanner.scan(new TrickleChannel(bytes, chunk), fromChannel::add);
+			assertEquals(expected, fromChannel, "chunk " + chunk);
+		}
+	}
+
+	@Test
+	void readerTest() throws IOException {
+		String marking = new ProtectiveMarkerBuilder().secret().addCodeword("ÉCLAIR").build().toString();
+		String text = "Café\n" + marking;
+		List<MarkingCandidate> candidates = new ArrayList<>();
+		new MarkingScanner().scan(new StringReader(text), candidates::add);
+		assertEquals(1, candidates.size());
+		assertEquals(marking, candidates.get(0).text());
+		// offsets are in bytes of UTF-8.
+		assertEquals(6, candidates.get(0).offset());
+	}
+
+	@Test
+	void truncatedTest() {
+		String secret = Classification.secret().toString();
+		List<MarkingCandidate> candidates = new MarkingScanner(32).scan(secret + " " + "A".repeat(100) + "\nnext");
+		assertEquals(1, candidates.size());
+		assertTrue(candidates.get(0).truncated());
+		assertEquals(32, candidates.get(0).text().length());
+		assertThrows(IllegalArgumentException.class, () -> new MarkingScanner(0));
+	}
+
+	@Test
+	void productionModeTest() {
+		ClassificationConfigTest
+				.setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+		ClassificationConfig.reset();
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().topSecret().addCodeword("AAA").rel("AUS", "USA")
+				.build();
+		List<MarkingCandidate> candidates = new MarkingScanner().scan("TOP SECRET AAA REL AUS/USA\nbody\n");
+		assertEquals(1, candidates.size());
+		assertEquals(marker, new ProtectiveMarkerParser().parse(candidates.get(0).text()));
+	}
+
+	private static List<String> texts(List<MarkingCandidate> candidates) {
+		return candidates.stream().map(MarkingCandidate::text).toList();
+	}
+
+	/**
+	 * A channel which returns at most a given number of bytes from each read.
+	 */
+	private static final class TrickleChannel implements ReadableByteChannel {
+
+		private final ByteBuffer source;
+		private final int chunk;
+
+		TrickleChannel(byte[] bytes, int chunk) {
+			this.source = ByteBuffer.wrap(bytes);
+			this.chunk = chunk;
+		}
+
+		@Override
+		public int read(ByteBuffer destination) {
+			if (!source.hasRemaining()) {
+				return -1;
+			}
+			int length = Math.min(chunk, Math.min(source.remaining(), destination.remaining()));
+			destination.put(source.slice(source.position(), length));
+			source.position(source.position() + length);
+			return length;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
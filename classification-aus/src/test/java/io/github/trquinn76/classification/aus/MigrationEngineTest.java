@@ -0,0 +1,126 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+class MigrationEngineTest {
+
+	private static final MigrationRule NATIONAL_CABINET = MigrationRule.specialHandlingInstruction(
+			SpecialHandlingInstruction.NATIONAL_CABINET, SpecialHandlingInstruction.CABINET);
+	private static final MigrationRule OLD_CODE_WORD = MigrationRule.codeWord("OLDWORD", "NEWWORD");
+	private static final MigrationRule RETIRED_CODE_WORD = MigrationRule.codeWord("RETIRED", null);
+
+	private static MigrationRule highlyProtected() {
+		return MigrationRule.classification("HIGHLY PROTECTED", Classification.secret());
+	}
+
+	@Test
+	void migrateMarkerTest() {
+		MigrationEngine engine = new MigrationEngine(List.of(NATIONAL_CABINET, OLD_CODE_WORD, RETIRED_CODE_WORD));
+		ProtectiveMarker obsolete = new ProtectiveMarkerBuilder().secret()
+				.setSpecialHandlingInstruction(SpecialHandlingInstruction.NATIONAL_CABINET).addCodeword("OLDWORD")
+				.addCodeword("RETIRED").addCodeword("KEPT").build();
+		ProtectiveMarker expected = new ProtectiveMarkerBuilder().secret().cabinet().addCodeword("NEWWORD")
+				.addCodeword("KEPT").build();
+		assertEquals(expected, engine.migrate(obsolete));
+
+		ProtectiveMarker current = new ProtectiveMarkerBuilder().secret().cabinet().build();
+		assertSame(current, engine.migrate(current));
+
+		MigrationReport report = engine.report();
+		assertEquals(2, report.records());
+		assertEquals(1, report.migrated());
+		assertEquals(1, report.unchanged());
+		assertEquals(0, report.failed());
+		assertEquals(1L, report.ruleCounts().get(NATIONAL_CABINET));
+		assertEquals(1L, report.ruleCounts().get(RETIRED_CODE_WORD));
+	}
+
+	@Test
+	void migrateTextTest() throws IOException {
+		MigrationRule legacy = highlyProtected();
+		MigrationEngine engine = new MigrationEngine(List.of(legacy, NATIONAL_CABINET));
+		String expected = new ProtectiveMarkerBuilder().secret().cabinet().build().toString();
+
+		assertEquals(expected, engine.migrate("HIGHLY PROTECTED NATIONAL-CABINET"));
+		assertEquals(Classification.secret().toString(), engine.migrate("HIGHLY PROTECTED"));
+		// a longer legacy text must match as a whole.
+		assertEquals("HIGHLY PROTECTEDX", engine.migrate("HIGHLY PROTECTEDX"));
+		String current = new ProtectiveMarkerBuilder().protect().build().toString();
+		assertSame(current, engine.migrate(current));
+
+		MigrationReport report = engine.report();
+		assertEquals(4, report.records());
+		assertEquals(2, report.migrated());
+		assertEquals(1, report.failed());
+		assertEquals(2L, report.ruleCounts().get(legacy));
+		assertEquals(1L, report.ruleCounts().get(NATIONAL_CABINET));
+
+		StringBuilder written = new StringBuilder();
+		report.writeTo(written);
+		assertTrue(written.toString().startsWith("records\t4\nmigrated\t2\nunchanged\t1\nfailed\t1\n"),
+				written.toString());
+		assertTrue(written.toString().contains(legacy + "\t2\n"), written.toString());
+	}
+
+	@Test
+	void migrateEncodedTest() {
+		ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+		MigrationEngine engine = new MigrationEngine(List.of(NATIONAL_CABINET));
+		byte[] obsolete = codec.encode(new ProtectiveMarkerBuilder().protect()
+				.setSpecialHandlingInstruction(SpecialHandlingInstruction.NATIONAL_CABINET).build());
+		ProtectiveMarker expected = new ProtectiveMarkerBuilder().protect().cabinet().build();
+
+		byte[] migrated = engine.migrate(obsolete);
+		assertEquals(expected, codec.decode(migrated));
+		// a held result is never shared with callers.
+		migrated[0] = 99;
+		assertEquals(expected, codec.decode(engine.migrate(obsolete.clone())));
+
+		byte[] invalid = { 99, 1, 2 };
+		assertSame(invalid, engine.migrate(invalid));
+		assertEquals(3, engine.report().records());
+		assertEquals(1, engine.report().failed());
+	}
+
+	@Test
+	void parallelStreamTest() {
+		MigrationEngine engine = new MigrationEngine(List.of(NATIONAL_CABINET, OLD_CODE_WORD),
+				new ProtectiveMarkerParser(), new ProtectiveMarkerCodec(), 4);
+		List<String> texts = IntStream.range(0, 10_000)
+				.mapToObj(i -> new ProtectiveMarkerBuilder().secret()
+						.addCodeword(i % 3 == 0 ? "OLDWORD" : "CODE" + (i % 7)).build().toString())
+				.toList();
+		List<String> migrated = engine.migrateTexts(texts.parallelStream()).toList();
+
+		assertEquals(texts.size(), migrated.size());
+		for (int i = 0; i < texts.size(); i++) {
+			assertEquals(texts.get(i).replace("OLDWORD", "NEWWORD"), migrated.get(i));
+		}
+		MigrationReport report = engine.report();
+		assertEquals(10_000, report.records());
+		assertEquals(3334, report.migrated());
+		assertEquals(3334L, report.ruleCounts().get(OLD_CODE_WORD));
+	}
+
+	@Test
+	void invalidRulesTest() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new MigrationEngine(List.of(OLD_CODE_WORD, MigrationRule.codeWord("OLDWORD", "OTHER"))));
+		assertThrows(IllegalArgumentException.class, () -> new MigrationEngine(
+				List.of(new MigrationRule(MigrationRule.Kind.CLASSIFICATION, "RESTRICTED", "NOT A CLASSIFICATION"))));
+		assertThrows(IllegalArgumentException.class,
+				() -> new MigrationRule(MigrationRule.Kind.CLASSIFICATION, "RESTRICTED", null));
+		assertThrows(IllegalArgumentException.class, () -> MigrationRule.specialHandlingInstruction(
+				SpecialHandlingInstruction.NATIONAL_CABINET, SpecialHandlingInstruction.EXCLUSIVE_FOR));
+	}
+}
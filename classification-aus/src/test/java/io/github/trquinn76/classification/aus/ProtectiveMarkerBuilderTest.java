@@ -2,8 +2,11 @@ package io.github.trquinn76.classification.aus;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 
@@ -530,4 +533,97 @@ class ProtectiveMarkerBuilderTest {
 		ProtectiveMarker actualMarking = builder.build();
 		assertEquals(expectedMarking, actualMarking);
 	}
+
+	@Test
+	void incrementalValidationTest() {
+		List<Consumer<ProtectiveMarkerBuilder>> edits = List.of(
+				builder -> builder.official(),
+				builder -> builder.addCodeword("AAA"),
+				builder -> builder.legislativeSecrecy("Secrecy Act"),
+				builder -> builder.protect(),
+				builder -> builder.clearInformationManagementMarkers(),
+				builder -> builder.setReleasability(ReleasabilityType.REL),
+				builder -> builder.addReleasableToCountry("NZL"),
+				builder -> builder.setSpecialHandlingExclusiveFor("Bob"),
+				builder -> builder.exclusiveFor("Bob"),
+				builder -> builder.clearCodeWords(),
+				builder -> builder.clearReleasability(),
+				builder -> builder.unofficial(),
+				builder -> builder.addReleasableToCountry("GBR"),
+				builder -> builder.clear().official(),
+				builder -> builder.secret().addForeignGovernmentMarking("USA SECRET"));
+		Random random = new Random(42);
+		ProtectiveMarkerBuilder incremental = new ProtectiveMarkerBuilder().official();
+		List<Consumer<ProtectiveMarkerBuilder>> applied = new ArrayList<>(List.of(edits.get(0)));
+		for (int i = 0; i < 200; i++) {
+			Consumer<ProtectiveMarkerBuilder> edit = edits.get(random.nextInt(edits.size()));
+			edit.accept(incremental);
+			applied.add(edit);
+			ProtectiveMarkerBuilder fresh = new ProtectiveMarkerBuilder();
+			applied.forEach(replay -> replay.accept(fresh));
+			assertEquals(fresh.isValid(), incremental.isValid());
+			assertEquals(fresh.isValid(), incremental.isValid());
+		}
+	}
+
+	@Test
+	void seededBuilderSharesUnchangedPartsTest() {
+		ProtectiveMarker seed = new ProtectiveMarkerBuilder().secret().addCodeword("AAA").orcon().rel("AUS", "NZL")
+				.legislativeSecrecy("Secrecy Act").build();
+
+		ProtectiveMarker reclassified = new ProtectiveMarkerBuilder(seed).topSecret().build();
+		assertEquals(Classification.topSecret(), reclassified.classification());
+		assertSame(seed.securityCaveats(), reclassified.securityCaveats());
+		assertSame(seed.informationManagementMarkers(), reclassified.informationManagementMarkers());
+
+		ProtectiveMarker released = new ProtectiveMarkerBuilder(seed).addReleasableToCountry("GBR").build();
+		assertEquals(List.of("AUS", "GBR", "NZL"), released.securityCaveats().releasabilityCaveat().releasableToList());
+		assertSame(seed.securityCaveats().codeWords(), released.securityCaveats().codeWords());
+		assertSame(seed.securityCaveats().specialHandlingCaveat(), released.securityCaveats().specialHandlingCaveat());
+		assertEquals(List.of("AUS", "NZL"), seed.securityCaveats().releasabilityCaveat().releasableToList());
+
+		// lists which a build would not have produced are copied, so the build is as before.
+		ProtectiveMarker unsorted = new ProtectiveMarker(Classification.secret(), List.of(),
+				new SecurityCaveats(List.of("BBB", "AAA", "AAA"), List.of(), null, null));
+		assertEquals(List.of("AAA", "BBB"), new ProtectiveMarkerBuilder(unsorted).build().securityCaveats().codeWords());
+	}
+
+	@Test
+	void seededBuilderEditsTest() {
+		Consumer<ProtectiveMarkerBuilder> seedValues = builder -> builder.secret().addCodeword("AAA")
+				.addForeignGovernmentMarking("USA SECRET").exclusiveFor("Bob").rel("AUS", "NZL")
+				.legislativeSecrecy("Secrecy Act").personalPrivacy();
+		ProtectiveMarkerBuilder seedBuilder = new ProtectiveMarkerBuilder();
+		seedValues.accept(seedBuilder);
+		ProtectiveMarker seed = seedBuilder.build();
+		List<Consumer<ProtectiveMarkerBuilder>> edits = List.of(
+				builder -> builder.protect(),
+				builder -> builder.addCodeword("BBB"),
+				builder -> builder.clearCodeWords(),
+				builder -> builder.addForeignGovernmentMarking("GBR SECRET"),
+				builder -> builder.clearForeignGovernmentMarkers(),
+				builder -> builder.addLegislativeSecrecy("Other Act"),
+				builder -> builder.legislativeSecrecy("Other Act"),
+				builder -> builder.clearInformationManagementMarkers(),
+				builder -> builder.cabinet(),
+				builder -> builder.clearSpecialHandlingInstruction(),
+				builder -> builder.addReleasableToCountry("GBR"),
+				builder -> builder.setReleasability(ReleasabilityType.REL),
+				builder -> builder.austeo(),
+				builder -> builder.clearReleasability(),
+				builder -> builder.clear().official());
+		for (Consumer<ProtectiveMarkerBuilder> edit : edits) {
+			ProtectiveMarkerBuilder seeded = new ProtectiveMarkerBuilder(seed);
+			edit.accept(seeded);
+			ProtectiveMarkerBuilder fresh = new ProtectiveMarkerBuilder();
+			seedValues.andThen(edit).accept(fresh);
+			assertEquals(fresh, seeded);
+			assertEquals(fresh.hashCode(), seeded.hashCode());
+			assertEquals(fresh.isValid(), seeded.isValid());
+			if (fresh.isValid().isEmpty()) {
+				assertEquals(fresh.build(), seeded.build());
+			}
+		}
+		assertEquals(seedBuilder.build(), seed);
+	}
 }
@@ -0,0 +1,124 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+
+class ProtectiveMarkerCodecTest {
+
+	@AfterEach
+	void afterEach() {
+		ClassificationConfig.reset();
+		System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+	}
+
+	@Test
+	void roundTripTest() {
+		ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec(List.of("AAA"));
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+		List<ProtectiveMarker> markers = List.of(
+				builder.official().build(),
+				builder.clear().protect().addCodeword("AAA").addForeignGovernmentMarking("BBB").exclusiveFor("CCC DDD")
+						.legalPrivilege().legislativeSecrecy("Secrecy Act").build(),
+				builder.clear().secret().rel("AUS", "NZL", "GBR", "FRA").build(),
+				builder.clear().topSecret().austeo().orcon().addCodeword("ÉCLAIR").build(),
+				new ProtectiveMarker(Classification.secret(), List.of(), new SecurityCaveats(List.of(), List.of(), null, null)));
+
+		for (ProtectiveMarker marker : markers) {
+			byte[] encoded = codec.encode(marker);
+			assertEquals(encoded.length, codec.encodedLength(marker));
+			assertEquals(marker, codec.decode(encoded));
+		}
+	}
+
+	@Test
+	void smallerThanJsonTest() throws JsonProcessingException {
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().addCodeword("AAA").addCodeword("BBB")
+				.rel("AUS", "CAN", "GBR", "NZL", "USA").legalPrivilege().build();
+		byte[] json = new ObjectMapper().writeValueAsBytes(marker);
+		byte[] encoded = new ProtectiveMarkerCodec().encode(marker);
+		byte[] withDictionary = new ProtectiveMarkerCodec(List.of("AAA", "BBB")).encode(marker);
+
+		assertTrue(encoded.length * 5 < json.length, encoded.length + " vs " + json.length);
+		// each dictionary code word is a single byte reference, rather than 5 bytes.
+		assertEquals(encoded.length - 8, withDictionary.length);
+	}
+
+	@Test
+	void sharedBufferTest() {
+		ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+		ProtectiveMarker first = builder.secret().rel("AUS", "USA").build();
+		ProtectiveMarker second = builder.clear().official().legalPrivilege().build();
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+		codec.encode(first, buffer);
+		codec.encode(second, buffer);
+		buffer.flip();
+		assertEquals(first, codec.decode(buffer));
+		assertEquals(second, codec.decode(buffer));
+		assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	void longStringTest() {
+		char[] chars = new char[300];
+		Arrays.fill(chars, 'x');
+		String warning = new String(chars);
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().legislativeSecrecy(warning).build();
+		ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+		byte[] encoded = codec.encode(marker);
+		assertEquals(encoded.length, codec.encodedLength(marker));
+		assertEquals(marker, codec.decode(encoded));
+	}
+
+	@Test
+	void overflowRestoresPositionTest() {
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().addCodeword("AAAAAAAAAAAAAAAAAAAA").build();
+		ByteBuffer buffer = ByteBuffer.allocate(10);
+		buffer.put((byte) 1);
+		assertThrows(BufferOverflowException.class, () -> new ProtectiveMarkerCodec().encode(marker, buffer));
+		assertEquals(1, buffer.position());
+	}
+
+	@Test
+	void invalidInputTest() {
+		ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+		byte[] encoded = codec.encode(new ProtectiveMarkerBuilder().secret().rel("AUS", "NZL").build());
+
+		byte[] wrongVersion = encoded.clone();
+		wrongVersion[0] = 99;
+		assertThrows(IllegalArgumentException.class, () -> codec.decode(wrongVersion));
+		assertThrows(IllegalArgumentException.class, () -> codec.decode(Arrays.copyOf(encoded, encoded.length - 2)));
+		assertThrows(IllegalArgumentException.class,
+				() -> codec.decode("not a marker".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void productionModeMismatchTest() {
+		byte[] encoded = new ProtectiveMarkerCodec().encode(new ProtectiveMarkerBuilder().secret().build());
+
+		ClassificationConfigTest
+				.setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+		ClassificationConfig.reset();
+		assertThrows(IllegalArgumentException.class, () -> new ProtectiveMarkerCodec().decode(encoded));
+
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().build();
+		ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+		assertEquals(marker, codec.decode(codec.encode(marker)));
+	}
+}
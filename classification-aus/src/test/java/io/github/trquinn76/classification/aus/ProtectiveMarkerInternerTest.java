@@ -0,0 +1,67 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.DevelopmentClassification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+class ProtectiveMarkerInternerTest {
+
+	@AfterEach
+	void afterEach() {
+		ClassificationConfig.reset();
+		System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+	}
+
+	@Test
+	void internMarkerTest() {
+		ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(16);
+		ProtectiveMarker first = new ProtectiveMarkerBuilder().secret().rel("AUS", "NZL").build();
+		ProtectiveMarker second = new ProtectiveMarkerBuilder().secret().rel("NZL", "AUS").build();
+		assertNotSame(first, second);
+
+		assertSame(first, interner.intern(first));
+		assertSame(first, interner.intern(second));
+		assertEquals(1, interner.size());
+	}
+
+	@Test
+	void internStringTest() {
+		ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(16);
+		String first = new String("AAA");
+		assertSame(first, interner.intern(first));
+		assertSame(first, interner.intern(new String("AAA")));
+	}
+
+	@Test
+	void classificationTest() {
+		ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(16);
+		Classification secret = interner.classification(DevelopmentClassification.DEVELOPMENT_SECRET.name());
+		assertEquals(Classification.secret(), secret);
+		assertSame(secret, interner.classification(DevelopmentClassification.DEVELOPMENT_SECRET.name()));
+		assertThrows(IllegalArgumentException.class, () -> interner.classification("SECRET"));
+
+		ClassificationConfigTest
+				.setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+		ClassificationConfig.reset();
+		assertEquals(Classification.secret(), interner.classification("SECRET"));
+		assertThrows(IllegalArgumentException.class,
+				() -> interner.classification(DevelopmentClassification.DEVELOPMENT_SECRET.name()));
+	}
+
+	@Test
+	void boundedTest() {
+		ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(2);
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+		interner.intern(builder.official().build());
+		interner.intern(builder.protect().build());
+		interner.intern(builder.secret().build());
+		assertTrue(interner.size() <= 2);
+
+		assertThrows(IllegalArgumentException.class, () -> new ProtectiveMarkerInterner(0));
+	}
+}
@@ -0,0 +1,89 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+class ProtectiveMarkerParserTest {
+
+	@AfterEach
+	void afterEach() {
+		// ensure modified config is reverted even if test fails.
+		ClassificationConfig.reset();
+		System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+	}
+
+	@Test
+	void toStringRoundTripTest() {
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+		List<ProtectiveMarker> markers = List.of(
+				builder.unofficial().build(),
+				builder.clear().officialSensitive().legalPrivilege().personalPrivacy().build(),
+				builder.clear().protect().addCodeword("AAA").addCodeword("BBB").exclusiveFor("Jane Citizen").build(),
+				builder.clear().secret().orcon().rel("AUS", "NZL", "GBR").legislativeSecrecy("Secrecy Act")
+						.addLegislativeSecrecy("Other Act").build(),
+				builder.clear().topSecret().austeo().build(),
+				builder.clear().secret().agao().cabinet().build());
+
+		ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+		for (ProtectiveMarker marker : markers) {
+			assertEquals(marker, parser.parse(marker.toString()), marker.toString());
+		}
+	}
+
+	@Test
+	void displayFormTest() {
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().exclusiveFor("Jane Citizen").legalPrivilege()
+				.build();
+		String text = Classification.secret() + " EXCLUSIVE-FOR Jane Citizen Legal Privilege";
+		assertEquals(marker, new ProtectiveMarkerParser().parse(text));
+	}
+
+	@Test
+	void foreignGovernmentMarkingTest() {
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().addCodeword("AAA")
+				.addForeignGovernmentMarking("BBB").build();
+		assertEquals(marker, new ProtectiveMarkerParser(Set.of("BBB")).parse(marker.toString()));
+		assertNotEquals(marker, new ProtectiveMarkerParser().parse(marker.toString()));
+	}
+
+	@Test
+	void invalidTest() {
+		ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+		String secret = Classification.secret().toString();
+		List<String> invalid = List.of(
+				"",
+				"NOT A MARKING",
+				secret + " lower case words",
+				secret + " REL AUS/NZL ORCON",
+				secret + " REL",
+				secret + " LEGISLATIVE_SECRECY",
+				secret + " LEGISLATIVE_SECRECY \"unterminated",
+				secret + " EXCLUSIVE_FOR",
+				Classification.official() + " AAA");
+
+		for (String text : invalid) {
+			assertEquals(Optional.empty(), parser.tryParse(text), text);
+			assertThrows(IllegalArgumentException.class, () -> parser.parse(text), text);
+		}
+	}
+
+	@Test
+	void productionModeTest() {
+		ClassificationConfigTest
+				.setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+		ClassificationConfig.reset();
+		ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+		assertEquals(new ProtectiveMarkerBuilder().officialSensitive().build(), parser.parse("OFFICIAL: Sensitive"));
+		assertEquals(new ProtectiveMarkerBuilder().topSecret().addCodeword("AAA").build(),
+				parser.parse("TOP SECRET AAA"));
+	}
+}
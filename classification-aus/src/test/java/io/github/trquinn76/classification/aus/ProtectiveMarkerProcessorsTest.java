@@ -0,0 +1,228 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+class ProtectiveMarkerProcessorsTest {
+
+	private final ProtectiveMarker official = new ProtectiveMarkerBuilder().official().build();
+	private final ProtectiveMarker secretRel = new ProtectiveMarkerBuilder().secret().addCodeword("AAA")
+			.rel("AUS", "GBR", "NZL").build();
+	private final ProtectiveMarker protectRel = new ProtectiveMarkerBuilder().protect().rel("AUS", "NZL").build();
+
+	@Test
+	void parseTest() throws Exception {
+		List<String> rejected = new CopyOnWriteArrayList<>();
+		Flow.Processor<String, ProtectiveMarker> parse = ProtectiveMarkerProcessors
+				.parse(new ProtectiveMarkerParser(), rejected::add, 4);
+		CollectingSubscriber<ProtectiveMarker> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+		parse.subscribe(subscriber);
+		new IterablePublisher<>(List.of(official.toString(), "not a marking", secretRel.toString())).subscribe(parse);
+
+		assertEquals(List.of(official, secretRel), subscriber.result.get(5, TimeUnit.SECONDS));
+		assertEquals(List.of("not a marking"), rejected);
+	}
+
+	@Test
+	void validateAndInternTest() throws Exception {
+		List<ProtectiveMarkerBuilder> rejected = new CopyOnWriteArrayList<>();
+		ProtectiveMarkerBuilder invalid = new ProtectiveMarkerBuilder().official().addCodeword("AAA");
+		Flow.Processor<ProtectiveMarkerBuilder, ProtectiveMarker> validate = ProtectiveMarkerProcessors
+				.validate(rejected::add);
+		ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(16);
+		Flow.Processor<ProtectiveMarker, ProtectiveMarker> intern = ProtectiveMarkerProcessors.intern(interner);
+		validate.subscribe(intern);
+		CollectingSubscriber<ProtectiveMarker> subscriber = new CollectingSubscriber<>(1);
+		intern.subscribe(subscriber);
+		new IterablePublisher<>(List.of(new ProtectiveMarkerBuilder(secretRel), invalid,
+				new ProtectiveMarkerBuilder(secretRel))).subscribe(validate);
+
+		List<ProtectiveMarker> markers = subscriber.result.get(5, TimeUnit.SECONDS);
+		assertEquals(List.of(secretRel, secretRel), markers);
+		assertSame(markers.get(0), markers.get(1));
+		assertEquals(List.of(invalid), rejected);
+	}
+
+	@Test
+	void mergeTest() throws Exception {
+		Flow.Processor<ProtectiveMarker, ProtectiveMarkerBuilder> merge = ProtectiveMarkerProcessors.merge(2);
+		CollectingSubscriber<ProtectiveMarkerBuilder> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+		merge.subscribe(subscriber);
+		new IterablePublisher<>(List.of(official, secretRel, protectRel, secretRel, official)).subscribe(merge);
+
+		List<ProtectiveMarkerBuilder> windows = subscriber.result.get(5, TimeUnit.SECONDS);
+		assertEquals(3, windows.size());
+		assertEquals(Classification.secret(), windows.get(0).getClassificiation());
+		assertEquals(Set.of("AAA"), windows.get(1).getCodewords());
+		assertEquals(List.of("AUS", "NZL"), new ArrayList<>(windows.get(1).getReleasableToList()));
+		assertEquals(Classification.official(), windows.get(2).getClassificiation());
+		assertThrows(IllegalArgumentException.class, () -> ProtectiveMarkerProcessors.merge(0));
+	}
+
+	@Test
+	void backpressureTest() {
+		IterablePublisher<ProtectiveMarker> publisher = new IterablePublisher<>(
+				IntStream.range(0, 1000).mapToObj(i -> official).toList());
+		Flow.Processor<ProtectiveMarker, ProtectiveMarker> intern = ProtectiveMarkerProcessors
+				.intern(new ProtectiveMarkerInterner(16), 8);
+		publisher.subscribe(intern);
+		CollectingSubscriber<ProtectiveMarker> subscriber = new CollectingSubscriber<>(0);
+		intern.subscribe(subscriber);
+
+		// only the buffer is requested ahead of demand.
+		assertEquals(8, publisher.requested.get());
+		assertTrue(subscriber.items.isEmpty());
+		subscriber.subscription.request(3);
+		assertEquals(3, subscriber.items.size());
+		assertEquals(8, publisher.requested.get());
+		subscriber.subscription.request(3);
+		assertEquals(6, subscriber.items.size());
+		// replenished in a batch once six of the eight buffered items are delivered.
+		assertEquals(14, publisher.requested.get());
+
+		subscriber.subscription.cancel();
+		assertTrue(publisher.cancelled);
+	}
+
+	@Test
+	void asynchronousTest() throws Exception {
+		Flow.Processor<String, ProtectiveMarker> parse = ProtectiveMarkerProcessors
+				.parse(new ProtectiveMarkerParser(), text -> fail(text));
+		Flow.Processor<ProtectiveMarker, ProtectiveMarkerBuilder> merge = ProtectiveMarkerProcessors.merge(100);
+		parse.subscribe(merge);
+		CollectingSubscriber<ProtectiveMarkerBuilder> subscriber = new CollectingSubscriber<>(1);
+		merge.subscribe(subscriber);
+		try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+			publisher.subscribe(parse);
+			for (int i = 0; i < 10_000; i++) {
+				publisher.submit((i % 2 == 0 ? protectRel : secretRel).toString());
+			}
+		}
+		List<ProtectiveMarkerBuilder> windows = subscriber.result.get(30, TimeUnit.SECONDS);
+		assertEquals(100, windows.size());
+		windows.forEach(window -> assertEquals(Classification.secret(), window.getClassificiation()));
+	}
+
+	@Test
+	void errorTest() throws Exception {
+		Flow.Processor<ProtectiveMarker, ProtectiveMarker> intern = ProtectiveMarkerProcessors
+				.intern(new ProtectiveMarkerInterner(16));
+		CollectingSubscriber<ProtectiveMarker> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+		intern.subscribe(subscriber);
+		List<ProtectiveMarker> withNull = new ArrayList<>();
+		withNull.add(official);
+		withNull.add(null);
+		IterablePublisher<ProtectiveMarker> publisher = new IterablePublisher<>(withNull);
+		publisher.subscribe(intern);
+
+		assertThrows(Exception.class, () -> subscriber.result.get(5, TimeUnit.SECONDS));
+		assertTrue(publisher.cancelled);
+
+		CollectingSubscriber<ProtectiveMarker> second = new CollectingSubscriber<>(1);
+		intern.subscribe(second);
+		assertTrue(second.result.isCompletedExceptionally());
+	}
+
+	/**
+	 * Publishes the items of a list synchronously, on the thread which requests them.
+	 */
+	private static final class IterablePublisher<T> implements Flow.Publisher<T> {
+
+		private final List<T> items;
+		private final AtomicLong requested = new AtomicLong();
+		private volatile boolean cancelled = false;
+
+		IterablePublisher(List<T> items) {
+			this.items = items;
+		}
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super T> subscriber) {
+			Iterator<T> iterator = items.iterator();
+			AtomicLong emitted = new AtomicLong();
+			AtomicLong wip = new AtomicLong();
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {
+					requested.addAndGet(n);
+					if (wip.getAndIncrement() != 0) {
+						return;
+					}
+					do {
+						while (!cancelled && emitted.get() < requested.get() && iterator.hasNext()) {
+							emitted.incrementAndGet();
+							subscriber.onNext(iterator.next());
+						}
+						if (!cancelled && !iterator.hasNext()) {
+							cancelled = true;
+							subscriber.onComplete();
+						}
+					} while (wip.decrementAndGet() != 0);
+				}
+
+				@Override
+				public void cancel() {
+					cancelled = true;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Collects items, requesting {@code batch} at a time as each batch is received.
+	 */
+	private static final class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+		private final long batch;
+		private final List<T> items = new CopyOnWriteArrayList<>();
+		private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+		private Flow.Subscription subscription;
+		private long received = 0;
+
+		CollectingSubscriber(long batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (batch > 0) {
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onNext(T item) {
+			items.add(item);
+			if (batch > 0 && batch != Long.MAX_VALUE && ++received % batch == 0) {
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			result.completeExceptionally(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			result.complete(List.copyOf(items));
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+
+class ProtectiveMarkerRendererTest {
+
+	@AfterEach
+	void afterEach() {
+		ClassificationConfig.reset();
+		System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+	}
+
+	@Test
+	void matchesToStringTest() {
+		ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+		List<ProtectiveMarker> markers = List.of(
+				builder.official().build(),
+				builder.clear().protect().addCodeword("AAA").addForeignGovernmentMarking("BBB").exclusiveFor("CCC DDD")
+						.legalPrivilege().personalPrivacy().build(),
+				builder.clear().secret().rel("AUS", "NZL", "GBR").legislativeSecrecy("Secrecy Act").build(),
+				builder.clear().topSecret().austeo().orcon().build(),
+				new ProtectiveMarker(Classification.secret(), List.of(), new SecurityCaveats(List.of(), List.of(), null, null)));
+
+		for (ProtectiveMarker marker : markers) {
+			byte[] expected = marker.toString().getBytes(StandardCharsets.UTF_8);
+			assertArrayEquals(expected, ProtectiveMarkerRenderer.toBytes(marker));
+			assertEquals(expected.length, ProtectiveMarkerRenderer.renderedLength(marker));
+		}
+	}
+
+	@Test
+	void productionModeTest() {
+		ClassificationConfigTest
+				.setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().officialSensitive().build();
+		assertEquals("OFFICIAL: Sensitive", new String(ProtectiveMarkerRenderer.toBytes(marker), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void nonAsciiTest() {
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().addCodeword("ÉCLAIR")
+				.exclusiveFor("Zoë 😀").build();
+		byte[] expected = marker.toString().getBytes(StandardCharsets.UTF_8);
+		assertArrayEquals(expected, ProtectiveMarkerRenderer.toBytes(marker));
+		assertEquals(expected.length, ProtectiveMarkerRenderer.renderedLength(marker));
+	}
+
+	@Test
+	void writesAtBufferPositionTest() {
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().rel("AUS", "USA").build();
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		buffer.put((byte) '[');
+		int written = ProtectiveMarkerRenderer.render(marker, buffer);
+		buffer.put((byte) ']');
+
+		String expected = "[" + marker + "]";
+		assertEquals(marker.toString().length(), written);
+		assertEquals(expected, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void overflowRestoresPositionTest() {
+		ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().rel("AUS", "CAN", "GBR", "NZL", "USA").build();
+		ByteBuffer buffer = ByteBuffer.allocate(10);
+		buffer.put((byte) 1);
+		assertThrows(BufferOverflowException.class, () -> ProtectiveMarkerRenderer.render(marker, buffer));
+		assertEquals(1, buffer.position());
+	}
+}
@@ -0,0 +1,92 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+class ProtectiveMarkerSanitiserTest {
+
+	private final ProtectiveMarker official = new ProtectiveMarkerBuilder().official().build();
+	private final ProtectiveMarker protect = new ProtectiveMarkerBuilder().protect().build();
+	private final ProtectiveMarker protectRel = new ProtectiveMarkerBuilder().protect().rel("AUS", "NZL").build();
+	private final ProtectiveMarker secretRel = new ProtectiveMarkerBuilder().secret().rel("AUS", "GBR", "NZL").build();
+	private final ProtectiveMarker protectAusteo = new ProtectiveMarkerBuilder().protect().austeo().build();
+	private final ProtectiveMarker protectAgao = new ProtectiveMarkerBuilder().protect().agao().build();
+
+	@AfterEach
+	void afterEach() {
+		// ensure modified config is reverted even if test fails.
+		ClassificationConfig.reset();
+		System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+	}
+
+	@Test
+	void ceilingTest() {
+		ProtectiveMarkerSanitiser sanitiser = new ProtectiveMarkerSanitiser(Classification.protect(), null);
+		assertTrue(sanitiser.permits(official));
+		assertTrue(sanitiser.permits(protect));
+		assertTrue(sanitiser.permits(protectAusteo));
+		assertTrue(sanitiser.permits(protectAgao));
+		assertFalse(sanitiser.permits(secretRel));
+		assertFalse(sanitiser.permits(null));
+
+		// Australia is not a foreign country.
+		sanitiser = new ProtectiveMarkerSanitiser(Classification.topSecret(), Utils.AUS);
+		assertTrue(sanitiser.permits(secretRel));
+		assertTrue(sanitiser.permits(protectAusteo));
+	}
+
+	@Test
+	void releasabilityTest() {
+		ProtectiveMarkerSanitiser sanitiser = new ProtectiveMarkerSanitiser(Classification.topSecret(), Utils.NZL);
+		assertTrue(sanitiser.permits(official));
+		assertTrue(sanitiser.permits(protectRel));
+		assertTrue(sanitiser.permits(secretRel));
+		assertFalse(sanitiser.permits(protect));
+		assertFalse(sanitiser.permits(protectAusteo));
+		assertFalse(sanitiser.permits(protectAgao));
+
+		sanitiser = new ProtectiveMarkerSanitiser(Classification.protect(), Utils.GBR);
+		assertFalse(sanitiser.permits(protectRel));
+		assertFalse(sanitiser.permits(secretRel));
+	}
+
+	@Test
+	void sanitiseTest() {
+		List<Map.Entry<String, ProtectiveMarker>> items = List.of(Map.entry("a", official), Map.entry("b", protect),
+				Map.entry("c", secretRel), Map.entry("d", protectRel), Map.entry("e", official));
+		ProtectiveMarkerSanitiser sanitiser = new ProtectiveMarkerSanitiser(Classification.secret(), Utils.NZL, 2);
+
+		assertEquals(List.of("a", "c", "d", "e"),
+				sanitiser.sanitise(items.stream(), Map.Entry::getValue).map(Map.Entry::getKey).toList());
+		assertEquals(List.of("a", "c", "d", "e"), sanitiser.sanitise(items.stream().parallel(), Map.Entry::getValue)
+				.map(Map.Entry::getKey).toList());
+
+		Iterator<Map.Entry<String, ProtectiveMarker>> iterator = sanitiser.sanitise(items.iterator(),
+				Map.Entry::getValue);
+		List<String> keys = new ArrayList<>();
+		iterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+		assertEquals(List.of("a", "c", "d", "e"), keys);
+	}
+
+	@Test
+	void productionModeTest() {
+		ClassificationConfigTest
+				.setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+		ClassificationConfig.reset();
+		ProtectiveMarkerSanitiser sanitiser = new ProtectiveMarkerSanitiser(Classification.protect(), Utils.NZL);
+		assertTrue(sanitiser.permits(new ProtectiveMarkerBuilder().officialSensitive().build()));
+		assertTrue(sanitiser.permits(new ProtectiveMarkerBuilder().protect().rel("AUS", "NZL").build()));
+		assertFalse(sanitiser.permits(new ProtectiveMarkerBuilder().protect().build()));
+		assertFalse(sanitiser.permits(new ProtectiveMarkerBuilder().secret().rel("AUS", "NZL").build()));
+	}
+}
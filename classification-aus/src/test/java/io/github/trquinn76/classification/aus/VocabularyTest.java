@@ -0,0 +1,65 @@
+package io.github.trquinn76.classification.aus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+class VocabularyTest {
+
+	@Test
+	void getTest() {
+		Vocabulary<SpecialHandlingInstruction> vocabulary = Vocabulary.of(SpecialHandlingInstruction.class,
+				Enum::name, Object::toString);
+		for (SpecialHandlingInstruction instruction : SpecialHandlingInstruction.values()) {
+			assertSame(instruction, vocabulary.get(instruction.name()));
+			assertSame(instruction, vocabulary.get(instruction.toString()));
+		}
+		assertNull(vocabulary.get("ORCO"));
+		assertNull(vocabulary.get("ORCONS"));
+		assertNull(vocabulary.get("orcon"));
+		assertNull(vocabulary.get(""));
+		assertNull(vocabulary.get(null));
+		assertFalse(vocabulary.contains("SECRET"));
+	}
+
+	@Test
+	void rangeTest() {
+		Vocabulary<InformationManagementTypes> vocabulary = Vocabulary.of(InformationManagementTypes.class,
+				Object::toString);
+		String text = "OFFICIAL: Sensitive Legal Privilege Personal Privacy";
+		assertSame(InformationManagementTypes.LEGAL_PRIVILEGE, vocabulary.get(text, 20, 35));
+		assertSame(InformationManagementTypes.PERSONAL_PRIVACY, vocabulary.get(new StringBuilder(text), 36, 52));
+		assertNull(vocabulary.get(text, 20, 34));
+
+		byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+		assertSame(InformationManagementTypes.LEGAL_PRIVILEGE, vocabulary.get(bytes, 20, 35));
+		assertNull(vocabulary.get(bytes, 21, 35));
+		assertThrows(IndexOutOfBoundsException.class, () -> vocabulary.get(bytes, 40, 60));
+	}
+
+	@Test
+	void collisionTest() {
+		assertThrows(IllegalArgumentException.class, () -> Vocabulary.of(ReleasabilityType.class, type -> "REL"));
+		assertThrows(IllegalArgumentException.class, () -> Vocabulary.of(ReleasabilityType.class));
+	}
+
+	@Test
+	void reverseLookupTest() {
+		assertSame(ReleasabilityType.AGAO, ReleasabilityType.fromString("AGAO"));
+		assertTrue(ReleasabilityType.isString("REL"));
+		assertFalse(ReleasabilityType.isString("NZEO"));
+		assertThrows(IllegalArgumentException.class, () -> ReleasabilityType.fromString("NZEO"));
+
+		assertEquals(Classification.secret(), Classification.fromString(Classification.secret().toString()));
+		assertTrue(Classification.isString(Classification.protect().toString()));
+		assertFalse(Classification.isString("CONFIDENTIAL"));
+		assertThrows(IllegalArgumentException.class, () -> Classification.fromString("CONFIDENTIAL"));
+	}
+}
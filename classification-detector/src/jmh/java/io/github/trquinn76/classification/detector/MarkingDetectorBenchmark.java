@@ -0,0 +1,109 @@
+package io.github.trquinn76.classification.detector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.ClassificationMarkerParser;
+
+/**
+ * Measures the {@link MarkingDetector} over a mixed corpus of Australian, New Zealand and UK markings, with a share of
+ * text which is not a marking. Parsing by detection is compared with trying every scheme's parser in turn, which is
+ * what a gateway does without a detector.
+ * <p>
+ * Run with {@code ./gradlew classification-detector:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MarkingDetectorBenchmark {
+
+    private static final int CORPUS_SIZE = 1000;
+
+    private final List<String> corpus = new ArrayList<>(CORPUS_SIZE);
+
+    private MarkingDetector detector;
+    private io.github.trquinn76.classification.aus.ProtectiveMarkerParser ausParser;
+    private io.github.trquinn76.classification.nzl.ProtectiveMarkerParser nzlParser;
+    private ClassificationMarkerParser ukParser;
+
+    @Setup
+    public void setup() {
+        detector = new MarkingDetector();
+        ausParser = new io.github.trquinn76.classification.aus.ProtectiveMarkerParser();
+        nzlParser = new io.github.trquinn76.classification.nzl.ProtectiveMarkerParser();
+        ukParser = new ClassificationMarkerParser();
+
+        List<String> samples = List.of(
+                new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret().addCodeword("AAA")
+                        .rel("AUS", "CAN", "GBR", "NZL", "USA").legalPrivilege().build().toString(),
+                new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().protect()
+                        .exclusiveFor("Jane Citizen").build().toString(),
+                new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().officialSensitive()
+                        .personalPrivacy().build().toString(),
+                new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().secret().accountableMaterial()
+                        .sensitiveCompartments("AAA", "BBB").disseminationMarks("ORCON")
+                        .relTo("NZL", "AUS", "CAN", "GBR", "USA").build().toString(),
+                new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().inConfidence().staff()
+                        .departmentUseOnly("DPMC").build().toString(),
+                new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().topSecret().accountableMaterial()
+                        .nzeo().build().toString(),
+                new ClassificationMarkerBuilder().ukPrefix().secret().useOnly("ALPHA", "BETA").codeWords("AAA")
+                        .fiveEyesOnly().build().toString(),
+                new ClassificationMarkerBuilder().officialSensitive().recipientsOnly().personalData().build()
+                        .toString(),
+                new ClassificationMarkerBuilder().topSecret().codeWords("CCC").ukEyesOnly().build().toString(),
+                "Please review the attached minute before Thursday.");
+
+        Random random = new Random(42);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            corpus.add(samples.get(random.nextInt(samples.size())));
+        }
+        Collections.shuffle(corpus, random);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void detect(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(detector.detect(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void detectAndParse(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(detector.tryParse(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void tryEveryParser(Blackhole blackhole) {
+        for (String text : corpus) {
+            Optional<?> marking = ausParser.tryParse(text);
+            if (marking.isEmpty()) {
+                marking = nzlParser.tryParse(text);
+            }
+            if (marking.isEmpty()) {
+                marking = ukParser.tryParse(text);
+            }
+            blackhole.consume(marking);
+        }
+    }
+}
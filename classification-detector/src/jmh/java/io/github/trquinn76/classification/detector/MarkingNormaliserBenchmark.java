@@ -0,0 +1,118 @@
+package io.github.trquinn76.classification.detector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+
+/**
+ * Measures the {@link MarkingNormaliser} over a synthetic corpus of messy markings: canonical markings of each scheme
+ * with their case changed, separators respaced, labels prefixed, keywords misspelt and Australian sections shuffled.
+ * The cached normaliser is compared with one whose cache holds a single text, which rewrites almost every marking.
+ * <p>
+ * Run with {@code ./gradlew classification-detector:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MarkingNormaliserBenchmark {
+
+    private static final int CORPUS_SIZE = 1000;
+    private static final int DISTINCT_SIZE = 200;
+
+    private final List<String> corpus = new ArrayList<>(CORPUS_SIZE);
+
+    private MarkingNormaliser cached;
+    private MarkingNormaliser uncached;
+
+    @Setup
+    public void setup() {
+        cached = new MarkingNormaliser();
+        uncached = new MarkingNormaliser(new MarkingDetector(), MarkingNormaliser.DEFAULT_LABELS,
+                MarkingNormaliser.DEFAULT_MAXIMUM_EDITS, 1);
+
+        String ausSecret = io.github.trquinn76.classification.aus.model.Classification.secret().toString();
+        List<String> samples = List.of(
+                new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret().addCodeword("AAA")
+                        .rel("AUS", "CAN", "GBR", "NZL", "USA").legalPrivilege().build().toString(),
+                new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().protect()
+                        .exclusiveFor("Jane Citizen").build().toString(),
+                new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().topSecret().build().toString(),
+                "legal privilege REL AUS/NZL " + ausSecret + " AAA Cabinet",
+                new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().secret().accountableMaterial()
+                        .sensitiveCompartments("AAA", "BBB").relTo("NZL", "AUS", "CAN", "GBR", "USA").build()
+                        .toString(),
+                new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().inConfidence().staff().build()
+                        .toString(),
+                new ClassificationMarkerBuilder().officialSensitive().recipientsOnly().personalData().build()
+                        .toString(),
+                new ClassificationMarkerBuilder().topSecret().codeWords("CCC").ukEyesOnly().build().toString());
+
+        Random random = new Random(42);
+        List<String> distinct = new ArrayList<>(DISTINCT_SIZE);
+        for (int i = 0; i < DISTINCT_SIZE; i++) {
+            distinct.add(mess(samples.get(random.nextInt(samples.size())), random));
+        }
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            corpus.add(distinct.get(random.nextInt(distinct.size())));
+        }
+    }
+
+    /**
+     * Applies a random selection of the variations found in hand typed markings.
+     */
+    private static String mess(String text, Random random) {
+        if (random.nextBoolean()) {
+            text = text.toLowerCase();
+        }
+        if (random.nextBoolean()) {
+            text = text.replace(" ", "  ").replace("//", " // ");
+        }
+        if (random.nextInt(4) == 0) {
+            text = "SEC: " + text;
+        }
+        if (random.nextInt(3) == 0) {
+            int at = random.nextInt(text.length());
+            // drop a character, as a typing slip.
+            text = text.substring(0, at) + text.substring(at + 1);
+        }
+        // trailing spaces, which make otherwise equal texts separate entries in the cache.
+        return text + " ".repeat(random.nextInt(3));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void normalise(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(cached.normalise(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void normaliseUncached(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(uncached.normalise(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void normaliseAndParse(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(cached.tryParse(text));
+        }
+    }
+}
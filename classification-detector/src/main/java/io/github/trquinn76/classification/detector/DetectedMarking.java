@@ -0,0 +1,92 @@
+package io.github.trquinn76.classification.detector;
+
+import java.util.Objects;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * A marking parsed by a {@link MarkingDetector}, holding the marker of the scheme it was detected as.
+ * <p>
+ * The records of this sealed interface may be used with pattern matching to handle each scheme:
+ * 
+ * <pre>
+ * switch (detector.parse(text)) {
+ * case DetectedMarking.Aus aus -&gt; ...
+ * case DetectedMarking.Nzl nzl -&gt; ...
+ * case DetectedMarking.Uk uk -&gt; ...
+ * }
+ * </pre>
+ */
+public sealed interface DetectedMarking {
+
+    /**
+     * @return the {@link MarkingScheme} of the marking.
+     */
+    MarkingScheme scheme();
+
+    /**
+     * An Australian Protective Marking.
+     * 
+     * @param marker the marker. May not be null.
+     */
+    record Aus(io.github.trquinn76.classification.aus.model.ProtectiveMarker marker) implements DetectedMarking {
+
+        /**
+         * Constructor.
+         * 
+         * @param marker the marker. May not be null.
+         */
+        public Aus {
+            Objects.requireNonNull(marker);
+        }
+
+        @Override
+        public MarkingScheme scheme() {
+            return MarkingScheme.AUS;
+        }
+    }
+
+    /**
+     * A New Zealand Protective Marking.
+     * 
+     * @param marker the marker. May not be null.
+     */
+    record Nzl(io.github.trquinn76.classification.nzl.model.ProtectiveMarker marker) implements DetectedMarking {
+
+        /**
+         * Constructor.
+         * 
+         * @param marker the marker. May not be null.
+         */
+        public Nzl {
+            Objects.requireNonNull(marker);
+        }
+
+        @Override
+        public MarkingScheme scheme() {
+            return MarkingScheme.NZL;
+        }
+    }
+
+    /**
+     * A UK Security Classification Marking.
+     * 
+     * @param marker the marker. May not be null.
+     */
+    record Uk(ClassificationMarker marker) implements DetectedMarking {
+
+        /**
+         * Constructor.
+         * 
+         * @param marker the marker. May not be null.
+         */
+        public Uk {
+            Objects.requireNonNull(marker);
+        }
+
+        @Override
+        public MarkingScheme scheme() {
+            return MarkingScheme.UK;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.trquinn76.classification.detector;
+
+/**
+ * An automaton accepting every string within a bounded number of edits (insertions, deletions and substitutions) of a
+ * word.
+ * <p>
+ * The automaton is determinised lazily: a state is the vector of the fewest edits needed to reach each prefix of the
+ * word, capped at one more than the bound, followed by the number of characters read, and {@link #step(int[], char)}
+ * computes the next state from a character. Walking the automaton alongside a trie, and abandoning a branch as soon as
+ * its state can no longer match, finds the words of a vocabulary near the word while visiting only a small part of the
+ * trie, rather than measuring the distance to every word.
+ */
+final class LevenshteinAutomaton {
+
+    private final String word;
+    private final int maximumEdits;
+
+    /**
+     * @param word         the word to match.
+     * @param maximumEdits the largest number of edits accepted.
+     */
+    LevenshteinAutomaton(String word, int maximumEdits) {
+        this.word = word;
+        this.maximumEdits = maximumEdits;
+    }
+
+    /**
+     * @return the length of the word matched.
+     */
+    int length() {
+        return this.word.length();
+    }
+
+    /**
+     * @return the largest number of edits accepted.
+     */
+    int maximumEdits() {
+        return this.maximumEdits;
+    }
+
+    /**
+     * @return the state before any character is read.
+     */
+    int[] start() {
+        int length = this.word.length();
+        int[] state = new int[length + 2];
+        for (int i = 0; i <= length; i++) {
+            state[i] = Math.min(i, this.maximumEdits + 1);
+        }
+        return state;
+    }
+
+    /**
+     * @param state a state of this automaton.
+     * @param c     the next character read.
+     * @return the state after reading the character.
+     */
+    int[] step(int[] state, char c) {
+        int[] next = new int[state.length];
+        step(state, c, next);
+        return next;
+    }
+
+    /**
+     * Computes the state after reading a character into an existing array, so that a search can reuse one array for
+     * each depth. Only the cells within the bound of the diagonal can match, so only those are computed, and the others
+     * are left as they were and never read.
+     *
+     * @param state a state of this automaton.
+     * @param c     the next character read.
+     * @param next  the array to hold the state after reading the character, of the same length as the state.
+     */
+    void step(int[] state, char c, int[] next) {
+        int length = this.word.length();
+        int dead = this.maximumEdits + 1;
+        int depth = state[length + 1] + 1;
+        next[length + 1] = depth;
+        next[0] = Math.min(depth, dead);
+        int low = Math.max(1, depth - this.maximumEdits);
+        int high = Math.min(length, depth + this.maximumEdits);
+        // the cell to the left of the band, and the cell above its right end, are outside the band of their rows.
+        int left = low == 1 ? next[0] : dead;
+        for (int i = low; i <= high; i++) {
+            int above = i < depth - 1 + dead ? state[i] : dead;
+            int substitution = state[i - 1] + (this.word.charAt(i - 1) == c ? 0 : 1);
+            left = Math.min(Math.min(substitution, above + 1), Math.min(left + 1, dead));
+            next[i] = left;
+        }
+    }
+
+    /**
+     * @param state a state of this automaton.
+     * @return the number of edits between the word and the characters read, or more than the bound if they do not
+     *         match.
+     */
+    int edits(int[] state) {
+        int length = this.word.length();
+        return Math.abs(length - state[length + 1]) <= this.maximumEdits ? state[length] : this.maximumEdits + 1;
+    }
+
+    /**
+     * @param state a state of this automaton.
+     * @return true if the characters read are within the bound of the word.
+     */
+    boolean isMatch(int[] state) {
+        return edits(state) <= this.maximumEdits;
+    }
+
+    /**
+     * @param state a state of this automaton.
+     * @return true if some continuation of the characters read could still match.
+     */
+    boolean canMatch(int[] state) {
+        int length = this.word.length();
+        int depth = state[length + 1];
+        int high = Math.min(length, depth + this.maximumEdits);
+        for (int i = Math.max(0, depth - this.maximumEdits); i <= high; i++) {
+            if (state[i] <= this.maximumEdits) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,325 @@
+package io.github.trquinn76.classification.detector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.PSPFClassification;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+import io.github.trquinn76.classification.nzl.model.NZLClassification;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+import io.github.trquinn76.classification.uk.ClassificationMarkerParser;
+import io.github.trquinn76.classification.uk.Utils;
+import io.github.trquinn76.classification.uk.model.SecurityClassification;
+
+/**
+ * Decides which Classification scheme a marking is written in, and parses it with the parser of that scheme.
+ * <p>
+ * The text is walked once, and each term found which belongs to the syntax of a scheme scores for that scheme:
+ * <ul>
+ * <li>AUS - {@code REL AUS/} releasable to lists, {@code EXCLUSIVE-FOR} and the other hyphenated or underscored
+ * handling instructions, {@code AUSTEO}, {@code AGAO} and the Information Management Markers.</li>
+ * <li>NZL - {@code //} sections, {@code REL TO}, {@code NZEO}, {@code ACCOUNTABLE MATERIAL} and the dated
+ * endorsements.</li>
+ * <li>UK - {@code " - "} separators, {@code EYES ONLY}, a leading {@code UK} prefix, the sensitive mark,
+ * {@code HMG USE ONLY} and {@code REL-EU}.</li>
+ * </ul>
+ * A Classification scores a little for every scheme which uses it, so that a marking holding only a Classification
+ * such as {@code PROTECTED} or {@code IN-CONFIDENCE} is still recognised. Several schemes share Classifications such as
+ * {@code SECRET}, and a marking holding nothing else is ambiguous. The parsers of the detected schemes are tried from
+ * the highest score down, with ties in {@link MarkingScheme} order, and the first to accept the text wins.
+ * <p>
+ * The Classifications are taken from the production mode in effect when the detector is constructed. A
+ * {@link MarkingDetector} is immutable, and may be shared between threads.
+ */
+public final class MarkingDetector {
+
+    private static final MarkingScheme[] SCHEMES = MarkingScheme.values();
+
+    private static final int AUS = 1 << MarkingScheme.AUS.ordinal();
+    private static final int NZL = 1 << MarkingScheme.NZL.ordinal();
+    private static final int UK = 1 << MarkingScheme.UK.ordinal();
+
+    private static final int SYNTAX_WEIGHT = 4;
+    private static final int CLASSIFICATION_WEIGHT = 1;
+
+    private static final int START_OF_WORD = 1;
+    private static final int END_OF_WORD = 2;
+    private static final int START_OF_TEXT = 4;
+
+    private final io.github.trquinn76.classification.aus.ProtectiveMarkerParser ausParser;
+    private final io.github.trquinn76.classification.nzl.ProtectiveMarkerParser nzlParser;
+    private final ClassificationMarkerParser ukParser;
+
+    /**
+     * The terms of every scheme, indexed by their first character, and longest first.
+     */
+    private final Term[][] terms;
+
+    /**
+     * Constructor using parsers which read every unknown word as a code word or compartment.
+     */
+    public MarkingDetector() {
+        this(new io.github.trquinn76.classification.aus.ProtectiveMarkerParser(),
+                new io.github.trquinn76.classification.nzl.ProtectiveMarkerParser(), new ClassificationMarkerParser());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ausParser the parser of Australian markings. May not be null.
+     * @param nzlParser the parser of New Zealand markings. May not be null.
+     * @param ukParser  the parser of UK markings. May not be null.
+     */
+    public MarkingDetector(io.github.trquinn76.classification.aus.ProtectiveMarkerParser ausParser,
+            io.github.trquinn76.classification.nzl.ProtectiveMarkerParser nzlParser,
+            ClassificationMarkerParser ukParser) {
+        this.ausParser = Objects.requireNonNull(ausParser);
+        this.nzlParser = Objects.requireNonNull(nzlParser);
+        this.ukParser = Objects.requireNonNull(ukParser);
+
+        Map<String, Term> vocabulary = new HashMap<>();
+        addSyntax(vocabulary);
+        for (String text : ausClassifications()) {
+            addClassification(vocabulary, text, AUS);
+        }
+        for (String text : nzlClassifications()) {
+            addClassification(vocabulary, text, NZL);
+        }
+        for (String text : ukClassifications()) {
+            addClassification(vocabulary, text, UK);
+        }
+
+        Map<Character, List<Term>> byFirst = new HashMap<>();
+        for (Term term : vocabulary.values()) {
+            byFirst.computeIfAbsent(term.text().charAt(0), c -> new ArrayList<>()).add(term);
+        }
+        terms = new Term[byFirst.keySet().stream().mapToInt(c -> c + 1).max().orElse(0)][];
+        byFirst.forEach((first, list) -> {
+            list.sort(Comparator.comparingInt((Term term) -> term.text().length()).reversed());
+            terms[first] = list.toArray(Term[]::new);
+        });
+    }
+
+    /**
+     * Detects the schemes the given text may be written in.
+     *
+     * @param text the marking text. May not be null.
+     * @return the schemes whose terms were found in the text, most likely first. Empty if no scheme was recognised.
+     */
+    public List<MarkingScheme> detect(CharSequence text) {
+        Objects.requireNonNull(text);
+        int[] scores = score(text);
+        List<MarkingScheme> schemes = new ArrayList<>(SCHEMES.length);
+        for (MarkingScheme scheme : SCHEMES) {
+            if (scores[scheme.ordinal()] == 0) {
+                continue;
+            }
+            // insert after every scheme with an equal or higher score, so ties are left in MarkingScheme order.
+            int index = schemes.size();
+            while (index > 0 && scores[schemes.get(index - 1).ordinal()] < scores[scheme.ordinal()]) {
+                index--;
+            }
+            schemes.add(index, scheme);
+        }
+        return schemes;
+    }
+
+    /**
+     * Detects the scheme of the given text, and parses it.
+     *
+     * @param text the marking text. May not be null.
+     * @return the parsed marking.
+     * @throws IllegalArgumentException if no scheme was recognised, or no detected scheme could parse the text. The
+     *                                  message of the most likely scheme's parser is used when there is one.
+     */
+    public DetectedMarking parse(String text) {
+        List<MarkingScheme> schemes = detect(text);
+        if (schemes.isEmpty()) {
+            throw new IllegalArgumentException("Unable to detect the Classification scheme of \"" + text + "\".");
+        }
+        for (MarkingScheme scheme : schemes) {
+            Optional<DetectedMarking> marking = tryParse(scheme, text);
+            if (marking.isPresent()) {
+                return marking.get();
+            }
+        }
+        return parse(schemes.get(0), text);
+    }
+
+    /**
+     * Detects the scheme of the given text, and parses it, without raising an exception if it is not valid.
+     *
+     * @param text the marking text. May not be null.
+     * @return the parsed marking, or empty if no scheme was recognised, or no detected scheme could parse the text.
+     */
+    public Optional<DetectedMarking> tryParse(String text) {
+        for (MarkingScheme scheme : detect(text)) {
+            Optional<DetectedMarking> marking = tryParse(scheme, text);
+            if (marking.isPresent()) {
+                return marking;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private DetectedMarking parse(MarkingScheme scheme, String text) {
+        return switch (scheme) {
+        case AUS -> new DetectedMarking.Aus(ausParser.parse(text));
+        case NZL -> new DetectedMarking.Nzl(nzlParser.parse(text));
+        case UK -> new DetectedMarking.Uk(ukParser.parse(text));
+        };
+    }
+
+    private Optional<DetectedMarking> tryParse(MarkingScheme scheme, String text) {
+        return switch (scheme) {
+        case AUS -> ausParser.tryParse(text).map(DetectedMarking.Aus::new);
+        case NZL -> nzlParser.tryParse(text).map(DetectedMarking.Nzl::new);
+        case UK -> ukParser.tryParse(text).map(DetectedMarking.Uk::new);
+        };
+    }
+
+    /**
+     * Walks the text once, adding the weight of each term found to the score of its schemes. A term found is skipped
+     * over, so that the Classification SECRET is not found again within TOP SECRET.
+     */
+    private int[] score(CharSequence text) {
+        int[] scores = new int[SCHEMES.length];
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            Term[] candidates = c < terms.length ? terms[c] : null;
+            if (candidates == null) {
+                continue;
+            }
+            for (Term term : candidates) {
+                if (term.matches(text, i)) {
+                    for (int scheme = 0; scheme < scores.length; scheme++) {
+                        if ((term.schemes() & (1 << scheme)) != 0) {
+                            scores[scheme] += term.weight();
+                        }
+                    }
+                    i += term.text().length() - 1;
+                    break;
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void addSyntax(Map<String, Term> vocabulary) {
+        int word = START_OF_WORD | END_OF_WORD;
+
+        addSyntax(vocabulary, "REL AUS/", AUS, START_OF_WORD);
+        for (SpecialHandlingInstruction instruction : SpecialHandlingInstruction.values()) {
+            // ORCON and CABINET are not peculiar to the Australian scheme.
+            if (instruction.name().contains("_")) {
+                addSyntax(vocabulary, instruction.name(), AUS, word);
+                addSyntax(vocabulary, instruction.toString(), AUS, word);
+            }
+        }
+        addSyntax(vocabulary, ReleasabilityType.AUSTEO.name(), AUS, word);
+        addSyntax(vocabulary, ReleasabilityType.AGAO.name(), AUS, word);
+        for (InformationManagementTypes type : InformationManagementTypes.values()) {
+            addSyntax(vocabulary, type.name(), AUS, word);
+            addSyntax(vocabulary, type.toString(), AUS, word);
+        }
+
+        addSyntax(vocabulary, "//", NZL, 0);
+        addSyntax(vocabulary, ReleasabilityTypes.RELTO + " ", NZL, START_OF_WORD);
+        addSyntax(vocabulary, ReleasabilityTypes.NZEO.toString(), NZL, word);
+        addSyntax(vocabulary, "ACCOUNTABLE MATERIAL", NZL, word);
+        addSyntax(vocabulary, PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE.toString(), NZL, word);
+        addSyntax(vocabulary, PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON.toString(), NZL, word);
+
+        addSyntax(vocabulary, " - ", UK, 0);
+        addSyntax(vocabulary, "EYES ONLY", UK, word);
+        addSyntax(vocabulary, Utils.UK + " ", UK, START_OF_TEXT);
+        addSyntax(vocabulary, io.github.trquinn76.classification.uk.ClassificationConfig.sensitiveMark(), UK,
+                END_OF_WORD);
+        addSyntax(vocabulary, Utils.HMG_USE_ONLY, UK, word);
+        addSyntax(vocabulary, Utils.REL_EU, UK, word);
+    }
+
+    private static void addSyntax(Map<String, Term> vocabulary, String text, int schemes, int boundaries) {
+        vocabulary.put(text, new Term(text, schemes, SYNTAX_WEIGHT, boundaries));
+    }
+
+    /**
+     * Adds a Classification, combining the schemes of Classifications with the same text.
+     */
+    private static void addClassification(Map<String, Term> vocabulary, String text, int scheme) {
+        vocabulary.merge(text, new Term(text, scheme, CLASSIFICATION_WEIGHT, START_OF_WORD | END_OF_WORD),
+                (existing, added) -> new Term(text, existing.schemes() | scheme, existing.weight(),
+                        existing.boundaries()));
+    }
+
+    static List<String> ausClassifications() {
+        if (io.github.trquinn76.classification.aus.ClassificationConfig.productionMode()) {
+            return Arrays.stream(PSPFClassification.values()).map(Object::toString).toList();
+        }
+        return Arrays.stream(io.github.trquinn76.classification.aus.model.DevelopmentClassification.values())
+                .map(Object::toString).toList();
+    }
+
+    static List<String> nzlClassifications() {
+        if (io.github.trquinn76.classification.nzl.ClassificationConfig.productionMode()) {
+            return Arrays.stream(NZLClassification.values()).map(Object::toString).toList();
+        }
+        return Arrays.stream(io.github.trquinn76.classification.nzl.model.DevelopmentClassification.values())
+                .map(Object::toString).toList();
+    }
+
+    static List<String> ukClassifications() {
+        if (io.github.trquinn76.classification.uk.ClassificationConfig.productionMode()) {
+            return Arrays.stream(SecurityClassification.values()).map(Object::toString).toList();
+        }
+        return Arrays.stream(io.github.trquinn76.classification.uk.model.DevelopmentClassification.values())
+                .map(Object::toString).toList();
+    }
+
+    /**
+     * A term of one or more schemes.
+     *
+     * @param text       the text of the term.
+     * @param schemes    a bit for each {@link MarkingScheme} ordinal the term belongs to.
+     * @param weight     the score added for each scheme when the term is found.
+     * @param boundaries where the term must be found, as START_OF_WORD, END_OF_WORD and START_OF_TEXT flags.
+     */
+    private record Term(String text, int schemes, int weight, int boundaries) {
+
+        boolean matches(CharSequence input, int start) {
+            int end = start + text.length();
+            if (end > input.length()) {
+                return false;
+            }
+            if ((boundaries & START_OF_TEXT) != 0 && start != 0) {
+                return false;
+            }
+            if ((boundaries & START_OF_WORD) != 0 && start > 0 && isWordChar(input.charAt(start - 1))) {
+                return false;
+            }
+            if ((boundaries & END_OF_WORD) != 0 && end < input.length() && isWordChar(input.charAt(end))) {
+                return false;
+            }
+            for (int i = 1; i < text.length(); i++) {
+                if (input.charAt(start + i) != text.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isWordChar(char c) {
+            return Character.isLetterOrDigit(c);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package io.github.trquinn76.classification.detector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+import io.github.trquinn76.classification.uk.ClassificationConfig;
+import io.github.trquinn76.classification.uk.Utils;
+import io.github.trquinn76.classification.uk.model.Classification;
+
+/**
+ * Rewrites hand typed and legacy markings into the canonical text of their scheme, so that they can be parsed.
+ * <p>
+ * Markings keyed by people and older systems vary in ways the strict parsers do not accept: {@code Protected},
+ * {@code SEC: SECRET}, {@code TOP-SECRET}, {@code TOPSECRT}, or Australian caveats written out of order. The
+ * normaliser:
+ * <ul>
+ * <li>collapses runs of whitespace, and the spaces around {@code /} and {@code //} separators.</li>
+ * <li>drops a leading label such as {@code SEC:} or {@code Classification:}.</li>
+ * <li>replaces each run of words matching a Classification or caveat keyword of any scheme with its canonical text.
+ * Words are compared folded: upper case, with hyphens and underscores read as spaces, and colons ignored. A run with no
+ * exact match is matched within a bounded number of edits, one for five or more characters and two for ten or more,
+ * using a {@link LevenshteinAutomaton} walked over a trie of the keywords.</li>
+ * <li>puts the sections of an Australian marking back in order, when every keyword found is Australian.</li>
+ * </ul>
+ * Words which match no keyword, such as code words and country codes, are written in upper case, except for the names
+ * following {@code EXCLUSIVE-FOR}, which are left as they were written.
+ * <p>
+ * Normalised texts, and the keywords found near each run of words, are cached, up to a maximum number, after which the
+ * cache is emptied and refilled. The keywords are
+ * taken from the production mode in effect when the normaliser is constructed. A {@link MarkingNormaliser} may be
+ * shared between threads.
+ */
+public final class MarkingNormaliser {
+
+    /**
+     * The default maximum number of normalised texts held.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    /**
+     * The default largest number of edits a keyword is matched within.
+     */
+    public static final int DEFAULT_MAXIMUM_EDITS = 2;
+
+    /**
+     * The labels dropped from the start of a marking, when followed by a colon.
+     */
+    public static final Set<String> DEFAULT_LABELS = Set.of("SEC", "SECURITY", "CLASSIFICATION", "CLASS",
+            "SECURITY CLASSIFICATION", "PROTECTIVE MARKING", "MARKING");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int ONE_EDIT_LENGTH = 5;
+    private static final int TWO_EDIT_LENGTH = 10;
+
+    /**
+     * Ranks of the sections of an Australian marking, in the order they are written.
+     */
+    private static final int UNRANKED = -1;
+    private static final int CLASSIFICATION_RANK = 0;
+    private static final int SPECIAL_HANDLING_RANK = 2;
+    private static final int RELEASABILITY_RANK = 3;
+    private static final int INFORMATION_MANAGEMENT_RANK = 4;
+
+    private final MarkingDetector detector;
+    private final Set<String> labels;
+    private final int maximumEdits;
+    private final int maximumSize;
+    private final PhraseTrie<Phrase> phrases;
+    private final int longestPhrase;
+    private final Map<String, String> normalised = new ConcurrentHashMap<>();
+    private final Map<String, Optional<Phrase>> nearest = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor using the default {@link MarkingDetector}, labels, edits and cache size.
+     */
+    public MarkingNormaliser() {
+        this(new MarkingDetector(), DEFAULT_LABELS, DEFAULT_MAXIMUM_EDITS, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param detector     the {@link MarkingDetector} normalised texts are parsed with. May not be null.
+     * @param labels       the labels dropped from the start of a marking, when followed by a colon. May not be null.
+     * @param maximumEdits the largest number of edits a keyword is matched within, from 0, which matches keywords
+     *                     exactly, to 2.
+     * @param maximumSize  the maximum number of normalised texts, and of keyword matches, to hold. Must be positive.
+     */
+    public MarkingNormaliser(MarkingDetector detector, Set<String> labels, int maximumEdits, int maximumSize) {
+        this.detector = Objects.requireNonNull(detector);
+        this.labels = labels.stream().map(MarkingNormaliser::fold).collect(Collectors.toUnmodifiableSet());
+        if (maximumEdits < 0 || maximumEdits > 2) {
+            throw new IllegalArgumentException("maximumEdits must be from 0 to 2: " + maximumEdits);
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumEdits = maximumEdits;
+        this.maximumSize = maximumSize;
+
+        Map<String, Phrase> vocabulary = new HashMap<>();
+        for (String text : MarkingDetector.ausClassifications()) {
+            addPhrase(vocabulary, text, MarkingScheme.AUS, CLASSIFICATION_RANK);
+        }
+        for (SpecialHandlingInstruction instruction : SpecialHandlingInstruction.values()) {
+            addPhrase(vocabulary, instruction.toString(), MarkingScheme.AUS, SPECIAL_HANDLING_RANK);
+        }
+        for (ReleasabilityType type : ReleasabilityType.values()) {
+            addPhrase(vocabulary, type.toString(), MarkingScheme.AUS, RELEASABILITY_RANK);
+        }
+        for (InformationManagementTypes type : InformationManagementTypes.values()) {
+            addPhrase(vocabulary, type.name(), MarkingScheme.AUS, INFORMATION_MANAGEMENT_RANK);
+        }
+
+        for (String text : MarkingDetector.nzlClassifications()) {
+            addPhrase(vocabulary, text, MarkingScheme.NZL, UNRANKED);
+        }
+        for (PolicyAndPrivacyEndorsements endorsement : PolicyAndPrivacyEndorsements.values()) {
+            addPhrase(vocabulary, endorsement.toString(), MarkingScheme.NZL, UNRANKED);
+        }
+        for (ReleasabilityTypes type : ReleasabilityTypes.values()) {
+            addPhrase(vocabulary, type.toString(), MarkingScheme.NZL, UNRANKED);
+        }
+        addPhrase(vocabulary, "ACCOUNTABLE MATERIAL", MarkingScheme.NZL, UNRANKED);
+
+        for (String text : MarkingDetector.ukClassifications()) {
+            addPhrase(vocabulary, text, MarkingScheme.UK, UNRANKED);
+        }
+        addPhrase(vocabulary, Classification.official() + ClassificationConfig.sensitiveMark(), MarkingScheme.UK,
+                UNRANKED);
+        for (String text : List.of(Utils.RECIPIENTS_ONLY, Utils.FOR_PUBLIC_RELEASE, Utils.HMG_USE_ONLY,
+                Utils.PERSONAL_DATA, Utils.LEGAL_PROFESSIONAL_PRIVILEGE, Utils.MARKET_SENSITIVE, Utils.REL_EU,
+                "EYES ONLY")) {
+            addPhrase(vocabulary, text, MarkingScheme.UK, UNRANKED);
+        }
+
+        this.phrases = new PhraseTrie<>(vocabulary);
+        this.longestPhrase = vocabulary.keySet().stream().mapToInt(key -> key.split(" ").length).max().orElse(1);
+    }
+
+    /**
+     * Rewrites the given text into the canonical text of its scheme, as far as it can be recognised.
+     *
+     * @param text the marking text. May not be null.
+     * @return the normalised text. This is not necessarily a valid marking.
+     */
+    public String normalise(String text) {
+        Objects.requireNonNull(text);
+        String result = this.normalised.get(text);
+        if (result == null) {
+            result = rewrite(text);
+            if (this.normalised.size() >= this.maximumSize) {
+                this.normalised.clear();
+            }
+            this.normalised.putIfAbsent(text, result);
+        }
+        return result;
+    }
+
+    /**
+     * Parses the given text, normalising it first if it is not already a valid marking.
+     *
+     * @param text the marking text. May not be null.
+     * @return the parsed marking, or empty if neither the text nor its normalised form could be parsed.
+     */
+    public Optional<DetectedMarking> tryParse(String text) {
+        Optional<DetectedMarking> marking = this.detector.tryParse(text);
+        if (marking.isPresent()) {
+            return marking;
+        }
+        return this.detector.tryParse(normalise(text));
+    }
+
+    /**
+     * Parses the given text, normalising it first if it is not already a valid marking.
+     *
+     * @param text the marking text. May not be null.
+     * @return the parsed marking.
+     * @throws IllegalArgumentException if neither the text nor its normalised form could be parsed. The message is that
+     *                                  raised for the normalised form.
+     */
+    public DetectedMarking parse(String text) {
+        Optional<DetectedMarking> marking = tryParse(text);
+        if (marking.isPresent()) {
+            return marking.get();
+        }
+        return this.detector.parse(normalise(text));
+    }
+
+    private String rewrite(String text) {
+        List<String> words = new ArrayList<>();
+        List<String> delimiters = new ArrayList<>();
+        split(dropLabel(WHITESPACE.matcher(text.strip()).replaceAll(" ")), words, delimiters);
+
+        MarkingScheme context = delimiters.contains("//") ? MarkingScheme.NZL
+                : words.contains("-") ? MarkingScheme.UK : MarkingScheme.AUS;
+        List<Piece> pieces = new ArrayList<>(words.size());
+        boolean keepCase = false;
+        int i = 0;
+        while (i < words.size()) {
+            Piece piece = match(words, delimiters, i, context);
+            if (piece != null) {
+                keepCase = piece.text().equals(SpecialHandlingInstruction.EXCLUSIVE_FOR.toString());
+            } else {
+                String word = words.get(i);
+                piece = new Piece(keepCase ? word : word.toUpperCase(), delimiters.get(i), 1, UNRANKED, false);
+            }
+            pieces.add(piece);
+            i += piece.words();
+        }
+        if (context == MarkingScheme.AUS) {
+            pieces = reorder(pieces);
+        }
+
+        StringBuilder buf = new StringBuilder(text.length());
+        for (Piece piece : pieces) {
+            buf.append(piece.before()).append(piece.text());
+        }
+        return buf.append(delimiters.get(words.size())).toString();
+    }
+
+    /**
+     * Drops a leading label, if the text before the first colon is one.
+     */
+    private String dropLabel(String text) {
+        int colon = text.indexOf(':');
+        if (colon > 0 && this.labels.contains(fold(text.substring(0, colon)))) {
+            return text.substring(colon + 1).strip();
+        }
+        return text;
+    }
+
+    /**
+     * Splits the text into words, separated by runs of spaces, slashes and commas. Each delimiter is canonicalised, and
+     * there is always one more delimiter than words, the first and last of which are empty.
+     */
+    private static void split(String text, List<String> words, List<String> delimiters) {
+        int length = text.length();
+        int i = 0;
+        while (i < length && isDelimiter(text.charAt(i))) {
+            i++;
+        }
+        delimiters.add("");
+        while (i < length) {
+            int start = i;
+            while (i < length && !isDelimiter(text.charAt(i))) {
+                i++;
+            }
+            words.add(text.substring(start, i));
+            int run = i;
+            while (i < length && isDelimiter(text.charAt(i))) {
+                i++;
+            }
+            delimiters.add(i == length ? "" : delimiter(text.substring(run, i)));
+        }
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ' ' || c == '/' || c == ',';
+    }
+
+    private static String delimiter(String run) {
+        if (run.contains("//")) {
+            return "//";
+        }
+        if (run.indexOf('/') >= 0) {
+            return "/";
+        }
+        if (run.indexOf(',') >= 0) {
+            return ", ";
+        }
+        return " ";
+    }
+
+    /**
+     * Finds the keyword matching the longest run of words from the given index, preferring an exact match of any length
+     * to a match within some edits.
+     */
+    private Piece match(List<String> words, List<String> delimiters, int index, MarkingScheme context) {
+        int longest = 0;
+        while (longest < this.longestPhrase && index + longest < words.size()
+                && (longest == 0 || delimiters.get(index + longest).equals(" "))
+                && hasLetter(words.get(index + longest))) {
+            longest++;
+        }
+        String[] keys = new String[longest + 1];
+        for (int count = longest; count > 0; count--) {
+            keys[count] = fold(String.join(" ", words.subList(index, index + count)));
+            Phrase phrase = this.phrases.get(keys[count]);
+            if (phrase != null) {
+                return piece(phrase, words, delimiters, index, count, context);
+            }
+        }
+        for (int count = longest; count > 0; count--) {
+            int length = keys[count].length();
+            int edits = Math.min(this.maximumEdits,
+                    length >= TWO_EDIT_LENGTH ? 2 : length >= ONE_EDIT_LENGTH ? 1 : 0);
+            if (edits > 0) {
+                Optional<Phrase> phrase = nearest(keys[count], edits);
+                if (phrase.isPresent()) {
+                    return piece(phrase.get(), words, delimiters, index, count, context);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the keyword nearest the folded key, holding the result, as the same code words and names recur from one
+     * marking to the next.
+     */
+    private Optional<Phrase> nearest(String key, int edits) {
+        Optional<Phrase> phrase = this.nearest.get(key);
+        if (phrase == null) {
+            phrase = Optional.ofNullable(this.phrases.nearest(new LevenshteinAutomaton(key, edits)));
+            if (this.nearest.size() >= this.maximumSize) {
+                this.nearest.clear();
+            }
+            this.nearest.putIfAbsent(key, phrase);
+        }
+        return phrase;
+    }
+
+    private static Piece piece(Phrase phrase, List<String> words, List<String> delimiters, int index, int count,
+            MarkingScheme context) {
+        Form form = phrase.choose(String.join(" ", words.subList(index, index + count)), context);
+        return new Piece(form.text(), delimiters.get(index), count, form.rank(), true);
+    }
+
+    /**
+     * Puts the sections of an Australian marking in order. A section is a keyword and the unmatched words after it,
+     * such as the code words after a Classification or the countries after {@code REL}. Nothing is moved if the text
+     * starts with an unmatched word, or holds a keyword which is not Australian.
+     */
+    private static List<Piece> reorder(List<Piece> pieces) {
+        if (pieces.isEmpty() || !pieces.get(0).matched()) {
+            return pieces;
+        }
+        List<List<Piece>> sections = new ArrayList<>();
+        for (Piece piece : pieces) {
+            if (piece.matched()) {
+                if (piece.rank() == UNRANKED) {
+                    return pieces;
+                }
+                sections.add(new ArrayList<>());
+            }
+            sections.get(sections.size() - 1).add(piece);
+        }
+        // a stable sort, so sections of equal rank keep their order.
+        sections.sort((a, b) -> Integer.compare(a.get(0).rank(), b.get(0).rank()));
+
+        List<Piece> ordered = new ArrayList<>(pieces.size());
+        for (List<Piece> section : sections) {
+            Piece first = section.get(0);
+            ordered.add(new Piece(first.text(), ordered.isEmpty() ? "" : " ", first.words(), first.rank(), true));
+            ordered.addAll(section.subList(1, section.size()));
+        }
+        return ordered;
+    }
+
+    private static boolean hasLetter(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isLetter(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the text in upper case, with hyphens and underscores read as spaces, colons dropped, and runs of spaces
+     *         collapsed.
+     */
+    static String fold(String text) {
+        StringBuilder buf = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case ':' -> {
+            }
+            case '-', '_', ' ' -> {
+                if (!buf.isEmpty() && buf.charAt(buf.length() - 1) != ' ') {
+                    buf.append(' ');
+                }
+            }
+            default -> buf.append(Character.toUpperCase(c));
+            }
+        }
+        int end = buf.length();
+        return end > 0 && buf.charAt(end - 1) == ' ' ? buf.substring(0, end - 1) : buf.toString();
+    }
+
+    private static void addPhrase(Map<String, Phrase> vocabulary, String text, MarkingScheme scheme, int rank) {
+        vocabulary.computeIfAbsent(fold(text), key -> new Phrase(new ArrayList<>())).add(new Form(text, scheme, rank));
+    }
+
+    /**
+     * The canonical text of a keyword in one scheme.
+     *
+     * @param text   the canonical text.
+     * @param scheme the scheme the keyword belongs to.
+     * @param rank   the rank of the section the keyword starts in an Australian marking, or UNRANKED.
+     */
+    private record Form(String text, MarkingScheme scheme, int rank) {
+    }
+
+    /**
+     * The canonical texts of a keyword, which are several where schemes write the same folded keyword differently,
+     * such as {@code LEGAL_PRIVILEGE} and {@code LEGAL PRIVILEGE}.
+     */
+    private record Phrase(List<Form> forms) {
+
+        void add(Form form) {
+            for (int i = 0; i < forms.size(); i++) {
+                if (forms.get(i).text().equals(form.text())) {
+                    // a keyword shared between schemes keeps its Australian rank.
+                    if (form.scheme() == MarkingScheme.AUS) {
+                        forms.set(i, form);
+                    }
+                    return;
+                }
+            }
+            forms.add(form);
+        }
+
+        /**
+         * Chooses the form of the scheme the text appears to be written in, or else the form written, ignoring case,
+         * or else the first.
+         */
+        Form choose(String written, MarkingScheme context) {
+            if (forms.size() == 1) {
+                return forms.get(0);
+            }
+            for (Form form : forms) {
+                if (form.scheme() == context) {
+                    return form;
+                }
+            }
+            for (Form form : forms) {
+                if (form.text().equalsIgnoreCase(written)) {
+                    return form;
+                }
+            }
+            return forms.get(0);
+        }
+    }
+
+    /**
+     * A word, or run of words matched to a keyword, of the normalised text.
+     *
+     * @param text    the text written.
+     * @param before  the delimiter written before it.
+     * @param words   the number of words of the original text it replaced.
+     * @param rank    the rank of the section it starts in an Australian marking, or UNRANKED.
+     * @param matched true if it is a keyword.
+     */
+    private record Piece(String text, String before, int words, int rank, boolean matched) {
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.trquinn76.classification.detector;
+
+/**
+ * The Classification schemes a {@link MarkingDetector} can recognise.
+ */
+public enum MarkingScheme {
+
+    /**
+     * Australian Protective Markings, from the classification-aus module.
+     */
+    AUS,
+
+    /**
+     * New Zealand Protective Markings, from the classification-nzl module.
+     */
+    NZL,
+
+    /**
+     * UK Security Classification Markings, from the classification-uk module.
+     */
+    UK;
+}
@@ -0,0 +1,124 @@
+package io.github.trquinn76.classification.detector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable trie of phrases, keyed by their folded text, which finds the phrase nearest a key with a
+ * {@link LevenshteinAutomaton}.
+ *
+ * @param <P> the type of phrase held.
+ */
+final class PhraseTrie<P> {
+
+    private final Map<String, P> exact;
+    private final Node<P> root;
+
+    /**
+     * @param phrases each folded key, and its phrase.
+     */
+    PhraseTrie(Map<String, P> phrases) {
+        this.exact = Map.copyOf(phrases);
+        this.root = build(new TreeMap<>(phrases), "");
+    }
+
+    /**
+     * @param key a folded key.
+     * @return the phrase with exactly the given key, or null.
+     */
+    P get(String key) {
+        return this.exact.get(key);
+    }
+
+    /**
+     * @param automaton the {@link LevenshteinAutomaton} of a folded key.
+     * @return the phrase whose key is fewest edits from the key of the automaton, the first in key order when several
+     *         are equally near, or null if none is within the bound of the automaton.
+     */
+    P nearest(LevenshteinAutomaton automaton) {
+        // one state array for each depth of the trie, created when first reached and reused from branch to branch.
+        int[][] states = new int[this.root.maximumLength + 1][];
+        states[0] = automaton.start();
+        List<Object> best = new ArrayList<>(2);
+        search(this.root, automaton, states, 0, best);
+        @SuppressWarnings("unchecked")
+        P phrase = best.isEmpty() ? null : (P) best.get(1);
+        return phrase;
+    }
+
+    private static <P> void search(Node<P> node, LevenshteinAutomaton automaton, int[][] states, int depth,
+            List<Object> best) {
+        // every key below the node differs in length from the word by more than the bound.
+        if (node.maximumLength < automaton.length() - automaton.maximumEdits()
+                || node.minimumLength > automaton.length() + automaton.maximumEdits()) {
+            return;
+        }
+        int[] state = states[depth];
+        if (node.phrase != null && automaton.isMatch(state)) {
+            int edits = automaton.edits(state);
+            if (best.isEmpty() || edits < (Integer) best.get(0)) {
+                best.clear();
+                best.add(edits);
+                best.add(node.phrase);
+            }
+        }
+        for (int i = 0; i < node.firsts.length; i++) {
+            int[] next = states[depth + 1];
+            if (next == null) {
+                next = states[depth + 1] = new int[state.length];
+            }
+            automaton.step(state, node.firsts[i], next);
+            if (automaton.canMatch(next)) {
+                search(node.children[i], automaton, states, depth + 1, best);
+            }
+        }
+    }
+
+    /**
+     * Builds the node for the given prefix from the phrases whose keys start with it.
+     */
+    private static <P> Node<P> build(TreeMap<String, P> phrases, String prefix) {
+        Map<Character, TreeMap<String, P>> byNext = new HashMap<>();
+        P phrase = null;
+        int minimumLength = Integer.MAX_VALUE;
+        int maximumLength = 0;
+        for (Map.Entry<String, P> entry : phrases.entrySet()) {
+            String key = entry.getKey();
+            minimumLength = Math.min(minimumLength, key.length());
+            maximumLength = Math.max(maximumLength, key.length());
+            if (key.length() == prefix.length()) {
+                phrase = entry.getValue();
+            } else {
+                byNext.computeIfAbsent(key.charAt(prefix.length()), c -> new TreeMap<>()).put(key, entry.getValue());
+            }
+        }
+        char[] firsts = new char[byNext.size()];
+        int index = 0;
+        for (char c : byNext.keySet()) {
+            firsts[index++] = c;
+        }
+        Arrays.sort(firsts);
+        @SuppressWarnings("unchecked")
+        Node<P>[] children = (Node<P>[]) new Node<?>[firsts.length];
+        for (int i = 0; i < firsts.length; i++) {
+            children[i] = build(byNext.get(firsts[i]), prefix + firsts[i]);
+        }
+        return new Node<>(phrase, firsts, children, minimumLength, maximumLength);
+    }
+
+    /**
+     * A node of the trie.
+     *
+     * @param phrase        the phrase whose key ends at the node, or null.
+     * @param firsts        the next character of the keys below the node, in order.
+     * @param children      the node for each next character.
+     * @param minimumLength the length of the shortest key at or below the node.
+     * @param maximumLength the length of the longest key at or below the node.
+     */
+    private record Node<P>(P phrase, char[] firsts, Node<P>[] children, int minimumLength, int maximumLength) {
+    }
+}
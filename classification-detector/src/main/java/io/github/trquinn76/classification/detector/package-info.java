@@ -0,0 +1,5 @@
+/**
+ * Provides a single pass detector which decides whether marking text is written in the Australian, New Zealand or UK
+ * syntax, and dispatches it to the parser of that scheme.
+ */
+package io.github.trquinn76.classification.detector;
@@ -0,0 +1,10 @@
+/**
+ * Detects which Classification scheme a marking is written in, and parses it with that scheme's parser.
+ */
+open module io.github.trquinn76.classification.detector {
+    requires transitive io.github.trquinn76.classification.aus;
+    requires transitive io.github.trquinn76.classification.nzl;
+    requires transitive io.github.trquinn76.classification.uk;
+
+    exports io.github.trquinn76.classification.detector;
+}
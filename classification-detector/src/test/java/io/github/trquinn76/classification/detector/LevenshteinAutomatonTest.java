@@ -0,0 +1,53 @@
+package io.github.trquinn76.classification.detector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LevenshteinAutomatonTest {
+
+    private static int edits(String word, String text, int maximumEdits) {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(word, maximumEdits);
+        int[] state = automaton.start();
+        for (int i = 0; i < text.length(); i++) {
+            state = automaton.step(state, text.charAt(i));
+        }
+        return automaton.edits(state);
+    }
+
+    @Test
+    void editsTest() {
+        assertEquals(0, edits("SECRET", "SECRET", 2));
+        assertEquals(1, edits("SECRET", "SECRT", 2));
+        assertEquals(1, edits("SECRET", "SECRETS", 2));
+        assertEquals(1, edits("SECRET", "SECRAT", 2));
+        assertEquals(2, edits("SECRET", "SECERT", 2));
+        // distances past the bound are capped one above it.
+        assertEquals(3, edits("SECRET", "PROTECTED", 2));
+        assertEquals(2, edits("SECRET", "SECERT", 1));
+    }
+
+    @Test
+    void canMatchTest() {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("SECRET", 1);
+        int[] state = automaton.step(automaton.start(), 'X');
+        assertTrue(automaton.canMatch(state));
+        state = automaton.step(state, 'Y');
+        assertFalse(automaton.canMatch(state));
+        assertFalse(automaton.isMatch(state));
+    }
+
+    @Test
+    void nearestTest() {
+        PhraseTrie<String> trie = new PhraseTrie<>(
+                Map.of("SECRET", "secret", "TOP SECRET", "top secret", "PROTECTED", "protected"));
+        assertEquals("secret", trie.get("SECRET"));
+        assertNull(trie.get("SECRT"));
+        assertEquals("secret", trie.nearest(new LevenshteinAutomaton("SECRT", 1)));
+        assertEquals("top secret", trie.nearest(new LevenshteinAutomaton("TOPSECRT", 2)));
+        assertEquals("protected", trie.nearest(new LevenshteinAutomaton("PROTECTD", 1)));
+        assertNull(trie.nearest(new LevenshteinAutomaton("CONFIDENTIAL", 2)));
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.trquinn76.classification.detector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.ClassificationMarkerParser;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class MarkingDetectorTest {
+
+    private final MarkingDetector detector = new MarkingDetector();
+
+    @Test
+    void ausTest() {
+        io.github.trquinn76.classification.aus.model.ProtectiveMarker marker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder()
+                .secret().addCodeword("AAA").rel("AUS", "NZL").legalPrivilege().build();
+        assertEquals(MarkingScheme.AUS, detector.detect(marker.toString()).get(0));
+        assertEquals(new DetectedMarking.Aus(marker), detector.parse(marker.toString()));
+
+        marker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().protect()
+                .exclusiveFor("Jane Citizen").build();
+        assertEquals(List.of(MarkingScheme.AUS), detector.detect(marker.toString()));
+    }
+
+    @Test
+    void nzlTest() {
+        io.github.trquinn76.classification.nzl.model.ProtectiveMarker marker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder()
+                .secret().accountableMaterial().sensitiveCompartments("AAA").relTo("NZL", "AUS").build();
+        assertEquals(MarkingScheme.NZL, detector.detect(marker.toString()).get(0));
+        assertEquals(new DetectedMarking.Nzl(marker), detector.parse(marker.toString()));
+
+        marker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().inConfidence().staff().build();
+        assertEquals(List.of(MarkingScheme.NZL), detector.detect(marker.toString()));
+    }
+
+    @Test
+    void ukTest() {
+        ClassificationMarker marker = new ClassificationMarkerBuilder().ukPrefix().secret().codeWords("AAA")
+                .eyesOnly("UK", "USA").build();
+        assertEquals(MarkingScheme.UK, detector.detect(marker.toString()).get(0));
+        assertEquals(new DetectedMarking.Uk(marker), detector.parse(marker.toString()));
+
+        marker = new ClassificationMarkerBuilder().officialSensitive().build();
+        assertEquals(MarkingScheme.UK, detector.detect(marker.toString()).get(0));
+        assertEquals(new DetectedMarking.Uk(marker), detector.parse(marker.toString()));
+    }
+
+    @Test
+    void ambiguousTest() {
+        String secret = io.github.trquinn76.classification.aus.model.Classification.secret().toString();
+        assertEquals(List.of(MarkingScheme.AUS, MarkingScheme.NZL, MarkingScheme.UK), detector.detect(secret));
+        assertEquals(MarkingScheme.AUS, detector.parse(secret).scheme());
+
+        // only the UK parser accepts a lone code word section.
+        String ukSecret = new ClassificationMarkerBuilder().secret().codeWords("AAA").build().toString();
+        assertEquals(MarkingScheme.UK, detector.parse(ukSecret).scheme());
+    }
+
+    @Test
+    void unrecognisedTest() {
+        assertEquals(List.of(), detector.detect("nothing to see here"));
+        assertEquals(Optional.empty(), detector.tryParse("nothing to see here"));
+        assertThrows(IllegalArgumentException.class, () -> detector.parse("nothing to see here"));
+
+        String invalid = "NZEO only";
+        assertEquals(List.of(MarkingScheme.NZL), detector.detect(invalid));
+        assertEquals(Optional.empty(), detector.tryParse(invalid));
+        assertThrows(IllegalArgumentException.class, () -> detector.parse(invalid));
+    }
+
+    @Test
+    void parsersTest() {
+        io.github.trquinn76.classification.aus.model.ProtectiveMarker marker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder()
+                .secret().addForeignGovernmentMarking("BBB").rel("AUS", "USA").build();
+        MarkingDetector withMarkings = new MarkingDetector(
+                new io.github.trquinn76.classification.aus.ProtectiveMarkerParser(Set.of("BBB")),
+                new io.github.trquinn76.classification.nzl.ProtectiveMarkerParser(), new ClassificationMarkerParser());
+        assertEquals(new DetectedMarking.Aus(marker), withMarkings.parse(marker.toString()));
+        assertNotEquals(new DetectedMarking.Aus(marker), detector.parse(marker.toString()));
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.trquinn76.classification.detector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+
+class MarkingNormaliserTest {
+
+    private final MarkingNormaliser normaliser = new MarkingNormaliser();
+
+    private static String ausSecret() {
+        return io.github.trquinn76.classification.aus.model.Classification.secret().toString();
+    }
+
+    @Test
+    void caseAndSeparatorsTest() {
+        String secret = ausSecret();
+        String topSecret = io.github.trquinn76.classification.aus.model.Classification.topSecret().toString();
+        String protect = io.github.trquinn76.classification.aus.model.Classification.protect().toString();
+
+        assertEquals(protect, normaliser.normalise(protect.toLowerCase()));
+        assertEquals(topSecret, normaliser.normalise(topSecret.replace(' ', '-')));
+        assertEquals(topSecret, normaliser.normalise("  " + topSecret.replace(" ", "   ") + "\t"));
+        assertEquals(secret, normaliser.normalise("SEC: " + secret));
+        assertEquals(secret, normaliser.normalise("Security Classification:" + secret.toLowerCase()));
+        assertEquals(new DetectedMarking.Aus(new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder()
+                .protect().build()), normaliser.parse(protect.toLowerCase()));
+    }
+
+    @Test
+    void typoTest() {
+        String secret = ausSecret();
+        String topSecret = io.github.trquinn76.classification.aus.model.Classification.topSecret().toString();
+
+        assertEquals(topSecret, normaliser.normalise(topSecret.replace("SECRET", "SECRT")));
+        assertEquals(topSecret, normaliser.normalise(topSecret.replace("SECRET", "SECERT")));
+        assertEquals(secret + " AAA REL AUS/NZL LEGAL_PRIVILEGE",
+                normaliser.normalise(secret + " AAA REL AUS / NZL legal privlege"));
+        // words matching no keyword are written in upper case, except for names.
+        assertEquals(secret + " AAA", normaliser.normalise(secret + " aaa"));
+        String protect = io.github.trquinn76.classification.aus.model.Classification.protect().toString();
+        assertEquals(protect + " EXCLUSIVE-FOR Jane Citizen",
+                normaliser.normalise(protect.toLowerCase() + " exclusive for Jane Citizen"));
+        assertEquals("PLEASE REVIEW THE ATTACHED MINUTE", normaliser.normalise("Please review the attached minute"));
+
+        MarkingNormaliser exact = new MarkingNormaliser(new MarkingDetector(), MarkingNormaliser.DEFAULT_LABELS, 0,
+                MarkingNormaliser.DEFAULT_MAXIMUM_SIZE);
+        assertEquals(topSecret.replace("SECRET", "SECRT").toUpperCase(),
+                exact.normalise(topSecret.replace("SECRET", "SECRT")));
+    }
+
+    @Test
+    void reorderTest() {
+        io.github.trquinn76.classification.aus.model.ProtectiveMarker marker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder()
+                .secret().addCodeword("AAA").cabinet().rel("AUS", "NZL").legalPrivilege().build();
+        String secret = ausSecret();
+
+        assertEquals(marker.toString(), normaliser.normalise("legal privilege REL AUS/NZL " + secret + " AAA Cabinet"));
+        assertEquals(Optional.of(new DetectedMarking.Aus(marker)),
+                normaliser.tryParse("rel AUS/NZL Cabinet " + secret + " AAA Legal_Privilege"));
+        // a text which does not start with a keyword is left in order.
+        assertEquals("AAA " + secret, normaliser.normalise("AAA " + secret));
+    }
+
+    @Test
+    void nzlAndUkTest() {
+        io.github.trquinn76.classification.nzl.model.ProtectiveMarker nzl = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder()
+                .secret().accountableMaterial().sensitiveCompartments("AAA").relTo("NZL", "AUS").build();
+        String messy = nzl.toString().toLowerCase().replace("//", " // ").replace(", ", ",")
+                .replace("accountable", "acountable");
+        assertEquals(nzl.toString(), normaliser.normalise(messy));
+        assertEquals(new DetectedMarking.Nzl(nzl), normaliser.parse(messy));
+
+        var uk = new ClassificationMarkerBuilder().officialSensitive().recipientsOnly().personalData().build();
+        messy = uk.toString().toLowerCase().replace(" - ", "  -  ");
+        assertEquals(uk.toString(), normaliser.normalise(messy));
+        assertEquals(new DetectedMarking.Uk(uk), normaliser.parse(messy));
+    }
+
+    @Test
+    void strictFirstTest() {
+        // valid markings are parsed as written, and never rewritten.
+        var uk = new ClassificationMarkerBuilder().officialSensitive().build();
+        assertEquals(new DetectedMarking.Uk(uk), normaliser.parse(uk.toString()));
+        assertThrows(IllegalArgumentException.class, () -> normaliser.parse("Please review the attached minute"));
+        assertEquals(Optional.empty(), normaliser.tryParse(""));
+    }
+
+    @Test
+    void cacheTest() {
+        MarkingNormaliser small = new MarkingNormaliser(new MarkingDetector(), Set.of("SEC"), 1, 2);
+        String text = "sec: " + ausSecret().toLowerCase();
+        String first = small.normalise(text);
+        assertSame(first, small.normalise(text));
+        small.normalise("a");
+        small.normalise("b");
+        assertEquals(first, small.normalise(text));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new MarkingNormaliser(new MarkingDetector(), Set.of(), 3, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MarkingNormaliser(new MarkingDetector(), Set.of(), 1, 0));
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder;
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+
+/**
+ * Measures {@link MarkerIndex#search(Query)} over a population of records labelled with a mix of Australian markers,
+ * where most records are {@code OFFICIAL} and code words are rare, as in a typical records store.
+ * <p>
+ * Run with {@code ./gradlew classification-index:jmh}. The largest population needs a heap of several GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkerIndexBenchmark {
+
+    @Param({ "1000000", "100000000" })
+    public int records;
+
+    private MarkerIndex<ProtectiveMarker> index;
+    private Query rareCodewordRelNzl;
+    private Query codewordOrFgmNotTopSecret;
+    private Query protectedOrAbove;
+
+    @Setup
+    public void setup() {
+        List<ProtectiveMarker> common = List.of(new ProtectiveMarkerBuilder().official().build(),
+                new ProtectiveMarkerBuilder().officialSensitive().personalPrivacy().build(),
+                new ProtectiveMarkerBuilder().protect().build(),
+                new ProtectiveMarkerBuilder().protect().rel("AUS", "NZL").build());
+        List<ProtectiveMarker> rare = List.of(
+                new ProtectiveMarkerBuilder().secret().addCodeword("AAA").rel("AUS", "NZL").build(),
+                new ProtectiveMarkerBuilder().secret().addCodeword("BBB").rel("AUS", "GBR", "NZL", "USA").build(),
+                new ProtectiveMarkerBuilder().topSecret().addCodeword("AAA").austeo().build(),
+                new ProtectiveMarkerBuilder().protect().addForeignGovernmentMarking("NZL RESTRICTED").build());
+
+        index = MarkerIndex.aus();
+        Random random = new Random(42);
+        for (int i = 0; i < records; i++) {
+            List<ProtectiveMarker> markers = random.nextInt(100) == 0 ? rare : common;
+            index.label(i, markers.get(random.nextInt(markers.size())));
+        }
+
+        rareCodewordRelNzl = Query.and(Query.term(Facet.CODEWORD, "AAA"), Query.term(Facet.RELEASABLE_TO, "NZL"));
+        codewordOrFgmNotTopSecret = Query.and(
+                Query.or(Query.term(Facet.CODEWORD, "BBB"),
+                        Query.term(Facet.FOREIGN_GOVERNMENT_MARKING, "NZL RESTRICTED")),
+                Query.not(Query.term(Facet.CLASSIFICATION, Classification.topSecret().classificationName())));
+        protectedOrAbove = Query.or(Query.term(Facet.CLASSIFICATION, Classification.protect().classificationName()),
+                Query.term(Facet.CLASSIFICATION, Classification.secret().classificationName()),
+                Query.term(Facet.CLASSIFICATION, Classification.topSecret().classificationName()));
+    }
+
+    @Benchmark
+    public IntBitmap rareCodewordRelNzl() {
+        return index.search(rareCodewordRelNzl);
+    }
+
+    @Benchmark
+    public IntBitmap codewordOrFgmNotTopSecret() {
+        return index.search(codewordOrFgmNotTopSecret);
+    }
+
+    @Benchmark
+    public IntBitmap protectedOrAbove() {
+        return index.search(protectedOrAbove);
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A {@link Container} holding a sorted array of values, used while it holds no more than {@link #MAX_SIZE} values.
+ */
+final class ArrayContainer extends Container {
+
+    /**
+     * The largest number of values held in an array. Beyond this a {@link BitmapContainer} is smaller.
+     */
+    static final int MAX_SIZE = 4096;
+
+    private char[] values;
+    private int cardinality;
+
+    ArrayContainer() {
+        this(new char[4], 0);
+    }
+
+    ArrayContainer(char[] values, int cardinality) {
+        this.values = values;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (cardinality == MAX_SIZE) {
+            return toBitmap().add(value);
+        }
+        index = -index - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(MAX_SIZE, cardinality * 2));
+        }
+        System.arraycopy(values, index, values, index + 1, cardinality - index);
+        values[index] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+        }
+        return this;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    Container and(Container other) {
+        char[] result = new char[Math.min(cardinality, other.cardinality())];
+        int count = 0;
+        if (other instanceof ArrayContainer array) {
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < array.cardinality) {
+                char a = values[i];
+                char b = array.values[j];
+                if (a == b) {
+                    result[count++] = a;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        } else {
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+        }
+        return new ArrayContainer(result, count);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (other instanceof BitmapContainer bitmap) {
+            return bitmap.or(this);
+        }
+        ArrayContainer array = (ArrayContainer) other;
+        char[] result = new char[cardinality + array.cardinality];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+            char a = values[i];
+            char b = array.values[j];
+            if (a == b) {
+                result[count++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                result[count++] = a;
+                i++;
+            } else {
+                result[count++] = b;
+                j++;
+            }
+        }
+        while (i < cardinality) {
+            result[count++] = values[i++];
+        }
+        while (j < array.cardinality) {
+            result[count++] = array.values[j++];
+        }
+        ArrayContainer merged = new ArrayContainer(result, count);
+        return count > MAX_SIZE ? merged.toBitmap() : merged;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        char[] result = new char[cardinality];
+        int count = 0;
+        if (other instanceof ArrayContainer array) {
+            int j = 0;
+            for (int i = 0; i < cardinality; i++) {
+                char a = values[i];
+                while (j < array.cardinality && array.values[j] < a) {
+                    j++;
+                }
+                if (j == array.cardinality || array.values[j] != a) {
+                    result[count++] = a;
+                }
+            }
+        } else {
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+        }
+        return new ArrayContainer(result, count);
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 4)), cardinality);
+    }
+
+    @Override
+    void forEach(int high, IntConsumer consumer) {
+        for (int i = 0; i < cardinality; i++) {
+            consumer.accept(high | values[i]);
+        }
+    }
+
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < cardinality; i++) {
+            bitmap.add(values[i]);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A {@link Container} holding one bit for each of the 65536 possible values, used once it holds more than
+ * {@link ArrayContainer#MAX_SIZE} values.
+ */
+final class BitmapContainer extends Container {
+
+    private static final int WORDS = 1 << 10;
+
+    private final long[] words;
+    private int cardinality;
+
+    BitmapContainer() {
+        this(new long[WORDS], 0);
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = value >>> 6;
+        long bit = 1L << value;
+        if ((words[index] & bit) == 0) {
+            words[index] |= bit;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = value >>> 6;
+        long bit = 1L << value;
+        if ((words[index] & bit) != 0) {
+            words[index] &= ~bit;
+            cardinality--;
+        }
+        return cardinality <= ArrayContainer.MAX_SIZE ? toArray() : this;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof ArrayContainer) {
+            return other.and(this);
+        }
+        long[] otherWords = ((BitmapContainer) other).words;
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & otherWords[i];
+            count += Long.bitCount(result[i]);
+        }
+        return shrink(new BitmapContainer(result, count));
+    }
+
+    @Override
+    Container or(Container other) {
+        if (other instanceof ArrayContainer) {
+            Container result = copy();
+            other.forEach(0, value -> result.add((char) value));
+            return result;
+        }
+        long[] otherWords = ((BitmapContainer) other).words;
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] | otherWords[i];
+            count += Long.bitCount(result[i]);
+        }
+        return new BitmapContainer(result, count);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        long[] result = words.clone();
+        if (other instanceof BitmapContainer bitmap) {
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] &= ~bitmap.words[i];
+                count += Long.bitCount(result[i]);
+            }
+            return shrink(new BitmapContainer(result, count));
+        }
+        other.forEach(0, value -> result[value >>> 6] &= ~(1L << value));
+        int count = 0;
+        for (long word : result) {
+            count += Long.bitCount(word);
+        }
+        return shrink(new BitmapContainer(result, count));
+    }
+
+    @Override
+    Container copy() {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    void forEach(int high, IntConsumer consumer) {
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                consumer.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    private static Container shrink(BitmapContainer bitmap) {
+        return bitmap.cardinality <= ArrayContainer.MAX_SIZE ? bitmap.toArray() : bitmap;
+    }
+
+    private ArrayContainer toArray() {
+        char[] values = new char[Math.max(cardinality, 4)];
+        int[] count = new int[1];
+        forEach(0, value -> values[count[0]++] = (char) value);
+        return new ArrayContainer(values, cardinality);
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Holds the low 16 bits of the values in an {@link IntBitmap} which share their high 16 bits.
+ * <p>
+ * Operations which change the number of values may return a different kind of {@link Container}, so callers must
+ * always keep the returned {@link Container}. Operations combining two {@link Container}'s never modify either of them.
+ */
+abstract sealed class Container permits ArrayContainer, BitmapContainer {
+
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    abstract boolean contains(char value);
+
+    abstract int cardinality();
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract Container copy();
+
+    /**
+     * Passes each value to the consumer in ascending order, with the given high 16 bits.
+     */
+    abstract void forEach(int high, IntConsumer consumer);
+}
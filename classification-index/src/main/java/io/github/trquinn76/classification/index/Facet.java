@@ -0,0 +1,57 @@
+package io.github.trquinn76.classification.index;
+
+/**
+ * The components of a marker which a {@link MarkerIndex} is keyed on. Not every scheme uses every {@link Facet}.
+ */
+public enum Facet {
+    /**
+     * The name of the Classification, as returned by {@code classificationName()}, which differs between production
+     * and development modes.
+     */
+    CLASSIFICATION,
+    /**
+     * A code word, or NZL sensitive compartment.
+     */
+    CODEWORD,
+    /**
+     * An AUS foreign government marking.
+     */
+    FOREIGN_GOVERNMENT_MARKING,
+    /**
+     * An AUS special handling instruction, as the name of the {@code SpecialHandlingInstruction}.
+     */
+    SPECIAL_HANDLING,
+    /**
+     * An AUS or NZL releasability type, as the name of the {@code ReleasabilityType} or {@code ReleasabilityTypes}, or
+     * {@code EYES_ONLY} for a UK eyes only list.
+     */
+    RELEASABILITY,
+    /**
+     * A country or organisation named in an AUS {@code REL}, NZL {@code RELTO} or UK eyes only list.
+     */
+    RELEASABLE_TO,
+    /**
+     * An AUS information management marker, as the name of the {@code InformationManagementTypes}.
+     */
+    INFORMATION_MANAGEMENT,
+    /**
+     * An NZL policy and privacy endorsement, as the name of the {@code PolicyAndPrivacyEndorsements}.
+     */
+    POLICY_AND_PRIVACY,
+    /**
+     * An NZL dissemination mark.
+     */
+    DISSEMINATION_MARK,
+    /**
+     * A UK handling instruction.
+     */
+    HANDLING_INSTRUCTION,
+    /**
+     * A UK descriptor.
+     */
+    DESCRIPTOR,
+    /**
+     * A UK additional instruction.
+     */
+    ADDITIONAL_INSTRUCTION
+}
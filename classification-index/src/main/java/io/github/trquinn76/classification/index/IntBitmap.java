@@ -0,0 +1,307 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative int values, such as record ids.
+ * <p>
+ * Values are partitioned by their high 16 bits. Each partition holds the low 16 bits of its values either as a sorted
+ * array, while it holds no more than 4096 values, or as a 65536 bit bitmap once it holds more. Sparse sets therefore
+ * cost two bytes per value, and dense sets one bit per value, while {@link #and(IntBitmap)}, {@link #or(IntBitmap)}
+ * and {@link #andNot(IntBitmap)} work a partition at a time, skipping partitions which can not contribute.
+ * <p>
+ * An {@link IntBitmap} is not thread safe.
+ */
+public final class IntBitmap {
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    /**
+     * Constructor for an empty {@link IntBitmap}.
+     */
+    public IntBitmap() {
+        this(new char[4], new Container[4], 0);
+    }
+
+    private IntBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Creates an {@link IntBitmap} holding the given values.
+     *
+     * @param values the values. May not be negative.
+     * @return a new {@link IntBitmap}.
+     */
+    public static IntBitmap of(int... values) {
+        IntBitmap bitmap = new IntBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value. May not be negative.
+     * @return true if the value was not already present.
+     */
+    public boolean add(int value) {
+        requireNonNegative(value);
+        char key = (char) (value >>> 16);
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) value);
+        return containers[index].cardinality() != before;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value the value.
+     * @return true if the value was present.
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        container = container.remove((char) value);
+        if (container.cardinality() == 0) {
+            delete(index);
+        } else {
+            containers[index] = container;
+        }
+        return container.cardinality() != before;
+    }
+
+    /**
+     * Tests whether a value is present.
+     *
+     * @param value the value.
+     * @return true if the value is present.
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * @return the number of values present.
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * @return true if no values are present.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Creates the intersection of this {@link IntBitmap} and another. Neither is modified.
+     *
+     * @param other the other {@link IntBitmap}. May not be null.
+     * @return a new {@link IntBitmap} holding the values present in both.
+     */
+    public IntBitmap and(IntBitmap other) {
+        IntBitmap result = new IntBitmap(new char[Math.max(Math.min(size, other.size), 1)],
+                new Container[Math.max(Math.min(size, other.size), 1)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] == other.keys[j]) {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.append(keys[i], container);
+                }
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the union of this {@link IntBitmap} and another. Neither is modified.
+     *
+     * @param other the other {@link IntBitmap}. May not be null.
+     * @return a new {@link IntBitmap} holding the values present in either.
+     */
+    public IntBitmap or(IntBitmap other) {
+        IntBitmap result = new IntBitmap(new char[Math.max(size + other.size, 1)],
+                new Container[Math.max(size + other.size, 1)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] == other.keys[j]) {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            }
+        }
+        for (; i < size; i++) {
+            result.append(keys[i], containers[i].copy());
+        }
+        for (; j < other.size; j++) {
+            result.append(other.keys[j], other.containers[j].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Creates the difference of this {@link IntBitmap} and another. Neither is modified.
+     *
+     * @param other the other {@link IntBitmap}. May not be null.
+     * @return a new {@link IntBitmap} holding the values present in this {@link IntBitmap} but not the other.
+     */
+    public IntBitmap andNot(IntBitmap other) {
+        IntBitmap result = new IntBitmap(new char[Math.max(size, 1)], new Container[Math.max(size, 1)], 0);
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = j < other.size && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy();
+            if (container.cardinality() > 0) {
+                result.append(keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return an independent copy of this {@link IntBitmap}.
+     */
+    public IntBitmap copy() {
+        Container[] copies = new Container[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            copies[i] = containers[i].copy();
+        }
+        return new IntBitmap(Arrays.copyOf(keys, Math.max(size, 1)), copies, size);
+    }
+
+    /**
+     * Passes each value to the consumer in ascending order.
+     *
+     * @param consumer the consumer. May not be null.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * @return the values, in ascending order.
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] count = new int[1];
+        forEach(value -> values[count[0]++] = value);
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntBitmap other) || size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || containers[i].cardinality() != other.containers[i].cardinality()
+                    || containers[i].andNot(other.containers[i]).cardinality() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = { 1 };
+        forEach(value -> hash[0] = 31 * hash[0] + value);
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private int indexOf(char key) {
+        // most updates touch the highest key, as record ids are typically allocated in ascending order.
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void append(char key, Container container) {
+        insert(size, key, container);
+    }
+
+    private void delete(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private static void requireNonNegative(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative: " + value);
+        }
+    }
+}
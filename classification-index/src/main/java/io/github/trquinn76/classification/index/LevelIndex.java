@@ -0,0 +1,216 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * An in memory index of record ids by Classification, answering range queries such as "every record at or below
+ * {@code SECRET}".
+ * <p>
+ * Each Classification of both the production and development enumerations of a scheme has a bucket of record ids, held
+ * as an {@link IntBitmap}. Classification names are resolved to a bucket once, when a record is labelled, and each
+ * record holds only its bucket number, so relabelling a record moves it between two buckets without examining any
+ * other record. A range query is the union of the buckets in the range, which are always those of the mode of the
+ * Classification given, so production and development records are never mixed.
+ * <p>
+ * A {@link LevelIndex} may be shared between threads. Labelling is exclusive, while queries may run concurrently.
+ *
+ * @param <C> the Classification type.
+ */
+public final class LevelIndex<C> {
+
+    private final Function<? super C, String> nameOf;
+    private final Map<String, Integer> buckets = new HashMap<>();
+    private final int productionLevels;
+    private final IntBitmap[] records;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // one plus the bucket of each record, or zero if the record is not labelled.
+    private final RecordSlots slots = new RecordSlots();
+
+    LevelIndex(Enum<?>[] production, Enum<?>[] development, Function<? super C, String> nameOf) {
+        this.nameOf = nameOf;
+        this.productionLevels = production.length;
+        this.records = new IntBitmap[production.length + development.length];
+        for (Enum<?> level : production) {
+            this.buckets.put(level.name(), level.ordinal());
+        }
+        for (Enum<?> level : development) {
+            this.buckets.put(level.name(), production.length + level.ordinal());
+        }
+        for (int i = 0; i < this.records.length; i++) {
+            this.records[i] = new IntBitmap();
+        }
+    }
+
+    /**
+     * @return a {@link LevelIndex} for AUS {@code Classification}'s.
+     */
+    public static LevelIndex<io.github.trquinn76.classification.aus.model.Classification> aus() {
+        return new LevelIndex<>(io.github.trquinn76.classification.aus.model.PSPFClassification.values(),
+                io.github.trquinn76.classification.aus.model.DevelopmentClassification.values(),
+                io.github.trquinn76.classification.aus.model.Classification::classificationName);
+    }
+
+    /**
+     * @return a {@link LevelIndex} for NZL {@code Classification}'s.
+     */
+    public static LevelIndex<io.github.trquinn76.classification.nzl.model.Classification> nzl() {
+        return new LevelIndex<>(io.github.trquinn76.classification.nzl.model.NZLClassification.values(),
+                io.github.trquinn76.classification.nzl.model.DevelopmentClassification.values(),
+                io.github.trquinn76.classification.nzl.model.Classification::classificationName);
+    }
+
+    /**
+     * @return a {@link LevelIndex} for UK {@code Classification}'s. The UK {@code SENSITIVE} mark is not a
+     *         Classification, so {@code OFFICIAL-SENSITIVE} records are held with {@code OFFICIAL} records.
+     */
+    public static LevelIndex<io.github.trquinn76.classification.uk.model.Classification> uk() {
+        return new LevelIndex<>(io.github.trquinn76.classification.uk.model.SecurityClassification.values(),
+                io.github.trquinn76.classification.uk.model.DevelopmentClassification.values(),
+                io.github.trquinn76.classification.uk.model.Classification::classificationName);
+    }
+
+    /**
+     * Labels a record with a Classification, replacing any Classification it was previously labelled with.
+     *
+     * @param recordId       the record id. May not be negative.
+     * @param classification the Classification. May not be null.
+     */
+    public void label(int recordId, C classification) {
+        if (recordId < 0) {
+            throw new IllegalArgumentException("recordId must not be negative: " + recordId);
+        }
+        int bucket = bucketOf(classification);
+        this.lock.writeLock().lock();
+        try {
+            int previous = this.slots.get(recordId) - 1;
+            if (previous == bucket) {
+                return;
+            }
+            if (previous >= 0) {
+                this.records[previous].remove(recordId);
+            }
+            this.records[bucket].add(recordId);
+            this.slots.set(recordId, bucket + 1);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the label from a record.
+     *
+     * @param recordId the record id.
+     * @return true if the record was labelled.
+     */
+    public boolean unlabel(int recordId) {
+        if (recordId < 0) {
+            return false;
+        }
+        this.lock.writeLock().lock();
+        try {
+            int previous = this.slots.get(recordId) - 1;
+            if (previous < 0) {
+                return false;
+            }
+            this.records[previous].remove(recordId);
+            this.slots.set(recordId, 0);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param classification the Classification. May not be null.
+     * @return a new {@link IntBitmap} of the records labelled with exactly the given Classification.
+     */
+    public IntBitmap at(C classification) {
+        int bucket = bucketOf(classification);
+        return union(bucket, bucket);
+    }
+
+    /**
+     * @param classification the highest Classification. May not be null.
+     * @return a new {@link IntBitmap} of the records labelled with the given Classification, or any lower
+     *         Classification of the same mode.
+     */
+    public IntBitmap atOrBelow(C classification) {
+        int bucket = bucketOf(classification);
+        return union(firstOfMode(bucket), bucket);
+    }
+
+    /**
+     * @param classification the lowest Classification. May not be null.
+     * @return a new {@link IntBitmap} of the records labelled with the given Classification, or any higher
+     *         Classification of the same mode.
+     */
+    public IntBitmap atOrAbove(C classification) {
+        int bucket = bucketOf(classification);
+        return union(bucket, bucket < this.productionLevels ? this.productionLevels - 1 : this.records.length - 1);
+    }
+
+    /**
+     * @param low  the lowest Classification. May not be null.
+     * @param high the highest Classification. May not be null.
+     * @return a new {@link IntBitmap} of the records labelled with a Classification from {@code low} to {@code high}
+     *         inclusive, which is empty if {@code low} is above {@code high}.
+     * @throws IllegalArgumentException if {@code low} and {@code high} are not of the same mode.
+     */
+    public IntBitmap between(C low, C high) {
+        int from = bucketOf(low);
+        int to = bucketOf(high);
+        if (firstOfMode(from) != firstOfMode(to)) {
+            throw new IllegalArgumentException("Classifications are not of the same mode: " + low + ", " + high);
+        }
+        return union(from, to);
+    }
+
+    /**
+     * @return the number of labelled records.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            int size = 0;
+            for (IntBitmap bucket : this.records) {
+                size += bucket.cardinality();
+            }
+            return size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private IntBitmap union(int from, int to) {
+        this.lock.readLock().lock();
+        try {
+            if (from > to) {
+                return new IntBitmap();
+            }
+            IntBitmap result = this.records[from].copy();
+            for (int i = from + 1; i <= to; i++) {
+                result = result.or(this.records[i]);
+            }
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private int firstOfMode(int bucket) {
+        return bucket < this.productionLevels ? 0 : this.productionLevels;
+    }
+
+    private int bucketOf(C classification) {
+        Objects.requireNonNull(classification);
+        Integer bucket = this.buckets.get(this.nameOf.apply(classification));
+        if (bucket == null) {
+            throw new IllegalArgumentException("unknown Classification: " + classification);
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,262 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * An in memory inverted index from the {@link Term}'s of markers to the ids of the records labelled with them.
+ * <p>
+ * Each {@link Term} has a posting list of record ids, held as an {@link IntBitmap}. Records are labelled one at a
+ * time, and relabelling a record only touches the posting lists of the {@link Term}'s which differ between its old and
+ * new markers. A {@link Query} is answered by combining posting lists, rather than by examining any marker, so its cost
+ * depends on the size of the posting lists involved, and not on the number of records.
+ * <p>
+ * Labelled data typically carries a small number of distinct markers, so each distinct marker is broken into
+ * {@link Term}'s once, and each record holds only the int id of its marker. Distinct markers are held for the life of
+ * the {@link MarkerIndex}.
+ * <p>
+ * A {@link MarkerIndex} may be shared between threads. Labelling is exclusive, while searches may run concurrently.
+ * Markers are broken into {@link Term}'s using the configured mode, so a new {@link MarkerIndex} should be created if
+ * the configuration is changed.
+ *
+ * @param <T> the marker type.
+ */
+public final class MarkerIndex<T> {
+
+    private final Function<? super T, ? extends Collection<Term>> termsOf;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<T, Integer> markerIds = new HashMap<>();
+    private final List<T> markers = new ArrayList<>();
+    private final List<Set<Term>> markerTerms = new ArrayList<>();
+    private final Map<Term, IntBitmap> postings = new HashMap<>();
+    private final IntBitmap labelled = new IntBitmap();
+    // one plus the id of each record's marker, or zero if the record is not labelled.
+    private final RecordSlots slots = new RecordSlots();
+
+    /**
+     * Constructor.
+     *
+     * @param termsOf breaks a marker into its {@link Term}'s. May not be null.
+     */
+    public MarkerIndex(Function<? super T, ? extends Collection<Term>> termsOf) {
+        this.termsOf = Objects.requireNonNull(termsOf);
+    }
+
+    /**
+     * @return a {@link MarkerIndex} for AUS {@code ProtectiveMarker}'s.
+     */
+    public static MarkerIndex<io.github.trquinn76.classification.aus.model.ProtectiveMarker> aus() {
+        return new MarkerIndex<>(MarkerTerms::aus);
+    }
+
+    /**
+     * @return a {@link MarkerIndex} for NZL {@code ProtectiveMarker}'s.
+     */
+    public static MarkerIndex<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> nzl() {
+        return new MarkerIndex<>(MarkerTerms::nzl);
+    }
+
+    /**
+     * @return a {@link MarkerIndex} for UK {@link ClassificationMarker}'s.
+     */
+    public static MarkerIndex<ClassificationMarker> uk() {
+        return new MarkerIndex<>(MarkerTerms::uk);
+    }
+
+    /**
+     * Labels a record with a marker, replacing any marker it was previously labelled with.
+     *
+     * @param recordId the record id. May not be negative.
+     * @param marker   the marker. May not be null.
+     */
+    public void label(int recordId, T marker) {
+        if (recordId < 0) {
+            throw new IllegalArgumentException("recordId must not be negative: " + recordId);
+        }
+        Objects.requireNonNull(marker);
+        this.lock.writeLock().lock();
+        try {
+            int markerId = this.markerIds.computeIfAbsent(marker, this::register);
+            int previous = this.slots.get(recordId) - 1;
+            if (previous == markerId) {
+                return;
+            }
+            Set<Term> terms = this.markerTerms.get(markerId);
+            if (previous >= 0) {
+                Set<Term> previousTerms = this.markerTerms.get(previous);
+                for (Term term : previousTerms) {
+                    if (!terms.contains(term)) {
+                        removePosting(term, recordId);
+                    }
+                }
+                for (Term term : terms) {
+                    if (!previousTerms.contains(term)) {
+                        addPosting(term, recordId);
+                    }
+                }
+            } else {
+                for (Term term : terms) {
+                    addPosting(term, recordId);
+                }
+                this.labelled.add(recordId);
+            }
+            this.slots.set(recordId, markerId + 1);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the label from a record.
+     *
+     * @param recordId the record id.
+     * @return true if the record was labelled.
+     */
+    public boolean unlabel(int recordId) {
+        if (recordId < 0) {
+            return false;
+        }
+        this.lock.writeLock().lock();
+        try {
+            int previous = this.slots.get(recordId) - 1;
+            if (previous < 0) {
+                return false;
+            }
+            for (Term term : this.markerTerms.get(previous)) {
+                removePosting(term, recordId);
+            }
+            this.labelled.remove(recordId);
+            this.slots.set(recordId, 0);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param recordId the record id.
+     * @return the marker the record is labelled with, or null if it is not labelled.
+     */
+    public T marker(int recordId) {
+        if (recordId < 0) {
+            return null;
+        }
+        this.lock.readLock().lock();
+        try {
+            int markerId = this.slots.get(recordId) - 1;
+            return markerId < 0 ? null : this.markers.get(markerId);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of labelled records.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.labelled.cardinality();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the records matched by a {@link Query}.
+     *
+     * @param query the {@link Query}. May not be null.
+     * @return a new {@link IntBitmap} of the matching record ids, which the caller may modify.
+     */
+    public IntBitmap search(Query query) {
+        Objects.requireNonNull(query);
+        this.lock.readLock().lock();
+        try {
+            Set<IntBitmap> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+            IntBitmap result = evaluate(query, shared);
+            return shared.contains(result) ? result.copy() : result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private IntBitmap evaluate(Query query, Set<IntBitmap> shared) {
+        IntBitmap result = switch (query) {
+            case Query.Match match -> this.postings.getOrDefault(match.term(), new IntBitmap());
+            case Query.Not not -> this.labelled.andNot(evaluate(not.query(), shared));
+            case Query.Or or -> or(or.queries(), shared);
+            case Query.And and -> and(and.queries(), shared);
+        };
+        if (query instanceof Query.Match) {
+            shared.add(result);
+        }
+        return result;
+    }
+
+    private IntBitmap or(List<Query> queries, Set<IntBitmap> shared) {
+        IntBitmap result = evaluate(queries.get(0), shared);
+        for (int i = 1; i < queries.size(); i++) {
+            result = result.or(evaluate(queries.get(i), shared));
+        }
+        return result;
+    }
+
+    private IntBitmap and(List<Query> queries, Set<IntBitmap> shared) {
+        // intersect the smallest operands first, and subtract negated operands rather than complementing them.
+        List<IntBitmap> included = new ArrayList<>();
+        List<IntBitmap> excluded = new ArrayList<>();
+        for (Query query : queries) {
+            if (query instanceof Query.Not not) {
+                excluded.add(evaluate(not.query(), shared));
+            } else {
+                included.add(evaluate(query, shared));
+            }
+        }
+        IntBitmap result;
+        if (included.isEmpty()) {
+            result = this.labelled;
+        } else {
+            included.sort(Comparator.comparingInt(IntBitmap::cardinality));
+            result = included.get(0);
+            for (int i = 1; i < included.size() && !result.isEmpty(); i++) {
+                result = result.and(included.get(i));
+            }
+        }
+        for (int i = 0; i < excluded.size() && !result.isEmpty(); i++) {
+            result = result.andNot(excluded.get(i));
+        }
+        if (result == this.labelled) {
+            shared.add(result);
+        }
+        return result;
+    }
+
+    private int register(T marker) {
+        this.markers.add(marker);
+        this.markerTerms.add(Set.copyOf(this.termsOf.apply(marker)));
+        return this.markers.size() - 1;
+    }
+
+    private void addPosting(Term term, int recordId) {
+        this.postings.computeIfAbsent(term, key -> new IntBitmap()).add(recordId);
+    }
+
+    private void removePosting(Term term, int recordId) {
+        IntBitmap posting = this.postings.get(term);
+        if (posting != null && posting.remove(recordId) && posting.isEmpty()) {
+            this.postings.remove(term);
+        }
+    }
+}
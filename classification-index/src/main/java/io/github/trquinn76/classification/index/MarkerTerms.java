@@ -0,0 +1,79 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.trquinn76.classification.aus.model.InformationManagementMarker;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+import io.github.trquinn76.classification.nzl.model.NationalSecurityEndorsements;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * Breaks the markers of each scheme into their {@link Term}'s.
+ */
+final class MarkerTerms {
+
+    private MarkerTerms() {
+    }
+
+    static Set<Term> aus(io.github.trquinn76.classification.aus.model.ProtectiveMarker marker) {
+        Set<Term> terms = new LinkedHashSet<>();
+        terms.add(new Term(Facet.CLASSIFICATION, marker.classification().classificationName()));
+        for (InformationManagementMarker imm : marker.informationManagementMarkers()) {
+            terms.add(new Term(Facet.INFORMATION_MANAGEMENT, imm.type().name()));
+        }
+        SecurityCaveats caveats = marker.securityCaveats();
+        if (caveats != null) {
+            add(terms, Facet.CODEWORD, caveats.codeWords());
+            add(terms, Facet.FOREIGN_GOVERNMENT_MARKING, caveats.foreignGovernmentMarkings());
+            if (caveats.specialHandlingCaveat() != null) {
+                terms.add(new Term(Facet.SPECIAL_HANDLING, caveats.specialHandlingCaveat().instruction().name()));
+            }
+            if (caveats.releasabilityCaveat() != null) {
+                terms.add(new Term(Facet.RELEASABILITY, caveats.releasabilityCaveat().type().name()));
+                add(terms, Facet.RELEASABLE_TO, caveats.releasabilityCaveat().releasableToList());
+            }
+        }
+        return terms;
+    }
+
+    static Set<Term> nzl(io.github.trquinn76.classification.nzl.model.ProtectiveMarker marker) {
+        Set<Term> terms = new LinkedHashSet<>();
+        terms.add(new Term(Facet.CLASSIFICATION, marker.classification().classificationName()));
+        for (PolicyAndPrivacyEndorsementMarking endorsement : marker.policyAndPrivacyEndorsements()) {
+            terms.add(new Term(Facet.POLICY_AND_PRIVACY, endorsement.endorsement().name()));
+        }
+        NationalSecurityEndorsements endorsements = marker.nationalSecurityEndorsements();
+        if (endorsements != null) {
+            add(terms, Facet.CODEWORD, endorsements.sensitiveCompartments());
+            add(terms, Facet.DISSEMINATION_MARK, endorsements.disseminationMarks());
+            if (endorsements.releasability() != null) {
+                terms.add(new Term(Facet.RELEASABILITY, endorsements.releasability().type().name()));
+                add(terms, Facet.RELEASABLE_TO, endorsements.releasability().releasableToList());
+            }
+        }
+        return terms;
+    }
+
+    static Set<Term> uk(ClassificationMarker marker) {
+        Set<Term> terms = new LinkedHashSet<>();
+        terms.add(new Term(Facet.CLASSIFICATION, marker.classification().classificationName()));
+        add(terms, Facet.HANDLING_INSTRUCTION, marker.handlingInstructions());
+        add(terms, Facet.DESCRIPTOR, marker.descriptors());
+        add(terms, Facet.CODEWORD, marker.codeWords());
+        if (!marker.eyesOnly().isEmpty()) {
+            terms.add(new Term(Facet.RELEASABILITY, "EYES_ONLY"));
+            add(terms, Facet.RELEASABLE_TO, marker.eyesOnly());
+        }
+        add(terms, Facet.ADDITIONAL_INSTRUCTION, marker.additionalInstructions());
+        return terms;
+    }
+
+    private static void add(Set<Term> terms, Facet facet, List<String> values) {
+        for (String value : values) {
+            terms.add(new Term(facet, value));
+        }
+    }
+}
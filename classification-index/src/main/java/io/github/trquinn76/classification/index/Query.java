@@ -0,0 +1,102 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A boolean combination of {@link Term}'s, evaluated by {@link MarkerIndex#search(Query)}.
+ * <p>
+ * For example, the records which carry the code word {@code BEARCAT}, or which are releasable to New Zealand, but which
+ * are not {@code TOP_SECRET}:
+ *
+ * <pre>
+ * Query.and(Query.or(Query.term(Facet.CODEWORD, "BEARCAT"), Query.term(Facet.RELEASABLE_TO, "NZL")),
+ *         Query.not(Query.term(Facet.CLASSIFICATION, "TOP_SECRET")));
+ * </pre>
+ */
+public sealed interface Query {
+
+    /**
+     * Matches the records whose marker has the given {@link Term}.
+     *
+     * @param term the {@link Term}.
+     */
+    record Match(Term term) implements Query {
+        public Match {
+            Objects.requireNonNull(term);
+        }
+    }
+
+    /**
+     * Matches the records matched by every one of the given {@link Query}'s.
+     *
+     * @param queries the {@link Query}'s. May not be empty.
+     */
+    record And(List<Query> queries) implements Query {
+        public And {
+            queries = requireNonEmpty(queries);
+        }
+    }
+
+    /**
+     * Matches the records matched by any one of the given {@link Query}'s.
+     *
+     * @param queries the {@link Query}'s. May not be empty.
+     */
+    record Or(List<Query> queries) implements Query {
+        public Or {
+            queries = requireNonEmpty(queries);
+        }
+    }
+
+    /**
+     * Matches the labelled records which are not matched by the given {@link Query}.
+     *
+     * @param query the {@link Query}.
+     */
+    record Not(Query query) implements Query {
+        public Not {
+            Objects.requireNonNull(query);
+        }
+    }
+
+    /**
+     * @param facet the {@link Facet}. May not be null.
+     * @param value the value. May not be null.
+     * @return a {@link Query} matching the records whose marker has the given value.
+     */
+    static Query term(Facet facet, String value) {
+        return new Match(new Term(facet, value));
+    }
+
+    /**
+     * @param queries the {@link Query}'s. May not be empty.
+     * @return a {@link Query} matching the records matched by all of the given {@link Query}'s.
+     */
+    static Query and(Query... queries) {
+        return new And(List.of(queries));
+    }
+
+    /**
+     * @param queries the {@link Query}'s. May not be empty.
+     * @return a {@link Query} matching the records matched by any of the given {@link Query}'s.
+     */
+    static Query or(Query... queries) {
+        return new Or(List.of(queries));
+    }
+
+    /**
+     * @param query the {@link Query}. May not be null.
+     * @return a {@link Query} matching the labelled records not matched by the given {@link Query}.
+     */
+    static Query not(Query query) {
+        return new Not(query);
+    }
+
+    private static List<Query> requireNonEmpty(List<Query> queries) {
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("at least one query is required");
+        }
+        return List.copyOf(queries);
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.Arrays;
+
+/**
+ * Holds an int for each record id, defaulting to zero. Storage is allocated in pages of 65536 records as they are
+ * first written, so sparse ranges of record ids cost nothing.
+ */
+final class RecordSlots {
+
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+    private int[][] pages = new int[0][];
+
+    int get(int recordId) {
+        int page = recordId >>> PAGE_BITS;
+        return page < pages.length && pages[page] != null ? pages[page][recordId & PAGE_MASK] : 0;
+    }
+
+    void set(int recordId, int value) {
+        int page = recordId >>> PAGE_BITS;
+        if (page >= pages.length) {
+            if (value == 0) {
+                return;
+            }
+            pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+        }
+        if (pages[page] == null) {
+            if (value == 0) {
+                return;
+            }
+            pages[page] = new int[PAGE_MASK + 1];
+        }
+        pages[page][recordId & PAGE_MASK] = value;
+    }
+}
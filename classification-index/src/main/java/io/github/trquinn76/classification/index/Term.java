@@ -0,0 +1,23 @@
+package io.github.trquinn76.classification.index;
+
+import java.util.Objects;
+
+/**
+ * A single component value of a marker, such as the code word {@code "BEARCAT"}.
+ *
+ * @param facet the {@link Facet} the value belongs to. May not be null.
+ * @param value the value. May not be null.
+ */
+public record Term(Facet facet, String value) {
+
+    /**
+     * Constructor ensuring neither parameter is null.
+     *
+     * @param facet the {@link Facet} the value belongs to. May not be null.
+     * @param value the value. May not be null.
+     */
+    public Term {
+        Objects.requireNonNull(facet);
+        Objects.requireNonNull(value);
+    }
+}
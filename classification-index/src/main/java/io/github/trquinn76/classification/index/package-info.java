@@ -0,0 +1,5 @@
+/**
+ * Provides in memory inverted indexes from the components of Australian, New Zealand and UK markers to the ids of the
+ * records labelled with them, with compressed bitmap posting lists combined by boolean queries.
+ */
+package io.github.trquinn76.classification.index;
@@ -0,0 +1,10 @@
+/**
+ * Indexes records by the components of their Classification markers.
+ */
+open module io.github.trquinn76.classification.index {
+    requires transitive io.github.trquinn76.classification.aus;
+    requires transitive io.github.trquinn76.classification.nzl;
+    requires transitive io.github.trquinn76.classification.uk;
+
+    exports io.github.trquinn76.classification.index;
+}
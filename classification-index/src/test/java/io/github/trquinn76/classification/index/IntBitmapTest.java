@@ -0,0 +1,93 @@
+package io.github.trquinn76.classification.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class IntBitmapTest {
+
+    @Test
+    void addRemoveTest() {
+        IntBitmap bitmap = new IntBitmap();
+        assertTrue(bitmap.isEmpty());
+        assertTrue(bitmap.add(7));
+        assertFalse(bitmap.add(7));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.add(Integer.MAX_VALUE));
+        assertTrue(bitmap.contains(7));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(8));
+        assertFalse(bitmap.contains(-1));
+        assertEquals(3, bitmap.cardinality());
+        assertArrayEquals(new int[] { 7, 70_000, Integer.MAX_VALUE }, bitmap.toArray());
+
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertEquals(IntBitmap.of(7, Integer.MAX_VALUE), bitmap);
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    void denseTest() {
+        // crosses between array and bitmap partitions in both directions.
+        IntBitmap bitmap = new IntBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i * 2);
+        }
+        assertEquals(10_000, bitmap.cardinality());
+        for (int i = 0; i < 10_000; i += 2) {
+            bitmap.remove(i * 2);
+        }
+        assertEquals(5_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(2));
+        assertFalse(bitmap.contains(4));
+    }
+
+    @Test
+    void booleanTest() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            // vary the density so both kinds of partition meet each other.
+            int range = 1 << (12 + random.nextInt(8));
+            int count = random.nextInt(20_000);
+            TreeSet<Integer> aSet = new TreeSet<>();
+            TreeSet<Integer> bSet = new TreeSet<>();
+            IntBitmap a = new IntBitmap();
+            IntBitmap b = new IntBitmap();
+            for (int i = 0; i < count; i++) {
+                int value = random.nextInt(range);
+                aSet.add(value);
+                a.add(value);
+                value = random.nextInt(range) + (round % 2 == 0 ? 0 : range / 2);
+                bSet.add(value);
+                b.add(value);
+            }
+
+            TreeSet<Integer> expected = new TreeSet<>(aSet);
+            expected.retainAll(bSet);
+            assertArrayEquals(toArray(expected), a.and(b).toArray());
+            assertArrayEquals(toArray(expected), b.and(a).toArray());
+
+            expected = new TreeSet<>(aSet);
+            expected.addAll(bSet);
+            assertArrayEquals(toArray(expected), a.or(b).toArray());
+
+            expected = new TreeSet<>(aSet);
+            expected.removeAll(bSet);
+            assertArrayEquals(toArray(expected), a.andNot(b).toArray());
+
+            // operands are unchanged.
+            assertArrayEquals(toArray(aSet), a.toArray());
+            assertArrayEquals(toArray(bSet), b.toArray());
+            assertEquals(a, a.copy());
+            assertEquals(a.hashCode(), a.copy().hashCode());
+        }
+    }
+
+    private static int[] toArray(TreeSet<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
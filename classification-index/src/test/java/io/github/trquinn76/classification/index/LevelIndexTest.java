@@ -0,0 +1,82 @@
+package io.github.trquinn76.classification.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+
+class LevelIndexTest {
+
+    private enum Production {
+        LOW, MIDDLE, HIGH
+    }
+
+    private enum Development {
+        DEVELOPMENT_LOW, DEVELOPMENT_MIDDLE, DEVELOPMENT_HIGH
+    }
+
+    @Test
+    void rangeTest() {
+        LevelIndex<Classification> index = LevelIndex.aus();
+        index.label(1, Classification.official());
+        index.label(2, Classification.protect());
+        index.label(3, Classification.secret());
+        index.label(4, Classification.topSecret());
+        index.label(5, Classification.protect());
+
+        assertEquals(5, index.size());
+        assertEquals(IntBitmap.of(2, 5), index.at(Classification.protect()));
+        assertEquals(IntBitmap.of(1, 2, 3, 5), index.atOrBelow(Classification.secret()));
+        assertEquals(IntBitmap.of(3, 4), index.atOrAbove(Classification.secret()));
+        assertEquals(IntBitmap.of(2, 3, 5), index.between(Classification.protect(), Classification.secret()));
+        assertTrue(index.between(Classification.secret(), Classification.protect()).isEmpty());
+        assertTrue(index.atOrBelow(Classification.unofficial()).isEmpty());
+    }
+
+    @Test
+    void relabelTest() {
+        LevelIndex<io.github.trquinn76.classification.nzl.model.Classification> index = LevelIndex.nzl();
+        index.label(7, io.github.trquinn76.classification.nzl.model.Classification.topSecret());
+        index.label(7, io.github.trquinn76.classification.nzl.model.Classification.restricted());
+        index.label(7, io.github.trquinn76.classification.nzl.model.Classification.restricted());
+
+        assertEquals(1, index.size());
+        assertEquals(IntBitmap.of(7),
+                index.atOrBelow(io.github.trquinn76.classification.nzl.model.Classification.restricted()));
+        assertTrue(index.atOrAbove(io.github.trquinn76.classification.nzl.model.Classification.confidential())
+                .isEmpty());
+
+        assertTrue(index.unlabel(7));
+        assertFalse(index.unlabel(7));
+        assertEquals(0, index.size());
+        assertThrows(IllegalArgumentException.class,
+                () -> index.label(-1, io.github.trquinn76.classification.nzl.model.Classification.secret()));
+    }
+
+    @Test
+    void modeTest() {
+        LevelIndex<String> index = new LevelIndex<>(Production.values(), Development.values(), Function.identity());
+        index.label(1, "LOW");
+        index.label(2, "HIGH");
+        index.label(3, "DEVELOPMENT_LOW");
+        index.label(4, "DEVELOPMENT_MIDDLE");
+
+        assertEquals(IntBitmap.of(1), index.atOrBelow("MIDDLE"));
+        assertEquals(IntBitmap.of(3, 4), index.atOrBelow("DEVELOPMENT_HIGH"));
+        assertEquals(IntBitmap.of(2), index.atOrAbove("MIDDLE"));
+        assertEquals(IntBitmap.of(4), index.atOrAbove("DEVELOPMENT_MIDDLE"));
+        assertThrows(IllegalArgumentException.class, () -> index.between("LOW", "DEVELOPMENT_HIGH"));
+        assertThrows(IllegalArgumentException.class, () -> index.label(5, "UNKNOWN"));
+    }
+
+    @Test
+    void resultIsIndependentTest() {
+        LevelIndex<io.github.trquinn76.classification.uk.model.Classification> index = LevelIndex.uk();
+        index.label(1, io.github.trquinn76.classification.uk.model.Classification.secret());
+        index.at(io.github.trquinn76.classification.uk.model.Classification.secret()).add(2);
+        assertEquals(IntBitmap.of(1), index.at(io.github.trquinn76.classification.uk.model.Classification.secret()));
+    }
+}
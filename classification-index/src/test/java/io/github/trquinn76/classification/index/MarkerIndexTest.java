@@ -0,0 +1,98 @@
+package io.github.trquinn76.classification.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class MarkerIndexTest {
+
+    @Test
+    void ausTest() {
+        MarkerIndex<io.github.trquinn76.classification.aus.model.ProtectiveMarker> index = MarkerIndex.aus();
+        index.label(1, new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().official().build());
+        index.label(2, new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret()
+                .addCodeword("BEARCAT").rel("AUS", "NZL").build());
+        index.label(3, new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().protect()
+                .addForeignGovernmentMarking("NZL RESTRICTED").legalPrivilege().austeo().build());
+        index.label(4, new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().topSecret()
+                .addCodeword("BEARCAT").build());
+
+        assertEquals(4, index.size());
+        assertEquals(IntBitmap.of(2, 4), index.search(Query.term(Facet.CODEWORD, "BEARCAT")));
+        assertEquals(IntBitmap.of(2, 4),
+                index.search(Query.or(Query.term(Facet.CODEWORD, "BEARCAT"), Query.term(Facet.RELEASABLE_TO, "NZL"))));
+        assertEquals(IntBitmap.of(2), index.search(
+                Query.and(Query.term(Facet.CODEWORD, "BEARCAT"), Query.not(Query.term(Facet.CLASSIFICATION,
+                        io.github.trquinn76.classification.aus.model.Classification.topSecret().classificationName())))));
+        assertEquals(IntBitmap.of(3), index.search(Query.term(Facet.FOREIGN_GOVERNMENT_MARKING, "NZL RESTRICTED")));
+        assertEquals(IntBitmap.of(3), index.search(Query.term(Facet.INFORMATION_MANAGEMENT, "LEGAL_PRIVILEGE")));
+        assertEquals(IntBitmap.of(3), index.search(Query.term(Facet.RELEASABILITY, "AUSTEO")));
+        assertEquals(IntBitmap.of(1, 3, 4), index.search(Query.not(Query.term(Facet.RELEASABLE_TO, "NZL"))));
+        assertTrue(index.search(Query.term(Facet.CODEWORD, "MISSING")).isEmpty());
+    }
+
+    @Test
+    void nzlTest() {
+        MarkerIndex<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> index = MarkerIndex.nzl();
+        index.label(10, new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().inConfidence()
+                .budget().build());
+        index.label(20, new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().secret()
+                .sensitiveCompartments("AAA").disseminationMarks("ORCON").relTo("NZL", "AUS").build());
+
+        assertEquals(IntBitmap.of(10), index.search(Query.term(Facet.POLICY_AND_PRIVACY, "BUDGET")));
+        assertEquals(IntBitmap.of(20), index.search(Query.and(Query.term(Facet.CODEWORD, "AAA"),
+                Query.term(Facet.DISSEMINATION_MARK, "ORCON"), Query.term(Facet.RELEASABLE_TO, "AUS"))));
+        assertEquals(IntBitmap.of(10), index.search(Query.term(Facet.CLASSIFICATION,
+                io.github.trquinn76.classification.nzl.model.Classification.inConfidence().classificationName())));
+    }
+
+    @Test
+    void ukTest() {
+        MarkerIndex<ClassificationMarker> index = MarkerIndex.uk();
+        ClassificationMarker personal = new ClassificationMarkerBuilder().officialSensitive().personalData().build();
+        index.label(5, personal);
+        index.label(6, new ClassificationMarkerBuilder().secret().codeWords("AAA").fiveEyesOnly().build());
+
+        assertEquals(IntBitmap.of(5),
+                index.search(Query.term(Facet.DESCRIPTOR, personal.descriptors().get(0))));
+        assertEquals(IntBitmap.of(6), index.search(Query.term(Facet.RELEASABILITY, "EYES_ONLY")));
+        assertEquals(IntBitmap.of(6), index.search(Query.term(Facet.RELEASABLE_TO, "FIVE")));
+    }
+
+    @Test
+    void relabelTest() {
+        MarkerIndex<ClassificationMarker> index = MarkerIndex.uk();
+        ClassificationMarker secret = new ClassificationMarkerBuilder().secret().codeWords("AAA").build();
+        ClassificationMarker topSecret = new ClassificationMarkerBuilder().topSecret().codeWords("AAA").build();
+        index.label(1, secret);
+        index.label(2, secret);
+        index.label(1, topSecret);
+
+        assertSame(topSecret, index.marker(1));
+        assertEquals(IntBitmap.of(2), index.search(Query.term(Facet.CLASSIFICATION, Classification.secret().classificationName())));
+        assertEquals(IntBitmap.of(1), index.search(Query.term(Facet.CLASSIFICATION, Classification.topSecret().classificationName())));
+        assertEquals(IntBitmap.of(1, 2), index.search(Query.term(Facet.CODEWORD, "AAA")));
+
+        assertTrue(index.unlabel(2));
+        assertFalse(index.unlabel(2));
+        assertFalse(index.unlabel(1_000_000));
+        assertNull(index.marker(2));
+        assertEquals(1, index.size());
+        assertEquals(IntBitmap.of(1), index.search(Query.term(Facet.CODEWORD, "AAA")));
+        assertTrue(index.search(Query.term(Facet.CLASSIFICATION, Classification.secret().classificationName())).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.label(-1, secret));
+    }
+
+    @Test
+    void searchResultIsIndependentTest() {
+        MarkerIndex<ClassificationMarker> index = MarkerIndex.uk();
+        index.label(1, new ClassificationMarkerBuilder().secret().build());
+        IntBitmap result = index.search(Query.and(Query.term(Facet.CLASSIFICATION, Classification.secret().classificationName())));
+        result.add(99);
+        assertEquals(IntBitmap.of(1), index.search(Query.term(Facet.CLASSIFICATION, Classification.secret().classificationName())));
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.trquinn76.classification.jackson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.ClassificationMarkerCodec;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * Compares the streaming JSON mapping provided by the {@link ClassificationModule} with the binary codec of each
+ * scheme. The encoded size of each form is printed when the benchmark is set up.
+ * <p>
+ * Run with {@code ./gradlew classification-jackson:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MarkerCodecBenchmark {
+
+    private io.github.trquinn76.classification.aus.model.ProtectiveMarker ausMarker;
+    private io.github.trquinn76.classification.nzl.model.ProtectiveMarker nzlMarker;
+    private ClassificationMarker ukMarker;
+
+    private io.github.trquinn76.classification.aus.ProtectiveMarkerCodec ausCodec;
+    private io.github.trquinn76.classification.nzl.ProtectiveMarkerCodec nzlCodec;
+    private ClassificationMarkerCodec ukCodec;
+
+    private ObjectWriter writer;
+    private ObjectReader ausReader;
+    private ObjectReader nzlReader;
+    private ObjectReader ukReader;
+
+    private byte[] ausJson;
+    private byte[] ausEncoded;
+    private byte[] nzlJson;
+    private byte[] nzlEncoded;
+    private byte[] ukJson;
+    private byte[] ukEncoded;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(256);
+
+    @Setup
+    public void setup() throws IOException {
+        ausMarker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret().addCodeword("AAA")
+                .addCodeword("BBB").rel("AUS", "CAN", "GBR", "NZL", "USA").legalPrivilege().build();
+        nzlMarker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().secret()
+                .accountableMaterial().sensitiveCompartments("AAA", "BBB").disseminationMarks("ORCON")
+                .relTo("NZL", "AUS", "CAN", "GBR", "USA").build();
+        ukMarker = new ClassificationMarkerBuilder().ukPrefix().secret().useOnly("ALPHA", "BETA")
+                .codeWords("AAA", "BBB").fiveEyesOnly().build();
+
+        ausCodec = new io.github.trquinn76.classification.aus.ProtectiveMarkerCodec(List.of("AAA", "BBB"));
+        nzlCodec = new io.github.trquinn76.classification.nzl.ProtectiveMarkerCodec(List.of("AAA", "BBB", "ORCON"));
+        ukCodec = new ClassificationMarkerCodec(List.of("AAA", "BBB"));
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new ClassificationModule());
+        writer = mapper.writer();
+        ausReader = mapper.readerFor(io.github.trquinn76.classification.aus.model.ProtectiveMarker.class);
+        nzlReader = mapper.readerFor(io.github.trquinn76.classification.nzl.model.ProtectiveMarker.class);
+        ukReader = mapper.readerFor(ClassificationMarker.class);
+
+        ausJson = writer.writeValueAsBytes(ausMarker);
+        ausEncoded = ausCodec.encode(ausMarker);
+        nzlJson = writer.writeValueAsBytes(nzlMarker);
+        nzlEncoded = nzlCodec.encode(nzlMarker);
+        ukJson = writer.writeValueAsBytes(ukMarker);
+        ukEncoded = ukCodec.encode(ukMarker);
+
+        System.out.printf("%nEncoded sizes (JSON/binary): AUS %d/%d, NZL %d/%d, UK %d/%d bytes%n", ausJson.length,
+                ausEncoded.length, nzlJson.length, nzlEncoded.length, ukJson.length, ukEncoded.length);
+    }
+
+    @Benchmark
+    public byte[] ausWriteJson() throws IOException {
+        return writer.writeValueAsBytes(ausMarker);
+    }
+
+    @Benchmark
+    public int ausEncode() {
+        buffer.clear();
+        return ausCodec.encode(ausMarker, buffer);
+    }
+
+    @Benchmark
+    public Object ausReadJson() throws IOException {
+        return ausReader.readValue(ausJson);
+    }
+
+    @Benchmark
+    public Object ausDecode() {
+        return ausCodec.decode(ausEncoded);
+    }
+
+    @Benchmark
+    public byte[] nzlWriteJson() throws IOException {
+        return writer.writeValueAsBytes(nzlMarker);
+    }
+
+    @Benchmark
+    public int nzlEncode() {
+        buffer.clear();
+        return nzlCodec.encode(nzlMarker, buffer);
+    }
+
+    @Benchmark
+    public Object nzlReadJson() throws IOException {
+        return nzlReader.readValue(nzlJson);
+    }
+
+    @Benchmark
+    public Object nzlDecode() {
+        return nzlCodec.decode(nzlEncoded);
+    }
+
+    @Benchmark
+    public byte[] ukWriteJson() throws IOException {
+        return writer.writeValueAsBytes(ukMarker);
+    }
+
+    @Benchmark
+    public int ukEncode() {
+        buffer.clear();
+        return ukCodec.encode(ukMarker, buffer);
+    }
+
+    @Benchmark
+    public Object ukReadJson() throws IOException {
+        return ukReader.readValue(ukJson);
+    }
+
+    @Benchmark
+    public Object ukDecode() {
+        return ukCodec.decode(ukEncoded);
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.trquinn76.classification.jackson;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * Compares the default reflective record mapping of each marker with the streaming mapping provided by the
+ * {@link ClassificationModule}.
+ * <p>
+ * Run with {@code ./gradlew classification-jackson:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MarkerJsonBenchmark {
+
+    private io.github.trquinn76.classification.aus.model.ProtectiveMarker ausMarker;
+    private io.github.trquinn76.classification.nzl.model.ProtectiveMarker nzlMarker;
+    private ClassificationMarker ukMarker;
+
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter streamingWriter;
+
+    private ObjectReader ausReflectiveReader;
+    private ObjectReader ausStreamingReader;
+    private ObjectReader nzlReflectiveReader;
+    private ObjectReader nzlStreamingReader;
+    private ObjectReader ukReflectiveReader;
+    private ObjectReader ukStreamingReader;
+
+    private byte[] ausReflectiveJson;
+    private byte[] ausStreamingJson;
+    private byte[] nzlReflectiveJson;
+    private byte[] nzlStreamingJson;
+    private byte[] ukReflectiveJson;
+    private byte[] ukStreamingJson;
+
+    @Setup
+    public void setup() throws IOException {
+        ausMarker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret().addCodeword("AAA")
+                .addCodeword("BBB").rel("AUS", "CAN", "GBR", "NZL", "USA").legalPrivilege().build();
+        nzlMarker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().secret()
+                .accountableMaterial().sensitiveCompartments("AAA", "BBB").disseminationMarks("ORCON")
+                .relTo("NZL", "AUS", "CAN", "GBR", "USA").build();
+        ukMarker = new ClassificationMarkerBuilder().ukPrefix().secret().useOnly("ALPHA", "BETA")
+                .codeWords("AAA", "BBB").fiveEyesOnly().build();
+
+        ObjectMapper reflective = new ObjectMapper();
+        ObjectMapper streaming = new ObjectMapper().registerModule(new ClassificationModule());
+        reflectiveWriter = reflective.writer();
+        streamingWriter = streaming.writer();
+
+        ausReflectiveReader = reflective.readerFor(io.github.trquinn76.classification.aus.model.ProtectiveMarker.class);
+        ausStreamingReader = streaming.readerFor(io.github.trquinn76.classification.aus.model.ProtectiveMarker.class);
+        nzlReflectiveReader = reflective.readerFor(io.github.trquinn76.classification.nzl.model.ProtectiveMarker.class);
+        nzlStreamingReader = streaming.readerFor(io.github.trquinn76.classification.nzl.model.ProtectiveMarker.class);
+        ukReflectiveReader = reflective.readerFor(ClassificationMarker.class);
+        ukStreamingReader = streaming.readerFor(ClassificationMarker.class);
+
+        ausReflectiveJson = reflectiveWriter.writeValueAsBytes(ausMarker);
+        ausStreamingJson = streamingWriter.writeValueAsBytes(ausMarker);
+        nzlReflectiveJson = reflectiveWriter.writeValueAsBytes(nzlMarker);
+        nzlStreamingJson = streamingWriter.writeValueAsBytes(nzlMarker);
+        ukReflectiveJson = reflectiveWriter.writeValueAsBytes(ukMarker);
+        ukStreamingJson = streamingWriter.writeValueAsBytes(ukMarker);
+    }
+
+    @Benchmark
+    public byte[] ausWriteReflective() throws IOException {
+        return reflectiveWriter.writeValueAsBytes(ausMarker);
+    }
+
+    @Benchmark
+    public byte[] ausWriteStreaming() throws IOException {
+        return streamingWriter.writeValueAsBytes(ausMarker);
+    }
+
+    @Benchmark
+    public Object ausReadReflective() throws IOException {
+        return ausReflectiveReader.readValue(ausReflectiveJson);
+    }
+
+    @Benchmark
+    public Object ausReadStreaming() throws IOException {
+        return ausStreamingReader.readValue(ausStreamingJson);
+    }
+
+    @Benchmark
+    public byte[] nzlWriteReflective() throws IOException {
+        return reflectiveWriter.writeValueAsBytes(nzlMarker);
+    }
+
+    @Benchmark
+    public byte[] nzlWriteStreaming() throws IOException {
+        return streamingWriter.writeValueAsBytes(nzlMarker);
+    }
+
+    @Benchmark
+    public Object nzlReadReflective() throws IOException {
+        return nzlReflectiveReader.readValue(nzlReflectiveJson);
+    }
+
+    @Benchmark
+    public Object nzlReadStreaming() throws IOException {
+        return nzlStreamingReader.readValue(nzlStreamingJson);
+    }
+
+    @Benchmark
+    public byte[] ukWriteReflective() throws IOException {
+        return reflectiveWriter.writeValueAsBytes(ukMarker);
+    }
+
+    @Benchmark
+    public byte[] ukWriteStreaming() throws IOException {
+        return streamingWriter.writeValueAsBytes(ukMarker);
+    }
+
+    @Benchmark
+    public Object ukReadReflective() throws IOException {
+        return ukReflectiveReader.readValue(ukReflectiveJson);
+    }
+
+    @Benchmark
+    public Object ukReadStreaming() throws IOException {
+        return ukStreamingReader.readValue(ukStreamingJson);
+    }
+}
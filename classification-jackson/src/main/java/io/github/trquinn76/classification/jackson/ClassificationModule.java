@@ -0,0 +1,66 @@
+package io.github.trquinn76.classification.jackson;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import io.github.trquinn76.classification.jackson.uk.ClassificationMarkerDeserializer;
+import io.github.trquinn76.classification.jackson.uk.ClassificationMarkerSerializer;
+import io.github.trquinn76.classification.uk.ClassificationMarkerInterner;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * A Jackson module which registers streaming serialisers and deserialisers for the Australian and New Zealand
+ * {@code ProtectiveMarker}'s, and the UK {@link ClassificationMarker}.
+ * <p>
+ * Register the module with an {@code ObjectMapper} to replace the default reflective mapping of the marker records:
+ *
+ * <pre>
+ * ObjectMapper mapper = new ObjectMapper().registerModule(new ClassificationModule());
+ * </pre>
+ * <p>
+ * The serialised form is a compact, flat JSON object, which is NOT compatible with the default reflective form. All
+ * parties reading and writing markers must register this module.
+ */
+public class ClassificationModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor which uses the shared interner of each Classification scheme.
+     */
+    public ClassificationModule() {
+        this(io.github.trquinn76.classification.aus.ProtectiveMarkerInterner.shared(),
+                io.github.trquinn76.classification.nzl.ProtectiveMarkerInterner.shared(),
+                ClassificationMarkerInterner.shared());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ausInterner the interner used when reading Australian markers. May not be null.
+     * @param nzlInterner the interner used when reading New Zealand markers. May not be null.
+     * @param ukInterner  the interner used when reading UK markers. May not be null.
+     */
+    public ClassificationModule(io.github.trquinn76.classification.aus.ProtectiveMarkerInterner ausInterner,
+            io.github.trquinn76.classification.nzl.ProtectiveMarkerInterner nzlInterner,
+            ClassificationMarkerInterner ukInterner) {
+        super(ClassificationModule.class.getSimpleName());
+        Objects.requireNonNull(ausInterner);
+        Objects.requireNonNull(nzlInterner);
+        Objects.requireNonNull(ukInterner);
+
+        addSerializer(io.github.trquinn76.classification.aus.model.ProtectiveMarker.class,
+                new io.github.trquinn76.classification.jackson.aus.ProtectiveMarkerSerializer());
+        addDeserializer(io.github.trquinn76.classification.aus.model.ProtectiveMarker.class,
+                new io.github.trquinn76.classification.jackson.aus.ProtectiveMarkerDeserializer(ausInterner));
+
+        addSerializer(io.github.trquinn76.classification.nzl.model.ProtectiveMarker.class,
+                new io.github.trquinn76.classification.jackson.nzl.ProtectiveMarkerSerializer());
+        addDeserializer(io.github.trquinn76.classification.nzl.model.ProtectiveMarker.class,
+                new io.github.trquinn76.classification.jackson.nzl.ProtectiveMarkerDeserializer(nzlInterner));
+
+        addSerializer(ClassificationMarker.class, new ClassificationMarkerSerializer());
+        addDeserializer(ClassificationMarker.class, new ClassificationMarkerDeserializer(ukInterner));
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.trquinn76.classification.jackson.aus;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import io.github.trquinn76.classification.aus.ProtectiveMarkerInterner;
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.InformationManagementMarker;
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityCaveat;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingCaveat;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+/**
+ * Reads an Australian {@link ProtectiveMarker} written by the {@link ProtectiveMarkerSerializer}.
+ * <p>
+ * The marker is read directly from the token stream. The {@link Classification}, and every String value, are taken
+ * from a {@link ProtectiveMarkerInterner}, as is the resulting {@link ProtectiveMarker}, so that reading the same
+ * marking many times does not create many copies of it.
+ */
+public class ProtectiveMarkerDeserializer extends StdDeserializer<ProtectiveMarker> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ProtectiveMarkerInterner interner;
+
+    /**
+     * Constructor which uses the shared {@link ProtectiveMarkerInterner}.
+     */
+    public ProtectiveMarkerDeserializer() {
+        this(ProtectiveMarkerInterner.shared());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param interner the {@link ProtectiveMarkerInterner} to intern values with. May not be null.
+     */
+    public ProtectiveMarkerDeserializer(ProtectiveMarkerInterner interner) {
+        super(ProtectiveMarker.class);
+        this.interner = Objects.requireNonNull(interner);
+    }
+
+    @Override
+    public ProtectiveMarker deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Classification classification = null;
+        List<String> codeWords = null;
+        List<String> foreignGovernmentMarkings = null;
+        SpecialHandlingInstruction instruction = null;
+        String exclusiveFor = null;
+        ReleasabilityType releasabilityType = null;
+        List<String> releasableTo = null;
+        List<InformationManagementMarker> imms = List.of();
+
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+            case ProtectiveMarkerSerializer.CLASSIFICATION: {
+                classification = readClassification(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.CODE_WORDS: {
+                codeWords = readStrings(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.FOREIGN_GOVERNMENT_MARKINGS: {
+                foreignGovernmentMarkings = readStrings(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.SPECIAL_HANDLING_INSTRUCTION: {
+                instruction = readEnum(p, ctxt, SpecialHandlingInstruction.class);
+                break;
+            }
+            case ProtectiveMarkerSerializer.EXCLUSIVE_FOR: {
+                exclusiveFor = readString(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.RELEASABILITY_TYPE: {
+                releasabilityType = readEnum(p, ctxt, ReleasabilityType.class);
+                break;
+            }
+            case ProtectiveMarkerSerializer.RELEASABLE_TO: {
+                releasableTo = readStrings(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.INFORMATION_MANAGEMENT_MARKERS: {
+                imms = readInformationManagementMarkers(p, ctxt);
+                break;
+            }
+            default: {
+                ctxt.handleUnknownProperty(p, this, ProtectiveMarker.class, field);
+            }
+            }
+        }
+
+        if (classification == null) {
+            return ctxt.reportInputMismatch(this, "Missing Classification field '%s'",
+                    ProtectiveMarkerSerializer.CLASSIFICATION);
+        }
+        if (exclusiveFor != null && instruction == null) {
+            return ctxt.reportInputMismatch(this, "Exclusive For value without a Special Handling Instruction");
+        }
+        if (releasableTo != null && releasabilityType == null) {
+            return ctxt.reportInputMismatch(this, "Releasable To list without a Releasability Type");
+        }
+
+        SecurityCaveats securityCaveats = null;
+        if (codeWords != null || foreignGovernmentMarkings != null || instruction != null
+                || releasabilityType != null) {
+            SpecialHandlingCaveat shc = instruction != null ? new SpecialHandlingCaveat(instruction, exclusiveFor)
+                    : null;
+            ReleasabilityCaveat rc = releasabilityType != null
+                    ? new ReleasabilityCaveat(releasabilityType, releasableTo != null ? releasableTo : List.of())
+                    : null;
+            securityCaveats = new SecurityCaveats(codeWords != null ? codeWords : List.of(),
+                    foreignGovernmentMarkings != null ? foreignGovernmentMarkings : List.of(), shc, rc);
+        }
+        return interner.intern(new ProtectiveMarker(classification, imms, securityCaveats));
+    }
+
+    private List<InformationManagementMarker> readInformationManagementMarkers(JsonParser p,
+            DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.START_ARRAY);
+        List<InformationManagementMarker> imms = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            expect(p, ctxt, JsonToken.START_ARRAY);
+            p.nextToken();
+            InformationManagementTypes type = readEnum(p, ctxt, InformationManagementTypes.class);
+            List<String> warnings = new ArrayList<>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                warnings.add(readString(p, ctxt));
+            }
+            imms.add(new InformationManagementMarker(type, warnings));
+        }
+        return imms;
+    }
+
+    private Classification readClassification(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name = readString(p, ctxt);
+        try {
+            return interner.classification(name);
+        } catch (IllegalArgumentException iae) {
+            throw ctxt.weirdStringException(name, Classification.class,
+                    "not a Classification for the current configuration");
+        }
+    }
+
+    private List<String> readStrings(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.START_ARRAY);
+        List<String> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readString(p, ctxt));
+        }
+        return values;
+    }
+
+    private String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.VALUE_STRING);
+        return interner.intern(p.getText());
+    }
+
+    private <E extends Enum<E>> E readEnum(JsonParser p, DeserializationContext ctxt, Class<E> type)
+            throws IOException {
+        expect(p, ctxt, JsonToken.VALUE_STRING);
+        String name = p.getText();
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException iae) {
+            throw ctxt.weirdStringException(name, type, "not one of the values accepted for Enum class");
+        }
+    }
+
+    private void expect(JsonParser p, DeserializationContext ctxt, JsonToken expected) throws IOException {
+        if (p.currentToken() != expected) {
+            ctxt.reportWrongTokenException(this, expected, null);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.trquinn76.classification.jackson.aus;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import io.github.trquinn76.classification.aus.model.InformationManagementMarker;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityCaveat;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingCaveat;
+
+/**
+ * Writes an Australian {@link ProtectiveMarker} as a single flat JSON object, using short field names.
+ * <p>
+ * For example {@code SECRET AAA EXCLUSIVE_FOR Bob REL AUS/NZL LEGAL_PRIVILEGE} is written as:
+ *
+ * <pre>
+ * {"c":"SECRET","cw":["AAA"],"shi":"EXCLUSIVE_FOR","ef":"Bob","rt":"REL","rel":["AUS","NZL"],"imm":[["LEGAL_PRIVILEGE"]]}
+ * </pre>
+ * <p>
+ * Enumeration values are written using their {@code name()}. Empty lists and absent values are omitted, except that
+ * {@code cw} is always written when the marker has {@link SecurityCaveats}, so that empty {@link SecurityCaveats} are
+ * distinguished from none at all. Each Information Management Marker is written as an array, holding the type
+ * followed by any legislative secrecy warnings.
+ */
+public class ProtectiveMarkerSerializer extends StdSerializer<ProtectiveMarker> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String CLASSIFICATION = "c";
+    static final String CODE_WORDS = "cw";
+    static final String FOREIGN_GOVERNMENT_MARKINGS = "fgm";
+    static final String SPECIAL_HANDLING_INSTRUCTION = "shi";
+    static final String EXCLUSIVE_FOR = "ef";
+    static final String RELEASABILITY_TYPE = "rt";
+    static final String RELEASABLE_TO = "rel";
+    static final String INFORMATION_MANAGEMENT_MARKERS = "imm";
+
+    private static final SerializableString CLASSIFICATION_FIELD = new SerializedString(CLASSIFICATION);
+    private static final SerializableString CODE_WORDS_FIELD = new SerializedString(CODE_WORDS);
+    private static final SerializableString FOREIGN_GOVERNMENT_MARKINGS_FIELD = new SerializedString(
+            FOREIGN_GOVERNMENT_MARKINGS);
+    private static final SerializableString SPECIAL_HANDLING_INSTRUCTION_FIELD = new SerializedString(
+            SPECIAL_HANDLING_INSTRUCTION);
+    private static final SerializableString EXCLUSIVE_FOR_FIELD = new SerializedString(EXCLUSIVE_FOR);
+    private static final SerializableString RELEASABILITY_TYPE_FIELD = new SerializedString(RELEASABILITY_TYPE);
+    private static final SerializableString RELEASABLE_TO_FIELD = new SerializedString(RELEASABLE_TO);
+    private static final SerializableString INFORMATION_MANAGEMENT_MARKERS_FIELD = new SerializedString(
+            INFORMATION_MANAGEMENT_MARKERS);
+
+    /**
+     * Constructor.
+     */
+    public ProtectiveMarkerSerializer() {
+        super(ProtectiveMarker.class);
+    }
+
+    @Override
+    public void serialize(ProtectiveMarker marker, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(CLASSIFICATION_FIELD);
+        gen.writeString(marker.classification().classificationName());
+
+        SecurityCaveats sc = marker.securityCaveats();
+        if (sc != null) {
+            writeStrings(gen, CODE_WORDS_FIELD, sc.codeWords());
+            if (!sc.foreignGovernmentMarkings().isEmpty()) {
+                writeStrings(gen, FOREIGN_GOVERNMENT_MARKINGS_FIELD, sc.foreignGovernmentMarkings());
+            }
+            SpecialHandlingCaveat shc = sc.specialHandlingCaveat();
+            if (shc != null) {
+                gen.writeFieldName(SPECIAL_HANDLING_INSTRUCTION_FIELD);
+                gen.writeString(shc.instruction().name());
+                if (shc.exclusiveFor() != null) {
+                    gen.writeFieldName(EXCLUSIVE_FOR_FIELD);
+                    gen.writeString(shc.exclusiveFor());
+                }
+            }
+            ReleasabilityCaveat rc = sc.releasabilityCaveat();
+            if (rc != null) {
+                gen.writeFieldName(RELEASABILITY_TYPE_FIELD);
+                gen.writeString(rc.type().name());
+                if (!rc.releasableToList().isEmpty()) {
+                    writeStrings(gen, RELEASABLE_TO_FIELD, rc.releasableToList());
+                }
+            }
+        }
+
+        if (!marker.informationManagementMarkers().isEmpty()) {
+            gen.writeFieldName(INFORMATION_MANAGEMENT_MARKERS_FIELD);
+            gen.writeStartArray();
+            for (InformationManagementMarker imm : marker.informationManagementMarkers()) {
+                gen.writeStartArray();
+                gen.writeString(imm.type().name());
+                for (String warning : imm.legislationSecrecyWarnings()) {
+                    gen.writeString(warning);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeStrings(JsonGenerator gen, SerializableString field, List<String> values)
+            throws IOException {
+        gen.writeFieldName(field);
+        gen.writeStartArray();
+        for (String value : values) {
+            gen.writeString(value);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.trquinn76.classification.jackson.nzl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import io.github.trquinn76.classification.nzl.ProtectiveMarkerInterner;
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.NationalSecurityEndorsements;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityMarking;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+
+/**
+ * Reads a New Zealand {@link ProtectiveMarker} written by the {@link ProtectiveMarkerSerializer}.
+ * <p>
+ * The marker is read directly from the token stream. The {@link Classification}, and every String value, are taken
+ * from a {@link ProtectiveMarkerInterner}, as is the resulting {@link ProtectiveMarker}, so that reading the same
+ * marking many times does not create many copies of it.
+ */
+public class ProtectiveMarkerDeserializer extends StdDeserializer<ProtectiveMarker> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ProtectiveMarkerInterner interner;
+
+    /**
+     * Constructor which uses the shared {@link ProtectiveMarkerInterner}.
+     */
+    public ProtectiveMarkerDeserializer() {
+        this(ProtectiveMarkerInterner.shared());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param interner the {@link ProtectiveMarkerInterner} to intern values with. May not be null.
+     */
+    public ProtectiveMarkerDeserializer(ProtectiveMarkerInterner interner) {
+        super(ProtectiveMarker.class);
+        this.interner = Objects.requireNonNull(interner);
+    }
+
+    @Override
+    public ProtectiveMarker deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Classification classification = null;
+        List<PolicyAndPrivacyEndorsementMarking> endorsements = List.of();
+        boolean accountableMaterial = false;
+        List<String> sensitiveCompartments = null;
+        List<String> disseminationMarks = null;
+        ReleasabilityTypes releasabilityType = null;
+        List<String> releasableTo = null;
+
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+            case ProtectiveMarkerSerializer.CLASSIFICATION: {
+                classification = readClassification(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.POLICY_AND_PRIVACY_ENDORSEMENTS: {
+                endorsements = readEndorsements(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.ACCOUNTABLE_MATERIAL: {
+                accountableMaterial = _parseBooleanPrimitive(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.SENSITIVE_COMPARTMENTS: {
+                sensitiveCompartments = readStrings(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.DISSEMINATION_MARKS: {
+                disseminationMarks = readStrings(p, ctxt);
+                break;
+            }
+            case ProtectiveMarkerSerializer.RELEASABILITY_TYPE: {
+                releasabilityType = readEnum(p, ctxt, ReleasabilityTypes.class);
+                break;
+            }
+            case ProtectiveMarkerSerializer.RELEASABLE_TO: {
+                releasableTo = readStrings(p, ctxt);
+                break;
+            }
+            default: {
+                ctxt.handleUnknownProperty(p, this, ProtectiveMarker.class, field);
+            }
+            }
+        }
+
+        if (classification == null) {
+            return ctxt.reportInputMismatch(this, "Missing Classification field '%s'",
+                    ProtectiveMarkerSerializer.CLASSIFICATION);
+        }
+        if (releasableTo != null && releasabilityType == null) {
+            return ctxt.reportInputMismatch(this, "Releasable To list without a Releasability Type");
+        }
+
+        NationalSecurityEndorsements nse = null;
+        if (accountableMaterial || sensitiveCompartments != null || disseminationMarks != null
+                || releasabilityType != null) {
+            ReleasabilityMarking releasability = releasabilityType != null
+                    ? new ReleasabilityMarking(releasabilityType, releasableTo != null ? releasableTo : List.of())
+                    : null;
+            nse = new NationalSecurityEndorsements(accountableMaterial,
+                    sensitiveCompartments != null ? sensitiveCompartments : List.of(),
+                    disseminationMarks != null ? disseminationMarks : List.of(), releasability);
+        }
+        return interner.intern(new ProtectiveMarker(classification, endorsements, nse));
+    }
+
+    private List<PolicyAndPrivacyEndorsementMarking> readEndorsements(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        expect(p, ctxt, JsonToken.START_ARRAY);
+        List<PolicyAndPrivacyEndorsementMarking> endorsements = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            expect(p, ctxt, JsonToken.START_ARRAY);
+            p.nextToken();
+            PolicyAndPrivacyEndorsements endorsement = readEnum(p, ctxt, PolicyAndPrivacyEndorsements.class);
+            String value = null;
+            if (p.nextToken() != JsonToken.END_ARRAY) {
+                value = readString(p, ctxt);
+                p.nextToken();
+                expect(p, ctxt, JsonToken.END_ARRAY);
+            }
+            try {
+                endorsements.add(new PolicyAndPrivacyEndorsementMarking(endorsement, value));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                return ctxt.reportInputMismatch(this, "Invalid Policy and Privacy Endorsement %s: %s", endorsement,
+                        e.getMessage());
+            }
+        }
+        return endorsements;
+    }
+
+    private Classification readClassification(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name = readString(p, ctxt);
+        try {
+            return interner.classification(name);
+        } catch (IllegalArgumentException iae) {
+            throw ctxt.weirdStringException(name, Classification.class,
+                    "not a Classification for the current configuration");
+        }
+    }
+
+    private List<String> readStrings(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.START_ARRAY);
+        List<String> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readString(p, ctxt));
+        }
+        return values;
+    }
+
+    private String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.VALUE_STRING);
+        return interner.intern(p.getText());
+    }
+
+    private <E extends Enum<E>> E readEnum(JsonParser p, DeserializationContext ctxt, Class<E> type)
+            throws IOException {
+        expect(p, ctxt, JsonToken.VALUE_STRING);
+        String name = p.getText();
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException iae) {
+            throw ctxt.weirdStringException(name, type, "not one of the values accepted for Enum class");
+        }
+    }
+
+    private void expect(JsonParser p, DeserializationContext ctxt, JsonToken expected) throws IOException {
+        if (p.currentToken() != expected) {
+            ctxt.reportWrongTokenException(this, expected, null);
+        }
+    }
+}
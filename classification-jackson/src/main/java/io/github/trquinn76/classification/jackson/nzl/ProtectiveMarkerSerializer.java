@@ -0,0 +1,113 @@
+package io.github.trquinn76.classification.jackson.nzl;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import io.github.trquinn76.classification.nzl.model.NationalSecurityEndorsements;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityMarking;
+
+/**
+ * Writes a New Zealand {@link ProtectiveMarker} as a single flat JSON object, using short field names.
+ * <p>
+ * For example {@code BUDGET SENSITIVE} is written as {@code {"c":"SENSITIVE","pp":[["BUDGET"]]}}, and
+ * {@code SECRET//ACCOUNTABLE MATERIAL/AAA//REL TO NZL, AUS} is written as:
+ *
+ * <pre>
+ * {"c":"SECRET","am":true,"sc":["AAA"],"rt":"RELTO","rel":["NZL","AUS"]}
+ * </pre>
+ * <p>
+ * Enumeration values are written using their {@code name()}. Empty lists and absent values are omitted, except that
+ * {@code sc} is always written when the marker has {@link NationalSecurityEndorsements}, so that empty endorsements
+ * are distinguished from none at all. Each Policy and Privacy Endorsement is written as an array, holding the
+ * endorsement followed by its time or use only value, when it has one.
+ */
+public class ProtectiveMarkerSerializer extends StdSerializer<ProtectiveMarker> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String CLASSIFICATION = "c";
+    static final String POLICY_AND_PRIVACY_ENDORSEMENTS = "pp";
+    static final String ACCOUNTABLE_MATERIAL = "am";
+    static final String SENSITIVE_COMPARTMENTS = "sc";
+    static final String DISSEMINATION_MARKS = "dm";
+    static final String RELEASABILITY_TYPE = "rt";
+    static final String RELEASABLE_TO = "rel";
+
+    private static final SerializableString CLASSIFICATION_FIELD = new SerializedString(CLASSIFICATION);
+    private static final SerializableString POLICY_AND_PRIVACY_ENDORSEMENTS_FIELD = new SerializedString(
+            POLICY_AND_PRIVACY_ENDORSEMENTS);
+    private static final SerializableString ACCOUNTABLE_MATERIAL_FIELD = new SerializedString(ACCOUNTABLE_MATERIAL);
+    private static final SerializableString SENSITIVE_COMPARTMENTS_FIELD = new SerializedString(
+            SENSITIVE_COMPARTMENTS);
+    private static final SerializableString DISSEMINATION_MARKS_FIELD = new SerializedString(DISSEMINATION_MARKS);
+    private static final SerializableString RELEASABILITY_TYPE_FIELD = new SerializedString(RELEASABILITY_TYPE);
+    private static final SerializableString RELEASABLE_TO_FIELD = new SerializedString(RELEASABLE_TO);
+
+    /**
+     * Constructor.
+     */
+    public ProtectiveMarkerSerializer() {
+        super(ProtectiveMarker.class);
+    }
+
+    @Override
+    public void serialize(ProtectiveMarker marker, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(CLASSIFICATION_FIELD);
+        gen.writeString(marker.classification().classificationName());
+
+        if (marker.hasPolicyAndPrivacyEndorsements()) {
+            gen.writeFieldName(POLICY_AND_PRIVACY_ENDORSEMENTS_FIELD);
+            gen.writeStartArray();
+            for (PolicyAndPrivacyEndorsementMarking endorsement : marker.policyAndPrivacyEndorsements()) {
+                gen.writeStartArray();
+                gen.writeString(endorsement.endorsement().name());
+                if (endorsement.timeOrUseOnlyValue() != null) {
+                    gen.writeString(endorsement.timeOrUseOnlyValue());
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+
+        NationalSecurityEndorsements nse = marker.nationalSecurityEndorsements();
+        if (nse != null) {
+            if (nse.accountableMaterial()) {
+                gen.writeFieldName(ACCOUNTABLE_MATERIAL_FIELD);
+                gen.writeBoolean(true);
+            }
+            writeStrings(gen, SENSITIVE_COMPARTMENTS_FIELD, nse.sensitiveCompartments());
+            if (!nse.disseminationMarks().isEmpty()) {
+                writeStrings(gen, DISSEMINATION_MARKS_FIELD, nse.disseminationMarks());
+            }
+            ReleasabilityMarking releasability = nse.releasability();
+            if (releasability != null) {
+                gen.writeFieldName(RELEASABILITY_TYPE_FIELD);
+                gen.writeString(releasability.type().name());
+                if (!releasability.releasableToList().isEmpty()) {
+                    writeStrings(gen, RELEASABLE_TO_FIELD, releasability.releasableToList());
+                }
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeStrings(JsonGenerator gen, SerializableString field, List<String> values)
+            throws IOException {
+        gen.writeFieldName(field);
+        gen.writeStartArray();
+        for (String value : values) {
+            gen.writeString(value);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides streaming Jackson serialisers and deserialisers for the New Zealand Protective Marking model.
+ */
+package io.github.trquinn76.classification.jackson.nzl;
@@ -0,0 +1,5 @@
+/**
+ * Provides a Jackson module which registers streaming serialisers and deserialisers for the Classification/Protective
+ * Marking models.
+ */
+package io.github.trquinn76.classification.jackson;
@@ -0,0 +1,141 @@
+package io.github.trquinn76.classification.jackson.uk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerInterner;
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * Reads a UK {@link ClassificationMarker} written by the {@link ClassificationMarkerSerializer}.
+ * <p>
+ * The marker is read directly from the token stream. The {@link Classification}, and every String value, are taken
+ * from a {@link ClassificationMarkerInterner}, as is the resulting {@link ClassificationMarker}, so that reading the
+ * same marking many times does not create many copies of it.
+ */
+public class ClassificationMarkerDeserializer extends StdDeserializer<ClassificationMarker> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ClassificationMarkerInterner interner;
+
+    /**
+     * Constructor which uses the shared {@link ClassificationMarkerInterner}.
+     */
+    public ClassificationMarkerDeserializer() {
+        this(ClassificationMarkerInterner.shared());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param interner the {@link ClassificationMarkerInterner} to intern values with. May not be null.
+     */
+    public ClassificationMarkerDeserializer(ClassificationMarkerInterner interner) {
+        super(ClassificationMarker.class);
+        this.interner = Objects.requireNonNull(interner);
+    }
+
+    @Override
+    public ClassificationMarker deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        boolean ukPrefix = false;
+        Classification classification = null;
+        boolean sensitive = false;
+        List<String> handlingInstructions = List.of();
+        List<String> descriptors = List.of();
+        List<String> codeWords = List.of();
+        List<String> eyesOnly = List.of();
+        List<String> additionalInstructions = List.of();
+
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+            case ClassificationMarkerSerializer.UK_PREFIX: {
+                ukPrefix = _parseBooleanPrimitive(p, ctxt);
+                break;
+            }
+            case ClassificationMarkerSerializer.CLASSIFICATION: {
+                classification = readClassification(p, ctxt);
+                break;
+            }
+            case ClassificationMarkerSerializer.SENSITIVE: {
+                sensitive = _parseBooleanPrimitive(p, ctxt);
+                break;
+            }
+            case ClassificationMarkerSerializer.HANDLING_INSTRUCTIONS: {
+                handlingInstructions = readStrings(p, ctxt);
+                break;
+            }
+            case ClassificationMarkerSerializer.DESCRIPTORS: {
+                descriptors = readStrings(p, ctxt);
+                break;
+            }
+            case ClassificationMarkerSerializer.CODE_WORDS: {
+                codeWords = readStrings(p, ctxt);
+                break;
+            }
+            case ClassificationMarkerSerializer.EYES_ONLY: {
+                eyesOnly = readStrings(p, ctxt);
+                break;
+            }
+            case ClassificationMarkerSerializer.ADDITIONAL_INSTRUCTIONS: {
+                additionalInstructions = readStrings(p, ctxt);
+                break;
+            }
+            default: {
+                ctxt.handleUnknownProperty(p, this, ClassificationMarker.class, field);
+            }
+            }
+        }
+
+        if (classification == null) {
+            return ctxt.reportInputMismatch(this, "Missing Classification field '%s'",
+                    ClassificationMarkerSerializer.CLASSIFICATION);
+        }
+        return interner.intern(new ClassificationMarker(ukPrefix, classification, sensitive, handlingInstructions,
+                descriptors, codeWords, eyesOnly, additionalInstructions));
+    }
+
+    private Classification readClassification(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name = readString(p, ctxt);
+        try {
+            return interner.classification(name);
+        } catch (IllegalArgumentException iae) {
+            throw ctxt.weirdStringException(name, Classification.class,
+                    "not a Classification for the current configuration");
+        }
+    }
+
+    private List<String> readStrings(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.START_ARRAY);
+        List<String> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readString(p, ctxt));
+        }
+        return values;
+    }
+
+    private String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.VALUE_STRING);
+        return interner.intern(p.getText());
+    }
+
+    private void expect(JsonParser p, DeserializationContext ctxt, JsonToken expected) throws IOException {
+        if (p.currentToken() != expected) {
+            ctxt.reportWrongTokenException(this, expected, null);
+        }
+    }
+}
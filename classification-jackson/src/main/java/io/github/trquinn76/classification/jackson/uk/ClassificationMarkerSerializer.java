@@ -0,0 +1,89 @@
+package io.github.trquinn76.classification.jackson.uk;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * Writes a UK {@link ClassificationMarker} as a single flat JSON object, using short field names.
+ * <p>
+ * For example {@code UK SECRET - AAA - UK/US EYES ONLY} is written as:
+ *
+ * <pre>
+ * {"uk":true,"c":"SECRET","cw":["AAA"],"eo":["UK","US"]}
+ * </pre>
+ * <p>
+ * The UK prefix and sensitive mark are only written when they are set, and empty lists are omitted.
+ */
+public class ClassificationMarkerSerializer extends StdSerializer<ClassificationMarker> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String UK_PREFIX = "uk";
+    static final String CLASSIFICATION = "c";
+    static final String SENSITIVE = "s";
+    static final String HANDLING_INSTRUCTIONS = "hi";
+    static final String DESCRIPTORS = "d";
+    static final String CODE_WORDS = "cw";
+    static final String EYES_ONLY = "eo";
+    static final String ADDITIONAL_INSTRUCTIONS = "ai";
+
+    private static final SerializableString UK_PREFIX_FIELD = new SerializedString(UK_PREFIX);
+    private static final SerializableString CLASSIFICATION_FIELD = new SerializedString(CLASSIFICATION);
+    private static final SerializableString SENSITIVE_FIELD = new SerializedString(SENSITIVE);
+    private static final SerializableString HANDLING_INSTRUCTIONS_FIELD = new SerializedString(HANDLING_INSTRUCTIONS);
+    private static final SerializableString DESCRIPTORS_FIELD = new SerializedString(DESCRIPTORS);
+    private static final SerializableString CODE_WORDS_FIELD = new SerializedString(CODE_WORDS);
+    private static final SerializableString EYES_ONLY_FIELD = new SerializedString(EYES_ONLY);
+    private static final SerializableString ADDITIONAL_INSTRUCTIONS_FIELD = new SerializedString(
+            ADDITIONAL_INSTRUCTIONS);
+
+    /**
+     * Constructor.
+     */
+    public ClassificationMarkerSerializer() {
+        super(ClassificationMarker.class);
+    }
+
+    @Override
+    public void serialize(ClassificationMarker marker, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        if (marker.ukPrefix()) {
+            gen.writeFieldName(UK_PREFIX_FIELD);
+            gen.writeBoolean(true);
+        }
+        gen.writeFieldName(CLASSIFICATION_FIELD);
+        gen.writeString(marker.classification().classificationName());
+        if (marker.sensitive()) {
+            gen.writeFieldName(SENSITIVE_FIELD);
+            gen.writeBoolean(true);
+        }
+        writeStrings(gen, HANDLING_INSTRUCTIONS_FIELD, marker.handlingInstructions());
+        writeStrings(gen, DESCRIPTORS_FIELD, marker.descriptors());
+        writeStrings(gen, CODE_WORDS_FIELD, marker.codeWords());
+        writeStrings(gen, EYES_ONLY_FIELD, marker.eyesOnly());
+        writeStrings(gen, ADDITIONAL_INSTRUCTIONS_FIELD, marker.additionalInstructions());
+        gen.writeEndObject();
+    }
+
+    private static void writeStrings(JsonGenerator gen, SerializableString field, List<String> values)
+            throws IOException {
+        if (values.isEmpty()) {
+            return;
+        }
+        gen.writeFieldName(field);
+        gen.writeStartArray();
+        for (String value : values) {
+            gen.writeString(value);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Defines streaming Jackson serialisers and deserialisers for the Classification/Protective Marking models.
+ */
+open module io.github.trquinn76.classification.jackson {
+    requires transitive com.fasterxml.jackson.databind;
+    requires transitive io.github.trquinn76.classification.aus;
+    requires transitive io.github.trquinn76.classification.nzl;
+    requires transitive io.github.trquinn76.classification.uk;
+
+    exports io.github.trquinn76.classification.jackson;
+    exports io.github.trquinn76.classification.jackson.aus;
+    exports io.github.trquinn76.classification.jackson.nzl;
+    exports io.github.trquinn76.classification.jackson.uk;
+}
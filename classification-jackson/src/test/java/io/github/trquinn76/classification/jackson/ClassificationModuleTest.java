@@ -0,0 +1,140 @@
+package io.github.trquinn76.classification.jackson;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class ClassificationModuleTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new ClassificationModule());
+
+    @Test
+    void ausRoundTripTest() throws JsonProcessingException {
+        io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder builder = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder();
+        List<ProtectiveMarker> markers = List.of(
+                builder.official().build(),
+                builder.clear().protect().addCodeword("AAA").addForeignGovernmentMarking("BBB").exclusiveFor("CCC")
+                        .legalPrivilege().legislativeSecrecy("Secrecy Act").build(),
+                builder.clear().secret().rel("AUS", "NZL", "GBR").build(),
+                builder.clear().topSecret().austeo().orcon().build(),
+                new ProtectiveMarker(Classification.secret(), List.of(),
+                        new SecurityCaveats(List.of(), List.of(), null, null)));
+
+        for (ProtectiveMarker marker : markers) {
+            String json = mapper.writeValueAsString(marker);
+            ProtectiveMarker parsed = mapper.readValue(json, ProtectiveMarker.class);
+            assertEquals(marker, parsed);
+            assertEquals(marker.toString(), parsed.toString());
+        }
+    }
+
+    @Test
+    void ausCompactFormTest() throws JsonProcessingException {
+        ProtectiveMarker marker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret()
+                .addCodeword("AAA").rel("AUS", "NZL").legalPrivilege().build();
+        String json = mapper.writeValueAsString(marker);
+        assertEquals(
+                "{\"c\":\"DEVELOPMENT_SECRET\",\"cw\":[\"AAA\"],\"rt\":\"REL\",\"rel\":[\"AUS\",\"NZL\"],\"imm\":[[\"LEGAL_PRIVILEGE\"]]}",
+                json);
+        assertTrue(json.length() < new ObjectMapper().writeValueAsString(marker).length());
+    }
+
+    @Test
+    void nzlRoundTripTest() throws JsonProcessingException {
+        io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder builder = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder();
+        List<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> markers = List.of(
+                builder.unclassified().build(),
+                builder.clear().inConfidence().appointments().departmentUseOnly("MFAT", "DPMC").build(),
+                builder.clear().sensitive().embargoedForRelease(LocalDateTime.of(2025, 3, 1, 9, 30)).build(),
+                builder.clear().secret().accountableMaterial().sensitiveCompartments("AAA", "BBB").build(),
+                builder.clear().secret().disseminationMarks("ORCON").relTo("NZL", "GBR", "USA").build(),
+                builder.clear().confidental().nzeo().build());
+
+        for (io.github.trquinn76.classification.nzl.model.ProtectiveMarker marker : markers) {
+            String json = mapper.writeValueAsString(marker);
+            io.github.trquinn76.classification.nzl.model.ProtectiveMarker parsed = mapper.readValue(json,
+                    io.github.trquinn76.classification.nzl.model.ProtectiveMarker.class);
+            assertEquals(marker, parsed);
+            assertEquals(marker.toString(), parsed.toString());
+        }
+    }
+
+    @Test
+    void ukRoundTripTest() throws JsonProcessingException {
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        List<ClassificationMarker> markers = List.of(
+                builder.official().build(),
+                builder.clear().officialSensitive().recipientsOnly().personalData().build(),
+                builder.clear().secret().useOnly("ALPHA", "BETA").codeWords("AAA", "BBB").ukEyesOnly()
+                        .addEyesOnlyCountry("US").build(),
+                builder.clear().ukPrefix().topSecret().fiveEyesOnly().additionalInstructions("Handle with care")
+                        .build());
+
+        for (ClassificationMarker marker : markers) {
+            String json = mapper.writeValueAsString(marker);
+            ClassificationMarker parsed = mapper.readValue(json, ClassificationMarker.class);
+            assertEquals(marker, parsed);
+        }
+    }
+
+    @Test
+    void internOnReadTest() throws JsonProcessingException {
+        ProtectiveMarker marker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret()
+                .rel("AUS", "USA").build();
+        String json = mapper.writeValueAsString(marker);
+        ProtectiveMarker first = mapper.readValue(json, ProtectiveMarker.class);
+        ProtectiveMarker second = mapper.readValue(json, ProtectiveMarker.class);
+        assertSame(first, second);
+    }
+
+    @Test
+    void nestedTest() throws JsonProcessingException {
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        List<ClassificationMarker> markers = List.of(builder.official().build(), builder.secret().build());
+        String json = mapper.writeValueAsString(markers);
+        assertEquals(markers, mapper.readValue(json, new TypeReference<List<ClassificationMarker>>() {
+        }));
+    }
+
+    @Test
+    void invalidInputTest() throws JsonProcessingException {
+        assertThrows(InvalidFormatException.class,
+                () -> mapper.readValue("{\"c\":\"SECRET\"}", ProtectiveMarker.class));
+        assertThrows(InvalidFormatException.class,
+                () -> mapper.readValue("{\"c\":\"DEVELOPMENT_SECRET\",\"rt\":\"NOPE\"}", ProtectiveMarker.class));
+        assertThrows(MismatchedInputException.class, () -> mapper.readValue("{\"cw\":[]}", ProtectiveMarker.class));
+        assertThrows(MismatchedInputException.class,
+                () -> mapper.readValue("{\"c\":\"DEVELOPMENT_SECRET\",\"cw\":\"AAA\"}", ProtectiveMarker.class));
+        assertThrows(MismatchedInputException.class,
+                () -> mapper.readValue("{\"c\":\"DEVELOPMENT_SECRET\",\"pp\":[[\"DEPARTMENT_USE_ONLY\"]]}",
+                        io.github.trquinn76.classification.nzl.model.ProtectiveMarker.class));
+    }
+
+    @Test
+    void unknownPropertyTest() throws JsonProcessingException {
+        String json = "{\"c\":\"DEVELOPMENT_OFFICIAL\",\"x\":{\"y\":[1,2]}}";
+        assertThrows(UnrecognizedPropertyException.class, () -> mapper.readValue(json, ClassificationMarker.class));
+
+        ObjectMapper lenient = new ObjectMapper().registerModule(new ClassificationModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        assertEquals(new ClassificationMarkerBuilder().official().build(),
+                lenient.readValue(json, ClassificationMarker.class));
+    }
+}
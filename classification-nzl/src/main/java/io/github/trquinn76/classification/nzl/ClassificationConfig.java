@@ -72,18 +72,29 @@ public class ClassificationConfig {
 
     /**
      * Gets the {@link Comparator} which defines the order in which releasable to
-     * lists should be sorted.
+     * lists should be sorted, from the bound {@link ClassificationContext} if there is one.
      * 
      * @return the configured {@link Comparator}.
      */
     public static Comparator<String> releasableToOrder() {
-        Config config = getInstance();
-        if (config.trquinnClassificationReltoOrder.equals(FIVEEYESFIRST)) {
+        ClassificationContext context = ClassificationContext.bound();
+        if (context != null) {
+            return context.releasableToOrder();
+        }
+        return releasableToOrder(getInstance().trquinnClassificationReltoOrder);
+    }
+
+    static Comparator<String> releasableToOrder(String order) {
+        if (order.equals(FIVEEYESFIRST)) {
             return Utils.FIVE_EYES_FIRST;
         }
         return Utils.NZL_FIRST;
     }
 
+    static String configuredReleasableToOrder() {
+        return getInstance().trquinnClassificationReltoOrder;
+    }
+
     /**
      * Returns if the Classifications are in production mode.
      * 
@@ -97,10 +108,20 @@ public class ClassificationConfig {
      * <p>
      * Defaults to false. Needs to be set by a developer to use real
      * {@link io.github.trquinn76.classification.nzl.model.Classification}'s.
+     * <p>
+     * While a {@link ClassificationContext} is bound to the current thread, its production mode is returned instead.
      * 
      * @return true if in Production Mode, false otherwise.
      */
     public static boolean productionMode() {
+        ClassificationContext context = ClassificationContext.bound();
+        if (context != null) {
+            return context.productionMode();
+        }
+        return configuredProductionMode();
+    }
+
+    static boolean configuredProductionMode() {
         Config config = getInstance();
         return config.trquinnClassificationProductionMode;
     }
@@ -150,6 +171,8 @@ public class ClassificationConfig {
 
     private static Config getInstance() {
         if (INSTANCE == null) {
+            ConfigLoadEvent event = new ConfigLoadEvent();
+            event.begin();
             List<String> filesToSearch = makeListOfConfigFiles();
             List<Properties> configProperties = readPropertiesConfigFiles(filesToSearch);
 
@@ -169,6 +192,8 @@ public class ClassificationConfig {
             config.dateTimeFormatPattern = getConfig(DATETIMEFORMATPATTERN, configProperties);
 
             INSTANCE = config;
+            Instrumentation.configLoaded(event, filesToSearch, configProperties.size(),
+                    config.trquinnClassificationProductionMode);
         }
         return INSTANCE;
     }
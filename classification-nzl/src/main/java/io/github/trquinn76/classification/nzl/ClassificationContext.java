@@ -0,0 +1,217 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+
+/**
+ * A set of Classification Configuration values, which may be bound to the current thread while a task runs, so that
+ * tenants with different configuration can share a single JVM.
+ * <p>
+ * {@link ClassificationConfig} provides a single, process wide configuration. While a {@link ClassificationContext} is
+ * bound by {@link #run(Runnable)} or {@link #get(Supplier)}, the {@link ClassificationConfig} functions return its
+ * values instead, so the {@link Classification}'s, builders, parsers, renderers and codecs used by the task all follow
+ * the bound context without being given it. A {@link ClassificationContext} may be bound on any number of threads at
+ * once, and binding one again while it, or another context, is bound restores the outer context when the inner task
+ * ends. When no context is bound, the {@link ClassificationConfig} values are used, as before.
+ * <p>
+ * The values of a marker depend on the context it was created in, so markers should be created and used within the
+ * same context. Caches such as the {@link ProtectiveMarkerInterner} keep the values of each mode apart, and so may be
+ * shared between contexts.
+ * <p>
+ * A bound context is carried onto the background thread of an {@link EndorsementScheduler}, and onto subtasks forked
+ * by {@link HighWaterMarkScope#fork(java.util.concurrent.Callable)}. Work handed to other executors must bind the
+ * context itself, with {@link #run(Runnable)} or {@link #get(Supplier)}.
+ * <p>
+ * The development Classification names are fixed when the
+ * {@link io.github.trquinn76.classification.nzl.model.DevelopmentClassification} enumeration is loaded, so are not
+ * held by a {@link ClassificationContext}.
+ */
+public final class ClassificationContext {
+
+    private static final ThreadLocal<ClassificationContext> BOUND = new ThreadLocal<>();
+
+    // set once a context has been bound, so that applications which never bind one skip the thread local lookup.
+    private static volatile boolean used = false;
+
+    private final boolean productionMode;
+    private final String releasableToOrder;
+
+    private ClassificationContext(boolean productionMode, String releasableToOrder) {
+        this.productionMode = productionMode;
+        this.releasableToOrder = releasableToOrder;
+    }
+
+    /**
+     * Provides a {@link ClassificationContext} holding the values currently configured by {@link ClassificationConfig}.
+     *
+     * @return the default {@link ClassificationContext}.
+     */
+    public static ClassificationContext defaultContext() {
+        return new ClassificationContext(ClassificationConfig.configuredProductionMode(),
+                ClassificationConfig.configuredReleasableToOrder());
+    }
+
+    /**
+     * Provides a {@link ClassificationContext} holding the given values.
+     *
+     * @param productionMode    true to use the real Classifications, false to use the development ones.
+     * @param releasableToOrder the order of releasable to lists. One of
+     *                          {@link ClassificationConfig#RELTO_ORDER_VALUES}.
+     * @return a {@link ClassificationContext}.
+     * @throws IllegalArgumentException if the releasable to order is not a known value.
+     */
+    public static ClassificationContext of(boolean productionMode, String releasableToOrder) {
+        Objects.requireNonNull(releasableToOrder);
+        if (!ClassificationConfig.RELTO_ORDER_VALUES.contains(releasableToOrder)) {
+            throw new IllegalArgumentException("Unknown releasable to order: " + releasableToOrder);
+        }
+        return new ClassificationContext(productionMode, releasableToOrder);
+    }
+
+    /**
+     * Provides the {@link ClassificationContext} bound to the current thread, or the default one if none is bound.
+     *
+     * @return the current {@link ClassificationContext}.
+     */
+    public static ClassificationContext current() {
+        ClassificationContext context = bound();
+        return context != null ? context : defaultContext();
+    }
+
+    /**
+     * @return the {@link ClassificationContext} bound to the current thread, or null.
+     */
+    static ClassificationContext bound() {
+        return used ? BOUND.get() : null;
+    }
+
+    /**
+     * Wraps a task so that it runs with the {@link ClassificationContext} bound to the current thread, when it is later
+     * run on another thread. The task is returned unwrapped when no context is bound.
+     *
+     * @param task the task to wrap.
+     * @return a {@link Runnable} which binds the captured context while the task runs.
+     */
+    static Runnable capture(Runnable task) {
+        ClassificationContext context = bound();
+        return context == null ? task : () -> context.run(task);
+    }
+
+    /**
+     * Wraps a task so that it runs with the {@link ClassificationContext} bound to the current thread, when it is later
+     * called on another thread. The task is returned unwrapped when no context is bound.
+     *
+     * @param <T>  the type of the result.
+     * @param task the task to wrap.
+     * @return a {@link Callable} which binds the captured context while the task runs.
+     */
+    static <T> Callable<T> capture(Callable<T> task) {
+        ClassificationContext context = bound();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            ClassificationContext outer = context.bind();
+            try {
+                return task.call();
+            } finally {
+                unbind(outer);
+            }
+        };
+    }
+
+    /**
+     * Provides a copy of this {@link ClassificationContext} with the given production mode.
+     *
+     * @param productionMode true to use the real Classifications, false to use the development ones.
+     * @return a {@link ClassificationContext}.
+     */
+    public ClassificationContext withProductionMode(boolean productionMode) {
+        return new ClassificationContext(productionMode, this.releasableToOrder);
+    }
+
+    /**
+     * Runs the given task with this {@link ClassificationContext} bound to the current thread.
+     *
+     * @param task the task to run. May not be null.
+     */
+    public void run(Runnable task) {
+        Objects.requireNonNull(task);
+        get(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the given task with this {@link ClassificationContext} bound to the current thread, and provides its result.
+     *
+     * @param <T>  the type of the result.
+     * @param task the task to run. May not be null.
+     * @return the result of the task.
+     */
+    public <T> T get(Supplier<T> task) {
+        Objects.requireNonNull(task);
+        ClassificationContext outer = bind();
+        try {
+            return task.get();
+        } finally {
+            unbind(outer);
+        }
+    }
+
+    private ClassificationContext bind() {
+        used = true;
+        ClassificationContext outer = BOUND.get();
+        BOUND.set(this);
+        return outer;
+    }
+
+    private static void unbind(ClassificationContext outer) {
+        if (outer == null) {
+            BOUND.remove();
+        } else {
+            BOUND.set(outer);
+        }
+    }
+
+    /**
+     * @return true if the real Classifications are used, false if the development ones are.
+     */
+    public boolean productionMode() {
+        return this.productionMode;
+    }
+
+    /**
+     * @return the {@link Comparator} which defines the order in which releasable to lists are sorted.
+     */
+    public Comparator<String> releasableToOrder() {
+        return ClassificationConfig.releasableToOrder(this.releasableToOrder);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productionMode, releasableToOrder);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ClassificationContext other)) {
+            return false;
+        }
+        return productionMode == other.productionMode && releasableToOrder.equals(other.releasableToOrder);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassificationContext[productionMode=" + productionMode + ", releasableToOrder=" + releasableToOrder
+                + "]";
+    }
+}
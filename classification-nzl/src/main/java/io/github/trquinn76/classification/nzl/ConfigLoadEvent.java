@@ -0,0 +1,28 @@
+package io.github.trquinn76.classification.nzl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The load of the {@link ClassificationConfig}.
+ */
+@Name("io.github.trquinn76.classification.nzl.ConfigLoad")
+@Label("Config Load")
+@Category({ "Classification", "NZL" })
+@StackTrace(false)
+final class ConfigLoadEvent extends Event {
+
+    @Label("Files")
+    @Description("The configuration files searched, in order.")
+    String files;
+
+    @Label("Files Read")
+    int filesRead;
+
+    @Label("Production Mode")
+    boolean productionMode;
+}
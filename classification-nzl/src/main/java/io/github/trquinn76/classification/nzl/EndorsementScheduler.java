@@ -0,0 +1,341 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+/**
+ * Notifies a {@link Listener} when the embargo of an item lifts, or its review falls due.
+ * <p>
+ * Items are scheduled with an id and their {@link ProtectiveMarker}, and each {@code EMBARGOED FOR RELEASE} and
+ * {@code TO BE REVIEWED ON} endorsement of the marker is held in a hierarchical timing wheel until its time. Scheduling
+ * and cancelling an item take constant time however many items are held, and each turn of the wheel visits only the
+ * endorsements falling due, rather than every item. Endorsement times are taken to be in the {@link ZoneId} of the
+ * scheduler, which is New Zealand time by default.
+ * <p>
+ * The wheel is turned by {@link #advance()}, which notifies the {@link Listener} of every endorsement whose time the
+ * {@link Clock} has reached. {@link #start()} calls it once each tick from a background thread, while tests may supply
+ * their own {@link Clock} and call it directly. An endorsement is notified no earlier than its time, and no more than a
+ * tick later, and an endorsement whose time has already passed is notified at the next tick.
+ * <p>
+ * A scheduler opened with a file saves its pending endorsements to the file when {@link #save()} is called, and when
+ * it is closed, and reloads them when opened again. Endorsements which fell due while it was not running are notified
+ * by the first {@link #advance()}. The file is replaced atomically, so a failed save leaves the previous one intact.
+ * <p>
+ * An {@link EndorsementScheduler} may be shared between threads. The {@link Listener} is called without any lock
+ * held, so it may schedule and cancel items.
+ */
+public final class EndorsementScheduler implements AutoCloseable {
+
+    /**
+     * Receives endorsements as they fall due.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param endorsement the endorsement which has fallen due. It is no longer scheduled.
+         */
+        void due(ScheduledEndorsement endorsement);
+    }
+
+    /**
+     * The time zone of New Zealand, the default for endorsement times.
+     */
+    public static final ZoneId NEW_ZEALAND = ZoneId.of("Pacific/Auckland");
+
+    /**
+     * The default tick, the granularity of notifications.
+     */
+    public static final Duration DEFAULT_TICK = Duration.ofSeconds(1);
+
+    private static final Logger LOGGER = Logger.getLogger(EndorsementScheduler.class.getCanonicalName());
+
+    private static final int MAGIC = 0x4E5A4553; // "NZES"
+    private static final byte FORMAT_VERSION = 1;
+
+    private final Clock clock;
+    private final ZoneId zone;
+    private final long tickMillis;
+    private final Listener listener;
+    private final Path path;
+    private final TimingWheel<ScheduledEndorsement> wheel;
+    private final Map<String, List<TimingWheel.Timer<ScheduledEndorsement>>> items = new HashMap<>();
+    private final Object saveLock = new Object();
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor for a scheduler using the system clock, New Zealand time and the {@link #DEFAULT_TICK}, which is not
+     * saved.
+     *
+     * @param listener the {@link Listener} to notify. May not be null.
+     */
+    public EndorsementScheduler(Listener listener) {
+        this(Clock.systemUTC(), NEW_ZEALAND, DEFAULT_TICK, listener);
+    }
+
+    /**
+     * Constructor for a scheduler which is not saved.
+     *
+     * @param clock    the {@link Clock} endorsements fall due by. May not be null.
+     * @param zone     the {@link ZoneId} endorsement times are in. May not be null.
+     * @param tick     the granularity of notifications. Must be at least a millisecond.
+     * @param listener the {@link Listener} to notify. May not be null.
+     */
+    public EndorsementScheduler(Clock clock, ZoneId zone, Duration tick, Listener listener) {
+        this(clock, zone, tick, listener, null);
+    }
+
+    private EndorsementScheduler(Clock clock, ZoneId zone, Duration tick, Listener listener, Path path) {
+        this.clock = Objects.requireNonNull(clock);
+        this.zone = Objects.requireNonNull(zone);
+        this.listener = Objects.requireNonNull(listener);
+        this.tickMillis = tick.toMillis();
+        if (this.tickMillis <= 0) {
+            throw new IllegalArgumentException("tick must be at least a millisecond: " + tick);
+        }
+        this.path = path;
+        // start a tick behind, so that endorsements already due are notified by the first advance().
+        this.wheel = new TimingWheel<>(currentTick() - 1);
+    }
+
+    /**
+     * Opens a scheduler which is saved to the given file, loading any endorsements saved there before.
+     *
+     * @param path     the file to save pending endorsements to. May not be null. It need not exist.
+     * @param clock    the {@link Clock} endorsements fall due by. May not be null.
+     * @param zone     the {@link ZoneId} endorsement times are in. May not be null.
+     * @param tick     the granularity of notifications. Must be at least a millisecond.
+     * @param listener the {@link Listener} to notify. May not be null.
+     * @return a new {@link EndorsementScheduler}.
+     * @throws IOException if the file exists but can not be read, or is not a scheduler file.
+     */
+    public static EndorsementScheduler open(Path path, Clock clock, ZoneId zone, Duration tick, Listener listener)
+            throws IOException {
+        Objects.requireNonNull(path);
+        EndorsementScheduler scheduler = new EndorsementScheduler(clock, zone, tick, listener, path);
+        for (ScheduledEndorsement endorsement : load(path)) {
+            scheduler.add(endorsement);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Schedules the timed endorsements of an item, replacing any scheduled for it before.
+     *
+     * @param itemId the id of the item. May not be null.
+     * @param marker the {@link ProtectiveMarker} of the item. May not be null.
+     * @return the number of endorsements scheduled, which is zero if the marker has no timed endorsements.
+     */
+    public synchronized int schedule(String itemId, ProtectiveMarker marker) {
+        Objects.requireNonNull(itemId);
+        Objects.requireNonNull(marker);
+        cancel(itemId);
+        int count = 0;
+        for (PolicyAndPrivacyEndorsementMarking marking : marker.policyAndPrivacyEndorsements()) {
+            if (marking.time() != null) {
+                add(new ScheduledEndorsement(itemId, marking.endorsement(), marking.time()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param itemId the id of the item. May not be null.
+     * @return true if the item had endorsements scheduled.
+     */
+    public synchronized boolean cancel(String itemId) {
+        List<TimingWheel.Timer<ScheduledEndorsement>> timers = this.items.remove(Objects.requireNonNull(itemId));
+        if (timers == null) {
+            return false;
+        }
+        for (TimingWheel.Timer<ScheduledEndorsement> timer : timers) {
+            this.wheel.remove(timer);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of endorsements scheduled.
+     */
+    public synchronized int size() {
+        return this.wheel.size();
+    }
+
+    /**
+     * @param itemId the id of the item. May not be null.
+     * @return the endorsements scheduled for the item, or an empty list.
+     */
+    public synchronized List<ScheduledEndorsement> scheduled(String itemId) {
+        List<TimingWheel.Timer<ScheduledEndorsement>> timers = this.items.get(Objects.requireNonNull(itemId));
+        return timers == null ? List.of() : timers.stream().map(TimingWheel.Timer::value).toList();
+    }
+
+    /**
+     * Turns the wheel to the time of the {@link Clock}, notifying the {@link Listener} of every endorsement which has
+     * fallen due, in the order they fell due. An exception thrown by the {@link Listener} is logged, and does not
+     * prevent the remaining endorsements from being notified.
+     *
+     * @return the number of endorsements notified.
+     */
+    public int advance() {
+        List<ScheduledEndorsement> due = new ArrayList<>();
+        synchronized (this) {
+            this.wheel.advance(currentTick(), endorsement -> {
+                due.add(endorsement);
+                List<TimingWheel.Timer<ScheduledEndorsement>> timers = this.items.get(endorsement.itemId());
+                timers.removeIf(timer -> timer.value() == endorsement);
+                if (timers.isEmpty()) {
+                    this.items.remove(endorsement.itemId());
+                }
+            });
+        }
+        for (ScheduledEndorsement endorsement : due) {
+            try {
+                this.listener.due(endorsement);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Listener failed for " + endorsement, e);
+            }
+        }
+        return due.size();
+    }
+
+    /**
+     * Starts calling {@link #advance()} once each tick, from a background daemon thread, within the
+     * {@link ClassificationContext} bound when it is started. Has no effect if already started.
+     */
+    public synchronized void start() {
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("endorsement-scheduler").factory());
+            Runnable advance = this::advance;
+            this.executor.scheduleAtFixedRate(ClassificationContext.capture(advance), this.tickMillis, this.tickMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Saves the pending endorsements to the file the scheduler was opened with.
+     *
+     * @throws IOException           if the file can not be written.
+     * @throws IllegalStateException if the scheduler was not opened with a file.
+     */
+    public void save() throws IOException {
+        if (this.path == null) {
+            throw new IllegalStateException("EndorsementScheduler was not opened with a file");
+        }
+        // saves are serialised, so the last snapshot taken is the last one moved into place.
+        synchronized (this.saveLock) {
+            List<ScheduledEndorsement> pending = new ArrayList<>();
+            synchronized (this) {
+                for (List<TimingWheel.Timer<ScheduledEndorsement>> timers : this.items.values()) {
+                    for (TimingWheel.Timer<ScheduledEndorsement> timer : timers) {
+                        pending.add(timer.value());
+                    }
+                }
+            }
+            // a temporary file of its own, in the same directory so that it can be moved atomically.
+            Path temporary = Files.createTempFile(this.path.toAbsolutePath().getParent(),
+                    this.path.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    out.writeInt(MAGIC);
+                    out.writeByte(FORMAT_VERSION);
+                    out.writeInt(pending.size());
+                    for (ScheduledEndorsement endorsement : pending) {
+                        out.writeUTF(endorsement.itemId());
+                        out.writeUTF(endorsement.endorsement().name());
+                        out.writeLong(endorsement.time().toEpochSecond(ZoneOffset.UTC));
+                    }
+                }
+                Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread, if started, and saves the pending endorsements, if opened with a file.
+     *
+     * @throws IOException if the file can not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = this.executor;
+            this.executor = null;
+        }
+        if (running != null) {
+            running.close();
+        }
+        if (this.path != null) {
+            save();
+        }
+    }
+
+    private void add(ScheduledEndorsement endorsement) {
+        long dueMillis = endorsement.time().atZone(this.zone).toInstant().toEpochMilli();
+        TimingWheel.Timer<ScheduledEndorsement> timer = this.wheel.add(Math.ceilDiv(dueMillis, this.tickMillis),
+                endorsement);
+        this.items.computeIfAbsent(endorsement.itemId(), id -> new ArrayList<>(2)).add(timer);
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(this.clock.millis(), this.tickMillis);
+    }
+
+    private static List<ScheduledEndorsement> load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an endorsement scheduler file");
+            }
+            byte formatVersion = in.readByte();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported endorsement scheduler file version: " + formatVersion);
+            }
+            int count = in.readInt();
+            List<ScheduledEndorsement> endorsements = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String itemId = in.readUTF();
+                PolicyAndPrivacyEndorsements endorsement = PolicyAndPrivacyEndorsements.valueOf(in.readUTF());
+                LocalDateTime time = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+                endorsements.add(new ScheduledEndorsement(itemId, endorsement, time));
+            }
+            return endorsements;
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (EOFException | IllegalArgumentException e) {
+            throw new IOException("Corrupt endorsement scheduler file", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.NationalSecurityEndorsements;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityMarking;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+
+/**
+ * Folds {@link ProtectiveMarker}'s into their high water mark one at a time, as {@link Utils#merge(Collection)} does,
+ * so the markers need not be collected first.
+ * <p>
+ * The merge of two collections is the merge of their merges, so {@link #addAll(HighWaterMarkAccumulator)} combines
+ * the accumulators of separate collections without revisiting their markers. Adding a {@link ProtectiveMarker} again
+ * changes nothing.
+ * <p>
+ * A {@link HighWaterMarkAccumulator} is not thread safe.
+ */
+final class HighWaterMarkAccumulator {
+
+    private Classification classification = null;
+    private final Set<PolicyAndPrivacyEndorsements> endorsements = EnumSet.noneOf(PolicyAndPrivacyEndorsements.class);
+    private LocalDateTime embargoedForRelease = null;
+    private LocalDateTime toBeReviewedOn = null;
+    // null until a USE ONLY endorsement is added, as no department is excluded before then.
+    private Set<String> departments = null;
+    private boolean accountableMaterial = false;
+    private final Set<String> sensitiveCompartments = new HashSet<>();
+    private final Set<String> disseminationMarks = new HashSet<>();
+    // null until a REL TO list is added, as no country is excluded before then.
+    private Set<String> releasableTo = null;
+    private boolean nzeo = false;
+
+    /**
+     * Adds a {@link ProtectiveMarker} to the high water mark.
+     *
+     * @param marker the {@link ProtectiveMarker} to add. May not be null.
+     */
+    void add(ProtectiveMarker marker) {
+        Objects.requireNonNull(marker);
+        raiseClassification(marker.classification());
+        for (PolicyAndPrivacyEndorsementMarking endorsement : marker.policyAndPrivacyEndorsements()) {
+            this.endorsements.add(endorsement.endorsement());
+            switch (endorsement.endorsement()) {
+            case EMBARGOED_FOR_RELEASE:
+                addEmbargoedForRelease(endorsement.time());
+                break;
+            case TO_BE_REVIEWED_ON:
+                addToBeReviewedOn(endorsement.time());
+                break;
+            case DEPARTMENT_USE_ONLY:
+                this.departments = intersect(this.departments, endorsement.departments());
+                break;
+            default:
+                break;
+            }
+        }
+        NationalSecurityEndorsements endorsements = marker.nationalSecurityEndorsements();
+        if (endorsements != null) {
+            this.accountableMaterial |= endorsements.accountableMaterial();
+            this.sensitiveCompartments.addAll(endorsements.sensitiveCompartments());
+            this.disseminationMarks.addAll(endorsements.disseminationMarks());
+            ReleasabilityMarking releasability = endorsements.releasability();
+            if (releasability != null) {
+                if (releasability.type() == ReleasabilityTypes.NZEO) {
+                    this.nzeo = true;
+                } else {
+                    this.releasableTo = intersect(this.releasableTo, releasability.releasableToList());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the high water mark of another {@link HighWaterMarkAccumulator} to this one.
+     *
+     * @param other the {@link HighWaterMarkAccumulator} to add. May not be null.
+     */
+    void addAll(HighWaterMarkAccumulator other) {
+        if (other.isEmpty()) {
+            return;
+        }
+        raiseClassification(other.classification);
+        this.endorsements.addAll(other.endorsements);
+        addEmbargoedForRelease(other.embargoedForRelease);
+        addToBeReviewedOn(other.toBeReviewedOn);
+        if (other.departments != null) {
+            this.departments = intersect(this.departments, other.departments);
+        }
+        this.accountableMaterial |= other.accountableMaterial;
+        this.sensitiveCompartments.addAll(other.sensitiveCompartments);
+        this.disseminationMarks.addAll(other.disseminationMarks);
+        if (other.releasableTo != null) {
+            this.releasableTo = intersect(this.releasableTo, other.releasableTo);
+        }
+        this.nzeo |= other.nzeo;
+    }
+
+    /**
+     * @return true if no {@link ProtectiveMarker} has been added.
+     */
+    boolean isEmpty() {
+        return this.classification == null;
+    }
+
+    /**
+     * @return the highest {@link Classification} added, or null if no {@link ProtectiveMarker} has been added.
+     */
+    Classification classification() {
+        return this.classification;
+    }
+
+    /**
+     * @return a new {@link ProtectiveMarkerBuilder} representing the high water mark, as
+     *         {@link Utils#merge(Collection)} describes, or null if no {@link ProtectiveMarker} has been added.
+     */
+    ProtectiveMarkerBuilder merged() {
+        if (isEmpty()) {
+            return null;
+        }
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder().setClassification(this.classification);
+        this.endorsements.forEach(builder::addPolicyAndPrivacyEndorsement);
+        builder.setEmbargoedForReleaseTime(this.embargoedForRelease).setToBeReviewedOnTime(this.toBeReviewedOn);
+        if (this.departments != null) {
+            builder.setDepartmentUseOnlyDepartments(this.departments);
+        }
+        if (this.accountableMaterial) {
+            builder.accountableMaterial();
+        }
+        this.sensitiveCompartments.forEach(builder::addSensitiveCompartment);
+        this.disseminationMarks.forEach(builder::addDisseminationMark);
+        boolean nzeo = this.nzeo;
+        Set<String> releasableTo = null;
+        if (this.releasableTo != null) {
+            releasableTo = new HashSet<>(this.releasableTo);
+            releasableTo.remove(Utils.NZL);
+            nzeo |= releasableTo.isEmpty();
+        }
+        if (nzeo) {
+            builder.nzeo();
+        } else if (releasableTo != null) {
+            // setting RELTO adds NZL back to the list.
+            builder.setReleasableToList(releasableTo).setReleasability(ReleasabilityTypes.RELTO);
+        }
+        return builder;
+    }
+
+    private void raiseClassification(Classification classification) {
+        if (this.classification == null || this.classification.compareTo(classification) < 0) {
+            this.classification = classification;
+        }
+    }
+
+    private void addEmbargoedForRelease(LocalDateTime time) {
+        // the embargo lifts once the latest embargo has lifted.
+        if (time != null && (this.embargoedForRelease == null || time.isAfter(this.embargoedForRelease))) {
+            this.embargoedForRelease = time;
+        }
+    }
+
+    private void addToBeReviewedOn(LocalDateTime time) {
+        // the review falls due with the earliest review.
+        if (time != null && (this.toBeReviewedOn == null || time.isBefore(this.toBeReviewedOn))) {
+            this.toBeReviewedOn = time;
+        }
+    }
+
+    private static Set<String> intersect(Set<String> current, Collection<String> values) {
+        if (current == null) {
+            return new HashSet<>(values);
+        }
+        current.retainAll(values);
+        return current;
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+
+/**
+ * Records this library's operations as JDK Flight Recorder events, and with the installed {@link MarkerMetrics}.
+ * <p>
+ * Event fields, and metric tags, are only computed when an event is enabled, or {@link MarkerMetrics} are installed.
+ */
+final class Instrumentation {
+
+    private static final Logger LOGGER = Logger.getLogger(Instrumentation.class.getCanonicalName());
+
+    static volatile MarkerMetrics metrics = load();
+
+    static void built(MarkerBuildEvent event, Classification classification) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.classification = classification.classificationName();
+            event.valid = true;
+            event.commit();
+        }
+        MarkerMetrics current = metrics;
+        if (current != null) {
+            current.increment(MarkerMetrics.BUILD, classification.classificationName());
+        }
+    }
+
+    static void buildFailed(MarkerBuildEvent event, List<String> report, Supplier<List<String>> failedRules) {
+        event.end();
+        MarkerValidationFailedEvent failure = new MarkerValidationFailedEvent();
+        MarkerMetrics current = metrics;
+        if (!event.shouldCommit() && !failure.shouldCommit() && current == null) {
+            return;
+        }
+        List<String> rules = failedRules.get();
+        if (event.shouldCommit()) {
+            event.valid = false;
+            event.commit();
+        }
+        if (failure.shouldCommit()) {
+            failure.rules = String.join(",", rules);
+            failure.problems = String.join(" ", report);
+            failure.problemCount = report.size();
+            failure.commit();
+        }
+        if (current != null) {
+            rules.forEach(rule -> current.increment(MarkerMetrics.VALIDATION_FAILURE, rule));
+        }
+    }
+
+    static void merged(MarkerMergeEvent event, int size, Classification classification) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.markerCount = size;
+            event.classification = classification == null ? null : classification.classificationName();
+            event.commit();
+        }
+        MarkerMetrics current = metrics;
+        if (current != null) {
+            current.record(MarkerMetrics.MERGE_SIZE, size);
+        }
+    }
+
+    static void parsed(boolean valid) {
+        MarkerMetrics current = metrics;
+        if (current != null) {
+            current.increment(MarkerMetrics.PARSE, valid ? "parsed" : "rejected");
+        }
+    }
+
+    static void configLoaded(ConfigLoadEvent event, List<String> files, int filesRead, boolean productionMode) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.files = String.join(",", files);
+            event.filesRead = filesRead;
+            event.productionMode = productionMode;
+            event.commit();
+        }
+        MarkerMetrics current = metrics;
+        if (current != null) {
+            current.increment(MarkerMetrics.CONFIG_LOAD, productionMode ? "production" : "development");
+        }
+    }
+
+    private static MarkerMetrics load() {
+        try {
+            return ServiceLoader.load(MarkerMetrics.class).findFirst().orElse(null);
+        }
+        catch (ServiceConfigurationError e) {
+            LOGGER.warning("Unable to load MarkerMetrics: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Instrumentation() {
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.nzl.model.DevelopmentClassification;
+import io.github.trquinn76.classification.nzl.model.NZLClassification;
+import io.github.trquinn76.classification.nzl.model.NationalSecurityEndorsements;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityMarking;
+
+/**
+ * A 128 bit fingerprint of a {@link ProtectiveMarker}, for keying markers in distributed caches and deduplicating
+ * stores.
+ * <p>
+ * The fingerprint is the {@code MurmurHash3_x64_128} of a canonical encoding of the marker, so that it is the same in
+ * every JVM, and unlike {@link ProtectiveMarker#hashCode()} may be stored and shared. The canonical encoding is:
+ * <ul>
+ * <li>the scheme, {@code NZL}, and the version of the canonical encoding, currently {@value #VERSION}.</li>
+ * <li>the {@link NZLClassification} name of the Classification. A development Classification is written as the
+ * production Classification of the same level, so fingerprints do not change between production and development
+ * mode.</li>
+ * <li>the Policy and Privacy Endorsements, each as its name followed by its value: the date time of a timed
+ * endorsement as its epoch second, in 8 big endian bytes, or the departments of {@code USE ONLY}.</li>
+ * <li>whether there are National Security Endorsements, and if so whether they are Accountable Material, the
+ * sensitive compartments, the dissemination marks, and whether there is a Releasability Marking and if so its type
+ * name and releasable to list.</li>
+ * </ul>
+ * Enumeration entries are written by name rather than ordinal, Strings in full rather than through a dictionary, and
+ * date times as instants rather than text, so that neither new entries, a {@link ProtectiveMarkerCodec} dictionary nor
+ * the configured date time format change a fingerprint. Strings are written as their length, as an unsigned variable
+ * length integer, and UTF-8 bytes, and lists as their count and each String. The encoding only changes with its
+ * version, and a new version is expected to change every fingerprint.
+ * <p>
+ * Equal markers always have equal fingerprints. {@link ProtectiveMarkerInterner#fingerprint(ProtectiveMarker)}
+ * computes the fingerprint of each interned marker once.
+ *
+ * @param high the high 64 bits, {@code h1} of MurmurHash3.
+ * @param low  the low 64 bits, {@code h2} of MurmurHash3.
+ */
+public record MarkerFingerprint(long high, long low) {
+
+    /**
+     * The version of the canonical encoding fingerprinted.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * The number of bytes in a fingerprint.
+     */
+    public static final int BYTES = 16;
+
+    private static final byte[] SCHEME = "NZL".getBytes(StandardCharsets.US_ASCII);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * The production Classification name of each development Classification name.
+     */
+    private static final Map<String, String> PRODUCTION_NAMES = productionNames();
+
+    /**
+     * Computes the fingerprint of a {@link ProtectiveMarker}.
+     *
+     * @param marker the {@link ProtectiveMarker}. May not be null.
+     * @return the fingerprint of the marker.
+     */
+    public static MarkerFingerprint of(ProtectiveMarker marker) {
+        Objects.requireNonNull(marker);
+        Canonical out = new Canonical();
+        out.putBytes(SCHEME);
+        out.put(VERSION);
+        String name = marker.classification().classificationName();
+        out.putString(PRODUCTION_NAMES.getOrDefault(name, name));
+
+        out.putVarint(marker.policyAndPrivacyEndorsements().size());
+        for (PolicyAndPrivacyEndorsementMarking endorsement : marker.policyAndPrivacyEndorsements()) {
+            out.putString(endorsement.endorsement().name());
+            switch (endorsement.endorsement()) {
+            case EMBARGOED_FOR_RELEASE, TO_BE_REVIEWED_ON -> out.putLong(endorsement.epochSecond());
+            case DEPARTMENT_USE_ONLY -> out.putStrings(endorsement.departments());
+            default -> {
+            }
+            }
+        }
+
+        NationalSecurityEndorsements nse = marker.nationalSecurityEndorsements();
+        out.putPresent(nse);
+        if (nse != null) {
+            out.put(nse.accountableMaterial() ? 1 : 0);
+            out.putStrings(nse.sensitiveCompartments());
+            out.putStrings(nse.disseminationMarks());
+            ReleasabilityMarking releasability = nse.releasability();
+            out.putPresent(releasability);
+            if (releasability != null) {
+                out.putString(releasability.type().name());
+                out.putStrings(releasability.releasableToList());
+            }
+        }
+        return MurmurHash3.hash128(out.bytes, out.length);
+    }
+
+    /**
+     * Reads a fingerprint from the bytes written by {@link #toBytes()}.
+     *
+     * @param bytes {@value #BYTES} bytes. May not be null.
+     * @return the fingerprint.
+     * @throws IllegalArgumentException if there are not {@value #BYTES} bytes.
+     */
+    public static MarkerFingerprint fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("A MarkerFingerprint is " + BYTES + " bytes, not " + bytes.length);
+        }
+        return new MarkerFingerprint(getLong(bytes, 0), getLong(bytes, 8));
+    }
+
+    /**
+     * Reads a fingerprint from the text written by {@link #toString()}.
+     *
+     * @param text 32 hexadecimal digits. May not be null.
+     * @return the fingerprint.
+     * @throws IllegalArgumentException if the text is not 32 hexadecimal digits.
+     */
+    public static MarkerFingerprint fromString(String text) {
+        if (text.length() != BYTES * 2) {
+            throw new IllegalArgumentException("A MarkerFingerprint is " + BYTES * 2 + " hexadecimal digits: " + text);
+        }
+        return fromBytes(HEX.parseHex(text));
+    }
+
+    /**
+     * @return the fingerprint as {@value #BYTES} bytes, the high bits first, each half in big endian order.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (this.high >>> (56 - i * 8));
+            bytes[i + 8] = (byte) (this.low >>> (56 - i * 8));
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the fingerprint as 32 lower case hexadecimal digits, the high bits first.
+     */
+    @Override
+    public String toString() {
+        return HEX.toHexDigits(this.high) + HEX.toHexDigits(this.low);
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    private static Map<String, String> productionNames() {
+        Map<String, String> names = new HashMap<>();
+        NZLClassification[] production = NZLClassification.values();
+        for (DevelopmentClassification development : DevelopmentClassification.values()) {
+            names.put(development.name(), production[development.ordinal()].name());
+        }
+        return Map.copyOf(names);
+    }
+
+    /**
+     * A growable buffer holding a canonical encoding.
+     */
+    private static final class Canonical {
+
+        private byte[] bytes = new byte[64];
+        private int length;
+
+        void put(int value) {
+            if (this.length == this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, this.length * 2);
+            }
+            this.bytes[this.length++] = (byte) value;
+        }
+
+        void putBytes(byte[] values) {
+            if (this.length + values.length > this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.length + values.length, this.length * 2));
+            }
+            System.arraycopy(values, 0, this.bytes, this.length, values.length);
+            this.length += values.length;
+        }
+
+        void putVarint(int value) {
+            while ((value & ~0x7f) != 0) {
+                put((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            put(value);
+        }
+
+        void putLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                put((int) (value >>> shift));
+            }
+        }
+
+        void putPresent(Object value) {
+            put(value != null ? 1 : 0);
+        }
+
+        void putString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(utf8.length);
+            putBytes(utf8);
+        }
+
+        void putStrings(List<String> values) {
+            putVarint(values.size());
+            for (String value : values) {
+                putString(value);
+            }
+        }
+    }
+}
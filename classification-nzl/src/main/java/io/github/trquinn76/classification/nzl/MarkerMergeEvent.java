@@ -0,0 +1,25 @@
+package io.github.trquinn76.classification.nzl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The merge of {@link io.github.trquinn76.classification.nzl.model.ProtectiveMarker}'s by {@link Utils}.
+ */
+@Name("io.github.trquinn76.classification.nzl.MarkerMerge")
+@Label("Marker Merge")
+@Category({ "Classification", "NZL" })
+@StackTrace(false)
+final class MarkerMergeEvent extends Event {
+
+    @Label("Marker Count")
+    int markerCount;
+
+    @Label("Classification")
+    @Description("The merged Classification, if any.")
+    String classification;
+}
@@ -0,0 +1,65 @@
+package io.github.trquinn76.classification.nzl;
+
+/**
+ * A service provider interface for publishing the counts and measurements of this library's operations to a metrics
+ * system, without this library depending on one.
+ * <p>
+ * An implementation is found with {@link java.util.ServiceLoader} when first needed, or may be set with
+ * {@link #install(MarkerMetrics)}. When there is none, the cost to each operation is a single volatile read.
+ * Implementations are called on the thread performing the operation, so must be thread safe, and should be quick.
+ * <p>
+ * Operations are also recorded as JDK Flight Recorder events, in the "Classification" category, which cost nothing
+ * until a recording enables them.
+ */
+public interface MarkerMetrics {
+
+    /**
+     * Counts each {@link io.github.trquinn76.classification.nzl.model.ProtectiveMarker} built by a
+     * {@link ProtectiveMarkerBuilder}, tagged with its Classification name.
+     */
+    String BUILD = "classification.nzl.build";
+    /**
+     * Counts each validation rule which caused {@link ProtectiveMarkerBuilder#build()} to fail, tagged with the rule:
+     * {@code classification}, {@code policyAndPrivacyEndorsement} or {@code securityEndorsement}.
+     */
+    String VALIDATION_FAILURE = "classification.nzl.validation.failure";
+    /**
+     * Counts each text parsed by a {@link ProtectiveMarkerParser}, tagged {@code parsed} or {@code rejected}.
+     */
+    String PARSE = "classification.nzl.parse";
+    /**
+     * Records the number of {@link io.github.trquinn76.classification.nzl.model.ProtectiveMarker}'s in each merge by
+     * {@link Utils}.
+     */
+    String MERGE_SIZE = "classification.nzl.merge.size";
+    /**
+     * Counts each load of the {@link ClassificationConfig}, tagged {@code production} or {@code development}.
+     */
+    String CONFIG_LOAD = "classification.nzl.config.load";
+
+    /**
+     * Increments a counter.
+     *
+     * @param counter the counter name, one of the constants of this interface.
+     * @param tag     the tag qualifying this count.
+     */
+    void increment(String counter, String tag);
+
+    /**
+     * Records a value in a histogram.
+     *
+     * @param histogram the histogram name, one of the constants of this interface.
+     * @param value     the value.
+     */
+    void record(String histogram, long value);
+
+    /**
+     * Sets the {@link MarkerMetrics} which receives this library's metrics, replacing any found with
+     * {@link java.util.ServiceLoader}.
+     *
+     * @param metrics the {@link MarkerMetrics}, or null to stop recording metrics.
+     */
+    static void install(MarkerMetrics metrics) {
+        Instrumentation.metrics = metrics;
+    }
+}
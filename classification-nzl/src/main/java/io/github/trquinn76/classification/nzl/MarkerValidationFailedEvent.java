@@ -0,0 +1,28 @@
+package io.github.trquinn76.classification.nzl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A {@link ProtectiveMarkerBuilder} which could not build, as it was not in a valid state.
+ */
+@Name("io.github.trquinn76.classification.nzl.MarkerValidationFailed")
+@Label("Marker Validation Failed")
+@Category({ "Classification", "NZL" })
+@StackTrace(false)
+final class MarkerValidationFailedEvent extends Event {
+
+    @Label("Rules")
+    @Description("The validation rules which failed.")
+    String rules;
+
+    @Label("Problems")
+    String problems;
+
+    @Label("Problem Count")
+    int problemCount;
+}
@@ -4,10 +4,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 
 import io.github.trquinn76.classification.nzl.model.Classification;
@@ -33,6 +36,26 @@ public class ProtectiveMarkerBuilder {
 
     private static final Logger LOGGER = Logger.getLogger(ProtectiveMarkerBuilder.class.getCanonicalName());
 
+    private static final int CLASSIFICATION = 1;
+    private static final int ACCOUNTABLE_MATERIAL = 1 << 1;
+    private static final int POLICY_AND_PRIVACY = 1 << 2;
+    private static final int SECURITY_ENDORSEMENTS = 1 << 3;
+    private static final int ALL_FIELDS = (1 << 4) - 1;
+
+    /**
+     * A validation rule, named as reported to {@link MarkerMetrics}, with the fields it depends on.
+     */
+    private record Rule(String name, int fields, BiConsumer<ProtectiveMarkerBuilder, List<String>> check) {
+    }
+
+    private static final List<Rule> RULES = List.of(
+            new Rule("classification", CLASSIFICATION | ACCOUNTABLE_MATERIAL,
+                    ProtectiveMarkerBuilder::checkClassificationValid),
+            new Rule("policyAndPrivacyEndorsement", CLASSIFICATION | POLICY_AND_PRIVACY,
+                    ProtectiveMarkerBuilder::checkPolicyAndPrivacyEndorementsValid),
+            new Rule("securityEndorsement", CLASSIFICATION | ACCOUNTABLE_MATERIAL | SECURITY_ENDORSEMENTS,
+                    ProtectiveMarkerBuilder::checkSecurityEndorsements));
+
     private Classification classification = null;
     private Set<PolicyAndPrivacyEndorsements> policyAndPrivacyEndorsements = new TreeSet<>();
     private Set<String> departmentUseOnlyDepartments = new TreeSet<>();
@@ -44,6 +67,16 @@ public class ProtectiveMarkerBuilder {
     private ReleasabilityTypes releasablityType = null;
     private Set<String> releasableToList = new TreeSet<>(ClassificationConfig.releasableToOrder());
 
+    // the fields changed since the last validation, and each rule's report from then. isValid() only re-runs the
+    // rules which depend on changed fields.
+    private int changedFields = ALL_FIELDS;
+    private final List<List<String>> ruleReports = new ArrayList<>(Collections.nCopies(RULES.size(), List.of()));
+
+    // the marker this builder was seeded from, and the fields which still hold its values. build() reuses the parts of
+    // the seed whose fields are unchanged, rather than rebuilding them.
+    private ProtectiveMarker seed = null;
+    private int seededFields = 0;
+
     public ProtectiveMarkerBuilder() {
 
     }
@@ -53,53 +86,68 @@ public class ProtectiveMarkerBuilder {
      * 
      * Creates an instance of {@link ProtectiveMarkerBuilder} which is populated with the values from the given
      * {@code protectiveMarker} parameter.
+     * <p>
+     * The builder shares the immutable lists of the {@link ProtectiveMarker}, and only copies a list when its field is
+     * first modified. {@link #build()} reuses the parts of the {@link ProtectiveMarker} whose fields are unchanged, so
+     * changing one field of an existing marking costs little more than the change.
      * 
      * @param marker the {@link ProtectiveMarker} with which to populate the builder.
      */
     public ProtectiveMarkerBuilder(ProtectiveMarker marker) {
+        this.seed = marker;
         this.classification = marker.classification();
+        this.seededFields = ACCOUNTABLE_MATERIAL | POLICY_AND_PRIVACY | SECURITY_ENDORSEMENTS;
 
         if (marker.hasPolicyAndPrivacyEndorsements()) {
+            PolicyAndPrivacyEndorsements previous = null;
             for (PolicyAndPrivacyEndorsementMarking pnpEndorsement : marker.policyAndPrivacyEndorsements()) {
+                // a list out of order, or with duplicates, is not reused.
+                if (previous != null && previous.compareTo(pnpEndorsement.endorsement()) >= 0) {
+                    this.seededFields &= ~POLICY_AND_PRIVACY;
+                }
+                previous = pnpEndorsement.endorsement();
                 this.policyAndPrivacyEndorsements.add(pnpEndorsement.endorsement());
-                String timeOrUseOnlyStr = pnpEndorsement.timeOrUseOnlyValue();
-                if (timeOrUseOnlyStr != null) {
-                    switch (pnpEndorsement.endorsement()) {
-                    case EMBARGOED_FOR_RELEASE: {
-                        this.embargoedForReleaseTime = LocalDateTime.parse(timeOrUseOnlyStr,
-                                ClassificationConfig.dateTimeFormatter());
-                        break;
-                    }
-                    case TO_BE_REVIEWED_ON: {
-                        this.toBeReviewedOnTime = LocalDateTime.parse(timeOrUseOnlyStr,
-                                ClassificationConfig.dateTimeFormatter());
-                        break;
-                    }
-                    case DEPARTMENT_USE_ONLY: {
-                        this.departmentUseOnlyDepartments.addAll(parseDepartments(timeOrUseOnlyStr));
-                        break;
-                    }
-                    default:
-                        throw new IllegalArgumentException(
-                                "May not have a populated 'timeOrUseOnlyValue' for Policy and Privacy Endorsement "
-                                        + pnpEndorsement.endorsement().toString());
-
+                // the marking holds its value typed, so it is copied without parsing.
+                switch (pnpEndorsement.endorsement()) {
+                case EMBARGOED_FOR_RELEASE: {
+                    this.embargoedForReleaseTime = pnpEndorsement.time();
+                    break;
+                }
+                case TO_BE_REVIEWED_ON: {
+                    this.toBeReviewedOnTime = pnpEndorsement.time();
+                    break;
+                }
+                case DEPARTMENT_USE_ONLY: {
+                    this.departmentUseOnlyDepartments = SharedListSet.of(pnpEndorsement.departments(),
+                            Comparator.naturalOrder());
+                    if (!(this.departmentUseOnlyDepartments instanceof SharedListSet)) {
+                        this.seededFields &= ~POLICY_AND_PRIVACY;
                     }
+                    break;
+                }
+                default:
+                    break;
                 }
             }
         }
 
         if (marker.hasNationalSecurityEndorsements()) {
-            this.accountableMaterial = marker.nationalSecurityEndorsements().accountableMaterial();
-            this.sensitiveCompartments.addAll(marker.nationalSecurityEndorsements().sensitiveCompartments());
-            this.disseminationMarks.addAll(marker.nationalSecurityEndorsements().disseminationMarks());
-
-            if (marker.nationalSecurityEndorsements().releasability() != null) {
-                this.releasablityType = marker.nationalSecurityEndorsements().releasability().type();
-                this.releasableToList.addAll(marker.nationalSecurityEndorsements().releasability().releasableToList());
+            NationalSecurityEndorsements nse = marker.nationalSecurityEndorsements();
+            this.accountableMaterial = nse.accountableMaterial();
+            this.sensitiveCompartments = SharedListSet.of(nse.sensitiveCompartments(), Comparator.naturalOrder());
+            this.disseminationMarks = SharedListSet.of(nse.disseminationMarks(), Comparator.naturalOrder());
+
+            if (nse.releasability() != null) {
+                this.releasablityType = nse.releasability().type();
+                this.releasableToList = SharedListSet.of(nse.releasability().releasableToList(),
+                        ClassificationConfig.releasableToOrder());
+            }
+            if (!(this.sensitiveCompartments instanceof SharedListSet)
+                    || !(this.disseminationMarks instanceof SharedListSet)
+                    || (nse.releasability() != null && !(this.releasableToList instanceof SharedListSet))) {
+                this.seededFields &= ~SECURITY_ENDORSEMENTS;
             }
         }
-        
     }
 
     /**
@@ -134,6 +182,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder setClassification(Classification classification) {
         this.classification = classification;
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -153,6 +202,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder unclassified() {
         this.classification = Classification.unclassified();
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -163,6 +213,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder inConfidence() {
         this.classification = Classification.inConfidence();
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -173,6 +224,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder sensitive() {
         this.classification = Classification.sensitive();
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -183,6 +235,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder restricted() {
         this.classification = Classification.restricted();
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -193,6 +246,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder confidental() {
         this.classification = Classification.confidential();
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -203,6 +257,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder secret() {
         this.classification = Classification.secret();
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -214,6 +269,7 @@ public class ProtectiveMarkerBuilder {
     public ProtectiveMarkerBuilder topSecret() {
         this.classification = Classification.topSecret();
         // Accountable Material must be set for TOP SECRET.
+        changed(CLASSIFICATION);
         return accountableMaterial();
     }
 
@@ -227,6 +283,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder setAccountableMaterial(boolean accountableMaterial) {
         this.accountableMaterial = accountableMaterial;
+        changed(ACCOUNTABLE_MATERIAL);
         return this;
     }
 
@@ -260,6 +317,7 @@ public class ProtectiveMarkerBuilder {
         Objects.requireNonNull(sensitiveCompartments);
         clearSensitiveCompartments();
         this.sensitiveCompartments.addAll(sensitiveCompartments);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -271,7 +329,9 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder addSensitiveCompartment(String sensitiveCompartment) {
         Objects.requireNonNull(sensitiveCompartment);
+        this.sensitiveCompartments = SharedListSet.writable(this.sensitiveCompartments);
         this.sensitiveCompartments.add(sensitiveCompartment);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -290,7 +350,8 @@ public class ProtectiveMarkerBuilder {
      * @return this for function chaining.
      */
     public ProtectiveMarkerBuilder clearSensitiveCompartments() {
-        this.sensitiveCompartments.clear();
+        this.sensitiveCompartments = SharedListSet.cleared(this.sensitiveCompartments);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -314,8 +375,9 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder setDisseminationMarks(Collection<String> disseminationMarks) {
         Objects.requireNonNull(disseminationMarks);
-        this.disseminationMarks.clear();
+        this.disseminationMarks = SharedListSet.cleared(this.disseminationMarks);
         this.disseminationMarks.addAll(disseminationMarks);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
     
@@ -326,7 +388,9 @@ public class ProtectiveMarkerBuilder {
      * @return this for function chaining.
      */
     public ProtectiveMarkerBuilder addDisseminationMark(String disseminationMark) {
+        this.disseminationMarks = SharedListSet.writable(this.disseminationMarks);
         this.disseminationMarks.add(disseminationMark);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
     
@@ -345,7 +409,8 @@ public class ProtectiveMarkerBuilder {
      * @return this for function chaining.
      */
     public ProtectiveMarkerBuilder clearDisseminationMarks() {
-        this.disseminationMarks.clear();
+        this.disseminationMarks = SharedListSet.cleared(this.disseminationMarks);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
     
@@ -372,8 +437,10 @@ public class ProtectiveMarkerBuilder {
         if (ReleasabilityTypes.RELTO == type) {
             // Having set releasability type to RELTO am ensuring that NZL exists in the
             // Releasable To list.
+            this.releasableToList = SharedListSet.writable(this.releasableToList);
             this.releasableToList.add(Utils.NZL);
         }
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -395,6 +462,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder clearReleasability() {
         this.releasablityType = null;
+        changed(SECURITY_ENDORSEMENTS);
         return this.clearReleasableToList();
     }
 
@@ -413,8 +481,9 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder setReleasableToList(Collection<String> releasableToList) {
         Objects.requireNonNull(releasableToList);
-        this.releasableToList.clear();
+        this.releasableToList = SharedListSet.cleared(this.releasableToList);
         this.releasableToList.addAll(releasableToList);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -429,7 +498,9 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder addReleasableToCountry(String country) {
         Objects.requireNonNull(country);
+        this.releasableToList = SharedListSet.writable(this.releasableToList);
         this.releasableToList.add(country);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -452,7 +523,8 @@ public class ProtectiveMarkerBuilder {
      * @return this for function chaining.
      */
     public ProtectiveMarkerBuilder clearReleasableToList() {
-        this.releasableToList.clear();
+        this.releasableToList = SharedListSet.cleared(this.releasableToList);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -463,7 +535,8 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder nzeo() {
         this.releasablityType = ReleasabilityTypes.NZEO;
-        this.releasableToList.clear();
+        this.releasableToList = SharedListSet.cleared(this.releasableToList);
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -478,8 +551,9 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder relTo(String... releasableToList) {
         this.releasablityType = ReleasabilityTypes.RELTO;
-        this.releasableToList.clear();
+        this.releasableToList = SharedListSet.cleared(this.releasableToList);
         this.releasableToList.addAll(Arrays.asList(releasableToList));
+        changed(SECURITY_ENDORSEMENTS);
         return this;
     }
 
@@ -496,6 +570,7 @@ public class ProtectiveMarkerBuilder {
         Objects.requireNonNull(endorsements);
         this.policyAndPrivacyEndorsements.clear();
         this.policyAndPrivacyEndorsements.addAll(endorsements);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -508,6 +583,7 @@ public class ProtectiveMarkerBuilder {
     public ProtectiveMarkerBuilder addPolicyAndPrivacyEndorsement(PolicyAndPrivacyEndorsements endorsement) {
         Objects.requireNonNull(endorsement);
         this.policyAndPrivacyEndorsements.add(endorsement);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -529,6 +605,7 @@ public class ProtectiveMarkerBuilder {
         this.policyAndPrivacyEndorsements.clear();
         this.embargoedForReleaseTime = null;
         this.toBeReviewedOnTime = null;
+        changed(POLICY_AND_PRIVACY);
         return this.clearDepartmentUseOnly();
     }
 
@@ -543,6 +620,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder setEmbargoedForReleaseTime(LocalDateTime dateTime) {
         this.embargoedForReleaseTime = dateTime;
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -557,6 +635,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder setToBeReviewedOnTime(LocalDateTime dateTime) {
         this.toBeReviewedOnTime = dateTime;
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -570,8 +649,9 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder setDepartmentUseOnlyDepartments(Collection<String> departments) {
         Objects.requireNonNull(departments);
-        this.departmentUseOnlyDepartments.clear();
+        this.departmentUseOnlyDepartments = SharedListSet.cleared(this.departmentUseOnlyDepartments);
         this.departmentUseOnlyDepartments.addAll(departments);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -583,7 +663,9 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder addDepartmentUseOnly(String department) {
         Objects.requireNonNull(department);
+        this.departmentUseOnlyDepartments = SharedListSet.writable(this.departmentUseOnlyDepartments);
         this.departmentUseOnlyDepartments.add(department);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -593,7 +675,8 @@ public class ProtectiveMarkerBuilder {
      * @return this for function chaining.
      */
     public ProtectiveMarkerBuilder clearDepartmentUseOnly() {
-        this.departmentUseOnlyDepartments.clear();
+        this.departmentUseOnlyDepartments = SharedListSet.cleared(this.departmentUseOnlyDepartments);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -604,6 +687,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder appointments() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.APPOINTMENTS);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -614,6 +698,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder budget() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.BUDGET);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -624,6 +709,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder cabinet() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.CABINET);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -634,6 +720,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder commercial() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.COMMERCIAL);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -647,8 +734,9 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder departmentUseOnly(String... departments) {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY);
-        this.departmentUseOnlyDepartments.clear();
+        this.departmentUseOnlyDepartments = SharedListSet.cleared(this.departmentUseOnlyDepartments);
         this.departmentUseOnlyDepartments.addAll(Arrays.asList(departments));
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -665,6 +753,7 @@ public class ProtectiveMarkerBuilder {
         Objects.requireNonNull(dateTime);
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE);
         this.embargoedForReleaseTime = dateTime;
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -675,6 +764,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder evaluate() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.EVALUATE);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -685,6 +775,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder honours() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.HONOURS);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -695,6 +786,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder legalPrivilege() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.LEGAL_PRIVILEGE);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -705,6 +797,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder medical() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.MEDICAL);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -715,6 +808,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder staff() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.STAFF);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -725,6 +819,7 @@ public class ProtectiveMarkerBuilder {
      */
     public ProtectiveMarkerBuilder policy() {
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.POLICY);
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
 
@@ -741,6 +836,7 @@ public class ProtectiveMarkerBuilder {
         Objects.requireNonNull(dateTime);
         this.policyAndPrivacyEndorsements.add(PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON);
         this.toBeReviewedOnTime = dateTime;
+        changed(POLICY_AND_PRIVACY);
         return this;
     }
     
@@ -766,16 +862,27 @@ public class ProtectiveMarkerBuilder {
     /**
      * Used to determine if the builder is in a valid state, and able to build a {@link ProtectiveMarker}.
      * 
+     * Only the rules which depend on fields changed since the last call are re-run, so repeated calls while a UI edits
+     * the builder cost in proportion to the edit.
+     * 
      * @return a list of String, which reports on invalid parts of the builder which would need to be fixed in order
      *      to perform a build. If there are no problems, and the builder is in a valid state, this list is empty.
      */
     public List<String> isValid() {
-        List<String> report = new ArrayList<>();
-
-        checkClassificationValid(report);
-        checkPolicyAndPrivacyEndorementsValid(report);
-        checkSecurityEndorsements(report);
+        if (this.changedFields != 0) {
+            for (int i = 0; i < RULES.size(); i++) {
+                Rule rule = RULES.get(i);
+                if ((rule.fields() & this.changedFields) != 0) {
+                    List<String> ruleReport = new ArrayList<>();
+                    rule.check().accept(this, ruleReport);
+                    this.ruleReports.set(i, ruleReport.isEmpty() ? List.of() : ruleReport);
+                }
+            }
+            this.changedFields = 0;
+        }
 
+        List<String> report = new ArrayList<>();
+        this.ruleReports.forEach(report::addAll);
         return report;
     }
 
@@ -786,6 +893,8 @@ public class ProtectiveMarkerBuilder {
      * @throws IllegalStateException if the builder is not in a valid state, then this exception is thrown.
      */
     public ProtectiveMarker build() {
+        MarkerBuildEvent event = new MarkerBuildEvent();
+        event.begin();
         List<String> report = isValid();
 
         if (report.size() > 0) {
@@ -793,40 +902,90 @@ public class ProtectiveMarkerBuilder {
             for (String line : report) {
                 LOGGER.severe(line);
             }
+            Instrumentation.buildFailed(event, report, this::failedRules);
             throw new IllegalStateException("Invalid state, cannot build Protective Marking: " + report.get(0));
         }
 
+        List<PolicyAndPrivacyEndorsementMarking> pnpEndorsementList = seeded(POLICY_AND_PRIVACY)
+                ? this.seed.policyAndPrivacyEndorsements()
+                : buildPolicyAndPrivacyEndorsements();
+
+        NationalSecurityEndorsements ncEndorsements = null;
+        if (hasNationalSecurityEndorsements()) {
+            if (seeded(ACCOUNTABLE_MATERIAL | SECURITY_ENDORSEMENTS)) {
+                ncEndorsements = this.seed.nationalSecurityEndorsements();
+            } else {
+                ncEndorsements = new NationalSecurityEndorsements(this.accountableMaterial,
+                        SharedListSet.list(this.sensitiveCompartments), SharedListSet.list(this.disseminationMarks),
+                        buildReleasability());
+            }
+        }
+
+        Instrumentation.built(event, this.classification);
+        return new ProtectiveMarker(this.classification, pnpEndorsementList, ncEndorsements);
+    }
+
+    private List<PolicyAndPrivacyEndorsementMarking> buildPolicyAndPrivacyEndorsements() {
         List<PolicyAndPrivacyEndorsementMarking> pnpEndorsementList = new ArrayList<>();
         for (PolicyAndPrivacyEndorsements pnpEndorsement : this.policyAndPrivacyEndorsements) {
             PolicyAndPrivacyEndorsementMarking marking = null;
             if (pnpEndorsement == PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE) {
-                marking = new PolicyAndPrivacyEndorsementMarking(pnpEndorsement,
-                        ClassificationConfig.dateTimeFormatter().format(this.embargoedForReleaseTime));
+                marking = PolicyAndPrivacyEndorsementMarking.at(pnpEndorsement, this.embargoedForReleaseTime);
             } else if (pnpEndorsement == PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON) {
-                marking = new PolicyAndPrivacyEndorsementMarking(pnpEndorsement,
-                        ClassificationConfig.dateTimeFormatter().format(this.toBeReviewedOnTime));
+                marking = PolicyAndPrivacyEndorsementMarking.at(pnpEndorsement, this.toBeReviewedOnTime);
             } else if (pnpEndorsement == PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY) {
-                marking = new PolicyAndPrivacyEndorsementMarking(pnpEndorsement,
-                        formatDepartments(this.departmentUseOnlyDepartments));
+                marking = PolicyAndPrivacyEndorsementMarking
+                        .departmentUseOnly(SharedListSet.list(this.departmentUseOnlyDepartments));
             } else {
-                marking = new PolicyAndPrivacyEndorsementMarking(pnpEndorsement, null);
+                marking = PolicyAndPrivacyEndorsementMarking.of(pnpEndorsement);
             }
             pnpEndorsementList.add(marking);
         }
+        return pnpEndorsementList;
+    }
 
-        NationalSecurityEndorsements ncEndorsements = null;
-        if (hasNationalSecurityEndorsements()) {
-            ReleasabilityMarking releasability = null;
-            if (this.releasablityType != null) {
-                releasability = new ReleasabilityMarking(this.releasablityType, List.copyOf(this.releasableToList));
-            }
-            
-            ncEndorsements = new NationalSecurityEndorsements(this.accountableMaterial,
-                    List.copyOf(this.sensitiveCompartments), List.copyOf(this.disseminationMarks), releasability);
+    private ReleasabilityMarking buildReleasability() {
+        if (this.releasablityType == null) {
+            return null;
+        }
+        // the releasable to list is only still shared when it is unchanged since seeding.
+        ReleasabilityMarking seedReleasability = this.seed != null && this.seed.hasNationalSecurityEndorsements()
+                ? this.seed.nationalSecurityEndorsements().releasability()
+                : null;
+        if (seedReleasability != null && seedReleasability.type() == this.releasablityType
+                && this.releasableToList instanceof SharedListSet) {
+            return seedReleasability;
         }
-        
+        return new ReleasabilityMarking(this.releasablityType, SharedListSet.list(this.releasableToList));
+    }
 
-        return new ProtectiveMarker(this.classification, pnpEndorsementList, ncEndorsements);
+    /**
+     * Records that the given fields have changed, so must be validated again and no longer hold the values of the seed.
+     */
+    private void changed(int fields) {
+        this.changedFields |= fields;
+        this.seededFields &= ~fields;
+    }
+
+    /**
+     * @return true if all the given fields still hold the values of the {@link ProtectiveMarker} the builder was seeded
+     *         from.
+     */
+    private boolean seeded(int fields) {
+        return (this.seededFields & fields) == fields;
+    }
+
+    /**
+     * @return the names of the validation rules which are not met, as reported to {@link MarkerMetrics}.
+     */
+    private List<String> failedRules() {
+        List<String> rules = new ArrayList<>();
+        for (int i = 0; i < RULES.size(); i++) {
+            if (!this.ruleReports.get(i).isEmpty()) {
+                rules.add(RULES.get(i).name());
+            }
+        }
+        return rules;
     }
 
     private void checkClassificationValid(List<String> report) {
@@ -903,21 +1062,6 @@ public class ProtectiveMarkerBuilder {
         }
     }
 
-    private String formatDepartments(Set<String> departmentSet) {
-        StringBuilder buf = new StringBuilder();
-        for (String department : departmentSet) {
-            if (buf.length() > 0) {
-                buf.append(", ");
-            }
-            buf.append(department);
-        }
-        return buf.toString();
-    }
-
-    private Set<String> parseDepartments(String departments) {
-        return Set.of(departments.split(", "));
-    }
-
     @Override
     public int hashCode() {
         return Objects.hash(accountableMaterial, classification, departmentUseOnlyDepartments, disseminationMarks,
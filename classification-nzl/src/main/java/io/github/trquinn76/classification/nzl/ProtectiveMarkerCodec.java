@@ -0,0 +1,459 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.DevelopmentClassification;
+import io.github.trquinn76.classification.nzl.model.NZLClassification;
+import io.github.trquinn76.classification.nzl.model.NationalSecurityEndorsements;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityMarking;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+
+/**
+ * Encodes {@link ProtectiveMarker}'s in a compact binary form, and decodes them again.
+ * <p>
+ * The encoded form is:
+ * <ul>
+ * <li>a version byte, currently {@value #VERSION}.</li>
+ * <li>a flags byte, recording production mode and which optional parts of the marker are present.</li>
+ * <li>the {@link Classification}, as the ordinal of its enumeration entry.</li>
+ * <li>the Policy and Privacy Endorsements, as a count followed by each endorsement. An endorsement is written as its
+ * ordinal shifted left one bit, with the low bit set when it is followed by its value. The time of
+ * {@code EMBARGOED FOR RELEASE} and {@code TO BE REVIEWED ON} is written as a signed variable length count of seconds
+ * since the epoch, and the departments of {@code USE ONLY} as a count followed by each String.</li>
+ * <li>if present, the sensitive compartments and dissemination marks, each as a count followed by each String.</li>
+ * <li>if present, the {@link ReleasabilityTypes} ordinal, followed by the count and Strings of the releasable to
+ * list.</li>
+ * </ul>
+ * Counts and lengths are written as unsigned variable length integers, using 7 bits per byte. Each String is written as
+ * a reference into the dictionary of the {@link ProtectiveMarkerCodec}, or as a reference of 0 followed by the length
+ * and UTF-8 bytes of the String when it is not in the dictionary.
+ * <p>
+ * The dictionary always begins with the Five Eyes country codes, and may be extended with frequently used
+ * compartments, dissemination marks and departments. The encoding and decoding parties must use the same dictionary.
+ * <p>
+ * Each marker has a single encoded form, so the encoded bytes may be compared, or used as a key, in place of the
+ * marker. Markers encoded by version 1, which wrote each endorsement value as a single formatted String, are still
+ * decoded, with the currently configured date time format, but are never written.
+ * <p>
+ * Markers are decoded in the currently configured mode. Decoding a marker encoded in the other mode is an error, so
+ * that a development marking can never be read as a real one, or the reverse.
+ */
+public final class ProtectiveMarkerCodec {
+
+    /**
+     * The version of the encoded form written by this codec.
+     */
+    public static final byte VERSION = 2;
+
+    private static final byte TEXT_VALUE_VERSION = 1;
+
+    private static final List<String> BUILT_IN_DICTIONARY = List.of(Utils.NZL, Utils.AUS, Utils.CAN, Utils.GBR,
+            Utils.USA);
+
+    private static final int PRODUCTION_MODE = 0x01;
+    private static final int NATIONAL_SECURITY_ENDORSEMENTS = 0x02;
+    private static final int ACCOUNTABLE_MATERIAL = 0x04;
+    private static final int RELEASABILITY = 0x08;
+
+    private static final NZLClassification[] NZL_CLASSIFICATIONS = NZLClassification.values();
+    private static final DevelopmentClassification[] DEVELOPMENT_CLASSIFICATIONS = DevelopmentClassification
+            .values();
+    private static final PolicyAndPrivacyEndorsements[] ENDORSEMENTS = PolicyAndPrivacyEndorsements.values();
+    private static final ReleasabilityTypes[] RELEASABILITY_TYPES = ReleasabilityTypes.values();
+
+    private final String[] dictionary;
+    private final Map<String, Integer> references;
+
+    /**
+     * Constructor for a codec which uses only the built in dictionary.
+     */
+    public ProtectiveMarkerCodec() {
+        this(List.of());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dictionary additional Strings, such as compartments, which are encoded as a reference rather than in
+     *                   full. The order is significant, and must be the same when encoding and decoding. May be empty,
+     *                   may not be null.
+     */
+    public ProtectiveMarkerCodec(Collection<String> dictionary) {
+        Objects.requireNonNull(dictionary);
+        List<String> entries = new ArrayList<>(BUILT_IN_DICTIONARY);
+        entries.addAll(dictionary);
+        this.dictionary = entries.toArray(new String[0]);
+        this.references = new HashMap<>();
+        for (int i = 0; i < this.dictionary.length; i++) {
+            // the first occurrence of a duplicated entry is used.
+            this.references.putIfAbsent(Objects.requireNonNull(this.dictionary[i]), i + 1);
+        }
+    }
+
+    /**
+     * Writes the encoded form of the given {@link ProtectiveMarker} into the {@code buffer}, starting at its current
+     * position.
+     * <p>
+     * If the {@code buffer} does not have enough space remaining, its position is restored to where it was before
+     * this call, and a {@link BufferOverflowException} is thrown.
+     *
+     * @param marker the {@link ProtectiveMarker} to encode. May not be null.
+     * @param buffer the {@link ByteBuffer} to write into. May not be null.
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if the marker does not fit in the remaining space of the buffer.
+     */
+    public int encode(ProtectiveMarker marker, ByteBuffer buffer) {
+        Objects.requireNonNull(marker);
+        Objects.requireNonNull(buffer);
+        int start = buffer.position();
+        try {
+            boolean productionMode = ClassificationConfig.productionMode();
+            NationalSecurityEndorsements nse = marker.nationalSecurityEndorsements();
+            ReleasabilityMarking releasability = nse != null ? nse.releasability() : null;
+
+            int flags = productionMode ? PRODUCTION_MODE : 0;
+            if (nse != null)
+                flags |= NATIONAL_SECURITY_ENDORSEMENTS;
+            if (nse != null && nse.accountableMaterial())
+                flags |= ACCOUNTABLE_MATERIAL;
+            if (releasability != null)
+                flags |= RELEASABILITY;
+
+            buffer.put(VERSION);
+            buffer.put((byte) flags);
+            buffer.put((byte) classificationOrdinal(marker.classification(), productionMode));
+            putVarint(marker.policyAndPrivacyEndorsements().size(), buffer);
+            for (PolicyAndPrivacyEndorsementMarking endorsement : marker.policyAndPrivacyEndorsements()) {
+                putEndorsement(endorsement, buffer);
+            }
+            if (nse != null) {
+                putStrings(nse.sensitiveCompartments(), buffer);
+                putStrings(nse.disseminationMarks(), buffer);
+                if (releasability != null) {
+                    buffer.put((byte) releasability.type().ordinal());
+                    putStrings(releasability.releasableToList(), buffer);
+                }
+            }
+        } catch (BufferOverflowException boe) {
+            buffer.position(start);
+            throw boe;
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * Encodes the given {@link ProtectiveMarker} into a new, exactly sized, byte array.
+     *
+     * @param marker the {@link ProtectiveMarker} to encode. May not be null.
+     * @return the encoded form of the marker.
+     */
+    public byte[] encode(ProtectiveMarker marker) {
+        byte[] bytes = new byte[encodedLength(marker)];
+        encode(marker, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Calculates the number of bytes {@code encode()} will write for the given {@link ProtectiveMarker}.
+     *
+     * @param marker the {@link ProtectiveMarker} to measure. May not be null.
+     * @return the length in bytes of the encoded form of the marker.
+     */
+    public int encodedLength(ProtectiveMarker marker) {
+        Objects.requireNonNull(marker);
+        // version, flags and classification.
+        int length = 3;
+        length += varintLength(marker.policyAndPrivacyEndorsements().size());
+        for (PolicyAndPrivacyEndorsementMarking endorsement : marker.policyAndPrivacyEndorsements()) {
+            length += endorsementLength(endorsement);
+        }
+        NationalSecurityEndorsements nse = marker.nationalSecurityEndorsements();
+        if (nse != null) {
+            length += stringsLength(nse.sensitiveCompartments());
+            length += stringsLength(nse.disseminationMarks());
+            if (nse.releasability() != null) {
+                length += 1 + stringsLength(nse.releasability().releasableToList());
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Reads an encoded {@link ProtectiveMarker} from the {@code buffer}, starting at its current position. On return
+     * the position of the {@code buffer} is immediately after the encoded marker.
+     *
+     * @param buffer the {@link ByteBuffer} to read from. May not be null.
+     * @return the decoded {@link ProtectiveMarker}.
+     * @throws IllegalArgumentException if the buffer does not contain a valid encoded marker, or the marker was
+     *                                  encoded in a different production mode.
+     */
+    public ProtectiveMarker decode(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        try {
+            byte version = buffer.get();
+            if (version != VERSION && version != TEXT_VALUE_VERSION) {
+                throw new IllegalArgumentException("Unsupported encoded ProtectiveMarker version: " + version);
+            }
+            int flags = buffer.get();
+            boolean productionMode = ClassificationConfig.productionMode();
+            if (((flags & PRODUCTION_MODE) != 0) != productionMode) {
+                throw new IllegalArgumentException(
+                        "Encoded ProtectiveMarker production mode does not match configured production mode: "
+                                + productionMode);
+            }
+            Classification classification = classification(buffer.get(), productionMode);
+
+            int endorsementCount = getCount(buffer);
+            List<PolicyAndPrivacyEndorsementMarking> endorsements = new ArrayList<>(endorsementCount);
+            for (int i = 0; i < endorsementCount; i++) {
+                endorsements.add(getEndorsement(version, buffer));
+            }
+
+            NationalSecurityEndorsements nse = null;
+            if ((flags & NATIONAL_SECURITY_ENDORSEMENTS) != 0) {
+                List<String> sensitiveCompartments = getStrings(buffer);
+                List<String> disseminationMarks = getStrings(buffer);
+                ReleasabilityMarking releasability = null;
+                if ((flags & RELEASABILITY) != 0) {
+                    ReleasabilityTypes type = RELEASABILITY_TYPES[buffer.get()];
+                    releasability = new ReleasabilityMarking(type, getStrings(buffer));
+                }
+                nse = new NationalSecurityEndorsements((flags & ACCOUNTABLE_MATERIAL) != 0, sensitiveCompartments,
+                        disseminationMarks, releasability);
+            }
+            return new ProtectiveMarker(classification, endorsements, nse);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException | NullPointerException e) {
+            // a NullPointerException indicates an endorsement encoded without its required value.
+            throw new IllegalArgumentException("Invalid encoded ProtectiveMarker", e);
+        }
+    }
+
+    /**
+     * Decodes the given bytes as a {@link ProtectiveMarker}.
+     *
+     * @param bytes the encoded form of a marker. May not be null.
+     * @return the decoded {@link ProtectiveMarker}.
+     * @throws IllegalArgumentException if the bytes are not a valid encoded marker, or the marker was encoded in a
+     *                                  different production mode.
+     */
+    public ProtectiveMarker decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    private static int classificationOrdinal(Classification classification, boolean productionMode) {
+        if (productionMode) {
+            return NZLClassification.valueOf(classification.classificationName()).ordinal();
+        }
+        return DevelopmentClassification.valueOf(classification.classificationName()).ordinal();
+    }
+
+    private static Classification classification(int ordinal, boolean productionMode) {
+        if (productionMode) {
+            return new Classification(NZL_CLASSIFICATIONS[ordinal].name());
+        }
+        return new Classification(DEVELOPMENT_CLASSIFICATIONS[ordinal].name());
+    }
+
+    private void putEndorsement(PolicyAndPrivacyEndorsementMarking marking, ByteBuffer buffer) {
+        int ordinal = marking.endorsement().ordinal() << 1;
+        switch (marking.endorsement()) {
+        case EMBARGOED_FOR_RELEASE:
+        case TO_BE_REVIEWED_ON: {
+            buffer.put((byte) (ordinal | 1));
+            putVarlong(zigzag(marking.epochSecond()), buffer);
+            break;
+        }
+        case DEPARTMENT_USE_ONLY: {
+            buffer.put((byte) (ordinal | 1));
+            putStrings(marking.departments(), buffer);
+            break;
+        }
+        default: {
+            buffer.put((byte) ordinal);
+            break;
+        }
+        }
+    }
+
+    private int endorsementLength(PolicyAndPrivacyEndorsementMarking marking) {
+        switch (marking.endorsement()) {
+        case EMBARGOED_FOR_RELEASE:
+        case TO_BE_REVIEWED_ON:
+            return 1 + varlongLength(zigzag(marking.epochSecond()));
+        case DEPARTMENT_USE_ONLY:
+            return 1 + stringsLength(marking.departments());
+        default:
+            return 1;
+        }
+    }
+
+    private PolicyAndPrivacyEndorsementMarking getEndorsement(byte version, ByteBuffer buffer) {
+        int value = buffer.get() & 0xFF;
+        PolicyAndPrivacyEndorsements endorsement = ENDORSEMENTS[value >>> 1];
+        boolean hasValue = (value & 1) != 0;
+        if (version == TEXT_VALUE_VERSION || !hasValue) {
+            return new PolicyAndPrivacyEndorsementMarking(endorsement, hasValue ? getString(buffer) : null);
+        }
+        if (endorsement == PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY) {
+            return PolicyAndPrivacyEndorsementMarking.departmentUseOnly(getStrings(buffer));
+        }
+        return PolicyAndPrivacyEndorsementMarking.ofEpochSecond(endorsement, unzigzag(getVarlong(buffer)));
+    }
+
+    private void putStrings(List<String> values, ByteBuffer buffer) {
+        putVarint(values.size(), buffer);
+        for (String value : values) {
+            putString(value, buffer);
+        }
+    }
+
+    private void putString(String value, ByteBuffer buffer) {
+        Integer reference = references.get(value);
+        if (reference != null) {
+            putVarint(reference, buffer);
+        } else {
+            buffer.put((byte) 0);
+            putVarint(ProtectiveMarkerRenderer.utf8Length(value), buffer);
+            ProtectiveMarkerRenderer.putText(value, buffer);
+        }
+    }
+
+    private int stringsLength(List<String> values) {
+        int length = varintLength(values.size());
+        for (String value : values) {
+            length += stringLength(value);
+        }
+        return length;
+    }
+
+    private int stringLength(String value) {
+        Integer reference = references.get(value);
+        if (reference != null) {
+            return varintLength(reference);
+        }
+        int utf8Length = ProtectiveMarkerRenderer.utf8Length(value);
+        return 1 + varintLength(utf8Length) + utf8Length;
+    }
+
+    private List<String> getStrings(ByteBuffer buffer) {
+        int count = getCount(buffer);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(getString(buffer));
+        }
+        return values;
+    }
+
+    private String getString(ByteBuffer buffer) {
+        int reference = getVarint(buffer);
+        if (reference > 0) {
+            return dictionary[reference - 1];
+        }
+        int length = getCount(buffer);
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a count, which can never be more than the number of bytes remaining, so that corrupt input can not cause
+     * excessive allocation.
+     */
+    private static int getCount(ByteBuffer buffer) {
+        int count = getVarint(buffer);
+        if (count > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid encoded count: " + count);
+        }
+        return count;
+    }
+
+    static void putVarint(int value, ByteBuffer buffer) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid encoded varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void putVarlong(long value, ByteBuffer buffer) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarlong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid encoded varlong");
+    }
+
+    private static int varlongLength(long value) {
+        int length = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    static int varintLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+/**
+ * Provides canonical instances of {@link ProtectiveMarker}'s, and of the values they are made from.
+ * <p>
+ * Systems which read many markings, such as REST API's or message consumers, typically see a small number of distinct
+ * markings many times over. Interning allows all equal markings to share a single instance, reducing memory use and
+ * allowing equality checks to short circuit on identity.
+ * <p>
+ * Each kind of value is held in a bounded map. When a map reaches its maximum size it is cleared, and interning
+ * starts again. This keeps memory use predictable when faced with an unexpectedly large number of distinct values,
+ * without the cost of tracking usage.
+ * <p>
+ * {@link Classification}'s are held separately for production and development modes, so that a change in
+ * configuration can never return a {@link Classification} which is not valid for the current mode.
+ */
+public final class ProtectiveMarkerInterner {
+
+    /**
+     * The maximum number of each kind of value held by the shared {@link ProtectiveMarkerInterner}.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private static final ProtectiveMarkerInterner SHARED = new ProtectiveMarkerInterner(DEFAULT_MAXIMUM_SIZE);
+
+    private final int maximumSize;
+    private final ConcurrentHashMap<ProtectiveMarker, ProtectiveMarker> markers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ProtectiveMarker, MarkerFingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Classification> productionClassifications = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Classification> developmentClassifications = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize the maximum number of each kind of value to hold. Must be positive.
+     */
+    public ProtectiveMarkerInterner(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Provides a {@link ProtectiveMarkerInterner} shared across the application.
+     *
+     * @return the shared {@link ProtectiveMarkerInterner}.
+     */
+    public static ProtectiveMarkerInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * Provides the canonical instance of the given {@link ProtectiveMarker}.
+     *
+     * @param marker the {@link ProtectiveMarker} to intern. May not be null.
+     * @return a {@link ProtectiveMarker} equal to the given marker.
+     */
+    public ProtectiveMarker intern(ProtectiveMarker marker) {
+        Objects.requireNonNull(marker);
+        return intern(markers, marker);
+    }
+
+    /**
+     * Provides the {@link MarkerFingerprint} of the given {@link ProtectiveMarker}, computing it only the first time an
+     * equal marker is seen.
+     *
+     * @param marker the {@link ProtectiveMarker} to fingerprint. May not be null.
+     * @return the {@link MarkerFingerprint} of the marker.
+     */
+    public MarkerFingerprint fingerprint(ProtectiveMarker marker) {
+        Objects.requireNonNull(marker);
+        MarkerFingerprint fingerprint = fingerprints.get(marker);
+        if (fingerprint == null) {
+            fingerprint = intern(fingerprints, intern(marker), MarkerFingerprint.of(marker));
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Provides the canonical instance of the given String, such as a compartment or country code.
+     *
+     * @param value the String to intern. May not be null.
+     * @return a String equal to the given value.
+     */
+    public String intern(String value) {
+        Objects.requireNonNull(value);
+        return intern(strings, value);
+    }
+
+    /**
+     * Provides the canonical {@link Classification} with the given name. The {@link Classification} is only
+     * constructed, and so validated against the current configuration, the first time the name is seen.
+     *
+     * @param classificationName the name of an entry in the currently configured Classification enumeration.
+     * @return the {@link Classification}.
+     * @throws IllegalArgumentException if the name is not valid for the current configuration.
+     */
+    public Classification classification(String classificationName) {
+        Objects.requireNonNull(classificationName);
+        ConcurrentHashMap<String, Classification> classifications = ClassificationConfig.productionMode()
+                ? productionClassifications
+                : developmentClassifications;
+        Classification classification = classifications.get(classificationName);
+        if (classification == null) {
+            classification = new Classification(classificationName);
+            classification = intern(classifications, classificationName, classification);
+        }
+        return classification;
+    }
+
+    /**
+     * Removes all interned values.
+     */
+    public void clear() {
+        markers.clear();
+        fingerprints.clear();
+        strings.clear();
+        productionClassifications.clear();
+        developmentClassifications.clear();
+    }
+
+    /**
+     * Provides the number of interned {@link ProtectiveMarker}'s.
+     *
+     * @return the number of interned {@link ProtectiveMarker}'s.
+     */
+    public int size() {
+        return markers.size();
+    }
+
+    private <T> T intern(ConcurrentHashMap<T, T> map, T value) {
+        return intern(map, value, value);
+    }
+
+    private <K, V> V intern(ConcurrentHashMap<K, V> map, K key, V value) {
+        V existing = map.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (map.size() >= maximumSize) {
+            map.clear();
+        }
+        existing = map.putIfAbsent(key, value);
+        return existing != null ? existing : value;
+    }
+}
@@ -0,0 +1,342 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.DevelopmentClassification;
+import io.github.trquinn76.classification.nzl.model.NZLClassification;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+
+/**
+ * Parses the text form of a {@link ProtectiveMarker}, as produced by its {@code toString()} function, back into a
+ * {@link ProtectiveMarker}.
+ * <p>
+ * The text is expected to be made of, in order:
+ * <ul>
+ * <li>any Policy and Privacy Endorsements, with department names before {@code USE ONLY}, and a date time, in the
+ * configured format, after {@code EMBARGOED FOR RELEASE} and {@code TO BE REVIEWED ON}.</li>
+ * <li>the {@link Classification}, for the configured mode.</li>
+ * <li>optionally, a {@code //} control section, of '/' separated {@code ACCOUNTABLE MATERIAL} and sensitive
+ * compartments.</li>
+ * <li>optionally, a {@code //} dissemination section, of '/' separated dissemination marks, ending with any
+ * {@code NZEO} or {@code REL TO} releasability.</li>
+ * </ul>
+ * When only one {@code //} section is present, the text form does not always say which it is. A section holding
+ * {@code ACCOUNTABLE MATERIAL} is a control section, and a section holding releasability, or one of the dissemination
+ * marks given to the constructor, is a dissemination section. Any other section is read as a control section.
+ * <p>
+ * {@code ACCOUNTABLE MATERIAL} is implied for TOP SECRET, as it is left out of the text form. The parsed marker is
+ * validated by the {@link ProtectiveMarkerBuilder}. A {@link ProtectiveMarkerParser} is immutable, and may be shared
+ * between threads.
+ */
+public final class ProtectiveMarkerParser {
+
+    private static final String SECTION = "//";
+    private static final Pattern SECTIONS = Pattern.compile(SECTION, Pattern.LITERAL);
+    private static final Pattern LIST = Pattern.compile(", ", Pattern.LITERAL);
+    private static final String ACCOUNTABLE_MATERIAL = "ACCOUNTABLE MATERIAL";
+
+    private static final Vocabulary<NZLClassification> NZL_CLASSIFICATIONS = Vocabulary.of(NZLClassification.class,
+            Object::toString);
+    private static final Vocabulary<DevelopmentClassification> DEVELOPMENT_CLASSIFICATIONS = Vocabulary
+            .of(DevelopmentClassification.class, Object::toString);
+    private static final Vocabulary<PolicyAndPrivacyEndorsements> ENDORSEMENTS = Vocabulary
+            .of(PolicyAndPrivacyEndorsements.class, Object::toString);
+    private static final Vocabulary<ReleasabilityTypes> RELEASABILITY_TYPES = Vocabulary.of(ReleasabilityTypes.class,
+            Object::toString);
+
+    private final Set<String> disseminationMarks;
+
+    /**
+     * Constructor for a parser which reads a lone {@code //} section as a control section, unless it holds
+     * releasability.
+     */
+    public ProtectiveMarkerParser() {
+        this(Set.of());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param disseminationMarks the dissemination marks which identify a lone {@code //} section as a dissemination
+     *                           section. May be empty, may not be null.
+     */
+    public ProtectiveMarkerParser(Set<String> disseminationMarks) {
+        this.disseminationMarks = Set.copyOf(disseminationMarks);
+    }
+
+    /**
+     * Parses the given text.
+     *
+     * @param text the text form of a {@link ProtectiveMarker}. May not be null.
+     * @return the {@link ProtectiveMarker}.
+     * @throws IllegalArgumentException if the text is not a valid {@link ProtectiveMarker}.
+     */
+    public ProtectiveMarker parse(String text) {
+        Objects.requireNonNull(text);
+        List<String> report = new ArrayList<>();
+        ProtectiveMarkerBuilder builder = read(text, report);
+        Instrumentation.parsed(report.isEmpty());
+        if (!report.isEmpty()) {
+            throw new IllegalArgumentException("Unable to parse \"" + text + "\" as a ProtectiveMarker: "
+                    + String.join(" ", report));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses the given text, without raising an exception if it is not valid.
+     *
+     * @param text the text form of a {@link ProtectiveMarker}. May not be null.
+     * @return the {@link ProtectiveMarker}, or empty if the text is not a valid {@link ProtectiveMarker}.
+     */
+    public Optional<ProtectiveMarker> tryParse(String text) {
+        Objects.requireNonNull(text);
+        List<String> report = new ArrayList<>();
+        ProtectiveMarkerBuilder builder = read(text, report);
+        Instrumentation.parsed(report.isEmpty());
+        return report.isEmpty() ? Optional.of(builder.build()) : Optional.empty();
+    }
+
+    /**
+     * Reads the text into a {@link ProtectiveMarkerBuilder}, adding any problems found to the report. The builder may
+     * only be built if the report is empty.
+     */
+    private ProtectiveMarkerBuilder read(String text, List<String> report) {
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        String trimmed = text.strip();
+
+        int[] match = findClassification(trimmed);
+        if (match == null) {
+            report.add("No Classification found.");
+            return builder;
+        }
+        builder.setClassification(new Classification(classifications().get(trimmed, match[0], match[1]).name()));
+
+        if (!readEndorsements(trimmed.substring(0, match[0]), builder, report)
+                || !readSections(trimmed.substring(match[1]), builder, report)) {
+            return builder;
+        }
+        if (Classification.topSecret().equals(builder.getClassification())) {
+            builder.accountableMaterial();
+        }
+        report.addAll(builder.isValid());
+        return builder;
+    }
+
+    /**
+     * Finds the first Classification at the start of a word, which is followed by the end of the text or a section.
+     *
+     * @return the start and end of the Classification, or null.
+     */
+    private static int[] findClassification(String text) {
+        Vocabulary<?> classifications = classifications();
+        for (int start = 0; start < text.length(); start++) {
+            if (start > 0 && text.charAt(start - 1) != ' ') {
+                continue;
+            }
+            for (int length : classifications.lengths()) {
+                int end = start + length;
+                if (end <= text.length() && (end == text.length() || text.startsWith(SECTION, end))
+                        && classifications.get(text, start, end) != null) {
+                    return new int[] { start, end };
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Vocabulary<?> classifications() {
+        if (ClassificationConfig.productionMode()) {
+            return NZL_CLASSIFICATIONS;
+        }
+        return DEVELOPMENT_CLASSIFICATIONS;
+    }
+
+    /**
+     * Reads the Policy and Privacy Endorsements before the Classification. Text between endorsements is the department
+     * list of a following {@code USE ONLY}, or otherwise the date time of a preceding {@code EMBARGOED FOR RELEASE} or
+     * {@code TO BE REVIEWED ON}.
+     */
+    private static boolean readEndorsements(String text, ProtectiveMarkerBuilder builder, List<String> report) {
+        PolicyAndPrivacyEndorsements awaitingTime = null;
+        int valueStart = 0;
+        int position = 0;
+        while (position < text.length()) {
+            PolicyAndPrivacyEndorsements endorsement = null;
+            if (position == 0 || text.charAt(position - 1) == ' ') {
+                endorsement = endorsementAt(text, position);
+            }
+            if (endorsement == null) {
+                position++;
+                continue;
+            }
+            String value = text.substring(valueStart, position).strip();
+            if (endorsement == PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY && awaitingTime == null) {
+                if (!value.isEmpty()) {
+                    builder.setDepartmentUseOnlyDepartments(Arrays.asList(LIST.split(value)));
+                }
+            } else if (!value.isEmpty() || awaitingTime != null) {
+                if (!readTime(awaitingTime, value, builder, report)) {
+                    return false;
+                }
+            }
+            builder.addPolicyAndPrivacyEndorsement(endorsement);
+            awaitingTime = switch (endorsement) {
+            case EMBARGOED_FOR_RELEASE, TO_BE_REVIEWED_ON -> endorsement;
+            default -> null;
+            };
+            position += endorsement.toString().length();
+            valueStart = position;
+        }
+        String value = text.substring(valueStart).strip();
+        if (!value.isEmpty() || awaitingTime != null) {
+            return readTime(awaitingTime, value, builder, report);
+        }
+        return true;
+    }
+
+    private static PolicyAndPrivacyEndorsements endorsementAt(String text, int position) {
+        for (int length : ENDORSEMENTS.lengths()) {
+            int end = position + length;
+            if (end <= text.length() && (end == text.length() || text.charAt(end) == ' ')) {
+                PolicyAndPrivacyEndorsements endorsement = ENDORSEMENTS.get(text, position, end);
+                if (endorsement != null) {
+                    return endorsement;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean readTime(PolicyAndPrivacyEndorsements endorsement, String value,
+            ProtectiveMarkerBuilder builder, List<String> report) {
+        if (endorsement == null) {
+            report.add("Unexpected text: \"" + value + "\".");
+            return false;
+        }
+        if (value.isEmpty()) {
+            report.add("Missing date time for Endorsement '" + endorsement + "'.");
+            return false;
+        }
+        LocalDateTime time;
+        try {
+            time = LocalDateTime.parse(value, ClassificationConfig.dateTimeFormatter());
+        } catch (DateTimeParseException e) {
+            report.add("Invalid date time for Endorsement '" + endorsement + "': \"" + value + "\".");
+            return false;
+        }
+        if (endorsement == PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE) {
+            builder.setEmbargoedForReleaseTime(time);
+        } else {
+            builder.setToBeReviewedOnTime(time);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the control and dissemination sections after the Classification.
+     */
+    private boolean readSections(String text, ProtectiveMarkerBuilder builder, List<String> report) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        String[] sections = SECTIONS.split(text.substring(SECTION.length()), -1);
+        if (sections.length > 2) {
+            report.add("Too many sections: \"" + text + "\".");
+            return false;
+        }
+        List<List<String>> items = new ArrayList<>();
+        for (String section : sections) {
+            List<String> sectionItems = Arrays.asList(section.split("/", -1));
+            if (sectionItems.stream().anyMatch(String::isBlank)) {
+                report.add("Empty endorsement in section: \"" + section + "\".");
+                return false;
+            }
+            items.add(sectionItems);
+        }
+
+        if (items.size() == 2) {
+            return readControls(items.get(0), builder, report) && readDissemination(items.get(1), builder, report);
+        }
+        List<String> section = items.get(0);
+        if (!section.contains(ACCOUNTABLE_MATERIAL) && section.stream()
+                .anyMatch(item -> releasabilityOf(item) != null || disseminationMarks.contains(item))) {
+            return readDissemination(section, builder, report);
+        }
+        return readControls(section, builder, report);
+    }
+
+    private static boolean readControls(List<String> items, ProtectiveMarkerBuilder builder, List<String> report) {
+        for (int i = 0; i < items.size(); i++) {
+            String item = items.get(i);
+            if (item.equals(ACCOUNTABLE_MATERIAL) && i == 0) {
+                builder.accountableMaterial();
+            } else if (item.equals(ACCOUNTABLE_MATERIAL) || releasabilityOf(item) != null) {
+                report.add("Unexpected control endorsement: \"" + item + "\".");
+                return false;
+            } else {
+                builder.addSensitiveCompartment(item);
+            }
+        }
+        return true;
+    }
+
+    private static boolean readDissemination(List<String> items, ProtectiveMarkerBuilder builder,
+            List<String> report) {
+        for (int i = 0; i < items.size(); i++) {
+            String item = items.get(i);
+            ReleasabilityTypes type = releasabilityOf(item);
+            if (type == null && !item.equals(ACCOUNTABLE_MATERIAL)) {
+                builder.addDisseminationMark(item);
+            } else if (type != null && i == items.size() - 1) {
+                builder.setReleasability(type);
+                if (type == ReleasabilityTypes.RELTO && item.length() > type.toString().length()) {
+                    for (String country : LIST.split(item.substring(type.toString().length() + 1))) {
+                        builder.addReleasableToCountry(canonicalCountry(country));
+                    }
+                }
+            } else {
+                report.add("Unexpected dissemination endorsement: \"" + item + "\".");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The releasable to order compares 'NZL' by identity, so the Five Eyes codes are replaced by the {@link Utils}
+     * constants.
+     */
+    private static String canonicalCountry(String country) {
+        for (String fiveEyes : List.of(Utils.NZL, Utils.AUS, Utils.CAN, Utils.GBR, Utils.USA)) {
+            if (fiveEyes.equals(country)) {
+                return fiveEyes;
+            }
+        }
+        return country;
+    }
+
+    private static ReleasabilityTypes releasabilityOf(String item) {
+        ReleasabilityTypes type = RELEASABILITY_TYPES.get(item);
+        if (type != null) {
+            return type;
+        }
+        // a REL TO releasability is followed by its countries.
+        String relTo = ReleasabilityTypes.RELTO.toString();
+        if (item.startsWith(relTo) && item.startsWith(" ", relTo.length())) {
+            return ReleasabilityTypes.RELTO;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,272 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.DevelopmentClassification;
+import io.github.trquinn76.classification.nzl.model.NZLClassification;
+import io.github.trquinn76.classification.nzl.model.NationalSecurityEndorsements;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityMarking;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+
+/**
+ * Renders {@link ProtectiveMarker}'s directly as UTF-8 bytes.
+ * <p>
+ * The bytes written are exactly those of {@code marker.toString().getBytes(StandardCharsets.UTF_8)}, but are written
+ * straight into a caller supplied {@link ByteBuffer}, such as a network or file output buffer, without first creating
+ * the intermediate String. The text of every enumeration value is encoded once, when this class is loaded, so that
+ * only free text values such as compartments, dates and country codes need to be encoded per call.
+ */
+public final class ProtectiveMarkerRenderer {
+
+    private static final byte SPACE = ' ';
+    private static final byte SLASH = '/';
+    private static final byte[] COMMA_SPACE = { ',', SPACE };
+    private static final byte[] ACCOUNTABLE_MATERIAL = "/ACCOUNTABLE MATERIAL".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[][] NZL_CLASSIFICATIONS = encode(NZLClassification.values());
+    private static final byte[][] DEVELOPMENT_CLASSIFICATIONS = encode(DevelopmentClassification.values());
+    private static final byte[][] ENDORSEMENTS = encode(PolicyAndPrivacyEndorsements.values());
+    private static final byte[][] RELEASABILITY_TYPES = encode(ReleasabilityTypes.values());
+
+    /**
+     * Writes the UTF-8 form of the given {@link ProtectiveMarker} into the {@code buffer}, starting at its current
+     * position.
+     * <p>
+     * If the {@code buffer} does not have enough space remaining, its position is restored to where it was before
+     * this call, and a {@link BufferOverflowException} is thrown. {@code renderedLength()} may be used to size the
+     * buffer beforehand.
+     *
+     * @param marker the {@link ProtectiveMarker} to render. May not be null.
+     * @param buffer the {@link ByteBuffer} to write into. May not be null.
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if the marker does not fit in the remaining space of the buffer.
+     */
+    public static int render(ProtectiveMarker marker, ByteBuffer buffer) {
+        Objects.requireNonNull(marker);
+        Objects.requireNonNull(buffer);
+        int start = buffer.position();
+        try {
+            List<PolicyAndPrivacyEndorsementMarking> endorsements = marker.policyAndPrivacyEndorsements();
+            for (PolicyAndPrivacyEndorsementMarking endorsement : endorsements) {
+                putEndorsement(endorsement, buffer);
+                buffer.put(SPACE);
+            }
+            int ordinal = classificationOrdinal(marker.classification());
+            buffer.put(classificationBytes(ordinal));
+            if (marker.nationalSecurityEndorsements() != null) {
+                putNationalSecurityEndorsements(marker.nationalSecurityEndorsements(), isTopSecret(ordinal), buffer);
+            }
+        } catch (BufferOverflowException boe) {
+            buffer.position(start);
+            throw boe;
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * Calculates the number of bytes {@code render()} will write for the given {@link ProtectiveMarker}.
+     *
+     * @param marker the {@link ProtectiveMarker} to measure. May not be null.
+     * @return the length in bytes of the UTF-8 form of the marker.
+     */
+    public static int renderedLength(ProtectiveMarker marker) {
+        Objects.requireNonNull(marker);
+        int length = 0;
+        for (PolicyAndPrivacyEndorsementMarking endorsement : marker.policyAndPrivacyEndorsements()) {
+            length += endorsementLength(endorsement) + 1;
+        }
+        int ordinal = classificationOrdinal(marker.classification());
+        length += classificationBytes(ordinal).length;
+        if (marker.nationalSecurityEndorsements() != null) {
+            length += nationalSecurityEndorsementsLength(marker.nationalSecurityEndorsements(), isTopSecret(ordinal));
+        }
+        return length;
+    }
+
+    /**
+     * Renders the given {@link ProtectiveMarker} into a new, exactly sized, byte array.
+     *
+     * @param marker the {@link ProtectiveMarker} to render. May not be null.
+     * @return the UTF-8 bytes of the marker.
+     */
+    public static byte[] toBytes(ProtectiveMarker marker) {
+        byte[] bytes = new byte[renderedLength(marker)];
+        render(marker, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    private static void putEndorsement(PolicyAndPrivacyEndorsementMarking endorsement, ByteBuffer buffer) {
+        byte[] text = ENDORSEMENTS[endorsement.endorsement().ordinal()];
+        switch (endorsement.endorsement()) {
+        case DEPARTMENT_USE_ONLY: {
+            // the list of departments goes before the string "USE ONLY".
+            putText(endorsement.timeOrUseOnlyValue(), buffer);
+            buffer.put(SPACE).put(text);
+            break;
+        }
+        case TO_BE_REVIEWED_ON:
+        case EMBARGOED_FOR_RELEASE: {
+            buffer.put(text).put(SPACE);
+            putText(endorsement.timeOrUseOnlyValue(), buffer);
+            break;
+        }
+        default: {
+            buffer.put(text);
+        }
+        }
+    }
+
+    private static int endorsementLength(PolicyAndPrivacyEndorsementMarking endorsement) {
+        int length = ENDORSEMENTS[endorsement.endorsement().ordinal()].length;
+        if (endorsement.timeOrUseOnlyValue() != null) {
+            length += 1 + utf8Length(endorsement.timeOrUseOnlyValue());
+        }
+        return length;
+    }
+
+    private static void putNationalSecurityEndorsements(NationalSecurityEndorsements nse, boolean topSecret,
+            ByteBuffer buffer) {
+        // ACCOUNTABLE MATERIAL is implied by TOP SECRET, so it is not marked.
+        boolean accountable = nse.accountableMaterial() && !topSecret;
+        // Control Section
+        if (accountable || !nse.sensitiveCompartments().isEmpty()) {
+            buffer.put(SLASH);
+            if (accountable) {
+                buffer.put(ACCOUNTABLE_MATERIAL);
+            }
+            putSlashWords(nse.sensitiveCompartments(), buffer);
+        }
+        // Dissemination Section
+        if (nse.hasDissemination()) {
+            buffer.put(SLASH);
+            putSlashWords(nse.disseminationMarks(), buffer);
+            ReleasabilityMarking releasability = nse.releasability();
+            if (releasability != null) {
+                buffer.put(SLASH).put(RELEASABILITY_TYPES[releasability.type().ordinal()]);
+                List<String> countries = releasability.releasableToList();
+                for (int i = 0; i < countries.size(); i++) {
+                    if (i == 0)
+                        buffer.put(SPACE);
+                    else
+                        buffer.put(COMMA_SPACE);
+                    putText(countries.get(i), buffer);
+                }
+            }
+        }
+    }
+
+    private static int nationalSecurityEndorsementsLength(NationalSecurityEndorsements nse, boolean topSecret) {
+        int length = 0;
+        boolean accountable = nse.accountableMaterial() && !topSecret;
+        if (accountable || !nse.sensitiveCompartments().isEmpty()) {
+            length += 1 + (accountable ? ACCOUNTABLE_MATERIAL.length : 0);
+            length += slashWordsLength(nse.sensitiveCompartments());
+        }
+        if (nse.hasDissemination()) {
+            length += 1 + slashWordsLength(nse.disseminationMarks());
+            ReleasabilityMarking releasability = nse.releasability();
+            if (releasability != null) {
+                length += 1 + RELEASABILITY_TYPES[releasability.type().ordinal()].length;
+                List<String> countries = releasability.releasableToList();
+                for (int i = 0; i < countries.size(); i++) {
+                    length += (i == 0 ? 1 : COMMA_SPACE.length) + utf8Length(countries.get(i));
+                }
+            }
+        }
+        return length;
+    }
+
+    private static void putSlashWords(List<String> words, ByteBuffer buffer) {
+        for (String word : words) {
+            buffer.put(SLASH);
+            putText(word, buffer);
+        }
+    }
+
+    private static int slashWordsLength(List<String> words) {
+        int length = 0;
+        for (String word : words) {
+            length += 1 + utf8Length(word);
+        }
+        return length;
+    }
+
+    private static int classificationOrdinal(Classification classification) {
+        if (ClassificationConfig.productionMode()) {
+            return NZLClassification.valueOf(classification.classificationName()).ordinal();
+        }
+        return DevelopmentClassification.valueOf(classification.classificationName()).ordinal();
+    }
+
+    private static byte[] classificationBytes(int ordinal) {
+        if (ClassificationConfig.productionMode()) {
+            return NZL_CLASSIFICATIONS[ordinal];
+        }
+        return DEVELOPMENT_CLASSIFICATIONS[ordinal];
+    }
+
+    private static boolean isTopSecret(int ordinal) {
+        if (ClassificationConfig.productionMode()) {
+            return ordinal == NZLClassification.TOP_SECRET.ordinal();
+        }
+        return ordinal == DevelopmentClassification.DEVELOPMENT_TOP_SECRET.ordinal();
+    }
+
+    /**
+     * Writes the given text as UTF-8. ASCII characters are written directly, and only text containing other
+     * characters falls back to the {@link String} encoder.
+     */
+    static void putText(String text, ByteBuffer buffer) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                buffer.put(text.substring(i).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    static int utf8Length(String text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    // 4 bytes for the 2 chars of the pair.
+                    bytes += 2;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    // unpaired surrogates are replaced with a single '?'.
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static byte[][] encode(Enum<?>[] values) {
+        byte[][] encoded = new byte[values.length][];
+        for (Enum<?> value : values) {
+            encoded[value.ordinal()] = value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    private ProtectiveMarkerRenderer() {
+    }
+}
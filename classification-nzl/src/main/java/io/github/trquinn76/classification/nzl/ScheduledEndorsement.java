@@ -0,0 +1,35 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+
+/**
+ * An {@code EMBARGOED FOR RELEASE} or {@code TO BE REVIEWED ON} endorsement of an item, held by an
+ * {@link EndorsementScheduler} until its time.
+ *
+ * @param itemId      the id the item was scheduled with.
+ * @param endorsement {@code EMBARGOED_FOR_RELEASE} or {@code TO_BE_REVIEWED_ON}.
+ * @param time        the time of the endorsement, as given by the marker.
+ */
+public record ScheduledEndorsement(String itemId, PolicyAndPrivacyEndorsements endorsement, LocalDateTime time) {
+
+    /**
+     * Constructor.
+     *
+     * @param itemId      the id the item was scheduled with. May not be null.
+     * @param endorsement {@code EMBARGOED_FOR_RELEASE} or {@code TO_BE_REVIEWED_ON}.
+     * @param time        the time of the endorsement. May not be null.
+     * @throws IllegalArgumentException if the endorsement has no time.
+     */
+    public ScheduledEndorsement {
+        Objects.requireNonNull(itemId);
+        Objects.requireNonNull(endorsement);
+        Objects.requireNonNull(time);
+        if (endorsement != PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE
+                && endorsement != PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON) {
+            throw new IllegalArgumentException("Endorsement has no time to schedule: " + endorsement);
+        }
+    }
+}
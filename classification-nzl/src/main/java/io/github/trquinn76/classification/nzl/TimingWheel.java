@@ -0,0 +1,235 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel, which holds values until a given tick, and releases them when that tick is reached.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots. Each slot of the lowest level covers a single tick,
+ * and each slot of a higher level covers all of the slots of the level below. A value is held in the lowest level whose
+ * span reaches its deadline, and is moved down a level each time the wheel turns into its slot, until it reaches the
+ * lowest level and expires. Adding and removing a value take constant time, however many values are held, and each
+ * value is moved at most once per level. Values further away than the span of the wheel are held in the highest
+ * level, and placed again when their slot is reached.
+ * <p>
+ * Each level keeps a bitmap of its occupied slots, so turning the wheel jumps straight to the next tick at which an
+ * occupied slot is reached, either to expire its values or to move them down a level. Turning the wheel over a long
+ * gap therefore costs time in proportion to the number of occupied slots passed, not the number of ticks.
+ * <p>
+ * Each slot is a doubly linked list of {@link Timer}'s, so a {@link Timer} may be removed without a search. A
+ * {@link TimingWheel} is not thread safe.
+ *
+ * @param <T> the type of value held.
+ */
+final class TimingWheel<T> {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 6;
+
+    private static final int MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /**
+     * A value held in a {@link TimingWheel}, until its deadline.
+     *
+     * @param <T> the type of value held.
+     */
+    static final class Timer<T> {
+
+        private final long deadline;
+        private final T value;
+        private Timer<T> previous;
+        private Timer<T> next;
+        private int level = -1;
+        private int slot;
+
+        private Timer(long deadline, T value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+        /**
+         * @return the tick at which the value expires.
+         */
+        long deadline() {
+            return this.deadline;
+        }
+
+        /**
+         * @return the value held.
+         */
+        T value() {
+            return this.value;
+        }
+    }
+
+    private final Timer<T>[][] slots;
+    // bit i of a level is set while slot i of that level holds a timer.
+    private final long[] occupied = new long[LEVELS];
+    private long now;
+    private int size;
+
+    /**
+     * @param now the current tick.
+     */
+    TimingWheel(long now) {
+        @SuppressWarnings("unchecked")
+        Timer<T>[][] slots = (Timer<T>[][]) new Timer<?>[LEVELS][SLOTS];
+        this.slots = slots;
+        this.now = now;
+    }
+
+    /**
+     * @return the current tick.
+     */
+    long now() {
+        return this.now;
+    }
+
+    /**
+     * @return the number of values held.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds a value. The current tick has already been released, so a value whose deadline is not after it expires at
+     * the next tick.
+     *
+     * @param deadline the tick at which the value expires.
+     * @param value    the value.
+     * @return the {@link Timer} holding the value, for {@link #remove(Timer)}.
+     */
+    Timer<T> add(long deadline, T value) {
+        Timer<T> timer = new Timer<>(deadline, value);
+        place(timer, this.now + 1);
+        this.size++;
+        return timer;
+    }
+
+    /**
+     * @param timer a {@link Timer} of this wheel.
+     * @return true if the {@link Timer} was held, false if it had already expired or been removed.
+     */
+    boolean remove(Timer<T> timer) {
+        if (timer.level < 0) {
+            return false;
+        }
+        unlink(timer);
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Turns the wheel to the given tick, releasing every value whose deadline is reached, in deadline order.
+     *
+     * @param to      the tick to turn to. Ticks before the current tick are ignored.
+     * @param expired receives each released value.
+     */
+    void advance(long to, Consumer<? super T> expired) {
+        while (this.now < to) {
+            long tick = nextOccupiedTick();
+            if (tick > to) {
+                // no occupied slot is reached, so the intervening ticks need not be visited.
+                this.now = to;
+                return;
+            }
+            this.now = tick;
+            int top = 0;
+            while (top + 1 < LEVELS && (this.now & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+                top++;
+            }
+            for (int level = top; level > 0; level--) {
+                Timer<T> timer = detach(level, (int) (this.now >>> (SLOT_BITS * level)) & MASK);
+                while (timer != null) {
+                    Timer<T> next = timer.next;
+                    place(timer, this.now);
+                    timer = next;
+                }
+            }
+            Timer<T> timer = detach(0, (int) this.now & MASK);
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.next = null;
+                this.size--;
+                expired.accept(timer.value);
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * @return the first tick after the current one at which an occupied slot of any level is reached, or
+     *         {@link Long#MAX_VALUE} if the wheel is empty.
+     */
+    private long nextOccupiedTick() {
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            long bits = this.occupied[level];
+            if (bits != 0) {
+                int shift = SLOT_BITS * level;
+                // the slots of a level are reached in turn, each at the start of the span it covers.
+                long base = (this.now >>> shift) + 1;
+                int distance = Long.numberOfTrailingZeros(Long.rotateRight(bits, (int) base & MASK));
+                next = Math.min(next, (base + distance) << shift);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Places a {@link Timer} in the lowest level whose span reaches its deadline, treating deadlines before
+     * {@code earliest} as {@code earliest}.
+     */
+    private void place(Timer<T> timer, long earliest) {
+        long delta = Math.min(Math.max(timer.deadline, earliest) - this.now, MAX_DELTA);
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((this.now + delta) >>> (SLOT_BITS * level)) & MASK;
+        Timer<T> head = this.slots[level][slot];
+        timer.previous = null;
+        timer.next = head;
+        if (head != null) {
+            head.previous = timer;
+        }
+        this.slots[level][slot] = timer;
+        this.occupied[level] |= 1L << slot;
+        timer.level = level;
+        timer.slot = slot;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            this.slots[timer.level][timer.slot] = timer.next;
+            if (timer.next == null) {
+                this.occupied[timer.level] &= ~(1L << timer.slot);
+            }
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.level = -1;
+    }
+
+    /**
+     * Empties a slot, returning the list of {@link Timer}'s it held. The {@link Timer}'s are marked as no longer held.
+     */
+    private Timer<T> detach(int level, int slot) {
+        Timer<T> head = this.slots[level][slot];
+        this.slots[level][slot] = null;
+        this.occupied[level] &= ~(1L << slot);
+        for (Timer<T> timer = head; timer != null; timer = timer.next) {
+            timer.level = -1;
+            timer.previous = null;
+        }
+        return head;
+    }
+}
@@ -1,9 +1,12 @@
 package io.github.trquinn76.classification.nzl;
 
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Objects;
 import java.util.Set;
 
 import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
 
 /**
  * Utility functions and constants for the Classification scheme.
@@ -71,6 +74,41 @@ public class Utils {
         }
     };
 
+    /**
+     * Merges the {@code Collection} of {@link ProtectiveMarker}'s into a single {@link ProtectiveMarkerBuilder}, which
+     * represents their high water mark.
+     * <p>
+     * The returned {@link ProtectiveMarkerBuilder} will have:
+     * <ul>
+     * <li>the highest {@link Classification}.</li>
+     * <li>every Policy and Privacy Endorsement, with the latest {@code EMBARGOED FOR RELEASE} time, the earliest
+     * {@code TO BE REVIEWED ON} time, and only the departments named by every {@code USE ONLY} endorsement.</li>
+     * <li>Accountable Material if any {@link ProtectiveMarker} is Accountable Material, and every Sensitive Compartment
+     * and dissemination mark.</li>
+     * <li>the most restrictive releasability: {@code NZEO} if any {@link ProtectiveMarker} is {@code NZEO}, otherwise
+     * {@code REL TO} the countries named by every {@code REL TO} list, or {@code NZEO} if no other country is named by
+     * every list.</li>
+     * </ul>
+     * The returned {@link ProtectiveMarkerBuilder} may be in an invalid state, and may need additional changes to be
+     * able to build a valid {@link ProtectiveMarker}.
+     * <p>
+     * If the {@code Collection} is empty, this function will return null.
+     * 
+     * @param protectiveMarkings the {@code Collection} of {@link ProtectiveMarker}'s to merge. May not be null. May be
+     *                           empty.
+     * @return a {@link ProtectiveMarkerBuilder} which represents the merging of the given {@link ProtectiveMarker}'s.
+     *         Will be null if the {@code Collection} is empty.
+     */
+    public static ProtectiveMarkerBuilder merge(Collection<ProtectiveMarker> protectiveMarkings) {
+        Objects.requireNonNull(protectiveMarkings);
+        MarkerMergeEvent event = new MarkerMergeEvent();
+        event.begin();
+        HighWaterMarkAccumulator accumulator = new HighWaterMarkAccumulator();
+        protectiveMarkings.forEach(accumulator::add);
+        Instrumentation.merged(event, protectiveMarkings.size(), accumulator.classification());
+        return accumulator.merged();
+    }
+
     private Utils() {
     }
 }
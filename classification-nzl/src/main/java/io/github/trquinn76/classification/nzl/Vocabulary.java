@@ -0,0 +1,196 @@
+package io.github.trquinn76.classification.nzl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Maps the texts of an enumeration back to its constants, with a collision free hash table.
+ * <p>
+ * The table is generated when the {@link Vocabulary} is created, by searching for a hash seed under which every text
+ * has a slot of its own. A lookup hashes the text once, and compares it with the single text in its slot, so it never
+ * probes, and never allocates. Texts may be looked up as a range of a {@link CharSequence}, or of a byte array holding
+ * ASCII or ISO-8859-1 text, so parsers need not cut substrings to look them up.
+ * <p>
+ * A {@link Vocabulary} is immutable, and may be shared between threads.
+ *
+ * @param <E> the enumeration type.
+ */
+public final class Vocabulary<E extends Enum<E>> {
+
+    private static final int SEEDS_PER_SIZE = 1024;
+
+    private final String[] texts;
+    private final Object[] constants;
+    private final int seed;
+    private final int mask;
+    private final int[] lengths;
+
+    private Vocabulary(Map<String, E> entries) {
+        String[] keys = entries.keySet().toArray(String[]::new);
+        int size = Integer.highestOneBit(Math.max(1, keys.length * 2 - 1)) << 1;
+        int found = 0;
+        String[] table = null;
+        while (table == null) {
+            for (int seed = 1; seed <= SEEDS_PER_SIZE && table == null; seed++) {
+                table = place(keys, seed, size - 1);
+                found = seed;
+            }
+            if (table == null) {
+                size <<= 1;
+            }
+        }
+        this.texts = table;
+        this.constants = new Object[size];
+        for (int i = 0; i < size; i++) {
+            this.constants[i] = table[i] == null ? null : entries.get(table[i]);
+        }
+        this.seed = found;
+        this.mask = size - 1;
+        this.lengths = Arrays.stream(keys).map(String::length).distinct().sorted(Comparator.reverseOrder())
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Creates a {@link Vocabulary} of the given text forms of every constant of an enumeration. A form may give the
+     * same text for several constants only if they are the same constant.
+     *
+     * @param <E>   the enumeration type.
+     * @param type  the enumeration class. May not be null.
+     * @param forms the functions giving each text form of a constant, such as {@code Enum::name} and
+     *              {@code Object::toString}. At least one is required.
+     * @return a new {@link Vocabulary}.
+     * @throws IllegalArgumentException if no forms are given, or two constants share a text.
+     */
+    @SafeVarargs
+    public static <E extends Enum<E>> Vocabulary<E> of(Class<E> type, Function<? super E, String>... forms) {
+        Objects.requireNonNull(type);
+        if (forms.length == 0) {
+            throw new IllegalArgumentException("At least one text form is required.");
+        }
+        Map<String, E> entries = new LinkedHashMap<>();
+        for (Function<? super E, String> form : forms) {
+            for (E constant : type.getEnumConstants()) {
+                String text = Objects.requireNonNull(form.apply(constant));
+                E existing = entries.putIfAbsent(text, constant);
+                if (existing != null && existing != constant) {
+                    throw new IllegalArgumentException(
+                            "The text \"" + text + "\" is shared by " + existing.name() + " and " + constant.name());
+                }
+            }
+        }
+        return new Vocabulary<>(entries);
+    }
+
+    /**
+     * @param text the text to look up. May be null.
+     * @return the constant with the given text, or null if there is none.
+     */
+    public E get(CharSequence text) {
+        return text == null ? null : get(text, 0, text.length());
+    }
+
+    /**
+     * @param text  the text holding the range to look up. May not be null.
+     * @param start the start of the range, inclusive.
+     * @param end   the end of the range, exclusive.
+     * @return the constant with the text of the given range, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(CharSequence text, int start, int end) {
+        Objects.checkFromToIndex(start, end, text.length());
+        int hash = this.seed;
+        for (int i = start; i < end; i++) {
+            hash = mix(hash, text.charAt(i));
+        }
+        int slot = finish(hash) & this.mask;
+        String candidate = this.texts[slot];
+        if (candidate == null || candidate.length() != end - start) {
+            return null;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != text.charAt(start + i)) {
+                return null;
+            }
+        }
+        return (E) this.constants[slot];
+    }
+
+    /**
+     * @param bytes the ASCII or ISO-8859-1 bytes holding the range to look up. May not be null.
+     * @param start the start of the range, inclusive.
+     * @param end   the end of the range, exclusive.
+     * @return the constant with the text of the given range, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(byte[] bytes, int start, int end) {
+        Objects.checkFromToIndex(start, end, bytes.length);
+        int hash = this.seed;
+        for (int i = start; i < end; i++) {
+            hash = mix(hash, bytes[i] & 0xFF);
+        }
+        int slot = finish(hash) & this.mask;
+        String candidate = this.texts[slot];
+        if (candidate == null || candidate.length() != end - start) {
+            return null;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != (bytes[start + i] & 0xFF)) {
+                return null;
+            }
+        }
+        return (E) this.constants[slot];
+    }
+
+    /**
+     * @param text the text to look up. May be null.
+     * @return true if a constant has the given text.
+     */
+    public boolean contains(CharSequence text) {
+        return get(text) != null;
+    }
+
+    /**
+     * @return the distinct lengths of the texts, longest first, for longest match parsing.
+     */
+    int[] lengths() {
+        return this.lengths;
+    }
+
+    /**
+     * @return a table with each text in the slot of its hash, or null if two texts share a slot.
+     */
+    private static String[] place(String[] texts, int seed, int mask) {
+        String[] table = new String[mask + 1];
+        for (String text : texts) {
+            int hash = seed;
+            for (int i = 0; i < text.length(); i++) {
+                hash = mix(hash, text.charAt(i));
+            }
+            int slot = finish(hash) & mask;
+            if (table[slot] != null) {
+                return null;
+            }
+            table[slot] = text;
+        }
+        return table;
+    }
+
+    private static int mix(int hash, int c) {
+        return (hash ^ c) * 0x01000193;
+    }
+
+    private static int finish(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(this.texts).filter(Objects::nonNull).toList().toString();
+    }
+}
@@ -1,54 +1,219 @@
 package io.github.trquinn76.classification.nzl.model;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import io.github.trquinn76.classification.nzl.ClassificationConfig;
 
 /**
- * Represents a Policy and Privacy Endorsement, with a String which is required
- * for some endorsements, but not others.
- * 
- * @param endorsement        the {@link PolicyAndPrivacyEndorsements}.
- * @param timeOrUseOnlyValue a String required for some Endorsements, or null.
+ * Represents a Policy and Privacy Endorsement, with the value which is required for some endorsements, but not others.
+ * <p>
+ * The value is held in typed form: the time of {@code EMBARGOED FOR RELEASE} and {@code TO BE REVIEWED ON} as seconds
+ * since the epoch, and the departments of {@code USE ONLY} as a list. Converting a {@link ProtectiveMarker} to a
+ * builder and back therefore needs no text processing. The text form of the value, {@link #timeOrUseOnlyValue()}, is
+ * rendered with the configured {@link ClassificationConfig#dateTimeFormatter()} each time it is asked for, and is the
+ * form in which the marking is serialised.
+ *
+ * @param endorsement the {@link PolicyAndPrivacyEndorsements}.
+ * @param epochSecond the date time of {@code EMBARGOED FOR RELEASE} and {@code TO BE REVIEWED ON}, as
+ *                    {@link LocalDateTime#toEpochSecond(ZoneOffset)} at {@link ZoneOffset#UTC}, or 0 for other
+ *                    endorsements.
+ * @param departments the departments of {@code USE ONLY}, in the order they are rendered, or an empty list for other
+ *                    endorsements.
  */
-public record PolicyAndPrivacyEndorsementMarking(PolicyAndPrivacyEndorsements endorsement, String timeOrUseOnlyValue) {
+@JsonPropertyOrder({ "endorsement", "timeOrUseOnlyValue" })
+public record PolicyAndPrivacyEndorsementMarking(PolicyAndPrivacyEndorsements endorsement,
+        @JsonIgnore long epochSecond, @JsonIgnore List<String> departments) {
+
+    private static final Pattern DEPARTMENT_SEPARATOR = Pattern.compile(", ", Pattern.LITERAL);
 
     /**
-     * Constructor allows ensuring the String is only populated when necessary.
-     * 
-     * @param endorsement        the {@link PolicyAndPrivacyEndorsements}.
-     * @param timeOrUseOnlyValue a String required for some Endorsements, or null.
+     * Constructor allows ensuring the value is only populated when necessary.
+     *
+     * @param endorsement the {@link PolicyAndPrivacyEndorsements}.
+     * @param epochSecond the date time of {@code EMBARGOED FOR RELEASE} and {@code TO BE REVIEWED ON}, or 0.
+     * @param departments the departments of {@code USE ONLY}, or an empty list.
+     * @throws IllegalArgumentException if there are no departments, or a blank department, for {@code USE ONLY}, or
+     *                                  a value is present which the endorsement does not take.
      */
     public PolicyAndPrivacyEndorsementMarking {
         Objects.requireNonNull(endorsement);
+        departments = List.copyOf(departments);
         switch (endorsement) {
+        case DEPARTMENT_USE_ONLY: {
+            if (departments.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "At least one department is required with this Endorsement: " + endorsement.toString());
+            }
+            for (String department : departments) {
+                if (department.isBlank()) {
+                    throw new IllegalArgumentException(
+                            "Blank department is not permitted with this Endorsement: " + endorsement.toString());
+                }
+            }
+            if (epochSecond != 0) {
+                throw new IllegalArgumentException(
+                        "A date time is not permitted with this Endorsement: " + endorsement.toString());
+            }
+            break;
+        }
         case TO_BE_REVIEWED_ON:
-        case DEPARTMENT_USE_ONLY:
         case EMBARGOED_FOR_RELEASE: {
-            Objects.requireNonNull(timeOrUseOnlyValue);
-            if (timeOrUseOnlyValue.isBlank()) {
+            if (!departments.isEmpty()) {
                 throw new IllegalArgumentException(
-                        "Blank value for 'reviewOrUseOnlyValue' is not permitted with this Endorsement: "
-                                + endorsement.toString());
+                        "Departments are not permitted with this Endorsement: " + endorsement.toString());
             }
             break;
         }
-        case APPOINTMENTS:
-        case BUDGET:
-        case CABINET:
-        case COMMERCIAL:
-        case EVALUATE:
-        case HONOURS:
-        case LEGAL_PRIVILEGE:
-        case MEDICAL:
-        case POLICY:
-        case STAFF: {
-            if (timeOrUseOnlyValue != null) {
+        default: {
+            if (epochSecond != 0 || !departments.isEmpty()) {
                 throw new IllegalArgumentException(
                         "No value for 'reviewOrUseOnlyValue' is required with this Endorsement: "
                                 + endorsement.toString());
             }
             break;
         }
+        }
+    }
+
+    /**
+     * Constructor from the text form of the value, which is parsed once. Prefer
+     * {@link #of(PolicyAndPrivacyEndorsements)}, {@link #at(PolicyAndPrivacyEndorsements, LocalDateTime)} and
+     * {@link #departmentUseOnly(Collection)}, which need no parsing.
+     *
+     * @param endorsement        the {@link PolicyAndPrivacyEndorsements}.
+     * @param timeOrUseOnlyValue a date time in the configured format for {@code EMBARGOED FOR RELEASE} and
+     *                           {@code TO BE REVIEWED ON}, a {@code ", "} separated list of departments for
+     *                           {@code USE ONLY}, or otherwise null.
+     * @throws IllegalArgumentException if the value is missing, blank or not a valid date time when it is required, or
+     *                                  is present when it is not.
+     */
+    @JsonCreator
+    public PolicyAndPrivacyEndorsementMarking(@JsonProperty("endorsement") PolicyAndPrivacyEndorsements endorsement,
+            @JsonProperty("timeOrUseOnlyValue") String timeOrUseOnlyValue) {
+        this(endorsement, parseTime(endorsement, timeOrUseOnlyValue),
+                parseDepartments(endorsement, timeOrUseOnlyValue));
+    }
+
+    /**
+     * @param endorsement an endorsement which requires no value. May not be null.
+     * @return a new {@link PolicyAndPrivacyEndorsementMarking}.
+     * @throws IllegalArgumentException if the endorsement requires a value.
+     */
+    public static PolicyAndPrivacyEndorsementMarking of(PolicyAndPrivacyEndorsements endorsement) {
+        return new PolicyAndPrivacyEndorsementMarking(endorsement, null);
+    }
+
+    /**
+     * @param endorsement {@code EMBARGOED_FOR_RELEASE} or {@code TO_BE_REVIEWED_ON}.
+     * @param time        the date time of the endorsement, held to the second. May not be null.
+     * @return a new {@link PolicyAndPrivacyEndorsementMarking}.
+     * @throws IllegalArgumentException if the endorsement does not take a date time.
+     */
+    public static PolicyAndPrivacyEndorsementMarking at(PolicyAndPrivacyEndorsements endorsement, LocalDateTime time) {
+        Objects.requireNonNull(time);
+        return ofEpochSecond(endorsement, time.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    /**
+     * @param endorsement {@code EMBARGOED_FOR_RELEASE} or {@code TO_BE_REVIEWED_ON}.
+     * @param epochSecond the date time of the endorsement, as {@link LocalDateTime#toEpochSecond(ZoneOffset)} at
+     *                    {@link ZoneOffset#UTC}.
+     * @return a new {@link PolicyAndPrivacyEndorsementMarking}.
+     * @throws IllegalArgumentException if the endorsement does not take a date time.
+     */
+    public static PolicyAndPrivacyEndorsementMarking ofEpochSecond(PolicyAndPrivacyEndorsements endorsement,
+            long epochSecond) {
+        Objects.requireNonNull(endorsement);
+        if (!hasTime(endorsement)) {
+            throw new IllegalArgumentException("A date time is not permitted with this Endorsement: " + endorsement);
+        }
+        return new PolicyAndPrivacyEndorsementMarking(endorsement, epochSecond, List.of());
+    }
+
+    /**
+     * @param departments the departments, in the order they are rendered. May not be null or empty, and may not hold
+     *                    blank departments.
+     * @return a new {@code USE ONLY} {@link PolicyAndPrivacyEndorsementMarking}.
+     * @throws IllegalArgumentException if there are no departments, or one is blank.
+     */
+    public static PolicyAndPrivacyEndorsementMarking departmentUseOnly(Collection<String> departments) {
+        return new PolicyAndPrivacyEndorsementMarking(PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY, 0,
+                List.copyOf(departments));
+    }
+
+    /**
+     * @return the date time of {@code EMBARGOED FOR RELEASE} and {@code TO BE REVIEWED ON}, or null.
+     */
+    @JsonIgnore
+    public LocalDateTime time() {
+        return hasTime(this.endorsement) ? LocalDateTime.ofEpochSecond(this.epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * @return the text form of the value: the date time rendered in the configured format, the {@code ", "} separated
+     *         departments, or null.
+     */
+    @JsonProperty("timeOrUseOnlyValue")
+    public String timeOrUseOnlyValue() {
+        if (hasTime(this.endorsement)) {
+            return ClassificationConfig.dateTimeFormatter().format(time());
+        }
+        if (this.endorsement == PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY) {
+            return String.join(", ", this.departments);
+        }
+        return null;
+    }
+
+    private static boolean hasTime(PolicyAndPrivacyEndorsements endorsement) {
+        return endorsement == PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE
+                || endorsement == PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON;
+    }
+
+    private static long parseTime(PolicyAndPrivacyEndorsements endorsement, String timeOrUseOnlyValue) {
+        Objects.requireNonNull(endorsement);
+        if (!hasTime(endorsement)) {
+            if (endorsement != PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY && timeOrUseOnlyValue != null) {
+                throw new IllegalArgumentException(
+                        "No value for 'reviewOrUseOnlyValue' is required with this Endorsement: "
+                                + endorsement.toString());
+            }
+            return 0;
+        }
+        requireValue(endorsement, timeOrUseOnlyValue);
+        try {
+            return LocalDateTime.parse(timeOrUseOnlyValue, ClassificationConfig.dateTimeFormatter())
+                    .toEpochSecond(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                    "Invalid date time '" + timeOrUseOnlyValue + "' for Endorsement: " + endorsement, e);
+        }
+    }
+
+    private static List<String> parseDepartments(PolicyAndPrivacyEndorsements endorsement, String timeOrUseOnlyValue) {
+        if (endorsement != PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY) {
+            return List.of();
+        }
+        requireValue(endorsement, timeOrUseOnlyValue);
+        return List.of(DEPARTMENT_SEPARATOR.split(timeOrUseOnlyValue));
+    }
 
+    private static void requireValue(PolicyAndPrivacyEndorsements endorsement, String timeOrUseOnlyValue) {
+        Objects.requireNonNull(timeOrUseOnlyValue);
+        if (timeOrUseOnlyValue.isBlank()) {
+            throw new IllegalArgumentException(
+                    "Blank value for 'reviewOrUseOnlyValue' is not permitted with this Endorsement: "
+                            + endorsement.toString());
         }
     }
 
@@ -1,5 +1,9 @@
 package io.github.trquinn76.classification.nzl.model;
 
+import java.util.Objects;
+
+import io.github.trquinn76.classification.nzl.Vocabulary;
+
 /**
  * Defines the set of Policy and Privacy Endorsements used in the library.
  * 
@@ -23,6 +27,9 @@ public enum PolicyAndPrivacyEndorsements {
     TO_BE_REVIEWED_ON("TO BE REVIEWED ON");
     // @formatter:on
 
+    private static final Vocabulary<PolicyAndPrivacyEndorsements> TEXTS = Vocabulary.of(
+            PolicyAndPrivacyEndorsements.class, Object::toString);
+
     private String text;
 
     private PolicyAndPrivacyEndorsements(String text) {
@@ -33,4 +40,31 @@ public enum PolicyAndPrivacyEndorsements {
     public String toString() {
         return this.text;
     }
+
+    /**
+     * Maps from a String back to a {@link PolicyAndPrivacyEndorsements}.
+     * 
+     * @param text the text to map.
+     * @return the {@link PolicyAndPrivacyEndorsements} for which the given text equals the result of the
+     *         {@code toString()} function.
+     * @throws IllegalArgumentException if the given String does not map to any {@link PolicyAndPrivacyEndorsements}.
+     */
+    public static PolicyAndPrivacyEndorsements fromString(String text) {
+        Objects.requireNonNull(text);
+        PolicyAndPrivacyEndorsements value = TEXTS.get(text);
+        if (value != null) {
+            return value;
+        }
+        throw new IllegalArgumentException("Unable to map string \"" + text + "\" to a PolicyAndPrivacyEndorsements");
+    }
+
+    /**
+     * Returns true if the given text will map to a {@link PolicyAndPrivacyEndorsements}.
+     * 
+     * @param text the text to check for a matching {@link PolicyAndPrivacyEndorsements}.
+     * @return true if the text will map to a {@link PolicyAndPrivacyEndorsements}. false otherwise.
+     */
+    public static boolean isString(String text) {
+        return TEXTS.contains(text);
+    }
 }
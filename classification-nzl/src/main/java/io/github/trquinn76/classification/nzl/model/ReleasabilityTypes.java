@@ -1,5 +1,9 @@
 package io.github.trquinn76.classification.nzl.model;
 
+import java.util.Objects;
+
+import io.github.trquinn76.classification.nzl.Vocabulary;
+
 /**
  * The set of Releasability types defined in the Overview of the Classification system.
  * 
@@ -15,6 +19,9 @@ public enum ReleasabilityTypes {
     RELTO("REL TO");
     // @formatter:on
 
+    private static final Vocabulary<ReleasabilityTypes> TEXTS = Vocabulary.of(ReleasabilityTypes.class,
+            Object::toString);
+
     private String text;
 
     private ReleasabilityTypes(String text) {
@@ -25,4 +32,31 @@ public enum ReleasabilityTypes {
     public String toString() {
         return this.text;
     }
+
+    /**
+     * Maps from a String back to a {@link ReleasabilityTypes}.
+     * 
+     * @param text the text to map.
+     * @return the {@link ReleasabilityTypes} for which the given text equals the result of the
+     *         {@code toString()} function.
+     * @throws IllegalArgumentException if the given String does not map to any {@link ReleasabilityTypes}.
+     */
+    public static ReleasabilityTypes fromString(String text) {
+        Objects.requireNonNull(text);
+        ReleasabilityTypes value = TEXTS.get(text);
+        if (value != null) {
+            return value;
+        }
+        throw new IllegalArgumentException("Unable to map string \"" + text + "\" to a ReleasabilityTypes");
+    }
+
+    /**
+     * Returns true if the given text will map to a {@link ReleasabilityTypes}.
+     * 
+     * @param text the text to check for a matching {@link ReleasabilityTypes}.
+     * @return true if the text will map to a {@link ReleasabilityTypes}. false otherwise.
+     */
+    public static boolean isString(String text) {
+        return TEXTS.contains(text);
+    }
 }
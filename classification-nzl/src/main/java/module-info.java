@@ -3,7 +3,11 @@
  */
 open module io.github.trquinn76.classification.nzl {
 	requires java.logging;
+	requires jdk.jfr;
+	requires static com.fasterxml.jackson.annotation;
 	
 	exports io.github.trquinn76.classification.nzl;
 	exports io.github.trquinn76.classification.nzl.model;
+
+	uses io.github.trquinn76.classification.nzl.MarkerMetrics;
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class ClassificationContextTest {
+
+    private static final ClassificationContext PRODUCTION = ClassificationContext.of(true,
+            ClassificationConfig.FIVEEYESFIRST);
+    private static final ClassificationContext DEVELOPMENT = ClassificationContext.of(false,
+            ClassificationConfig.NZLFIRST);
+
+    @AfterEach
+    void afterEach() {
+        ClassificationConfig.reset();
+    }
+
+    @Test
+    void defaultContextTest() {
+        assertNull(ClassificationContext.bound());
+        assertEquals(ClassificationContext.defaultContext(), ClassificationContext.current());
+        assertFalse(ClassificationContext.current().productionMode());
+        assertEquals(ClassificationConfig.releasableToOrder(), ClassificationContext.current().releasableToOrder());
+        assertThrows(IllegalArgumentException.class, () -> ClassificationContext.of(true, "ausfirst"));
+    }
+
+    @Test
+    void boundContextTest() {
+        PRODUCTION.run(() -> {
+            assertSame(PRODUCTION, ClassificationContext.current());
+            assertTrue(ClassificationConfig.productionMode());
+            assertEquals(Utils.FIVE_EYES_FIRST, ClassificationConfig.releasableToOrder());
+            assertEquals("SECRET", Classification.secret().classificationName());
+            DEVELOPMENT.run(() -> {
+                assertEquals("DEVELOPMENT_SECRET", Classification.secret().classificationName());
+                assertEquals(Utils.NZL_FIRST, ClassificationConfig.releasableToOrder());
+            });
+            assertEquals("SECRET", Classification.secret().classificationName());
+        });
+        assertFalse(ClassificationConfig.productionMode());
+        assertEquals(ClassificationContext.defaultContext().releasableToOrder(),
+            ClassificationConfig.releasableToOrder());
+        assertNull(ClassificationContext.bound());
+    }
+
+    @Test
+    void restoredOnExceptionTest() {
+        assertThrows(IllegalStateException.class, () -> PRODUCTION.run(() -> {
+            throw new IllegalStateException();
+        }));
+        assertNull(ClassificationContext.bound());
+        assertFalse(ClassificationConfig.productionMode());
+    }
+
+    @Test
+    void parseAndRenderTest() {
+        ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+        ProtectiveMarker production = PRODUCTION.get(() -> parser.parse("SECRET//AAA"));
+        assertEquals("SECRET", production.classification().classificationName());
+        assertEquals("SECRET//AAA", PRODUCTION.get(production::toString));
+        assertArrayEquals(PRODUCTION.get(() -> production.toString().getBytes()),
+                PRODUCTION.get(() -> ProtectiveMarkerRenderer.toBytes(production)));
+        ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+        byte[] encoded = PRODUCTION.get(() -> codec.encode(production));
+        // equality of Classifications also follows the context.
+        assertTrue(PRODUCTION.get(() -> production.equals(codec.decode(encoded))));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(encoded));
+
+        ProtectiveMarker development = parser.parse("Development-SECRET//AAA");
+        assertEquals("Development-SECRET//AAA", development.toString());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("SECRET//AAA"));
+    }
+
+    @Test
+    void concurrentTenantsTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch latch = new CountDownLatch(2);
+            Future<String> production = executor.submit(() -> PRODUCTION.get(() -> awaitSecret(latch)));
+            Future<String> development = executor.submit(() -> DEVELOPMENT.get(() -> awaitSecret(latch)));
+            assertEquals("SECRET", production.get());
+            assertEquals("DEVELOPMENT_SECRET", development.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void sharedInternerTest() {
+        ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(16);
+        assertEquals("SECRET", PRODUCTION.get(() -> interner.classification("SECRET")).classificationName());
+        assertEquals("DEVELOPMENT_SECRET", interner.classification("DEVELOPMENT_SECRET").classificationName());
+        assertThrows(IllegalArgumentException.class, () -> interner.classification("SECRET"));
+    }
+
+    private static String awaitSecret(CountDownLatch latch) {
+        // both tasks hold their contexts at the same time.
+        latch.countDown();
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Classification.secret().classificationName();
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class EndorsementSchedulerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    private final TestClock clock = new TestClock(START.atZone(EndorsementScheduler.NEW_ZEALAND).toInstant());
+    private final List<ScheduledEndorsement> notified = new ArrayList<>();
+
+    @Test
+    void notifiesWhenDueTest() {
+        EndorsementScheduler scheduler = new EndorsementScheduler(clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofMinutes(1), notified::add);
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().sensitive().embargoedForRelease(START.plusHours(2))
+                .toBeReviewedOn(START.plusDays(30)).build();
+        assertEquals(2, scheduler.schedule("item-1", marker));
+        assertEquals(0, scheduler.schedule("item-2", new ProtectiveMarkerBuilder().sensitive().budget().build()));
+        assertEquals(2, scheduler.size());
+
+        clock.advance(Duration.ofHours(2).minusMinutes(1));
+        assertEquals(0, scheduler.advance());
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, scheduler.advance());
+        assertEquals(List.of(new ScheduledEndorsement("item-1", PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE,
+                START.plusHours(2))), notified);
+        assertEquals(1, scheduler.scheduled("item-1").size());
+
+        clock.advance(Duration.ofDays(60));
+        assertEquals(1, scheduler.advance());
+        assertEquals(PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON, notified.get(1).endorsement());
+        assertEquals(0, scheduler.size());
+        assertEquals(List.of(), scheduler.scheduled("item-1"));
+    }
+
+    @Test
+    void rescheduleAndCancelTest() {
+        EndorsementScheduler scheduler = new EndorsementScheduler(clock, ZoneOffset.UTC, Duration.ofSeconds(1),
+                notified::add);
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder().sensitive();
+        scheduler.schedule("item", builder.toBeReviewedOn(START.plusDays(1)).build());
+        scheduler.schedule("item", builder.toBeReviewedOn(START.plusDays(2)).build());
+        assertEquals(1, scheduler.size());
+        assertEquals(START.plusDays(2), scheduler.scheduled("item").get(0).time());
+
+        assertTrue(scheduler.cancel("item"));
+        assertFalse(scheduler.cancel("item"));
+        clock.advance(Duration.ofDays(3));
+        assertEquals(0, scheduler.advance());
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    void listenerFailureTest() {
+        EndorsementScheduler scheduler = new EndorsementScheduler(clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofSeconds(1), endorsement -> {
+                    notified.add(endorsement);
+                    throw new IllegalStateException("listener failure");
+                });
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder().sensitive();
+        scheduler.schedule("first", builder.embargoedForRelease(START.plusMinutes(1)).build());
+        scheduler.schedule("second", builder.embargoedForRelease(START.plusMinutes(1)).build());
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(2, scheduler.advance());
+        assertEquals(2, notified.size());
+    }
+
+    @Test
+    void startedInContextTest() throws Exception {
+        ClassificationContext production = ClassificationContext.of(true, ClassificationConfig.FIVEEYESFIRST);
+        CompletableFuture<Boolean> productionMode = new CompletableFuture<>();
+        try (EndorsementScheduler scheduler = new EndorsementScheduler(clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofMillis(10), endorsement -> productionMode.complete(ClassificationConfig.productionMode()))) {
+            scheduler.schedule("item",
+                    new ProtectiveMarkerBuilder().sensitive().embargoedForRelease(START.minusMinutes(1)).build());
+            // the background thread notifies the listener within the context the scheduler was started in.
+            production.run(scheduler::start);
+            assertTrue(productionMode.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void persistenceTest() throws IOException {
+        Path file = directory.resolve("scheduler.bin");
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder().sensitive();
+        try (EndorsementScheduler scheduler = EndorsementScheduler.open(file, clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofSeconds(1), notified::add)) {
+            scheduler.schedule("soon", builder.embargoedForRelease(START.plusMinutes(5)).build());
+            scheduler.schedule("later", builder.embargoedForRelease(START.plusDays(5)).build());
+        }
+        assertTrue(Files.exists(file));
+
+        // the first embargo lifts while the scheduler is not running.
+        clock.advance(Duration.ofHours(1));
+        try (EndorsementScheduler scheduler = EndorsementScheduler.open(file, clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofSeconds(1), notified::add)) {
+            assertEquals(2, scheduler.size());
+            assertEquals(1, scheduler.advance());
+            assertEquals("soon", notified.get(0).itemId());
+        }
+        try (EndorsementScheduler scheduler = EndorsementScheduler.open(file, clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofSeconds(1), notified::add)) {
+            assertEquals(List.of(new ScheduledEndorsement("later", PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE,
+                    START.plusDays(5))), scheduler.scheduled("later"));
+        }
+
+        Files.writeString(file, "not a scheduler file");
+        assertThrows(IOException.class, () -> EndorsementScheduler.open(file, clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofSeconds(1), notified::add));
+        assertThrows(IllegalStateException.class, () -> new EndorsementScheduler(notified::add).save());
+    }
+
+    @Test
+    void concurrentSaveTest() throws Exception {
+        Path file = directory.resolve("scheduler.bin");
+        try (EndorsementScheduler scheduler = EndorsementScheduler.open(file, clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofSeconds(1), notified::add)) {
+            scheduler.schedule("item", new ProtectiveMarkerBuilder().sensitive()
+                    .embargoedForRelease(START.plusDays(1)).build());
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> saves = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    saves.add(executor.submit(() -> {
+                        scheduler.save();
+                        return null;
+                    }));
+                }
+                for (Future<?> save : saves) {
+                    save.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        // no temporary file is left behind.
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+        try (EndorsementScheduler scheduler = EndorsementScheduler.open(file, clock, EndorsementScheduler.NEW_ZEALAND,
+                Duration.ofSeconds(1), notified::add)) {
+            assertEquals(1, scheduler.size());
+        }
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant instant;
+
+        TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class HighWaterMarkAccumulatorTest {
+
+    private static final LocalDateTime EARLY = LocalDateTime.of(2025, 5, 9, 6, 30);
+    private static final LocalDateTime LATE = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final List<ProtectiveMarker> samples = List.of(
+            new ProtectiveMarkerBuilder().inConfidence().embargoedForRelease(EARLY).toBeReviewedOn(LATE)
+                    .departmentUseOnly("DIA", "MFAT").build(),
+            new ProtectiveMarkerBuilder().restricted().relTo("NZL", "AUS", "GBR", "USA").build(),
+            new ProtectiveMarkerBuilder().sensitive().embargoedForRelease(LATE).toBeReviewedOn(EARLY)
+                    .departmentUseOnly("MFAT").build(),
+            new ProtectiveMarkerBuilder().secret().accountableMaterial().sensitiveCompartments("AAA")
+                    .relTo("NZL", "AUS", "USA").build(),
+            new ProtectiveMarkerBuilder().secret().sensitiveCompartments("BBB").disseminationMarks("CCC").build());
+
+    @Test
+    void emptyTest() {
+        HighWaterMarkAccumulator accumulator = new HighWaterMarkAccumulator();
+        assertTrue(accumulator.isEmpty());
+        assertNull(accumulator.classification());
+        assertNull(accumulator.merged());
+        accumulator.addAll(new HighWaterMarkAccumulator());
+        assertNull(accumulator.merged());
+    }
+
+    @Test
+    void addAllTest() {
+        // the merge of the accumulators of any split of the markers is the merge of all of them.
+        for (int split = 0; split <= samples.size(); split++) {
+            HighWaterMarkAccumulator first = new HighWaterMarkAccumulator();
+            HighWaterMarkAccumulator second = new HighWaterMarkAccumulator();
+            samples.subList(0, split).forEach(first::add);
+            samples.subList(split, samples.size()).forEach(second::add);
+            first.addAll(second);
+            assertEquals(Utils.merge(samples), first.merged());
+            assertEquals(Utils.merge(samples).getClassification(), first.classification());
+        }
+    }
+
+    @Test
+    void addAgainTest() {
+        HighWaterMarkAccumulator accumulator = new HighWaterMarkAccumulator();
+        samples.forEach(accumulator::add);
+        samples.forEach(accumulator::add);
+        accumulator.addAll(accumulator);
+        assertEquals(Utils.merge(samples), accumulator.merged());
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class HighWaterMarkScopeTest {
+
+    private final List<ProtectiveMarker> samples = List.of(
+            new ProtectiveMarkerBuilder().inConfidence().build(),
+            new ProtectiveMarkerBuilder().restricted().relTo("NZL", "AUS", "GBR").build(),
+            new ProtectiveMarkerBuilder().secret().sensitiveCompartments("AAA").relTo("NZL", "AUS", "USA").build(),
+            new ProtectiveMarkerBuilder().secret().sensitiveCompartments("BBB").disseminationMarks("CCC").build());
+
+    @Test
+    void unboundTest() {
+        assertNull(HighWaterMarkScope.current());
+        assertFalse(HighWaterMarkScope.observe(samples.get(0)));
+
+        HighWaterMarkScope scope = new HighWaterMarkScope();
+        assertNull(scope.merged());
+        assertNull(scope.classification());
+    }
+
+    @Test
+    void observeTest() {
+        HighWaterMarkScope scope = new HighWaterMarkScope();
+        scope.run(() -> {
+            assertSame(scope, HighWaterMarkScope.current());
+            samples.forEach(marker -> assertTrue(HighWaterMarkScope.observe(marker)));
+            HighWaterMarkScope.observe(samples.get(0));
+            // the current thread's binding is included before it ends.
+            assertEquals(Utils.merge(samples).build(), scope.merged());
+        });
+        assertNull(HighWaterMarkScope.current());
+        assertEquals(Utils.merge(samples).build(), scope.merged());
+        assertEquals(Classification.secret(), scope.classification());
+    }
+
+    @Test
+    void forkTest() throws Exception {
+        HighWaterMarkScope scope = new HighWaterMarkScope();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> subtasks = scope.get(() -> {
+                HighWaterMarkScope.observe(samples.get(0));
+                List<Future<Boolean>> forked = new ArrayList<>();
+                for (ProtectiveMarker marker : samples.subList(1, samples.size())) {
+                    forked.add(executor.submit(scope.fork(() -> HighWaterMarkScope.observe(marker))));
+                }
+                return forked;
+            });
+            for (Future<Boolean> subtask : subtasks) {
+                assertTrue(subtask.get());
+            }
+        }
+        assertEquals(Utils.merge(samples).build(), scope.merged());
+        assertEquals(Classification.secret(), scope.classification());
+    }
+
+    @Test
+    void forkInContextTest() throws Exception {
+        ClassificationContext production = ClassificationContext.defaultContext().withProductionMode(true);
+        HighWaterMarkScope scope = new HighWaterMarkScope();
+        AtomicReference<String> forkedRunnable = new AtomicReference<>();
+        Runnable runnable = () -> forkedRunnable.set(Classification.secret().classificationName());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> forkedCallable = production.get(() -> scope.get(() -> {
+                executor.submit(scope.fork(runnable));
+                return executor.submit(scope.fork(() -> {
+                    HighWaterMarkScope.observe(new ProtectiveMarkerBuilder().secret().build());
+                    return Classification.secret().classificationName();
+                }));
+            }));
+            // the subtasks run within the context they were forked in, not the default one.
+            assertEquals("SECRET", forkedCallable.get());
+        }
+        assertEquals("SECRET", forkedRunnable.get());
+        assertEquals("SECRET", scope.classification().classificationName());
+    }
+
+    @Test
+    void nestedTest() {
+        HighWaterMarkScope outer = new HighWaterMarkScope();
+        HighWaterMarkScope inner = new HighWaterMarkScope();
+        outer.run(() -> {
+            HighWaterMarkScope.observe(samples.get(0));
+            inner.run(() -> {
+                assertSame(inner, HighWaterMarkScope.current());
+                HighWaterMarkScope.observe(samples.get(2));
+            });
+            assertSame(outer, HighWaterMarkScope.current());
+        });
+        assertEquals(Utils.merge(List.of(samples.get(2))).build(), inner.merged());
+        assertEquals(Utils.merge(List.of(samples.get(0), samples.get(2))).build(), outer.merged());
+    }
+
+    @Test
+    void nestedOpenTest() {
+        HighWaterMarkScope outer = new HighWaterMarkScope();
+        HighWaterMarkScope inner = new HighWaterMarkScope();
+        outer.run(() -> {
+            HighWaterMarkScope.observe(samples.get(0));
+            inner.run(() -> {
+                HighWaterMarkScope.observe(samples.get(2));
+                // the markers of the open inner scope are included before it ends.
+                assertEquals(Utils.merge(List.of(samples.get(0), samples.get(2))).build(), outer.merged());
+                outer.run(() -> {
+                    HighWaterMarkScope.observe(samples.get(1));
+                    assertEquals(Utils.merge(List.of(samples.get(1), samples.get(2))).build(), inner.merged());
+                    assertEquals(Utils.merge(List.of(samples.get(0), samples.get(1), samples.get(2))).build(),
+                            outer.merged());
+                });
+            });
+        });
+        assertEquals(Utils.merge(List.of(samples.get(1), samples.get(2))).build(), inner.merged());
+        assertEquals(Utils.merge(List.of(samples.get(0), samples.get(1), samples.get(2))).build(), outer.merged());
+    }
+
+    @Test
+    void unboundOnExceptionTest() {
+        HighWaterMarkScope scope = new HighWaterMarkScope();
+        assertThrows(IllegalStateException.class, () -> scope.run(() -> {
+            HighWaterMarkScope.observe(samples.get(1));
+            throw new IllegalStateException();
+        }));
+        assertNull(HighWaterMarkScope.current());
+        assertEquals(Classification.restricted(), scope.classification());
+    }
+}
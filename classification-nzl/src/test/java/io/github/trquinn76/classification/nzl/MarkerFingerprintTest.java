@@ -0,0 +1,81 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class MarkerFingerprintTest {
+
+    private static final LocalDateTime EMBARGO = LocalDateTime.of(2026, 3, 1, 9, 30);
+
+    @AfterEach
+    void afterEach() {
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    private static ProtectiveMarker sample() {
+        return new ProtectiveMarkerBuilder().secret().accountableMaterial().sensitiveCompartments("AAA")
+                .relTo("NZL", "AUS").build();
+    }
+
+    private static ProtectiveMarker embargoed() {
+        return new ProtectiveMarkerBuilder().sensitive().embargoedForRelease(EMBARGO).build();
+    }
+
+    @Test
+    void murmurHash3Test() {
+        byte[] hello = "hello".getBytes(StandardCharsets.UTF_8);
+        assertEquals(new MarkerFingerprint(0xcbd8a7b341bd9b02L, 0x5b1e906a48ae1d19L),
+                MurmurHash3.hash128(hello, hello.length));
+    }
+
+    @Test
+    void fingerprintTest() {
+        MarkerFingerprint fingerprint = MarkerFingerprint.of(sample());
+        assertEquals(fingerprint, MarkerFingerprint.of(sample()));
+        assertNotEquals(fingerprint, MarkerFingerprint.of(
+                new ProtectiveMarkerBuilder().secret().sensitiveCompartments("AAA").relTo("NZL", "AUS").build()));
+        assertNotEquals(MarkerFingerprint.of(embargoed()), MarkerFingerprint.of(
+                new ProtectiveMarkerBuilder().sensitive().embargoedForRelease(EMBARGO.plusMinutes(1)).build()));
+        assertNotEquals(MarkerFingerprint.of(new ProtectiveMarkerBuilder().inConfidence().departmentUseOnly("DPMC")
+                .build()), MarkerFingerprint.of(new ProtectiveMarkerBuilder().inConfidence()
+                        .departmentUseOnly("MFAT").build()));
+    }
+
+    @Test
+    void stableTest() {
+        // pinned, as fingerprints are shared between JVMs and releases.
+        assertEquals("abda437c13ecdb0cae2b1ceac755f200", MarkerFingerprint.of(sample()).toString());
+        assertEquals("2b290934c78663e3d72318d7468ce7e7", MarkerFingerprint.of(embargoed()).toString());
+
+        MarkerFingerprint development = MarkerFingerprint.of(sample());
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        assertTrue(ClassificationConfig.productionMode());
+        assertEquals(development, MarkerFingerprint.of(sample()));
+    }
+
+    @Test
+    void bytesAndStringTest() {
+        MarkerFingerprint fingerprint = MarkerFingerprint.of(sample());
+        assertEquals(fingerprint, MarkerFingerprint.fromBytes(fingerprint.toBytes()));
+        assertEquals(fingerprint, MarkerFingerprint.fromString(fingerprint.toString()));
+        assertThrows(IllegalArgumentException.class, () -> MarkerFingerprint.fromBytes(new byte[17]));
+    }
+
+    @Test
+    void internerTest() {
+        ProtectiveMarkerInterner interner = new ProtectiveMarkerInterner(16);
+        MarkerFingerprint fingerprint = interner.fingerprint(sample());
+        assertEquals(MarkerFingerprint.of(sample()), fingerprint);
+        assertSame(fingerprint, interner.fingerprint(sample()));
+    }
+}
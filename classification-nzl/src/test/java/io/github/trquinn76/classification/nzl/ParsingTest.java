@@ -2,6 +2,8 @@ package io.github.trquinn76.classification.nzl;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDateTime;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
@@ -48,6 +50,25 @@ class ParsingTest {
         assertEquals(marker, parsedMarker);
     }
 
+    @Test
+    void endorsementsParsingTest() throws JsonProcessingException {
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        ProtectiveMarker marker = builder.sensitive().budget().departmentUseOnly("DIA", "MFAT")
+                .embargoedForRelease(LocalDateTime.of(2025, 5, 9, 6, 30)).build();
+
+        ObjectMapper mapper = new ObjectMapper();
+
+        String jsonString = mapper.writeValueAsString(marker);
+        assertTrue(jsonString.contains(
+                "{\"endorsement\":\"EMBARGOED_FOR_RELEASE\",\"timeOrUseOnlyValue\":\"2025-05-09 06:30\"}"));
+        assertTrue(jsonString.contains("{\"endorsement\":\"BUDGET\",\"timeOrUseOnlyValue\":null}"));
+
+        ProtectiveMarker parsedMarker = mapper.readValue(jsonString, ProtectiveMarker.class);
+
+        assertEquals(marker, parsedMarker);
+        assertEquals(marker.toString(), parsedMarker.toString());
+    }
+
     @Test
     void parsingNZLClassificationsTest() throws JsonProcessingException {
         ClassificationConfigTest
@@ -3,9 +3,13 @@ package io.github.trquinn76.classification.nzl;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 
@@ -403,7 +407,52 @@ class ProtectiveMarkerBuilderTest {
         ProtectiveMarkerBuilder otherBuilder = new ProtectiveMarkerBuilder(marker);
         assertEquals(builder, otherBuilder);
     }
-    
+
+    @Test
+    void typedEndorsementValuesTest() {
+        LocalDateTime time = LocalDateTime.of(2025, 5, 9, 6, 30, 15);
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().sensitive().embargoedForRelease(time)
+                .departmentUseOnly("BBB", "AAA").build();
+        PolicyAndPrivacyEndorsementMarking embargoed = marker.policyAndPrivacyEndorsements().stream()
+                .filter(e -> e.endorsement() == PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE).findFirst()
+                .orElseThrow();
+        PolicyAndPrivacyEndorsementMarking useOnly = marker.policyAndPrivacyEndorsements().stream()
+                .filter(e -> e.endorsement() == PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY).findFirst()
+                .orElseThrow();
+        // the time is held to the second, though the configured format shows only the minute.
+        assertEquals(time, embargoed.time());
+        assertEquals(time.toEpochSecond(ZoneOffset.UTC), embargoed.epochSecond());
+        assertEquals(List.of("AAA", "BBB"), useOnly.departments());
+        assertEquals("2025-05-09 06:30", embargoed.timeOrUseOnlyValue());
+        assertEquals("AAA, BBB", useOnly.timeOrUseOnlyValue());
+
+        // marker to builder and back keeps the time to the second, with no formatting or parsing.
+        ProtectiveMarker copy = new ProtectiveMarkerBuilder(marker).build();
+        assertEquals(marker, copy);
+        assertEquals(marker.policyAndPrivacyEndorsements(), copy.policyAndPrivacyEndorsements());
+        // rebuilt endorsements reuse the typed departments of the marker.
+        ProtectiveMarker budget = new ProtectiveMarkerBuilder(marker).budget().build();
+        assertSame(useOnly.departments(), budget.policyAndPrivacyEndorsements().stream()
+                .filter(e -> e.endorsement() == PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY).findFirst()
+                .orElseThrow().departments());
+        assertEquals(embargoed, budget.policyAndPrivacyEndorsements().stream()
+                .filter(e -> e.endorsement() == PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE).findFirst()
+                .orElseThrow());
+
+        assertEquals(PolicyAndPrivacyEndorsementMarking.at(PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON,
+                LocalDateTime.of(2025, 5, 9, 6, 30)),
+                new PolicyAndPrivacyEndorsementMarking(PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON,
+                        "2025-05-09 06:30"));
+        assertThrows(IllegalArgumentException.class, () -> new PolicyAndPrivacyEndorsementMarking(
+                PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON, "not a time"));
+        assertThrows(IllegalArgumentException.class, () -> new PolicyAndPrivacyEndorsementMarking(
+                PolicyAndPrivacyEndorsements.BUDGET, 1, List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> PolicyAndPrivacyEndorsementMarking.at(PolicyAndPrivacyEndorsements.BUDGET, time));
+        assertThrows(IllegalArgumentException.class,
+                () -> PolicyAndPrivacyEndorsementMarking.departmentUseOnly(List.of()));
+    }
+
     @Test
     void unclassifiedAndEndorsementsTest() {
         ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
@@ -419,4 +468,113 @@ class ProtectiveMarkerBuilderTest {
         ProtectiveMarker expected = new ProtectiveMarker(Classification.unclassified(), Collections.emptyList(), null);
         assertEquals(expected, marker);
     }
+
+    @Test
+    void incrementalValidationTest() {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<Consumer<ProtectiveMarkerBuilder>> edits = List.of(
+                builder -> builder.inConfidence(),
+                builder -> builder.secret(),
+                builder -> builder.topSecret(),
+                builder -> builder.setAccountableMaterial(false),
+                builder -> builder.budget(),
+                builder -> builder.addPolicyAndPrivacyEndorsement(PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE),
+                builder -> builder.setEmbargoedForReleaseTime(time),
+                builder -> builder.setToBeReviewedOnTime(time),
+                builder -> builder.addDepartmentUseOnly("DPMC"),
+                builder -> builder.clearPolicyAndPrivacyEndorsements(),
+                builder -> builder.addSensitiveCompartment("AAA"),
+                builder -> builder.setReleasability(ReleasabilityTypes.RELTO),
+                builder -> builder.addReleasableToCountry("AUS"),
+                builder -> builder.nzeo(),
+                builder -> builder.clearNationalSecurityEndorsements(),
+                builder -> builder.clear());
+        Random random = new Random(42);
+        ProtectiveMarkerBuilder incremental = new ProtectiveMarkerBuilder();
+        List<Consumer<ProtectiveMarkerBuilder>> applied = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Consumer<ProtectiveMarkerBuilder> edit = edits.get(random.nextInt(edits.size()));
+            edit.accept(incremental);
+            applied.add(edit);
+            ProtectiveMarkerBuilder fresh = new ProtectiveMarkerBuilder();
+            applied.forEach(replay -> replay.accept(fresh));
+            assertEquals(fresh.isValid(), incremental.isValid());
+            assertEquals(fresh.isValid(), incremental.isValid());
+        }
+    }
+
+    @Test
+    void seededBuilderSharesUnchangedPartsTest() {
+        ProtectiveMarker seed = new ProtectiveMarkerBuilder().secret().sensitiveCompartments("AAA")
+                .disseminationMarks("BBB").relTo("NZL", "AUS").build();
+
+        ProtectiveMarker reclassified = new ProtectiveMarkerBuilder(seed).confidental().build();
+        assertEquals(Classification.confidential(), reclassified.classification());
+        assertSame(seed.nationalSecurityEndorsements(), reclassified.nationalSecurityEndorsements());
+
+        ProtectiveMarker accountable = new ProtectiveMarkerBuilder(seed).accountableMaterial().build();
+        assertTrue(accountable.nationalSecurityEndorsements().accountableMaterial());
+        assertSame(seed.nationalSecurityEndorsements().sensitiveCompartments(),
+                accountable.nationalSecurityEndorsements().sensitiveCompartments());
+        assertSame(seed.nationalSecurityEndorsements().releasability(),
+                accountable.nationalSecurityEndorsements().releasability());
+
+        ProtectiveMarker released = new ProtectiveMarkerBuilder(seed).addReleasableToCountry("GBR").build();
+        assertEquals(List.of("NZL", "AUS", "GBR"),
+                released.nationalSecurityEndorsements().releasability().releasableToList());
+        assertEquals(List.of("NZL", "AUS"), seed.nationalSecurityEndorsements().releasability().releasableToList());
+
+        ProtectiveMarker policy = new ProtectiveMarkerBuilder().sensitive().budget().departmentUseOnly("DPMC").build();
+        assertSame(policy.policyAndPrivacyEndorsements(),
+                new ProtectiveMarkerBuilder(policy).inConfidence().build().policyAndPrivacyEndorsements());
+
+        // lists which a build would not have produced are copied, so the build is as before.
+        ProtectiveMarker unsorted = new ProtectiveMarker(Classification.secret(), List.of(),
+                new NationalSecurityEndorsements(false, List.of("BBB", "AAA", "AAA"), List.of(), null));
+        assertEquals(List.of("AAA", "BBB"),
+                new ProtectiveMarkerBuilder(unsorted).build().nationalSecurityEndorsements().sensitiveCompartments());
+    }
+
+    @Test
+    void seededBuilderEditsTest() {
+        LocalDateTime embargo = LocalDateTime.of(2026, 3, 1, 9, 30);
+        List<Consumer<ProtectiveMarkerBuilder>> seeds = List.of(
+                builder -> builder.secret().sensitiveCompartments("AAA").disseminationMarks("BBB").relTo("NZL", "AUS"),
+                builder -> builder.sensitive().budget().departmentUseOnly("DPMC", "MFAT").embargoedForRelease(embargo));
+        List<Consumer<ProtectiveMarkerBuilder>> edits = List.of(
+                builder -> builder.topSecret(),
+                builder -> builder.inConfidence(),
+                builder -> builder.addSensitiveCompartment("CCC"),
+                builder -> builder.clearSensitiveCompartments(),
+                builder -> builder.addDisseminationMark("DDD"),
+                builder -> builder.clearDisseminationMarks(),
+                builder -> builder.addReleasableToCountry("GBR"),
+                builder -> builder.setReleasability(ReleasabilityTypes.RELTO),
+                builder -> builder.nzeo(),
+                builder -> builder.clearReleasability(),
+                builder -> builder.addDepartmentUseOnly("TSY"),
+                builder -> builder.clearDepartmentUseOnly(),
+                builder -> builder.setEmbargoedForReleaseTime(embargo.plusDays(1)),
+                builder -> builder.cabinet(),
+                builder -> builder.clearPolicyAndPrivacyEndorsements(),
+                builder -> builder.clear().restricted());
+        for (Consumer<ProtectiveMarkerBuilder> seedValues : seeds) {
+            ProtectiveMarkerBuilder seedBuilder = new ProtectiveMarkerBuilder();
+            seedValues.accept(seedBuilder);
+            ProtectiveMarker seed = seedBuilder.build();
+            for (Consumer<ProtectiveMarkerBuilder> edit : edits) {
+                ProtectiveMarkerBuilder seeded = new ProtectiveMarkerBuilder(seed);
+                edit.accept(seeded);
+                ProtectiveMarkerBuilder fresh = new ProtectiveMarkerBuilder();
+                seedValues.andThen(edit).accept(fresh);
+                assertEquals(fresh, seeded);
+                assertEquals(fresh.hashCode(), seeded.hashCode());
+                assertEquals(fresh.isValid(), seeded.isValid());
+                if (fresh.isValid().isEmpty()) {
+                    assertEquals(fresh.build(), seeded.build());
+                }
+            }
+            assertEquals(seedBuilder.build(), seed);
+        }
+    }
 }
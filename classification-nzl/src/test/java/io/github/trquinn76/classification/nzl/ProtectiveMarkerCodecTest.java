@@ -0,0 +1,165 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class ProtectiveMarkerCodecTest {
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void roundTripTest() {
+        ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec(List.of("AAA", "MFAT"));
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        List<ProtectiveMarker> markers = List.of(
+                builder.unclassified().build(),
+                builder.clear().inConfidence().appointments().departmentUseOnly("MFAT", "DPMC").build(),
+                builder.clear().sensitive().embargoedForRelease(LocalDateTime.of(2025, 3, 1, 9, 30)).build(),
+                builder.clear().secret().accountableMaterial().sensitiveCompartments("AAA", "BBB").build(),
+                builder.clear().secret().disseminationMarks("ORCON").relTo("NZL", "GBR", "USA", "FRA").build(),
+                builder.clear().confidental().nzeo().build(),
+                builder.clear().topSecret().accountableMaterial().sensitiveCompartments("ÉCLAIR").build());
+
+        for (ProtectiveMarker marker : markers) {
+            byte[] encoded = codec.encode(marker);
+            assertEquals(encoded.length, codec.encodedLength(marker));
+            ProtectiveMarker decoded = codec.decode(encoded);
+            assertEquals(marker, decoded);
+            assertEquals(marker.toString(), decoded.toString());
+        }
+    }
+
+    @Test
+    void smallerThanJsonTest() throws JsonProcessingException {
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().accountableMaterial()
+                .sensitiveCompartments("AAA", "BBB").disseminationMarks("ORCON").relTo("NZL", "AUS", "CAN", "GBR", "USA")
+                .build();
+        byte[] json = new ObjectMapper().writeValueAsBytes(marker);
+        byte[] encoded = new ProtectiveMarkerCodec().encode(marker);
+        byte[] withDictionary = new ProtectiveMarkerCodec(List.of("AAA", "BBB", "ORCON")).encode(marker);
+
+        assertTrue(encoded.length * 5 < json.length, encoded.length + " vs " + json.length);
+        // each dictionary entry is a single byte reference, rather than the full String.
+        assertEquals(encoded.length - 4 - 4 - 6, withDictionary.length);
+    }
+
+    @Test
+    void sharedBufferTest() {
+        ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        ProtectiveMarker first = builder.secret().relTo("NZL", "USA").build();
+        ProtectiveMarker second = builder.clear().inConfidence().departmentUseOnly("MFAT").build();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        codec.encode(first, buffer);
+        codec.encode(second, buffer);
+        buffer.flip();
+        assertEquals(first, codec.decode(buffer));
+        assertEquals(second, codec.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void overflowRestoresPositionTest() {
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().sensitiveCompartments("AAAAAAAAAAAAAAAAAAAA")
+                .build();
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) 1);
+        assertThrows(BufferOverflowException.class, () -> new ProtectiveMarkerCodec().encode(marker, buffer));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    void invalidInputTest() {
+        ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+        byte[] encoded = codec.encode(new ProtectiveMarkerBuilder().secret().sensitiveCompartments("AAA").build());
+
+        byte[] wrongVersion = encoded.clone();
+        wrongVersion[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(wrongVersion));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(Arrays.copyOf(encoded, encoded.length - 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode("not a marker".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void typedValueEncodingTest() {
+        ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+        LocalDateTime time = LocalDateTime.of(2025, 3, 1, 9, 30, 15);
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().sensitive().toBeReviewedOn(time).build();
+        byte[] current = codec.encode(marker);
+        assertEquals(ProtectiveMarkerCodec.VERSION, current[0]);
+
+        // the time is written as a zigzag encoded count of seconds, so keeps the seconds the format does not show.
+        ByteBuffer expected = ByteBuffer.allocate(current.length);
+        expected.put((byte) 2).put(current[1]).put(current[2]).put((byte) 1).put(current[4]);
+        putZigzag(time.toEpochSecond(ZoneOffset.UTC), expected);
+        assertArrayEquals(expected.array(), current);
+        ProtectiveMarker decoded = codec.decode(current);
+        assertEquals(marker, decoded);
+        assertEquals(time, decoded.policyAndPrivacyEndorsements().get(0).time());
+        assertArrayEquals(current, codec.encode(decoded));
+    }
+
+    @Test
+    void decodesVersionOneTest() {
+        ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().sensitive()
+                .toBeReviewedOn(LocalDateTime.of(2025, 3, 1, 9, 30)).build();
+        byte[] current = codec.encode(marker);
+
+        // version 1 wrote the time as its formatted String.
+        byte[] text = "2025-03-01 09:30".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(7 + text.length);
+        buffer.put((byte) 1).put(current[1]).put(current[2]).put((byte) 1).put(current[4]);
+        buffer.put((byte) 0).put((byte) text.length).put(text);
+        ProtectiveMarker decoded = codec.decode(buffer.array());
+        assertEquals(marker, decoded);
+        assertEquals(marker.toString(), decoded.toString());
+        // a decoded marker is always written in the current version.
+        assertArrayEquals(current, codec.encode(decoded));
+    }
+
+    @Test
+    void productionModeMismatchTest() {
+        byte[] encoded = new ProtectiveMarkerCodec().encode(new ProtectiveMarkerBuilder().secret().build());
+
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        assertThrows(IllegalArgumentException.class, () -> new ProtectiveMarkerCodec().decode(encoded));
+
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().build();
+        ProtectiveMarkerCodec codec = new ProtectiveMarkerCodec();
+        assertEquals(marker, codec.decode(codec.encode(marker)));
+    }
+
+    private static void putZigzag(long value, ByteBuffer buffer) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+}
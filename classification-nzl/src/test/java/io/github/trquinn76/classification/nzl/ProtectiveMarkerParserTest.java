@@ -0,0 +1,89 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class ProtectiveMarkerParserTest {
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void toStringRoundTripTest() {
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        LocalDateTime time = LocalDateTime.of(2030, 1, 2, 3, 4);
+        List<ProtectiveMarker> markers = List.of(
+                builder.unclassified().build(),
+                builder.clear().inConfidence().budget().departmentUseOnly("DPMC", "MFAT").embargoedForRelease(time)
+                        .build(),
+                builder.clear().sensitive().legalPrivilege().toBeReviewedOn(time).build(),
+                builder.clear().restricted().sensitiveCompartments("AAA", "BBB").relTo("CAN", "NZL", "GBR").build(),
+                builder.clear().secret().accountableMaterial().disseminationMarks("ORCON").nzeo().build(),
+                builder.clear().confidental().accountableMaterial().build(),
+                builder.clear().topSecret().accountableMaterial().build(),
+                builder.clear().topSecret().accountableMaterial().sensitiveCompartments("AAA")
+                        .relTo("NZL", "AUS").build());
+
+        ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+        for (ProtectiveMarker marker : markers) {
+            assertEquals(marker, parser.parse(marker.toString()), marker.toString());
+        }
+    }
+
+    @Test
+    void loneSectionTest() {
+        ProtectiveMarker compartments = new ProtectiveMarkerBuilder().secret().sensitiveCompartments("ORCON").build();
+        ProtectiveMarker dissemination = new ProtectiveMarkerBuilder().secret().disseminationMarks("ORCON").build();
+        assertEquals(compartments.toString(), dissemination.toString());
+
+        assertEquals(compartments, new ProtectiveMarkerParser().parse(compartments.toString()));
+        assertEquals(dissemination, new ProtectiveMarkerParser(Set.of("ORCON")).parse(dissemination.toString()));
+    }
+
+    @Test
+    void invalidTest() {
+        ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+        String secret = Classification.secret().toString();
+        List<String> invalid = List.of(
+                "",
+                "NOT A MARKING",
+                secret + "//",
+                secret + "//AAA//BBB//CCC",
+                secret + "//AAA/NZEO/BBB",
+                secret + "//AAA//ACCOUNTABLE MATERIAL",
+                secret + "//REL TO",
+                "BUDGET " + secret,
+                "EMBARGOED FOR RELEASE tomorrow " + Classification.inConfidence(),
+                "unexpected BUDGET " + Classification.inConfidence());
+
+        for (String text : invalid) {
+            assertEquals(Optional.empty(), parser.tryParse(text), text);
+            assertThrows(IllegalArgumentException.class, () -> parser.parse(text), text);
+        }
+    }
+
+    @Test
+    void productionModeTest() {
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        ProtectiveMarkerParser parser = new ProtectiveMarkerParser();
+        assertEquals(new ProtectiveMarkerBuilder().inConfidence().staff().build(), parser.parse("STAFF IN-CONFIDENCE"));
+        assertEquals(new ProtectiveMarkerBuilder().topSecret().accountableMaterial().sensitiveCompartments("AAA")
+                .nzeo().build(), parser.parse("TOP SECRET//AAA//NZEO"));
+    }
+}
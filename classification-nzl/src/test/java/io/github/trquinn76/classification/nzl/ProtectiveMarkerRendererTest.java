@@ -0,0 +1,77 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class ProtectiveMarkerRendererTest {
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void matchesToStringTest() {
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        List<ProtectiveMarker> markers = List.of(
+                builder.unclassified().build(),
+                builder.clear().inConfidence().appointments().departmentUseOnly("MFAT", "DPMC").build(),
+                builder.clear().sensitive().embargoedForRelease(LocalDateTime.of(2025, 3, 1, 9, 30)).build(),
+                builder.clear().secret().accountableMaterial().sensitiveCompartments("AAA", "BBB").build(),
+                builder.clear().secret().disseminationMarks("ORCON").relTo("NZL", "GBR", "USA").build(),
+                builder.clear().confidental().nzeo().build(),
+                builder.clear().topSecret().accountableMaterial().build(),
+                builder.clear().topSecret().accountableMaterial().sensitiveCompartments("CCC").relTo("NZL", "AUS")
+                        .build());
+
+        for (ProtectiveMarker marker : markers) {
+            byte[] expected = marker.toString().getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expected, ProtectiveMarkerRenderer.toBytes(marker), marker.toString());
+            assertEquals(expected.length, ProtectiveMarkerRenderer.renderedLength(marker));
+        }
+    }
+
+    @Test
+    void productionModeTest() {
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().relTo("NZL", "CAN").build();
+        assertEquals("SECRET//REL TO NZL, CAN",
+                new String(ProtectiveMarkerRenderer.toBytes(marker), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void nonAsciiTest() {
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        List<ProtectiveMarker> markers = List.of(builder.sensitive().departmentUseOnly("Māori Crown").build(),
+                builder.clear().secret().sensitiveCompartments("ÉCLAIR", "😀").build());
+
+        for (ProtectiveMarker marker : markers) {
+            byte[] expected = marker.toString().getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expected, ProtectiveMarkerRenderer.toBytes(marker));
+            assertEquals(expected.length, ProtectiveMarkerRenderer.renderedLength(marker));
+        }
+    }
+
+    @Test
+    void overflowRestoresPositionTest() {
+        ProtectiveMarker marker = new ProtectiveMarkerBuilder().secret().relTo("NZL", "AUS", "CAN", "GBR", "USA")
+                .build();
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) 1);
+        assertThrows(BufferOverflowException.class, () -> ProtectiveMarkerRenderer.render(marker, buffer));
+        assertEquals(1, buffer.position());
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.nzl.model.Classification;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
+class ProtectiveMarkerSanitiserTest {
+
+    private final ProtectiveMarker sensitive = new ProtectiveMarkerBuilder().sensitive().staff().build();
+    private final ProtectiveMarker restricted = new ProtectiveMarkerBuilder().restricted().build();
+    private final ProtectiveMarker restrictedRel = new ProtectiveMarkerBuilder().restricted().relTo("NZL", "AUS")
+            .build();
+    private final ProtectiveMarker secretRel = new ProtectiveMarkerBuilder().secret().relTo("NZL", "AUS", "GBR")
+            .build();
+    private final ProtectiveMarker restrictedNzeo = new ProtectiveMarkerBuilder().restricted().nzeo().build();
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void ceilingTest() {
+        ProtectiveMarkerSanitiser sanitiser = new ProtectiveMarkerSanitiser(Classification.restricted(), null);
+        assertTrue(sanitiser.permits(sensitive));
+        assertTrue(sanitiser.permits(restricted));
+        assertTrue(sanitiser.permits(restrictedNzeo));
+        assertFalse(sanitiser.permits(secretRel));
+        assertFalse(sanitiser.permits(null));
+
+        // New Zealand is not a foreign country.
+        sanitiser = new ProtectiveMarkerSanitiser(Classification.topSecret(), Utils.NZL);
+        assertTrue(sanitiser.permits(secretRel));
+        assertTrue(sanitiser.permits(restrictedNzeo));
+    }
+
+    @Test
+    void releasabilityTest() {
+        ProtectiveMarkerSanitiser sanitiser = new ProtectiveMarkerSanitiser(Classification.topSecret(), Utils.AUS);
+        assertTrue(sanitiser.permits(sensitive));
+        assertTrue(sanitiser.permits(restrictedRel));
+        assertTrue(sanitiser.permits(secretRel));
+        assertFalse(sanitiser.permits(restricted));
+        assertFalse(sanitiser.permits(restrictedNzeo));
+
+        sanitiser = new ProtectiveMarkerSanitiser(Classification.restricted(), Utils.GBR);
+        assertFalse(sanitiser.permits(restrictedRel));
+        assertFalse(sanitiser.permits(secretRel));
+    }
+
+    @Test
+    void sanitiseTest() {
+        List<Map.Entry<String, ProtectiveMarker>> items = List.of(Map.entry("a", sensitive), Map.entry("b", restricted),
+                Map.entry("c", secretRel), Map.entry("d", restrictedRel), Map.entry("e", sensitive));
+        ProtectiveMarkerSanitiser sanitiser = new ProtectiveMarkerSanitiser(Classification.secret(), Utils.AUS, 2);
+
+        assertEquals(List.of("a", "c", "d", "e"),
+                sanitiser.sanitise(items.stream(), Map.Entry::getValue).map(Map.Entry::getKey).toList());
+        assertEquals(List.of("a", "c", "d", "e"), sanitiser.sanitise(items.stream().parallel(), Map.Entry::getValue)
+                .map(Map.Entry::getKey).toList());
+
+        Iterator<Map.Entry<String, ProtectiveMarker>> iterator = sanitiser.sanitise(items.iterator(),
+                Map.Entry::getValue);
+        List<String> keys = new ArrayList<>();
+        iterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+        assertEquals(List.of("a", "c", "d", "e"), keys);
+    }
+
+    @Test
+    void productionModeTest() {
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        ProtectiveMarkerSanitiser sanitiser = new ProtectiveMarkerSanitiser(Classification.confidential(), Utils.AUS);
+        assertTrue(sanitiser.permits(new ProtectiveMarkerBuilder().inConfidence().build()));
+        assertTrue(sanitiser.permits(new ProtectiveMarkerBuilder().confidental().relTo("NZL", "AUS").build()));
+        assertFalse(sanitiser.permits(new ProtectiveMarkerBuilder().restricted().nzeo().build()));
+        assertFalse(sanitiser.permits(new ProtectiveMarkerBuilder().secret().relTo("NZL", "AUS").build()));
+    }
+}
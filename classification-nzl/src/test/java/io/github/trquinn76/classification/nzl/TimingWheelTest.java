@@ -0,0 +1,73 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void releasesAtDeadlineTest() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // deadlines spread over the lowest three levels, and beyond.
+            long deadline = 1001 + (long) Math.pow(2, random.nextDouble() * 20);
+            deadlines.add(deadline);
+            wheel.add(deadline, deadline);
+        }
+        assertEquals(deadlines.size(), wheel.size());
+
+        List<Long> released = new ArrayList<>();
+        long end = deadlines.stream().mapToLong(Long::longValue).max().orElseThrow();
+        for (long tick = 1001; tick <= end; tick += 1 + random.nextInt(100)) {
+            long now = tick;
+            wheel.advance(tick, deadline -> {
+                assertTrue(deadline <= now, deadline + " released early at " + now);
+                released.add(deadline);
+            });
+        }
+        wheel.advance(end, released::add);
+        assertEquals(0, wheel.size());
+        assertEquals(deadlines.stream().sorted().toList(), released.stream().sorted().toList());
+    }
+
+    @Test
+    void releasesEachTickExactlyTest() {
+        TimingWheel<Long> wheel = new TimingWheel<>(0);
+        long[] deadlines = { 1, 63, 64, 65, 4095, 4096, 4097, 262144, 1L << 36, (1L << 36) + 5 };
+        for (long deadline : deadlines) {
+            wheel.add(deadline, deadline);
+        }
+        for (long deadline : deadlines) {
+            List<Long> released = new ArrayList<>();
+            wheel.advance(deadline - 1, released::add);
+            assertEquals(List.of(), released);
+            wheel.advance(deadline, released::add);
+            assertEquals(List.of(deadline), released);
+        }
+    }
+
+    @Test
+    void overdueAndRemoveTest() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        TimingWheel.Timer<String> overdue = wheel.add(50, "overdue");
+        TimingWheel.Timer<String> removed = wheel.add(200, "removed");
+        assertSame("overdue", overdue.value());
+        assertTrue(wheel.remove(removed));
+        assertFalse(wheel.remove(removed));
+
+        List<String> released = new ArrayList<>();
+        wheel.advance(101, released::add);
+        assertEquals(List.of("overdue"), released);
+        assertFalse(wheel.remove(overdue));
+        wheel.advance(1000, released::add);
+        assertEquals(List.of("overdue"), released);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -2,11 +2,15 @@ package io.github.trquinn76.classification.nzl;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
 import org.junit.jupiter.api.Test;
 
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+
 class UtilsTest {
 
 	@Test
@@ -31,4 +35,45 @@ class UtilsTest {
 		assertArrayEquals(expectedOrder, actualOrder);
 	}
 
+	@Test
+	void mergeNationalSecurityTest() {
+		List<ProtectiveMarker> markers = List.of(
+				new ProtectiveMarkerBuilder().secret().accountableMaterial().sensitiveCompartments("AAA")
+						.relTo("NZL", "AUS", "GBR", "USA").build(),
+				new ProtectiveMarkerBuilder().restricted().sensitiveCompartments("BBB").relTo("NZL", "AUS", "USA")
+						.build());
+		ProtectiveMarkerBuilder expected = new ProtectiveMarkerBuilder().secret().accountableMaterial()
+				.sensitiveCompartments("AAA", "BBB").relTo("NZL", "AUS", "USA");
+		assertEquals(expected, Utils.merge(markers));
+		assertTrue(Utils.merge(markers).isValid().isEmpty());
+	}
+
+	@Test
+	void mergeNzeoTest() {
+		ProtectiveMarker relToAus = new ProtectiveMarkerBuilder().secret().relTo("NZL", "AUS").build();
+		ProtectiveMarker relToUsa = new ProtectiveMarkerBuilder().restricted().relTo("NZL", "USA").build();
+		ProtectiveMarker nzeo = new ProtectiveMarkerBuilder().confidental().nzeo().build();
+		assertEquals(new ProtectiveMarkerBuilder().secret().nzeo(), Utils.merge(List.of(relToAus, relToUsa)));
+		assertEquals(new ProtectiveMarkerBuilder().secret().nzeo(), Utils.merge(List.of(relToAus, nzeo)));
+	}
+
+	@Test
+	void mergePolicyAndPrivacyTest() {
+		LocalDateTime early = LocalDateTime.of(2025, 5, 9, 6, 30);
+		LocalDateTime late = LocalDateTime.of(2025, 6, 1, 12, 0);
+		List<ProtectiveMarker> markers = List.of(
+				new ProtectiveMarkerBuilder().inConfidence().embargoedForRelease(early).toBeReviewedOn(late)
+						.departmentUseOnly("DIA", "MFAT").build(),
+				new ProtectiveMarkerBuilder().sensitive().embargoedForRelease(late).toBeReviewedOn(early)
+						.departmentUseOnly("MFAT").build());
+		ProtectiveMarkerBuilder expected = new ProtectiveMarkerBuilder().sensitive().embargoedForRelease(late)
+				.toBeReviewedOn(early).departmentUseOnly("MFAT");
+		assertEquals(expected, Utils.merge(markers));
+	}
+
+	@Test
+	void mergeEmptyTest() {
+		assertNull(Utils.merge(List.of()));
+	}
+
 }
@@ -0,0 +1,43 @@
+package io.github.trquinn76.classification.nzl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+
+class VocabularyTest {
+
+    @Test
+    void getTest() {
+        Vocabulary<PolicyAndPrivacyEndorsements> vocabulary = Vocabulary.of(PolicyAndPrivacyEndorsements.class,
+                Object::toString);
+        for (PolicyAndPrivacyEndorsements endorsement : PolicyAndPrivacyEndorsements.values()) {
+            assertSame(endorsement, vocabulary.get(endorsement.toString()));
+        }
+        assertNull(vocabulary.get("DEPARTMENT_USE_ONLY"));
+        assertNull(vocabulary.get("USE"));
+
+        String text = "BUDGET EMBARGOED FOR RELEASE 01/02/2030 SECRET";
+        assertSame(PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE, vocabulary.get(text, 7, 28));
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        assertSame(PolicyAndPrivacyEndorsements.BUDGET, vocabulary.get(bytes, 0, 6));
+        assertNull(vocabulary.get(bytes, 0, 7));
+    }
+
+    @Test
+    void reverseLookupTest() {
+        assertSame(PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY,
+                PolicyAndPrivacyEndorsements.fromString("USE ONLY"));
+        assertTrue(PolicyAndPrivacyEndorsements.isString("TO BE REVIEWED ON"));
+        assertFalse(PolicyAndPrivacyEndorsements.isString(null));
+        assertThrows(IllegalArgumentException.class, () -> PolicyAndPrivacyEndorsements.fromString("USE_ONLY"));
+
+        assertSame(ReleasabilityTypes.RELTO, ReleasabilityTypes.fromString("REL TO"));
+        assertFalse(ReleasabilityTypes.isString("RELTO"));
+        assertThrows(NullPointerException.class, () -> ReleasabilityTypes.fromString(null));
+    }
+}
@@ -0,0 +1,382 @@
+package io.github.trquinn76.classification.store;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A persistent dictionary of markers, held in a memory mapped file which may be shared by several processes.
+ * <p>
+ * Each distinct marker added to a {@link MarkerDictionary} is given a {@code long} id, which is stable for the life of
+ * the file, and is the same in every process using it. Markers are held in their encoded form, and are only decoded
+ * when {@link #get(long)} is called, so a process using a large dictionary need not hold every distinct marker in its
+ * heap.
+ * <p>
+ * The file is made of:
+ * <ul>
+ * <li>a fixed size header, recording the {@link MarkerType}, production mode, capacities, and the number of markers
+ * and bytes written so far.</li>
+ * <li>an open addressing hash index, with linear probing. Each slot holds the id of a marker, plus one, or zero when
+ * empty.</li>
+ * <li>an append only data region, holding each encoded marker preceded by its hash and length. The id of a marker is
+ * its offset within this region.</li>
+ * </ul>
+ * The file is created at its full size, which most file systems allocate sparsely, and is mapped once. Opening a
+ * dictionary reads only the header, so takes the same time however many markers it holds. Because the index can not
+ * grow, the capacities should be chosen generously when the file is created.
+ * <p>
+ * Any number of processes may read a dictionary, but only one may write to it at a time. The writer holds an
+ * exclusive {@link FileLock} on the file while it is open. The writer appends the encoded marker, advances the end of
+ * the data region and the size, and then publishes the marker by storing its index slot, each with release semantics.
+ * Readers load index slots with acquire semantics, so a reader which finds a slot always sees the complete marker
+ * behind it, and may {@link #get(long)} it. Readers take no locks.
+ * <p>
+ * The maximum size of a dictionary file is limited to 2GB by the mapping used.
+ *
+ * @param <T> the marker record type held.
+ */
+public final class MarkerDictionary<T> implements AutoCloseable {
+
+    /**
+     * The default number of index slots of a new dictionary. A dictionary holds at most three quarters as many markers
+     * as it has index slots.
+     */
+    public static final int DEFAULT_INDEX_CAPACITY = 1 << 20;
+
+    /**
+     * The default size in bytes of the data region of a new dictionary.
+     */
+    public static final int DEFAULT_DATA_CAPACITY = 1 << 28;
+
+    private static final int MAGIC = 0x434C4D44; // "CLMD"
+    private static final int FORMAT_VERSION = 1;
+
+    // header layout.
+    private static final int MAGIC_OFFSET = 0;
+    private static final int FORMAT_VERSION_OFFSET = 4;
+    private static final int SCHEME_OFFSET = 8;
+    private static final int PRODUCTION_MODE_OFFSET = 12;
+    private static final int INDEX_CAPACITY_OFFSET = 16;
+    private static final int DATA_CAPACITY_OFFSET = 20;
+    private static final int SIZE_OFFSET = 24;
+    private static final int DATA_END_OFFSET = 28;
+    private static final int HEADER_LENGTH = 64;
+
+    private static final int SLOT_LENGTH = Long.BYTES;
+    // hash and length.
+    private static final int ENTRY_HEADER_LENGTH = 2 * Integer.BYTES;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final MarkerType<T> type;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private final int indexCapacity;
+    private final int dataCapacity;
+    private final int dataStart;
+
+    private MarkerDictionary(MarkerType<T> type, FileChannel channel, FileLock lock, MappedByteBuffer buffer)
+            throws IOException {
+        this.type = type;
+        this.channel = channel;
+        this.lock = lock;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_LENGTH || (int) INT.getAcquire(buffer, MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not a marker dictionary file");
+        }
+        int formatVersion = buffer.getInt(FORMAT_VERSION_OFFSET);
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported marker dictionary version: " + formatVersion);
+        }
+        if (buffer.getInt(SCHEME_OFFSET) != type.scheme()) {
+            throw new IOException("Marker dictionary does not hold " + type + " markers");
+        }
+        if ((buffer.getInt(PRODUCTION_MODE_OFFSET) != 0) != type.productionMode()) {
+            throw new IOException("Marker dictionary production mode does not match configured production mode: "
+                    + type.productionMode());
+        }
+        this.indexCapacity = buffer.getInt(INDEX_CAPACITY_OFFSET);
+        this.dataCapacity = buffer.getInt(DATA_CAPACITY_OFFSET);
+        this.dataStart = HEADER_LENGTH + indexCapacity * SLOT_LENGTH;
+        if (Integer.bitCount(indexCapacity) != 1 || (long) dataStart + dataCapacity > buffer.capacity()) {
+            throw new IOException("Corrupt marker dictionary header");
+        }
+        // markers are found by their encoded bytes, so a file written with another version of the codec is unusable.
+        if (size() > 0 && buffer.get(dataStart + ENTRY_HEADER_LENGTH) != type.version()) {
+            throw new IOException("Marker dictionary holds " + type + " markers encoded by version "
+                    + buffer.get(dataStart + ENTRY_HEADER_LENGTH) + ", not " + type.version());
+        }
+    }
+
+    /**
+     * Opens an existing dictionary file for reading.
+     *
+     * @param <T>  the marker record type held.
+     * @param path the dictionary file. May not be null.
+     * @param type the {@link MarkerType} held in the file. May not be null.
+     * @return a read only {@link MarkerDictionary}.
+     * @throws IOException if the file can not be opened, is not a dictionary file, or does not hold markers of the
+     *                     given type in the configured production mode and encoded form version.
+     */
+    public static <T> MarkerDictionary<T> openReader(Path path, MarkerType<T> type) throws IOException {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(type);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            return new MarkerDictionary<>(type, channel, null, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a dictionary file for writing, creating it with the default capacities if it does not exist.
+     *
+     * @param <T>  the marker record type held.
+     * @param path the dictionary file. May not be null.
+     * @param type the {@link MarkerType} held in the file. May not be null.
+     * @return a writable {@link MarkerDictionary}.
+     * @throws IOException if the file can not be opened or created, is already open for writing, is not a dictionary
+     *                     file, or does not hold markers of the given type in the configured production mode and
+     *                     encoded form version.
+     */
+    public static <T> MarkerDictionary<T> openWriter(Path path, MarkerType<T> type) throws IOException {
+        return openWriter(path, type, DEFAULT_INDEX_CAPACITY, DEFAULT_DATA_CAPACITY);
+    }
+
+    /**
+     * Opens a dictionary file for writing, creating it with the given capacities if it does not exist. The capacities
+     * are ignored when the file already exists.
+     *
+     * @param <T>           the marker record type held.
+     * @param path          the dictionary file. May not be null.
+     * @param type          the {@link MarkerType} held in the file. May not be null.
+     * @param indexCapacity the number of index slots. Must be a power of two.
+     * @param dataCapacity  the size in bytes of the data region. Must be positive.
+     * @return a writable {@link MarkerDictionary}.
+     * @throws IOException if the file can not be opened or created, is already open for writing, is not a dictionary
+     *                     file, or does not hold markers of the given type in the configured production mode and
+     *                     encoded form version.
+     */
+    public static <T> MarkerDictionary<T> openWriter(Path path, MarkerType<T> type, int indexCapacity,
+            int dataCapacity) throws IOException {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(type);
+        if (indexCapacity <= 0 || Integer.bitCount(indexCapacity) != 1) {
+            throw new IllegalArgumentException("indexCapacity must be a power of two: " + indexCapacity);
+        }
+        if (dataCapacity <= 0) {
+            throw new IllegalArgumentException("dataCapacity must be positive: " + dataCapacity);
+        }
+        long length = HEADER_LENGTH + (long) indexCapacity * SLOT_LENGTH + dataCapacity;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Marker dictionary may not be larger than 2GB");
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException("Marker dictionary is already open for writing: " + path);
+            }
+            if (channel.size() == 0) {
+                // extending the file by writing its last byte leaves the rest unallocated on most file systems.
+                channel.write(ByteBuffer.allocate(1), length - 1);
+                MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, length);
+                buffer.putInt(FORMAT_VERSION_OFFSET, FORMAT_VERSION);
+                buffer.putInt(SCHEME_OFFSET, type.scheme());
+                buffer.putInt(PRODUCTION_MODE_OFFSET, type.productionMode() ? 1 : 0);
+                buffer.putInt(INDEX_CAPACITY_OFFSET, indexCapacity);
+                buffer.putInt(DATA_CAPACITY_OFFSET, dataCapacity);
+                // the magic number is written last, so a reader never sees a partially written header.
+                INT.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+                return new MarkerDictionary<>(type, channel, lock, buffer);
+            }
+            MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, channel.size());
+            return new MarkerDictionary<>(type, channel, lock, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the given marker to the dictionary, if it is not already present.
+     *
+     * @param marker the marker to add. May not be null.
+     * @return the id of the marker.
+     * @throws IllegalStateException if the dictionary is read only, or is full.
+     */
+    public synchronized long add(T marker) {
+        Objects.requireNonNull(marker);
+        if (lock == null) {
+            throw new IllegalStateException("Marker dictionary is read only");
+        }
+        byte[] encoded = type.encode(marker);
+        int hash = hash(encoded);
+        long slot = probe(encoded, hash);
+        if (slot >= 0) {
+            return slot;
+        }
+        int size = size();
+        int dataEnd = (int) INT.getAcquire(buffer, DATA_END_OFFSET);
+        if (size + 1 > indexCapacity - (indexCapacity >>> 2)) {
+            throw new IllegalStateException("Marker dictionary index is full: " + size);
+        }
+        if ((long) dataEnd + ENTRY_HEADER_LENGTH + encoded.length > dataCapacity) {
+            throw new IllegalStateException("Marker dictionary data region is full: " + dataEnd);
+        }
+
+        int position = dataStart + dataEnd;
+        buffer.putInt(position, hash);
+        buffer.putInt(position + Integer.BYTES, encoded.length);
+        buffer.put(position + ENTRY_HEADER_LENGTH, encoded);
+        // the entry is published in dependency order: a reader which finds the slot then sees the data end and size
+        // which cover it.
+        INT.setRelease(buffer, DATA_END_OFFSET, dataEnd + ENTRY_HEADER_LENGTH + encoded.length);
+        INT.setRelease(buffer, SIZE_OFFSET, size + 1);
+        LONG.setRelease(buffer, slotOffset((int) (-slot - 1)), (long) dataEnd + 1);
+        return dataEnd;
+    }
+
+    /**
+     * Finds the id of the given marker.
+     *
+     * @param marker the marker to find. May not be null.
+     * @return the id of the marker, or -1 if it is not present.
+     */
+    public long find(T marker) {
+        Objects.requireNonNull(marker);
+        byte[] encoded = type.encode(marker);
+        long slot = probe(encoded, hash(encoded));
+        return slot >= 0 ? slot : -1;
+    }
+
+    /**
+     * Decodes the marker with the given id.
+     *
+     * @param id the id of a marker, as returned by {@link #add(Object)} or {@link #find(Object)}.
+     * @return the marker.
+     * @throws IllegalArgumentException if there is no marker with the given id.
+     */
+    public T get(long id) {
+        int dataEnd = (int) INT.getAcquire(buffer, DATA_END_OFFSET);
+        if (id < 0 || id + ENTRY_HEADER_LENGTH > dataEnd) {
+            throw new IllegalArgumentException("Invalid marker id: " + id);
+        }
+        int position = dataStart + (int) id;
+        int length = buffer.getInt(position + Integer.BYTES);
+        if (length <= 0 || id + ENTRY_HEADER_LENGTH + length > dataEnd) {
+            throw new IllegalArgumentException("Invalid marker id: " + id);
+        }
+        return type.decode(buffer.slice(position + ENTRY_HEADER_LENGTH, length));
+    }
+
+    /**
+     * The number of markers in the dictionary, including those added by other processes.
+     *
+     * @return the number of markers.
+     */
+    public int size() {
+        return (int) INT.getAcquire(buffer, SIZE_OFFSET);
+    }
+
+    /**
+     * The {@link MarkerType} held in this dictionary.
+     *
+     * @return the {@link MarkerType}.
+     */
+    public MarkerType<T> type() {
+        return type;
+    }
+
+    /**
+     * Indicates if this dictionary may be written to.
+     *
+     * @return true iff this dictionary was opened for writing.
+     */
+    public boolean writable() {
+        return lock != null;
+    }
+
+    /**
+     * Forces any markers added to be written to the storage device.
+     */
+    public void force() {
+        if (lock != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Closes the dictionary, releasing the write lock if held. The mapping itself is released when this object is
+     * garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Searches the index for the given encoded marker.
+     *
+     * @return the id of the marker if found, or {@code -(slot + 1)} of the empty slot where it would be placed.
+     */
+    private long probe(byte[] encoded, int hash) {
+        int mask = indexCapacity - 1;
+        ByteBuffer target = ByteBuffer.wrap(encoded);
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            long value = (long) LONG.getAcquire(buffer, slotOffset(slot));
+            if (value == 0) {
+                return -(slot + 1L);
+            }
+            long id = value - 1;
+            int position = dataStart + (int) id;
+            if (buffer.getInt(position) == hash && buffer.getInt(position + Integer.BYTES) == encoded.length
+                    && buffer.slice(position + ENTRY_HEADER_LENGTH, encoded.length).mismatch(target) == -1) {
+                return id;
+            }
+        }
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_LENGTH + slot * SLOT_LENGTH;
+    }
+
+    /**
+     * FNV-1a over the encoded marker, followed by the MurmurHash3 finaliser to spread the low bits used by the index.
+     */
+    private static int hash(byte[] encoded) {
+        int hash = 0x811C9DC5;
+        for (byte b : encoded) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.trquinn76.classification.store;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerCodec;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * Describes a kind of marker which may be held in a {@link MarkerDictionary}, and how it is encoded.
+ * <p>
+ * A {@link MarkerType} is available for each supported scheme, using the binary codec of that scheme with its built in
+ * dictionary. Where a codec with an extended dictionary is wanted, a {@link MarkerType} may be created for it, but
+ * every process sharing a {@link MarkerDictionary} file must then use a codec with the same dictionary.
+ *
+ * @param <T> the marker record type.
+ */
+public final class MarkerType<T> {
+
+    /**
+     * Australian {@link io.github.trquinn76.classification.aus.model.ProtectiveMarker}'s.
+     */
+    public static final MarkerType<io.github.trquinn76.classification.aus.model.ProtectiveMarker> AUS = aus(
+            new io.github.trquinn76.classification.aus.ProtectiveMarkerCodec());
+
+    /**
+     * New Zealand {@link io.github.trquinn76.classification.nzl.model.ProtectiveMarker}'s.
+     */
+    public static final MarkerType<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> NZL = nzl(
+            new io.github.trquinn76.classification.nzl.ProtectiveMarkerCodec());
+
+    /**
+     * UK {@link ClassificationMarker}'s.
+     */
+    public static final MarkerType<ClassificationMarker> UK = uk(new ClassificationMarkerCodec());
+
+    private static final int AUS_SCHEME = 1;
+    private static final int NZL_SCHEME = 2;
+    private static final int UK_SCHEME = 3;
+
+    private final int scheme;
+    private final String name;
+    private final byte version;
+    private final ToIntFunction<T> encodedLength;
+    private final ToIntBiFunction<T, ByteBuffer> encoder;
+    private final Function<ByteBuffer, T> decoder;
+    private final BooleanSupplier productionMode;
+
+    private MarkerType(int scheme, String name, byte version, ToIntFunction<T> encodedLength,
+            ToIntBiFunction<T, ByteBuffer> encoder, Function<ByteBuffer, T> decoder, BooleanSupplier productionMode) {
+        this.scheme = scheme;
+        this.name = name;
+        this.version = version;
+        this.encodedLength = encodedLength;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.productionMode = productionMode;
+    }
+
+    /**
+     * Creates a {@link MarkerType} for Australian markers using the given codec.
+     *
+     * @param codec the {@link io.github.trquinn76.classification.aus.ProtectiveMarkerCodec} to use. May not be null.
+     * @return a {@link MarkerType} for Australian markers.
+     */
+    public static MarkerType<io.github.trquinn76.classification.aus.model.ProtectiveMarker> aus(
+            io.github.trquinn76.classification.aus.ProtectiveMarkerCodec codec) {
+        Objects.requireNonNull(codec);
+        return new MarkerType<>(AUS_SCHEME, "AUS",
+                io.github.trquinn76.classification.aus.ProtectiveMarkerCodec.VERSION, codec::encodedLength,
+                codec::encode, codec::decode,
+                io.github.trquinn76.classification.aus.ClassificationConfig::productionMode);
+    }
+
+    /**
+     * Creates a {@link MarkerType} for New Zealand markers using the given codec.
+     *
+     * @param codec the {@link io.github.trquinn76.classification.nzl.ProtectiveMarkerCodec} to use. May not be null.
+     * @return a {@link MarkerType} for New Zealand markers.
+     */
+    public static MarkerType<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> nzl(
+            io.github.trquinn76.classification.nzl.ProtectiveMarkerCodec codec) {
+        Objects.requireNonNull(codec);
+        return new MarkerType<>(NZL_SCHEME, "NZL",
+                io.github.trquinn76.classification.nzl.ProtectiveMarkerCodec.VERSION, codec::encodedLength,
+                codec::encode, codec::decode,
+                io.github.trquinn76.classification.nzl.ClassificationConfig::productionMode);
+    }
+
+    /**
+     * Creates a {@link MarkerType} for UK markers using the given codec.
+     *
+     * @param codec the {@link ClassificationMarkerCodec} to use. May not be null.
+     * @return a {@link MarkerType} for UK markers.
+     */
+    public static MarkerType<ClassificationMarker> uk(ClassificationMarkerCodec codec) {
+        Objects.requireNonNull(codec);
+        return new MarkerType<>(UK_SCHEME, "UK", ClassificationMarkerCodec.VERSION, codec::encodedLength,
+                codec::encode, codec::decode,
+                io.github.trquinn76.classification.uk.ClassificationConfig::productionMode);
+    }
+
+    /**
+     * The scheme identifier recorded in a {@link MarkerDictionary} file.
+     *
+     * @return the scheme identifier.
+     */
+    int scheme() {
+        return scheme;
+    }
+
+    /**
+     * The version of the encoded form written by the codec, which is the first byte of every encoded marker.
+     *
+     * @return the encoded form version.
+     */
+    byte version() {
+        return version;
+    }
+
+    byte[] encode(T marker) {
+        byte[] bytes = new byte[encodedLength.applyAsInt(marker)];
+        encoder.applyAsInt(marker, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    T decode(ByteBuffer buffer) {
+        return decoder.apply(buffer);
+    }
+
+    boolean productionMode() {
+        return productionMode.getAsBoolean();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Provides a persistent, memory mapped dictionary of Classification/Protective Markings, which resolves markings to
+ * stable ids and back again, and may be shared by several processes on the same host.
+ */
+package io.github.trquinn76.classification.store;
@@ -0,0 +1,10 @@
+/**
+ * Defines a memory mapped dictionary of Classification/Protective Markings, which may be shared between processes.
+ */
+open module io.github.trquinn76.classification.store {
+    requires transitive io.github.trquinn76.classification.aus;
+    requires transitive io.github.trquinn76.classification.nzl;
+    requires transitive io.github.trquinn76.classification.uk;
+
+    exports io.github.trquinn76.classification.store;
+}
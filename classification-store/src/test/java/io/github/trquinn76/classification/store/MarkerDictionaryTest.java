@@ -0,0 +1,284 @@
+package io.github.trquinn76.classification.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class MarkerDictionaryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void addAndGetTest() throws IOException {
+        io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder builder = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder();
+        List<io.github.trquinn76.classification.aus.model.ProtectiveMarker> markers = List.of(
+                builder.official().build(),
+                builder.clear().secret().addCodeword("AAA").rel("AUS", "NZL").build(),
+                builder.clear().topSecret().austeo().build());
+
+        try (MarkerDictionary<io.github.trquinn76.classification.aus.model.ProtectiveMarker> dictionary = MarkerDictionary
+                .openWriter(dir.resolve("aus.dict"), MarkerType.AUS, 16, 1024)) {
+            List<Long> ids = new ArrayList<>();
+            for (io.github.trquinn76.classification.aus.model.ProtectiveMarker marker : markers) {
+                assertEquals(-1, dictionary.find(marker));
+                ids.add(dictionary.add(marker));
+            }
+            assertEquals(3, dictionary.size());
+            for (int i = 0; i < markers.size(); i++) {
+                assertEquals(ids.get(i), dictionary.add(markers.get(i)));
+                assertEquals(ids.get(i), dictionary.find(markers.get(i)));
+                assertEquals(markers.get(i), dictionary.get(ids.get(i)));
+            }
+            assertEquals(3, dictionary.size());
+        }
+    }
+
+    @Test
+    void allSchemesTest() throws IOException {
+        io.github.trquinn76.classification.nzl.model.ProtectiveMarker nzlMarker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder()
+                .secret().sensitiveCompartments("AAA").relTo("NZL", "AUS").build();
+        try (MarkerDictionary<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> dictionary = MarkerDictionary
+                .openWriter(dir.resolve("nzl.dict"), MarkerType.NZL, 16, 1024)) {
+            assertEquals(nzlMarker, dictionary.get(dictionary.add(nzlMarker)));
+        }
+
+        ClassificationMarker ukMarker = new ClassificationMarkerBuilder().secret().codeWords("AAA").ukEyesOnly().build();
+        try (MarkerDictionary<ClassificationMarker> dictionary = MarkerDictionary.openWriter(dir.resolve("uk.dict"),
+                MarkerType.UK, 16, 1024)) {
+            assertEquals(ukMarker, dictionary.get(dictionary.add(ukMarker)));
+        }
+
+        // a file may only be opened for the type it was created with.
+        assertThrows(IOException.class, () -> MarkerDictionary.openReader(dir.resolve("uk.dict"), MarkerType.AUS));
+    }
+
+    @Test
+    void nzlEndorsementsTest() throws IOException {
+        io.github.trquinn76.classification.nzl.model.ProtectiveMarker marker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder()
+                .sensitive().departmentUseOnly("DIA", "MFAT").embargoedForRelease(LocalDateTime.of(2025, 5, 9, 6, 30))
+                .build();
+        try (MarkerDictionary<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> dictionary = MarkerDictionary
+                .openWriter(dir.resolve("nzl.dict"), MarkerType.NZL, 16, 1024)) {
+            long id = dictionary.add(marker);
+            // a decoded or rebuilt marker has the same encoding, so is not added again.
+            assertEquals(id, dictionary.add(dictionary.get(id)));
+            assertEquals(id, dictionary.find(new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder(marker)
+                    .build()));
+            assertEquals(1, dictionary.size());
+        }
+    }
+
+    @Test
+    void otherCodecVersionTest() throws IOException {
+        Path path = dir.resolve("nzl.dict");
+        try (MarkerDictionary<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> dictionary = MarkerDictionary
+                .openWriter(path, MarkerType.NZL, 16, 1024)) {
+            dictionary.add(new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().secret().build());
+        }
+        // rewrite the version byte of the first marker, which follows the header, index and entry header.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1 }), 64 + 16 * Long.BYTES + 2 * Integer.BYTES);
+        }
+        // markers are found by their encoded bytes, so those of another codec version would never be found.
+        assertThrows(IOException.class, () -> MarkerDictionary.openReader(path, MarkerType.NZL));
+        assertThrows(IOException.class, () -> MarkerDictionary.openWriter(path, MarkerType.NZL));
+    }
+
+    @Test
+    void reopenTest() throws IOException {
+        Path path = dir.resolve("uk.dict");
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        List<ClassificationMarker> markers = List.of(builder.official().build(),
+                builder.clear().officialSensitive().personalData().build(), builder.clear().secret().build());
+        List<Long> ids = new ArrayList<>();
+        try (MarkerDictionary<ClassificationMarker> dictionary = MarkerDictionary.openWriter(path, MarkerType.UK, 16,
+                1024)) {
+            for (ClassificationMarker marker : markers) {
+                ids.add(dictionary.add(marker));
+            }
+            dictionary.force();
+        }
+
+        try (MarkerDictionary<ClassificationMarker> dictionary = MarkerDictionary.openReader(path, MarkerType.UK)) {
+            assertFalse(dictionary.writable());
+            assertEquals(3, dictionary.size());
+            for (int i = 0; i < markers.size(); i++) {
+                assertEquals(ids.get(i), dictionary.find(markers.get(i)));
+                assertEquals(markers.get(i), dictionary.get(ids.get(i)));
+            }
+            assertThrows(IllegalStateException.class, () -> dictionary.add(markers.get(0)));
+        }
+
+        try (MarkerDictionary<ClassificationMarker> dictionary = MarkerDictionary.openWriter(path, MarkerType.UK)) {
+            assertEquals(ids.get(1), dictionary.add(markers.get(1)));
+            assertEquals(3, dictionary.size());
+        }
+    }
+
+    @Test
+    void singleWriterTest() throws IOException {
+        Path path = dir.resolve("uk.dict");
+        try (MarkerDictionary<ClassificationMarker> writer = MarkerDictionary.openWriter(path, MarkerType.UK, 16,
+                1024)) {
+            assertTrue(writer.writable());
+            assertThrows(IOException.class, () -> MarkerDictionary.openWriter(path, MarkerType.UK));
+            try (MarkerDictionary<ClassificationMarker> reader = MarkerDictionary.openReader(path, MarkerType.UK)) {
+                ClassificationMarker marker = new ClassificationMarkerBuilder().secret().build();
+                assertEquals(-1, reader.find(marker));
+                long id = writer.add(marker);
+                assertEquals(id, reader.find(marker));
+                assertEquals(marker, reader.get(id));
+            }
+        }
+        // the lock is released on close.
+        MarkerDictionary.openWriter(path, MarkerType.UK).close();
+    }
+
+    @Test
+    void concurrentReadersTest() throws Exception {
+        Path path = dir.resolve("uk.dict");
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        List<ClassificationMarker> markers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            markers.add(builder.clear().secret().codeWords("CW" + i).build());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean done = new AtomicBoolean();
+        try (MarkerDictionary<ClassificationMarker> writer = MarkerDictionary.openWriter(path, MarkerType.UK, 1024,
+                1 << 16)) {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(executor.submit(() -> {
+                    int found = 0;
+                    try (MarkerDictionary<ClassificationMarker> reader = MarkerDictionary.openReader(path,
+                            MarkerType.UK)) {
+                        while (!done.get() || found < markers.size()) {
+                            found = 0;
+                            for (ClassificationMarker marker : markers) {
+                                long id = reader.find(marker);
+                                if (id >= 0) {
+                                    assertEquals(marker, reader.get(id));
+                                    found++;
+                                }
+                            }
+                        }
+                    }
+                    return found;
+                }));
+            }
+            for (ClassificationMarker marker : markers) {
+                writer.add(marker);
+            }
+            done.set(true);
+            for (Future<Integer> reader : readers) {
+                assertEquals(markers.size(), reader.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void findThenGetTest() throws Exception {
+        Path path = dir.resolve("uk.dict");
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        List<ClassificationMarker> markers = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            markers.add(builder.clear().secret().codeWords("CW" + i).build());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean done = new AtomicBoolean();
+        try (MarkerDictionary<ClassificationMarker> writer = MarkerDictionary.openWriter(path, MarkerType.UK, 1 << 13,
+                1 << 18)) {
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                followers.add(executor.submit(() -> {
+                    // follows the writer, getting each marker as soon as it can be found.
+                    int next = 0;
+                    try (MarkerDictionary<ClassificationMarker> reader = MarkerDictionary.openReader(path,
+                            MarkerType.UK)) {
+                        while (next < markers.size()) {
+                            boolean finished = done.get();
+                            long id = reader.find(markers.get(next));
+                            if (id >= 0) {
+                                assertEquals(markers.get(next), reader.get(id));
+                                assertTrue(reader.size() > next);
+                                next++;
+                            } else if (finished) {
+                                break;
+                            }
+                        }
+                    }
+                    return next;
+                }));
+            }
+            for (ClassificationMarker marker : markers) {
+                writer.add(marker);
+            }
+            done.set(true);
+            for (Future<Integer> follower : followers) {
+                assertEquals(markers.size(), follower.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void capacityTest() throws IOException {
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        try (MarkerDictionary<ClassificationMarker> dictionary = MarkerDictionary.openWriter(dir.resolve("index.dict"),
+                MarkerType.UK, 4, 1024)) {
+            for (int i = 0; i < 3; i++) {
+                dictionary.add(builder.clear().secret().codeWords("CW" + i).build());
+            }
+            assertThrows(IllegalStateException.class,
+                    () -> dictionary.add(builder.clear().secret().codeWords("CW3").build()));
+        }
+        try (MarkerDictionary<ClassificationMarker> dictionary = MarkerDictionary.openWriter(dir.resolve("data.dict"),
+                MarkerType.UK, 16, 16)) {
+            assertThrows(IllegalStateException.class,
+                    () -> dictionary.add(builder.clear().secret().codeWords("LONG CODE WORD").build()));
+            assertEquals(0, dictionary.size());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkerDictionary.openWriter(dir.resolve("bad.dict"), MarkerType.UK, 3, 1024));
+    }
+
+    @Test
+    void invalidInputTest() throws IOException {
+        Path path = dir.resolve("uk.dict");
+        try (MarkerDictionary<ClassificationMarker> dictionary = MarkerDictionary.openWriter(path, MarkerType.UK, 16,
+                1024)) {
+            long id = dictionary.add(new ClassificationMarkerBuilder().secret().build());
+            assertThrows(IllegalArgumentException.class, () -> dictionary.get(-1));
+            assertThrows(IllegalArgumentException.class, () -> dictionary.get(id + 1000));
+        }
+
+        Path notADictionary = dir.resolve("text.dict");
+        Files.writeString(notADictionary, "not a marker dictionary, but long enough to hold a header............");
+        assertThrows(IOException.class, () -> MarkerDictionary.openReader(notADictionary, MarkerType.UK));
+        assertThrows(IOException.class, () -> MarkerDictionary.openReader(dir.resolve("missing.dict"), MarkerType.UK));
+    }
+}
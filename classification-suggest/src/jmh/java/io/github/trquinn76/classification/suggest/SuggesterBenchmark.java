@@ -0,0 +1,68 @@
+package io.github.trquinn76.classification.suggest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link Suggester#suggest(String, int)} for short prefixes, with a large list of codewords loaded alongside
+ * the marking vocabularies.
+ * <p>
+ * Run with {@code ./gradlew classification-suggest:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggesterBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int codewords;
+
+    private Suggester suggester;
+    private String[] prefixes;
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Map<String, Long> frequencies = new HashMap<>();
+        while (frequencies.size() < codewords) {
+            StringBuilder codeword = new StringBuilder();
+            for (int length = 4 + random.nextInt(6); length > 0; length--) {
+                codeword.append((char) ('A' + random.nextInt(26)));
+            }
+            frequencies.put(codeword.toString(), (long) random.nextInt(1000));
+        }
+        suggester = new Suggester();
+        suggester.load(Category.CODEWORD, frequencies);
+
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            StringBuilder prefix = new StringBuilder();
+            for (int length = 1 + random.nextInt(3); length > 0; length--) {
+                prefix.append((char) ('a' + random.nextInt(26)));
+            }
+            prefixes[i] = prefix.toString();
+        }
+    }
+
+    @Benchmark
+    public Object topTen() {
+        return suggester.suggest(prefixes[next++ & (prefixes.length - 1)], 10);
+    }
+
+    @Benchmark
+    public Object topHundred() {
+        return suggester.suggest(prefixes[next++ & (prefixes.length - 1)], 100);
+    }
+}
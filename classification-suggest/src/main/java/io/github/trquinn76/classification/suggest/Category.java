@@ -0,0 +1,59 @@
+package io.github.trquinn76.classification.suggest;
+
+/**
+ * The vocabularies a {@link Suggester} completes from.
+ * <p>
+ * The marking vocabularies are populated from each scheme's model, with Classification names for the configured mode.
+ * {@link #CODEWORD} and {@link #COUNTRY} are empty until loaded.
+ */
+public enum Category {
+
+    /**
+     * Australian Classifications.
+     */
+    AUS_CLASSIFICATION,
+    /**
+     * Australian Information Management Markers.
+     */
+    AUS_INFORMATION_MANAGEMENT_MARKER,
+    /**
+     * Australian Special Handling Instructions.
+     */
+    AUS_SPECIAL_HANDLING_INSTRUCTION,
+    /**
+     * Australian Releasability types.
+     */
+    AUS_RELEASABILITY,
+    /**
+     * New Zealand Classifications.
+     */
+    NZL_CLASSIFICATION,
+    /**
+     * New Zealand Policy and Privacy Endorsements.
+     */
+    NZL_POLICY_AND_PRIVACY_ENDORSEMENT,
+    /**
+     * New Zealand Releasability types.
+     */
+    NZL_RELEASABILITY,
+    /**
+     * UK Classifications.
+     */
+    UK_CLASSIFICATION,
+    /**
+     * UK Handling Instructions.
+     */
+    UK_HANDLING_INSTRUCTION,
+    /**
+     * UK Descriptors.
+     */
+    UK_DESCRIPTOR,
+    /**
+     * Codewords, as loaded.
+     */
+    CODEWORD,
+    /**
+     * Country codes, as loaded.
+     */
+    COUNTRY;
+}
@@ -0,0 +1,189 @@
+package io.github.trquinn76.classification.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An immutable compressed trie of {@link Suggestion}'s, keyed by their upper cased text.
+ * <p>
+ * Each edge holds a run of characters rather than a single character, so the trie has no more nodes than twice the
+ * number of distinct keys. Children are held in arrays ordered by their first character, and found by binary search.
+ * Each node caches the best {@value #CACHED} {@link Suggestion}'s of its subtree, so a completion of no more than that
+ * many costs only the walk to the node of the prefix. Larger completions examine the whole subtree.
+ */
+final class PrefixTrie {
+
+    /**
+     * The number of {@link Suggestion}'s each node caches.
+     */
+    static final int CACHED = 16;
+
+    /**
+     * The order {@link Suggestion}'s are offered in. Most frequent first, then shortest, then by text.
+     */
+    static final Comparator<Suggestion> RANKING = Comparator.comparingLong(Suggestion::frequency).reversed()
+            .thenComparingInt(suggestion -> suggestion.text().length())
+            .thenComparing(Suggestion::text)
+            .thenComparing(Suggestion::category);
+
+    private static final PrefixTrie EMPTY = new PrefixTrie(null);
+
+    private final Node root;
+
+    private PrefixTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @return a {@link PrefixTrie} with no {@link Suggestion}'s.
+     */
+    static PrefixTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param suggestions the {@link Suggestion}'s to hold. Suggestions with blank text are ignored.
+     * @return a new {@link PrefixTrie}.
+     */
+    static PrefixTrie of(Collection<Suggestion> suggestions) {
+        List<Entry> entries = new ArrayList<>(suggestions.size());
+        for (Suggestion suggestion : suggestions) {
+            if (!suggestion.text().isBlank()) {
+                entries.add(new Entry(fold(suggestion.text()), suggestion));
+            }
+        }
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        Entry[] sorted = entries.toArray(Entry[]::new);
+        Arrays.sort(sorted, Comparator.comparing(Entry::key));
+        return new PrefixTrie(build(sorted, 0, sorted.length, 0));
+    }
+
+    /**
+     * @param text the text to fold.
+     * @return the text as it is keyed in a {@link PrefixTrie}.
+     */
+    static String fold(String text) {
+        return text.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the number of {@link Suggestion}'s held.
+     */
+    int size() {
+        return this.root == null ? 0 : this.root.size;
+    }
+
+    /**
+     * @param prefix a prefix, already folded by {@link #fold(String)}.
+     * @param limit  the largest number of {@link Suggestion}'s to return.
+     * @return the best {@link Suggestion}'s whose keys start with the prefix, in {@link #RANKING} order.
+     */
+    List<Suggestion> complete(String prefix, int limit) {
+        Node node = find(prefix);
+        if (node == null || limit <= 0) {
+            return List.of();
+        }
+        if (limit <= node.top.length || node.top.length == node.size) {
+            return Arrays.asList(node.top).subList(0, Math.min(limit, node.top.length));
+        }
+        List<Suggestion> all = new ArrayList<>(node.size);
+        collect(node, all);
+        all.sort(RANKING);
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    private Node find(String prefix) {
+        Node node = this.root;
+        int position = 0;
+        while (node != null) {
+            int length = Math.min(node.label.length(), prefix.length() - position);
+            if (!prefix.regionMatches(position, node.label, 0, length)) {
+                return null;
+            }
+            position += length;
+            if (position == prefix.length()) {
+                return node;
+            }
+            int index = Arrays.binarySearch(node.firsts, prefix.charAt(position));
+            node = index < 0 ? null : node.children[index];
+        }
+        return null;
+    }
+
+    private static void collect(Node node, List<Suggestion> into) {
+        into.addAll(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            collect(child, into);
+        }
+    }
+
+    /**
+     * Builds the node for a run of sorted entries which share a prefix of at least {@code depth} characters.
+     */
+    private static Node build(Entry[] sorted, int from, int to, int depth) {
+        // the entries are sorted, so the prefix the first and last share is shared by all of them.
+        String first = sorted[from].key();
+        String last = sorted[to - 1].key();
+        int shared = depth;
+        while (shared < first.length() && shared < last.length() && first.charAt(shared) == last.charAt(shared)) {
+            shared++;
+        }
+        // entries which end at this node sort before the rest.
+        int start = from;
+        while (start < to && sorted[start].key().length() == shared) {
+            start++;
+        }
+        Suggestion[] terminals = new Suggestion[start - from];
+        for (int i = from; i < start; i++) {
+            terminals[i - from] = sorted[i].suggestion();
+        }
+
+        List<Node> children = new ArrayList<>();
+        while (start < to) {
+            char c = sorted[start].key().charAt(shared);
+            int end = start + 1;
+            while (end < to && sorted[end].key().charAt(shared) == c) {
+                end++;
+            }
+            children.add(build(sorted, start, end, shared));
+            start = end;
+        }
+        return new Node(first.substring(depth, shared), terminals, children.toArray(Node[]::new));
+    }
+
+    private record Entry(String key, Suggestion suggestion) {
+    }
+
+    private static final class Node {
+
+        private final String label;
+        private final char[] firsts;
+        private final Node[] children;
+        private final Suggestion[] terminals;
+        private final int size;
+        private final Suggestion[] top;
+
+        Node(String label, Suggestion[] terminals, Node[] children) {
+            this.label = label;
+            this.terminals = terminals;
+            this.children = children;
+            this.firsts = new char[children.length];
+            int count = terminals.length;
+            List<Suggestion> candidates = new ArrayList<>(Arrays.asList(terminals));
+            for (int i = 0; i < children.length; i++) {
+                this.firsts[i] = children[i].label.charAt(0);
+                count += children[i].size;
+                candidates.addAll(Arrays.asList(children[i].top));
+            }
+            candidates.sort(RANKING);
+            this.size = count;
+            this.top = candidates.subList(0, Math.min(CACHED, candidates.size())).toArray(Suggestion[]::new);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.trquinn76.classification.suggest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.PSPFClassification;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+import io.github.trquinn76.classification.nzl.model.NZLClassification;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+import io.github.trquinn76.classification.uk.Utils;
+import io.github.trquinn76.classification.uk.model.SecurityClassification;
+
+/**
+ * Suggests completions of a prefix from marking vocabularies, codewords and countries, most frequently used first.
+ * <p>
+ * Each {@link Category} is held in its own immutable {@link PrefixTrie}, and the tries are published together as a
+ * single snapshot. Suggestions read the current snapshot without locking, so any number of threads may ask for
+ * suggestions while a vocabulary is reloaded. A reload builds the new trie aside, and then replaces the snapshot, so
+ * readers see either the old vocabulary or the new one, never a mixture.
+ * <p>
+ * Prefixes match without regard to case, and suggestions are returned with the text as it was loaded. Where
+ * frequencies are equal, shorter texts are suggested first.
+ */
+public final class Suggester {
+
+    private volatile Map<Category, PrefixTrie> tries;
+
+    /**
+     * Constructor. The marking vocabularies of each scheme are loaded with a frequency of zero, and {@link Category}'s
+     * {@link Category#CODEWORD} and {@link Category#COUNTRY} are empty.
+     */
+    public Suggester() {
+        Map<Category, PrefixTrie> initial = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            initial.put(category, PrefixTrie.of(suggestions(category, builtIn(category))));
+        }
+        this.tries = Collections.unmodifiableMap(initial);
+    }
+
+    /**
+     * @param prefix the prefix to complete. May not be null. An empty prefix completes to every text.
+     * @param limit  the largest number of suggestions to return. May not be negative.
+     * @return the best suggestions from every {@link Category}, best first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return suggest(prefix, limit, EnumSet.allOf(Category.class));
+    }
+
+    /**
+     * @param prefix     the prefix to complete. May not be null. An empty prefix completes to every text.
+     * @param limit      the largest number of suggestions to return. May not be negative.
+     * @param categories the {@link Category}'s to suggest from. May not be null.
+     * @return the best suggestions from the given {@link Category}'s, best first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit, Set<Category> categories) {
+        Objects.requireNonNull(prefix);
+        Objects.requireNonNull(categories);
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit may not be negative: " + limit);
+        }
+        String folded = PrefixTrie.fold(prefix);
+        Map<Category, PrefixTrie> snapshot = this.tries;
+        List<Suggestion> found = null;
+        List<Suggestion> merged = null;
+        for (Category category : categories) {
+            List<Suggestion> completions = snapshot.get(category).complete(folded, limit);
+            if (completions.isEmpty()) {
+                continue;
+            }
+            if (found == null) {
+                // the common case, of a single category with completions, needs no merge.
+                found = completions;
+                continue;
+            }
+            if (merged == null) {
+                merged = new ArrayList<>(found);
+            }
+            merged.addAll(completions);
+        }
+        if (merged == null) {
+            return found == null ? List.of() : List.copyOf(found);
+        }
+        merged.sort(PrefixTrie.RANKING);
+        return List.copyOf(merged.subList(0, Math.min(limit, merged.size())));
+    }
+
+    /**
+     * Replaces the texts of a {@link Category}, all with a frequency of zero.
+     *
+     * @param category the {@link Category} to replace. May not be null.
+     * @param texts    the texts. May not be null.
+     */
+    public void load(Category category, Collection<String> texts) {
+        Objects.requireNonNull(category);
+        List<Suggestion> suggestions = suggestions(category, texts);
+        replace(category, PrefixTrie.of(suggestions));
+    }
+
+    /**
+     * Replaces the texts of a {@link Category}, with how often each is used.
+     *
+     * @param category    the {@link Category} to replace. May not be null.
+     * @param frequencies each text, and how often it is used. May not be null.
+     */
+    public void load(Category category, Map<String, Long> frequencies) {
+        Objects.requireNonNull(category);
+        List<Suggestion> suggestions = new ArrayList<>(frequencies.size());
+        frequencies.forEach((text, frequency) -> suggestions.add(new Suggestion(text, category, frequency)));
+        replace(category, PrefixTrie.of(suggestions));
+    }
+
+    /**
+     * @param category the {@link Category}. May not be null.
+     * @return the number of texts currently held for the {@link Category}.
+     */
+    public int size(Category category) {
+        return this.tries.get(Objects.requireNonNull(category)).size();
+    }
+
+    private synchronized void replace(Category category, PrefixTrie trie) {
+        Map<Category, PrefixTrie> next = new EnumMap<>(this.tries);
+        next.put(category, trie);
+        this.tries = Collections.unmodifiableMap(next);
+    }
+
+    private static List<Suggestion> suggestions(Category category, Collection<String> texts) {
+        return texts.stream().map(text -> new Suggestion(text, category, 0)).toList();
+    }
+
+    private static List<String> builtIn(Category category) {
+        return switch (category) {
+            case AUS_CLASSIFICATION -> ausClassifications();
+            case AUS_INFORMATION_MANAGEMENT_MARKER -> texts(InformationManagementTypes.values());
+            case AUS_SPECIAL_HANDLING_INSTRUCTION -> texts(SpecialHandlingInstruction.values());
+            case AUS_RELEASABILITY -> texts(ReleasabilityType.values());
+            case NZL_CLASSIFICATION -> nzlClassifications();
+            case NZL_POLICY_AND_PRIVACY_ENDORSEMENT -> texts(PolicyAndPrivacyEndorsements.values());
+            case NZL_RELEASABILITY -> texts(ReleasabilityTypes.values());
+            case UK_CLASSIFICATION -> ukClassifications();
+            case UK_HANDLING_INSTRUCTION -> List.of(Utils.RECIPIENTS_ONLY, Utils.FOR_PUBLIC_RELEASE, Utils.USE_ONLY,
+                    Utils.HMG_USE_ONLY, Utils.EMBARGOED);
+            case UK_DESCRIPTOR -> List.of(Utils.PERSONAL_DATA, Utils.LEGAL_PROFESSIONAL_PRIVILEGE, Utils.LEGAL,
+                    Utils.MARKET_SENSITIVE, Utils.COMMERCIAL, Utils.HR_MANAGEMENT);
+            case CODEWORD, COUNTRY -> List.of();
+        };
+    }
+
+    private static List<String> texts(Object[] values) {
+        return Stream.of(values).map(Object::toString).toList();
+    }
+
+    private static List<String> ausClassifications() {
+        if (io.github.trquinn76.classification.aus.ClassificationConfig.productionMode()) {
+            return texts(PSPFClassification.values());
+        }
+        return texts(io.github.trquinn76.classification.aus.model.DevelopmentClassification.values());
+    }
+
+    private static List<String> nzlClassifications() {
+        if (io.github.trquinn76.classification.nzl.ClassificationConfig.productionMode()) {
+            return texts(NZLClassification.values());
+        }
+        return texts(io.github.trquinn76.classification.nzl.model.DevelopmentClassification.values());
+    }
+
+    private static List<String> ukClassifications() {
+        if (io.github.trquinn76.classification.uk.ClassificationConfig.productionMode()) {
+            return texts(SecurityClassification.values());
+        }
+        return texts(io.github.trquinn76.classification.uk.model.DevelopmentClassification.values());
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.trquinn76.classification.suggest;
+
+/**
+ * A completion offered by a {@link Suggester}.
+ *
+ * @param text      the text to offer, as it was loaded.
+ * @param category  the {@link Category} the text belongs to.
+ * @param frequency how often the text is used. Higher frequencies are offered first.
+ */
+public record Suggestion(String text, Category category, long frequency) {
+}
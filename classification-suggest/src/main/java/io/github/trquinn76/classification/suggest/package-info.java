@@ -0,0 +1,5 @@
+/**
+ * Provides ranked prefix completion over the marking vocabularies of the Australian, New Zealand and UK schemes, and
+ * user loaded lists of codewords and countries, for marking editors.
+ */
+package io.github.trquinn76.classification.suggest;
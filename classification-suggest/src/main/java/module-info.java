@@ -0,0 +1,10 @@
+/**
+ * Suggests completions of Classification marking vocabularies, codewords and countries.
+ */
+open module io.github.trquinn76.classification.suggest {
+    requires transitive io.github.trquinn76.classification.aus;
+    requires transitive io.github.trquinn76.classification.nzl;
+    requires transitive io.github.trquinn76.classification.uk;
+
+    exports io.github.trquinn76.classification.suggest;
+}
@@ -0,0 +1,73 @@
+package io.github.trquinn76.classification.suggest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixTrieTest {
+
+    @Test
+    void completeTest() {
+        PrefixTrie trie = PrefixTrie.of(List.of(suggestion("ORCON", 1), suggestion("ORANGE", 5),
+                suggestion("OR", 0), suggestion("CABINET", 2), suggestion(" ", 9)));
+        assertEquals(4, trie.size());
+        assertEquals(List.of("ORANGE", "ORCON", "OR"), texts(trie.complete("OR", 10)));
+        assertEquals(List.of("ORCON"), texts(trie.complete("ORC", 10)));
+        assertEquals(List.of("ORANGE", "CABINET", "ORCON", "OR"), texts(trie.complete("", 10)));
+        assertEquals(List.of("ORANGE"), texts(trie.complete("", 1)));
+        assertEquals(List.of(), trie.complete("ORX", 10));
+        assertEquals(List.of(), trie.complete("ORCONS", 10));
+        assertEquals(List.of(), trie.complete("X", 10));
+        assertEquals(List.of(), trie.complete("OR", 0));
+        assertEquals(List.of(), PrefixTrie.empty().complete("", 10));
+    }
+
+    @Test
+    void duplicateKeyTest() {
+        // texts which differ only in case share a key, and are both kept.
+        PrefixTrie trie = PrefixTrie.of(List.of(suggestion("Alpha", 1), suggestion("ALPHA", 2)));
+        assertEquals(List.of("ALPHA", "Alpha"), texts(trie.complete(PrefixTrie.fold("alp"), 10)));
+    }
+
+    @Test
+    void randomTest() {
+        // compares against a scan of every suggestion, beyond the cached completions of each node.
+        Random random = new Random(7);
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int length = 1 + random.nextInt(8); length > 0; length--) {
+                text.append((char) ('A' + random.nextInt(4)));
+            }
+            suggestions.add(suggestion(text.toString(), random.nextInt(50)));
+        }
+        PrefixTrie trie = PrefixTrie.of(suggestions);
+        for (String prefix : List.of("", "A", "AB", "BCD", "DDDD", "ABCDABCD")) {
+            for (int limit : List.of(1, PrefixTrie.CACHED, 100, 10_000)) {
+                List<Suggestion> expected = suggestions.stream().filter(s -> s.text().startsWith(prefix))
+                        .sorted(PrefixTrie.RANKING).limit(limit).toList();
+                assertEquals(expected, trie.complete(prefix, limit), prefix + " " + limit);
+            }
+        }
+    }
+
+    @Test
+    void rankingTest() {
+        List<Suggestion> suggestions = new ArrayList<>(List.of(suggestion("BB", 1), suggestion("A", 1),
+                suggestion("AAA", 3), suggestion("AB", 1)));
+        suggestions.sort(PrefixTrie.RANKING);
+        assertEquals(List.of("AAA", "A", "AB", "BB"), texts(suggestions));
+    }
+
+    private static Suggestion suggestion(String text, long frequency) {
+        return new Suggestion(text, Category.CODEWORD, frequency);
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}
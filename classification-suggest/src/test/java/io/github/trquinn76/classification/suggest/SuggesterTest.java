@@ -0,0 +1,100 @@
+package io.github.trquinn76.classification.suggest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.aus.model.Classification;
+
+class SuggesterTest {
+
+    @Test
+    void builtInTest() {
+        Suggester suggester = new Suggester();
+        assertEquals(List.of(new Suggestion("ORCON", Category.AUS_SPECIAL_HANDLING_INSTRUCTION, 0)),
+                suggester.suggest("orc", 10));
+        assertEquals(List.of("Legal Privilege", "Legislative Secrecy"),
+                texts(suggester.suggest("leg", 10, Set.of(Category.AUS_INFORMATION_MANAGEMENT_MARKER))));
+        assertEquals(List.of("LEGAL", "LEGAL PRIVILEGE", "Legal Privilege", "LEGAL PROFESSIONAL PRIVILEGE"),
+                texts(suggester.suggest("Legal", 10)));
+
+        String secret = Classification.secret().toString();
+        assertTrue(suggester.suggest(secret, 10, Set.of(Category.AUS_CLASSIFICATION)).stream()
+                .anyMatch(suggestion -> suggestion.text().equals(secret)));
+        assertEquals(0, suggester.size(Category.CODEWORD));
+        assertEquals(5, suggester.size(Category.UK_HANDLING_INSTRUCTION));
+    }
+
+    @Test
+    void frequencyTest() {
+        Suggester suggester = new Suggester();
+        suggester.load(Category.CODEWORD, Map.of("BEARCAT", 3L, "BEAGLE", 10L, "BEAR", 3L));
+        suggester.load(Category.COUNTRY, List.of("BEL", "BEN"));
+        assertEquals(List.of("BEAGLE", "BEAR", "BEARCAT", "BEL", "BEN"), texts(suggester.suggest("be", 10)));
+        assertEquals(List.of("BEAGLE", "BEAR"), texts(suggester.suggest("be", 2)));
+        assertEquals(List.of("BEL", "BEN"), texts(suggester.suggest("be", 10, EnumSet.of(Category.COUNTRY))));
+        assertEquals(List.of(), suggester.suggest("be", 0));
+        assertEquals(List.of(), suggester.suggest("be", 10, Set.of()));
+
+        // a reload replaces the category.
+        suggester.load(Category.CODEWORD, List.of("BEAVER"));
+        assertEquals(List.of("BEL", "BEN", "BEAVER"), texts(suggester.suggest("be", 10)));
+        assertThrows(IllegalArgumentException.class, () -> suggester.suggest("be", -1));
+        assertThrows(NullPointerException.class, () -> suggester.suggest(null, 1));
+    }
+
+    @Test
+    void concurrentReloadTest() throws Exception {
+        Suggester suggester = new Suggester();
+        List<String> even = codewords("EVEN", 1_000);
+        List<String> odd = codewords("ODD", 1_000);
+        suggester.load(Category.CODEWORD, even);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        // each read sees one whole vocabulary, never a mixture.
+                        List<String> found = texts(suggester.suggest("", 2_000, EnumSet.of(Category.CODEWORD)));
+                        assertTrue(found.equals(even) || found.equals(odd), () -> found.size() + " codewords");
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                suggester.load(Category.CODEWORD, i % 2 == 0 ? odd : even);
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String> codewords(String stem, int count) {
+        List<String> codewords = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            codewords.add(stem + String.format("%04d", i));
+        }
+        return codewords;
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}
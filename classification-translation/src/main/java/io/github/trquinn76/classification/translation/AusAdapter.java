@@ -0,0 +1,162 @@
+package io.github.trquinn76.classification.translation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.github.trquinn76.classification.aus.ClassificationConfig;
+import io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder;
+import io.github.trquinn76.classification.aus.ProtectiveMarkerInterner;
+import io.github.trquinn76.classification.aus.Utils;
+import io.github.trquinn76.classification.aus.model.DevelopmentClassification;
+import io.github.trquinn76.classification.aus.model.InformationManagementMarker;
+import io.github.trquinn76.classification.aus.model.InformationManagementTypes;
+import io.github.trquinn76.classification.aus.model.PSPFClassification;
+import io.github.trquinn76.classification.aus.model.ProtectiveMarker;
+import io.github.trquinn76.classification.aus.model.ReleasabilityCaveat;
+import io.github.trquinn76.classification.aus.model.ReleasabilityType;
+import io.github.trquinn76.classification.aus.model.SecurityCaveats;
+import io.github.trquinn76.classification.aus.model.SpecialHandlingInstruction;
+
+/**
+ * Australian {@link ProtectiveMarker}'s. Special Handling Instructions and Information Management Markers are caveats
+ * named as in the text form, and Foreign Government Markings carry any caveat without an Australian equivalent.
+ */
+final class AusAdapter implements SchemeAdapter<ProtectiveMarker> {
+
+    static final AusAdapter INSTANCE = new AusAdapter();
+
+    private static final List<String> LEVELS = Arrays.stream(PSPFClassification.values()).map(Enum::name).toList();
+    private static final int PROTECTED = PSPFClassification.PROTECTED.ordinal();
+    private static final String EXCLUSIVE_FOR = SpecialHandlingInstruction.EXCLUSIVE_FOR.name() + " ";
+
+    private AusAdapter() {
+    }
+
+    @Override
+    public String name() {
+        return "AUS";
+    }
+
+    @Override
+    public List<String> levels() {
+        return LEVELS;
+    }
+
+    @Override
+    public ProtectiveMarker intern(ProtectiveMarker marker) {
+        return ProtectiveMarkerInterner.shared().intern(marker);
+    }
+
+    @Override
+    public int level(ProtectiveMarker marker) {
+        String name = marker.classification().classificationName();
+        return ClassificationConfig.productionMode() ? PSPFClassification.valueOf(name).ordinal()
+                : DevelopmentClassification.valueOf(name).ordinal();
+    }
+
+    @Override
+    public Markings read(ProtectiveMarker marker, List<String> losses) {
+        List<String> codeWords = new ArrayList<>();
+        Set<String> releasableTo = null;
+        List<String> caveats = new ArrayList<>();
+
+        SecurityCaveats securityCaveats = marker.securityCaveats();
+        if (securityCaveats != null) {
+            codeWords.addAll(securityCaveats.codeWords());
+            caveats.addAll(securityCaveats.foreignGovernmentMarkings());
+            if (securityCaveats.specialHandlingCaveat() != null) {
+                caveats.add(securityCaveats.specialHandlingCaveat().toString());
+            }
+            ReleasabilityCaveat releasability = securityCaveats.releasabilityCaveat();
+            if (releasability != null) {
+                if (releasability.type() == ReleasabilityType.REL) {
+                    releasableTo = Set.copyOf(releasability.releasableToList());
+                } else {
+                    releasableTo = Set.of(Utils.AUS);
+                    if (releasability.type() == ReleasabilityType.AGAO) {
+                        losses.add(ReleasabilityType.AGAO + " translated as Australian Eyes Only.");
+                    }
+                }
+            }
+        }
+        for (InformationManagementMarker imm : marker.informationManagementMarkers()) {
+            caveats.add(imm.toString());
+        }
+        return new Markings(codeWords, releasableTo, caveats);
+    }
+
+    @Override
+    public ProtectiveMarker write(int level, Markings markings, List<String> losses) {
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        markings.codeWords().forEach(builder::addCodeword);
+
+        for (String caveat : markings.caveats()) {
+            if (caveat.equals(InformationManagementTypes.LEGAL_PRIVILEGE.name())) {
+                builder.legalPrivilege();
+            } else if (caveat.equals(InformationManagementTypes.PERSONAL_PRIVACY.name())) {
+                builder.personalPrivacy();
+            } else if (!writeSpecialHandling(caveat, builder)) {
+                builder.addForeignGovernmentMarking(caveat);
+            }
+        }
+
+        Set<String> releasableTo = markings.releasableTo();
+        if (releasableTo != null) {
+            if (releasableTo.equals(Set.of(Utils.AUS))) {
+                builder.austeo();
+            } else if (releasableTo.contains(Utils.AUS)) {
+                builder.setReleasability(ReleasabilityType.REL);
+                releasableTo.forEach(country -> builder.addReleasableToCountry(canonicalCountry(country)));
+            } else {
+                String rel = ReleasabilityType.REL + " " + String.join("/", new TreeSet<>(releasableTo));
+                builder.addForeignGovernmentMarking(rel);
+                losses.add("Releasability \"" + rel + "\" does not include " + Utils.AUS
+                        + ", carried as a Foreign Government Marking.");
+            }
+        }
+
+        if (builder.haveSecurityCaveat() && level < PROTECTED) {
+            losses.add("Classification raised from " + LEVELS.get(level) + " to " + LEVELS.get(PROTECTED)
+                    + " to carry Security Caveats.");
+            level = PROTECTED;
+        }
+        builder.setClassification(ProtectiveMarkerInterner.shared().classification(classificationName(level)));
+        SchemeAdapter.requireValid(name(), builder.isValid());
+        return intern(builder.build());
+    }
+
+    /**
+     * Sets the caveat as the Special Handling Instruction, if it is one and none has been set yet.
+     */
+    private static boolean writeSpecialHandling(String caveat, ProtectiveMarkerBuilder builder) {
+        if (builder.haveSpecialHandlingCaveat()) {
+            return false;
+        }
+        if (caveat.startsWith(EXCLUSIVE_FOR) && caveat.length() > EXCLUSIVE_FOR.length()) {
+            builder.exclusiveFor(caveat.substring(EXCLUSIVE_FOR.length()));
+            return true;
+        }
+        for (SpecialHandlingInstruction instruction : SpecialHandlingInstruction.values()) {
+            if (instruction != SpecialHandlingInstruction.EXCLUSIVE_FOR && instruction.name().equals(caveat)) {
+                builder.setSpecialHandlingInstruction(instruction);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String classificationName(int level) {
+        return ClassificationConfig.productionMode() ? PSPFClassification.values()[level].name()
+                : DevelopmentClassification.values()[level].name();
+    }
+
+    /**
+     * The releasable to order compares 'AUS' by identity, so it is replaced by the {@link Utils} constant.
+     */
+    private static String canonicalCountry(String country) {
+        return Utils.AUS.equals(country) ? Utils.AUS : country;
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.trquinn76.classification.translation;
+
+import java.util.List;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * A pair of schemes which markers may be translated between.
+ *
+ * @param <S> the source marker record type.
+ * @param <T> the target marker record type.
+ */
+public final class Direction<S, T> {
+
+    /**
+     * Australian to New Zealand markers.
+     */
+    public static final Direction<io.github.trquinn76.classification.aus.model.ProtectiveMarker, io.github.trquinn76.classification.nzl.model.ProtectiveMarker> AUS_TO_NZL = new Direction<>(
+            0, AusAdapter.INSTANCE, NzlAdapter.INSTANCE);
+
+    /**
+     * Australian to UK markers.
+     */
+    public static final Direction<io.github.trquinn76.classification.aus.model.ProtectiveMarker, ClassificationMarker> AUS_TO_UK = new Direction<>(
+            1, AusAdapter.INSTANCE, UkAdapter.INSTANCE);
+
+    /**
+     * New Zealand to Australian markers.
+     */
+    public static final Direction<io.github.trquinn76.classification.nzl.model.ProtectiveMarker, io.github.trquinn76.classification.aus.model.ProtectiveMarker> NZL_TO_AUS = new Direction<>(
+            2, NzlAdapter.INSTANCE, AusAdapter.INSTANCE);
+
+    /**
+     * New Zealand to UK markers.
+     */
+    public static final Direction<io.github.trquinn76.classification.nzl.model.ProtectiveMarker, ClassificationMarker> NZL_TO_UK = new Direction<>(
+            3, NzlAdapter.INSTANCE, UkAdapter.INSTANCE);
+
+    /**
+     * UK to Australian markers.
+     */
+    public static final Direction<ClassificationMarker, io.github.trquinn76.classification.aus.model.ProtectiveMarker> UK_TO_AUS = new Direction<>(
+            4, UkAdapter.INSTANCE, AusAdapter.INSTANCE);
+
+    /**
+     * UK to New Zealand markers.
+     */
+    public static final Direction<ClassificationMarker, io.github.trquinn76.classification.nzl.model.ProtectiveMarker> UK_TO_NZL = new Direction<>(
+            5, UkAdapter.INSTANCE, NzlAdapter.INSTANCE);
+
+    static final List<Direction<?, ?>> VALUES = List.of(AUS_TO_NZL, AUS_TO_UK, NZL_TO_AUS, NZL_TO_UK, UK_TO_AUS,
+            UK_TO_NZL);
+
+    private final int index;
+    private final SchemeAdapter<S> source;
+    private final SchemeAdapter<T> target;
+
+    private Direction(int index, SchemeAdapter<S> source, SchemeAdapter<T> target) {
+        this.index = index;
+        this.source = source;
+        this.target = target;
+    }
+
+    int index() {
+        return index;
+    }
+
+    SchemeAdapter<S> source() {
+        return source;
+    }
+
+    SchemeAdapter<T> target() {
+        return target;
+    }
+
+    /**
+     * The prefix of the {@link TranslationTables} keys for this direction, such as {@code aus.nzl.}.
+     */
+    String prefix() {
+        return source.name().toLowerCase() + "." + target.name().toLowerCase() + ".";
+    }
+
+    @Override
+    public String toString() {
+        return source.name() + " to " + target.name();
+    }
+}
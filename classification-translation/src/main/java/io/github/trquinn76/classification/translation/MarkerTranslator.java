@@ -0,0 +1,152 @@
+package io.github.trquinn76.classification.translation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Translates markers between the Australian, New Zealand and UK schemes, using {@link TranslationTables}.
+ * <p>
+ * The Classification is looked up in the tables, and each caveat is mapped through the tables to its equivalent in
+ * the target scheme. Code words, sensitive compartments and UK code words are carried across unchanged, as are the
+ * countries of AUS {@code REL}, NZL {@code REL TO} and UK {@code EYES ONLY} lists. Where the target scheme can not
+ * carry a caveat at the translated Classification, the Classification is raised rather than the caveat dropped, so a
+ * translated marker is never less restrictive than the tables allow. Every inexact step is described in the losses of
+ * the {@link Translation}.
+ * <p>
+ * Exchanges typically see a small number of distinct markers many times over, so translations are cached against
+ * the interned source marker. Each direction holds a bounded cache, which is cleared when it reaches its maximum size.
+ * The cache should be cleared if the configuration of any scheme is changed. A {@link MarkerTranslator} may be shared
+ * between threads.
+ */
+public final class MarkerTranslator {
+
+    /**
+     * The maximum number of translations cached for each direction by default.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private final TranslationTables tables;
+    private final int maximumSize;
+    private final List<ConcurrentHashMap<Object, Translation<?>>> caches;
+
+    /**
+     * Constructor using the default {@link TranslationTables}.
+     */
+    public MarkerTranslator() {
+        this(TranslationTables.defaults(), DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tables      the {@link TranslationTables} to use. May not be null.
+     * @param maximumSize the maximum number of translations to cache for each direction. Must be positive.
+     */
+    public MarkerTranslator(TranslationTables tables, int maximumSize) {
+        Objects.requireNonNull(tables);
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.tables = tables;
+        this.maximumSize = maximumSize;
+        this.caches = Direction.VALUES.stream().map(direction -> new ConcurrentHashMap<Object, Translation<?>>())
+                .toList();
+    }
+
+    /**
+     * Translates a marker.
+     *
+     * @param <S>       the source marker record type.
+     * @param <T>       the target marker record type.
+     * @param direction the {@link Direction} to translate in. May not be null.
+     * @param marker    the marker to translate. May not be null.
+     * @return the {@link Translation}.
+     * @throws IllegalArgumentException if no valid marker can be written in the target scheme.
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> Translation<T> translate(Direction<S, T> direction, S marker) {
+        Objects.requireNonNull(direction);
+        Objects.requireNonNull(marker);
+        ConcurrentHashMap<Object, Translation<?>> cache = caches.get(direction.index());
+        Translation<T> translation = (Translation<T>) cache.get(marker);
+        if (translation == null) {
+            S source = direction.source().intern(marker);
+            translation = translateUncached(direction, source);
+            if (cache.size() >= maximumSize) {
+                cache.clear();
+            }
+            cache.putIfAbsent(source, translation);
+        }
+        return translation;
+    }
+
+    /**
+     * Translates a {@link Stream} of markers. The returned {@link Stream} is lazy, and may be parallel.
+     *
+     * @param <S>       the source marker record type.
+     * @param <T>       the target marker record type.
+     * @param direction the {@link Direction} to translate in. May not be null.
+     * @param markers   the markers to translate. May not be null.
+     * @return a {@link Stream} of the {@link Translation} of each marker, in order.
+     */
+    public <S, T> Stream<Translation<T>> translateAll(Direction<S, T> direction, Stream<S> markers) {
+        Objects.requireNonNull(direction);
+        return markers.map(marker -> translate(direction, marker));
+    }
+
+    /**
+     * Removes all cached translations.
+     */
+    public void clear() {
+        caches.forEach(ConcurrentHashMap::clear);
+    }
+
+    /**
+     * Provides the number of cached translations, across all directions.
+     *
+     * @return the number of cached translations.
+     */
+    public int size() {
+        return caches.stream().mapToInt(ConcurrentHashMap::size).sum();
+    }
+
+    private <S, T> Translation<T> translateUncached(Direction<S, T> direction, S marker) {
+        SchemeAdapter<S> source = direction.source();
+        SchemeAdapter<T> target = direction.target();
+        List<String> losses = new ArrayList<>();
+
+        int sourceLevel = source.level(marker);
+        int level = tables.classification(direction, sourceLevel);
+        if (level < 0) {
+            level = ~level;
+            losses.add("Classification " + source.levels().get(sourceLevel) + " has no " + target.name()
+                    + " equivalent, translated as " + target.levels().get(level) + ".");
+        }
+
+        Markings markings = source.read(marker, losses);
+        List<String> caveats = new ArrayList<>();
+        for (String caveat : markings.caveats()) {
+            String mapped = tables.caveat(direction, caveat);
+            if (mapped == null) {
+                caveats.add(caveat);
+                losses.add("Caveat \"" + caveat + "\" has no " + target.name() + " equivalent, carried as written.");
+            } else if (mapped.isEmpty()) {
+                losses.add("Caveat \"" + caveat + "\" has no " + target.name() + " equivalent, dropped.");
+            } else if (!caveats.contains(mapped)) {
+                caveats.add(mapped);
+            }
+        }
+
+        try {
+            T translated = target.write(level,
+                    new Markings(markings.codeWords(), markings.releasableTo(), caveats), losses);
+            return new Translation<>(translated, losses);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Unable to translate \"" + marker + "\" " + direction + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.trquinn76.classification.translation;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The caveats of a marker in a form shared by every scheme.
+ *
+ * @param codeWords    the code words, or sensitive compartments. May be empty.
+ * @param releasableTo the three letter codes of the countries the marked data may be released to, or null if it is
+ *                     not restricted.
+ * @param caveats      every other caveat, as written in the text form of its scheme. May be empty.
+ */
+record Markings(List<String> codeWords, Set<String> releasableTo, List<String> caveats) {
+
+    Markings {
+        codeWords = List.copyOf(codeWords);
+        releasableTo = releasableTo == null ? null : Set.copyOf(releasableTo);
+        caveats = List.copyOf(caveats);
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.trquinn76.classification.translation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import io.github.trquinn76.classification.nzl.ClassificationConfig;
+import io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder;
+import io.github.trquinn76.classification.nzl.ProtectiveMarkerInterner;
+import io.github.trquinn76.classification.nzl.Utils;
+import io.github.trquinn76.classification.nzl.model.DevelopmentClassification;
+import io.github.trquinn76.classification.nzl.model.NZLClassification;
+import io.github.trquinn76.classification.nzl.model.NationalSecurityEndorsements;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsementMarking;
+import io.github.trquinn76.classification.nzl.model.PolicyAndPrivacyEndorsements;
+import io.github.trquinn76.classification.nzl.model.ProtectiveMarker;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityMarking;
+import io.github.trquinn76.classification.nzl.model.ReleasabilityTypes;
+
+/**
+ * New Zealand {@link ProtectiveMarker}'s. Policy and Privacy Endorsements are caveats as written in the text form,
+ * and Dissemination Marks carry any caveat without a New Zealand equivalent.
+ * <p>
+ * Policy and Privacy Endorsements are only permitted on Policy and Privacy Classifications, and National Security
+ * Endorsements only on National Security Classifications. Where a marker needs National Security Endorsements its
+ * level is raised to RESTRICTED, and any Policy and Privacy Endorsements become Dissemination Marks.
+ */
+final class NzlAdapter implements SchemeAdapter<ProtectiveMarker> {
+
+    static final NzlAdapter INSTANCE = new NzlAdapter();
+
+    static final String ACCOUNTABLE_MATERIAL = "ACCOUNTABLE MATERIAL";
+
+    private static final List<String> LEVELS = Arrays.stream(NZLClassification.values()).map(Enum::name).toList();
+    private static final int UNCLASSIFIED = NZLClassification.UNCLASSIFIED.ordinal();
+    private static final int IN_CONFIDENCE = NZLClassification.IN_CONFIDENCE.ordinal();
+    private static final int RESTRICTED = NZLClassification.RESTRICTED.ordinal();
+    private static final int TOP_SECRET = NZLClassification.TOP_SECRET.ordinal();
+    private static final String USE_ONLY = " " + PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY;
+
+    private NzlAdapter() {
+    }
+
+    @Override
+    public String name() {
+        return "NZL";
+    }
+
+    @Override
+    public List<String> levels() {
+        return LEVELS;
+    }
+
+    @Override
+    public ProtectiveMarker intern(ProtectiveMarker marker) {
+        return ProtectiveMarkerInterner.shared().intern(marker);
+    }
+
+    @Override
+    public int level(ProtectiveMarker marker) {
+        String name = marker.classification().classificationName();
+        return ClassificationConfig.productionMode() ? NZLClassification.valueOf(name).ordinal()
+                : DevelopmentClassification.valueOf(name).ordinal();
+    }
+
+    @Override
+    public Markings read(ProtectiveMarker marker, List<String> losses) {
+        List<String> codeWords = new ArrayList<>();
+        Set<String> releasableTo = null;
+        List<String> caveats = new ArrayList<>();
+
+        for (PolicyAndPrivacyEndorsementMarking endorsement : marker.policyAndPrivacyEndorsements()) {
+            caveats.add(endorsement.toString());
+        }
+        NationalSecurityEndorsements endorsements = marker.nationalSecurityEndorsements();
+        if (endorsements != null) {
+            // accountable material is implied by TOP SECRET.
+            if (endorsements.accountableMaterial() && level(marker) != TOP_SECRET) {
+                caveats.add(ACCOUNTABLE_MATERIAL);
+            }
+            codeWords.addAll(endorsements.sensitiveCompartments());
+            caveats.addAll(endorsements.disseminationMarks());
+            ReleasabilityMarking releasability = endorsements.releasability();
+            if (releasability != null) {
+                releasableTo = releasability.type() == ReleasabilityTypes.RELTO
+                        ? Set.copyOf(releasability.releasableToList())
+                        : Set.of(Utils.NZL);
+            }
+        }
+        return new Markings(codeWords, releasableTo, caveats);
+    }
+
+    @Override
+    public ProtectiveMarker write(int level, Markings markings, List<String> losses) {
+        ProtectiveMarkerBuilder builder = new ProtectiveMarkerBuilder();
+        List<String> caveats = new ArrayList<>(markings.caveats());
+        builder.setAccountableMaterial(caveats.remove(ACCOUNTABLE_MATERIAL) || level == TOP_SECRET);
+
+        boolean nationalSecurity = builder.hasAccountableMaterial() || !markings.codeWords().isEmpty()
+                || markings.releasableTo() != null;
+        for (String caveat : caveats) {
+            nationalSecurity |= !isPolicyAndPrivacy(caveat);
+        }
+
+        if (nationalSecurity && level < RESTRICTED) {
+            level = raise(level, RESTRICTED, "National Security Endorsements", losses);
+        } else if (!caveats.isEmpty() && level == UNCLASSIFIED) {
+            level = raise(level, IN_CONFIDENCE, "Policy and Privacy Endorsements", losses);
+        }
+
+        for (String caveat : caveats) {
+            if (level >= RESTRICTED) {
+                if (isPolicyAndPrivacy(caveat)) {
+                    losses.add("Policy and Privacy Endorsement \"" + caveat + "\" is not permitted on "
+                            + LEVELS.get(level) + ", carried as a Dissemination Mark.");
+                }
+                builder.addDisseminationMark(caveat);
+            } else {
+                writePolicyAndPrivacy(caveat, builder);
+            }
+        }
+
+        markings.codeWords().forEach(builder::addSensitiveCompartment);
+        Set<String> releasableTo = markings.releasableTo();
+        if (releasableTo != null) {
+            if (releasableTo.equals(Set.of(Utils.NZL))) {
+                builder.nzeo();
+            } else if (releasableTo.contains(Utils.NZL)) {
+                builder.setReleasability(ReleasabilityTypes.RELTO);
+                releasableTo.forEach(country -> builder.addReleasableToCountry(canonicalCountry(country)));
+            } else {
+                String relTo = ReleasabilityTypes.RELTO + " " + String.join(", ", sorted(releasableTo));
+                builder.addDisseminationMark(relTo);
+                losses.add("Releasability \"" + relTo + "\" does not include " + Utils.NZL
+                        + ", carried as a Dissemination Mark.");
+            }
+        }
+
+        builder.setClassification(ProtectiveMarkerInterner.shared().classification(classificationName(level)));
+        SchemeAdapter.requireValid(name(), builder.isValid());
+        return intern(builder.build());
+    }
+
+    /**
+     * @return true if the caveat is a Policy and Privacy Endorsement which needs no date.
+     */
+    private static boolean isPolicyAndPrivacy(String caveat) {
+        if (caveat.endsWith(USE_ONLY)) {
+            return caveat.length() > USE_ONLY.length();
+        }
+        for (PolicyAndPrivacyEndorsements endorsement : PolicyAndPrivacyEndorsements.values()) {
+            if (!hasValue(endorsement) && endorsement.toString().equals(caveat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void writePolicyAndPrivacy(String caveat, ProtectiveMarkerBuilder builder) {
+        if (caveat.endsWith(USE_ONLY)) {
+            String departments = caveat.substring(0, caveat.length() - USE_ONLY.length());
+            builder.addPolicyAndPrivacyEndorsement(PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY);
+            Arrays.stream(departments.split(", ")).forEach(builder::addDepartmentUseOnly);
+            return;
+        }
+        for (PolicyAndPrivacyEndorsements endorsement : PolicyAndPrivacyEndorsements.values()) {
+            if (endorsement.toString().equals(caveat)) {
+                builder.addPolicyAndPrivacyEndorsement(endorsement);
+            }
+        }
+    }
+
+    private static boolean hasValue(PolicyAndPrivacyEndorsements endorsement) {
+        return endorsement == PolicyAndPrivacyEndorsements.DEPARTMENT_USE_ONLY
+                || endorsement == PolicyAndPrivacyEndorsements.EMBARGOED_FOR_RELEASE
+                || endorsement == PolicyAndPrivacyEndorsements.TO_BE_REVIEWED_ON;
+    }
+
+    private static int raise(int level, int to, String reason, List<String> losses) {
+        losses.add("Classification raised from " + LEVELS.get(level) + " to " + LEVELS.get(to) + " to carry "
+                + reason + ".");
+        return to;
+    }
+
+    private static List<String> sorted(Set<String> countries) {
+        return countries.stream().sorted().toList();
+    }
+
+    private static String classificationName(int level) {
+        return ClassificationConfig.productionMode() ? NZLClassification.values()[level].name()
+                : DevelopmentClassification.values()[level].name();
+    }
+
+    /**
+     * The releasable to order compares 'NZL' by identity, so it is replaced by the {@link Utils} constant.
+     */
+    private static String canonicalCountry(String country) {
+        return Utils.NZL.equals(country) ? Utils.NZL : country;
+    }
+}
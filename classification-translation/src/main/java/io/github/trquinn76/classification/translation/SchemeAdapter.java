@@ -0,0 +1,48 @@
+package io.github.trquinn76.classification.translation;
+
+import java.util.List;
+
+/**
+ * Reads markers of one scheme into {@link Markings}, and writes them back out.
+ * <p>
+ * Classifications are handled as levels, the ordinal of the production Classification enumeration of the scheme. The
+ * development enumerations declare their entries in the same order, so a level is valid in either mode.
+ *
+ * @param <T> the marker record type.
+ */
+interface SchemeAdapter<T> {
+
+    /**
+     * @return the name of the scheme, as used in {@link TranslationTables} keys.
+     */
+    String name();
+
+    /**
+     * @return the names of the production Classifications of the scheme, indexed by level.
+     */
+    List<String> levels();
+
+    T intern(T marker);
+
+    int level(T marker);
+
+    /**
+     * Reads the caveats of the marker, adding anything which can not be carried by {@link Markings} to the losses.
+     */
+    Markings read(T marker, List<String> losses);
+
+    /**
+     * Writes a marker at the given level. Caveats the scheme has no place for are carried in its free text field, and
+     * the level is raised where the scheme does not permit a caveat at the requested level. Each is added to the
+     * losses.
+     *
+     * @throws IllegalArgumentException if no valid marker can be written.
+     */
+    T write(int level, Markings markings, List<String> losses);
+
+    static void requireValid(String scheme, List<String> report) {
+        if (!report.isEmpty()) {
+            throw new IllegalArgumentException("No valid " + scheme + " marker: " + String.join(" ", report));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.trquinn76.classification.translation;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of translating a marker into another scheme.
+ *
+ * @param <T>    the target marker record type.
+ * @param marker the translated marker. May not be null.
+ * @param losses a description of each part of the source marker which could not be translated exactly. May be
+ *               empty. May not be null.
+ */
+public record Translation<T>(T marker, List<String> losses) {
+
+    /**
+     * A Constructor which ensures parameters are not null, and performs defensive list copying.
+     *
+     * @param marker the translated marker. May not be null.
+     * @param losses a description of each inexact part of the translation. May be empty. May not be null.
+     */
+    public Translation {
+        Objects.requireNonNull(marker);
+        losses = List.copyOf(losses);
+    }
+
+    /**
+     * Returns true if every part of the source marker has an exact equivalent in the translated marker.
+     *
+     * @return true if there are no losses.
+     */
+    public boolean isLossless() {
+        return losses.isEmpty();
+    }
+}
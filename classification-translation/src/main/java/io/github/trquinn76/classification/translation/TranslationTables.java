@@ -0,0 +1,162 @@
+package io.github.trquinn76.classification.translation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * The equivalence tables used by a {@link MarkerTranslator}, compiled from {@link Properties}.
+ * <p>
+ * Each entry is keyed by the direction, as the lower case source and target scheme names, followed by its kind:
+ *
+ * <pre>
+ * aus.nzl.classification.PROTECTED = ~CONFIDENTIAL
+ * aus.nzl.caveat.LEGAL_PRIVILEGE = LEGAL PRIVILEGE
+ * </pre>
+ *
+ * Classifications are named by their production enumeration entry, with the UK SENSITIVE mark written as the
+ * Classification {@code OFFICIAL_SENSITIVE}. Every Classification of each source scheme must be mapped. A target
+ * prefixed with {@code ~} is not an exact equivalent, and is reported as a loss whenever it is used.
+ * <p>
+ * Caveats are written as they appear in the text form of the source and target schemes. A caveat mapped to an empty
+ * value is dropped, and a caveat which is not mapped is carried as written, both being reported as losses. Countries
+ * in releasability lists are not mapped by the tables, as every scheme uses three letter country codes.
+ * <p>
+ * Classification tables are compiled to an array per direction, indexed by the ordinal of the source Classification.
+ * A {@link TranslationTables} is immutable, and may be shared between threads.
+ */
+public final class TranslationTables {
+
+    /**
+     * The resource holding the default tables.
+     */
+    public static final String DEFAULT_TABLES_RESOURCE = "translation-default-tables.properties";
+
+    private static final String CLASSIFICATION = "classification.";
+    private static final String CAVEAT = "caveat.";
+    private static final String APPROXIMATE = "~";
+
+    private static final TranslationTables DEFAULTS = of(defaultProperties());
+
+    // the target level of each source level, or its complement if it is approximate.
+    private final int[][] classifications;
+    private final List<Map<String, String>> caveats;
+
+    private TranslationTables(int[][] classifications, List<Map<String, String>> caveats) {
+        this.classifications = classifications;
+        this.caveats = caveats;
+    }
+
+    /**
+     * Provides the default tables, which map each Classification to the closest equivalent which is at least as
+     * restrictive, and map caveats with a direct equivalent.
+     *
+     * @return the default {@link TranslationTables}.
+     */
+    public static TranslationTables defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Loads a copy of the properties the default tables are compiled from, so that they may be modified and passed to
+     * {@link #of(Properties)}.
+     *
+     * @return a new {@link Properties} holding the default tables.
+     */
+    public static Properties defaultProperties() {
+        Properties properties = new Properties();
+        try (InputStream in = TranslationTables.class.getResourceAsStream("/" + DEFAULT_TABLES_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource: " + DEFAULT_TABLES_RESOURCE);
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return properties;
+    }
+
+    /**
+     * Compiles the given tables.
+     *
+     * @param properties the tables, in the form described above. May not be null.
+     * @return the compiled {@link TranslationTables}.
+     * @throws IllegalArgumentException if a key or Classification is not recognised, or a Classification of a source
+     *                                  scheme is not mapped.
+     */
+    public static TranslationTables of(Properties properties) {
+        Objects.requireNonNull(properties);
+        int[][] classifications = new int[Direction.VALUES.size()][];
+        List<Map<String, String>> caveats = Direction.VALUES.stream()
+                .<Map<String, String>>map(direction -> new HashMap<>()).toList();
+        for (Direction<?, ?> direction : Direction.VALUES) {
+            classifications[direction.index()] = new int[direction.source().levels().size()];
+            Arrays.fill(classifications[direction.index()], Integer.MIN_VALUE);
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).strip();
+            Direction<?, ?> direction = direction(key);
+            String entry = key.substring(direction.prefix().length());
+            if (entry.startsWith(CLASSIFICATION)) {
+                int source = level(direction.source(), entry.substring(CLASSIFICATION.length()), key);
+                boolean approximate = value.startsWith(APPROXIMATE);
+                int target = level(direction.target(), approximate ? value.substring(1).strip() : value, key);
+                classifications[direction.index()][source] = approximate ? ~target : target;
+            } else if (entry.startsWith(CAVEAT) && entry.length() > CAVEAT.length()) {
+                caveats.get(direction.index()).put(entry.substring(CAVEAT.length()), value);
+            } else {
+                throw new IllegalArgumentException("Unrecognised translation table key: " + key);
+            }
+        }
+
+        for (Direction<?, ?> direction : Direction.VALUES) {
+            int[] levels = classifications[direction.index()];
+            for (int i = 0; i < levels.length; i++) {
+                if (levels[i] == Integer.MIN_VALUE) {
+                    throw new IllegalArgumentException("No " + direction + " translation for Classification: "
+                            + direction.source().levels().get(i));
+                }
+            }
+        }
+        return new TranslationTables(classifications, caveats.stream().map(Map::copyOf).toList());
+    }
+
+    /**
+     * @return the target level for the source level, or its complement if the target is not an exact equivalent.
+     */
+    int classification(Direction<?, ?> direction, int level) {
+        return classifications[direction.index()][level];
+    }
+
+    /**
+     * @return the target caveat, an empty String if the caveat is dropped, or null if it is not mapped.
+     */
+    String caveat(Direction<?, ?> direction, String caveat) {
+        return caveats.get(direction.index()).get(caveat);
+    }
+
+    private static Direction<?, ?> direction(String key) {
+        for (Direction<?, ?> direction : Direction.VALUES) {
+            if (key.startsWith(direction.prefix())) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("Unrecognised translation table key: " + key);
+    }
+
+    private static int level(SchemeAdapter<?> scheme, String name, String key) {
+        int level = scheme.levels().indexOf(name);
+        if (level < 0) {
+            throw new IllegalArgumentException(
+                    "Unrecognised " + scheme.name() + " Classification \"" + name + "\" for key: " + key);
+        }
+        return level;
+    }
+}
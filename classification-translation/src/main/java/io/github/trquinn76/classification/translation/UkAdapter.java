@@ -0,0 +1,172 @@
+package io.github.trquinn76.classification.translation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.github.trquinn76.classification.uk.ClassificationConfig;
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.ClassificationMarkerInterner;
+import io.github.trquinn76.classification.uk.Utils;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+import io.github.trquinn76.classification.uk.model.DevelopmentClassification;
+import io.github.trquinn76.classification.uk.model.SecurityClassification;
+
+/**
+ * UK {@link ClassificationMarker}'s. Handling Instructions and Descriptors are caveats as written in the text form,
+ * and Additional Instructions carry any caveat without a UK equivalent.
+ * <p>
+ * The SENSITIVE mark is treated as a Classification of its own, so the levels are OFFICIAL, OFFICIAL_SENSITIVE, SECRET
+ * and TOP_SECRET. Eyes Only countries are written as three letter codes, with {@code UK} read as {@code GBR} and
+ * {@code FIVE} as the Five Eyes countries.
+ */
+final class UkAdapter implements SchemeAdapter<ClassificationMarker> {
+
+    static final UkAdapter INSTANCE = new UkAdapter();
+
+    private static final String GBR = "GBR";
+    private static final Set<String> FIVE_EYES = Set.of("AUS", "CAN", GBR, "NZL", "USA");
+
+    private static final List<String> LEVELS = List.of("OFFICIAL", "OFFICIAL_SENSITIVE", "SECRET", "TOP_SECRET");
+    private static final int OFFICIAL_SENSITIVE = 1;
+    private static final int SECRET = 2;
+
+    private static final Set<String> HANDLING_INSTRUCTIONS = Set.of(Utils.RECIPIENTS_ONLY, Utils.FOR_PUBLIC_RELEASE,
+            Utils.HMG_USE_ONLY, Utils.EMBARGOED);
+    private static final Set<String> DESCRIPTORS = Set.of(Utils.LEGAL_PROFESSIONAL_PRIVILEGE, Utils.MARKET_SENSITIVE,
+            Utils.PERSONAL_DATA, Utils.HR_MANAGEMENT, Utils.COMMERCIAL, Utils.LEGAL);
+    private static final String USE_ONLY = " " + Utils.USE_ONLY;
+    private static final String EYES_ONLY = " EYES ONLY";
+
+    private UkAdapter() {
+    }
+
+    @Override
+    public String name() {
+        return "UK";
+    }
+
+    @Override
+    public List<String> levels() {
+        return LEVELS;
+    }
+
+    @Override
+    public ClassificationMarker intern(ClassificationMarker marker) {
+        return ClassificationMarkerInterner.shared().intern(marker);
+    }
+
+    @Override
+    public int level(ClassificationMarker marker) {
+        String name = marker.classification().classificationName();
+        int ordinal = ClassificationConfig.productionMode() ? SecurityClassification.valueOf(name).ordinal()
+                : DevelopmentClassification.valueOf(name).ordinal();
+        // the SENSITIVE mark may only be used on OFFICIAL, the first Classification.
+        return ordinal == 0 ? (marker.sensitive() ? OFFICIAL_SENSITIVE : 0) : ordinal + 1;
+    }
+
+    @Override
+    public Markings read(ClassificationMarker marker, List<String> losses) {
+        if (marker.ukPrefix()) {
+            losses.add("The " + Utils.UK + " prefix has no equivalent.");
+        }
+        List<String> caveats = new ArrayList<>(marker.handlingInstructions());
+        caveats.addAll(marker.descriptors());
+        caveats.addAll(marker.additionalInstructions());
+
+        Set<String> releasableTo = null;
+        if (!marker.eyesOnly().isEmpty()) {
+            releasableTo = new HashSet<>();
+            for (String country : marker.eyesOnly()) {
+                if (Utils.FIVE.equals(country)) {
+                    releasableTo.addAll(FIVE_EYES);
+                } else {
+                    releasableTo.add(Utils.UK.equals(country) ? GBR : country);
+                }
+            }
+        }
+        return new Markings(marker.codeWords(), releasableTo, caveats);
+    }
+
+    @Override
+    public ClassificationMarker write(int level, Markings markings, List<String> losses) {
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        builder.setCodeWords(markings.codeWords());
+
+        for (String caveat : markings.caveats()) {
+            if (HANDLING_INSTRUCTIONS.contains(caveat)) {
+                builder.addHandlingInstruction(caveat);
+            } else if (Utils.endsInOrganisationUseOnly(caveat) && caveat.length() > USE_ONLY.length()) {
+                builder.useOnly(caveat.substring(0, caveat.length() - USE_ONLY.length()).split(", "));
+            } else if (DESCRIPTORS.contains(caveat)) {
+                builder.addDescriptor(caveat);
+            } else {
+                builder.addAdditionalInstruction(caveat);
+            }
+        }
+
+        Set<String> releasableTo = markings.releasableTo();
+        if (releasableTo != null) {
+            List<String> eyesOnly = eyesOnly(releasableTo);
+            if (eyesOnly.contains(Utils.UK) || eyesOnly.contains(Utils.FIVE)) {
+                builder.setEyesOnly(eyesOnly);
+                if (level < SECRET) {
+                    losses.add("Classification raised from " + LEVELS.get(level) + " to " + LEVELS.get(SECRET)
+                            + " to carry an Eyes Only Caveat.");
+                    level = SECRET;
+                }
+            } else {
+                String instruction = String.join("/", eyesOnly) + EYES_ONLY;
+                builder.addAdditionalInstruction(instruction);
+                losses.add("Eyes Only \"" + instruction + "\" does not include " + Utils.UK
+                        + ", carried as an Additional Instruction.");
+            }
+        }
+
+        int ordinal = level <= OFFICIAL_SENSITIVE ? 0 : level - 1;
+        String name = ClassificationConfig.productionMode() ? SecurityClassification.values()[ordinal].name()
+                : DevelopmentClassification.values()[ordinal].name();
+        builder.setClassification(ClassificationMarkerInterner.shared().classification(name));
+        builder.setSensitiveMark(level == OFFICIAL_SENSITIVE);
+
+        if (!builder.isValid().isEmpty()) {
+            // Handling Instructions and Descriptors are restricted to some Classifications.
+            for (String instruction : builder.getHandlingInstructions()) {
+                if (Utils.USE_ONLY.equals(instruction)) {
+                    instruction = String.join(", ", builder.getUseOnlyOrganisations()) + USE_ONLY;
+                }
+                carry("Handling Instruction", instruction, builder, losses);
+            }
+            for (String descriptor : builder.getDescriptors()) {
+                carry("Descriptor", descriptor, builder, losses);
+            }
+            builder.clearHandlingInstructions().clearUseOnlyOrganisations().clearDescriptors();
+        }
+        SchemeAdapter.requireValid(name(), builder.isValid());
+        return intern(builder.build());
+    }
+
+    private static void carry(String kind, String value, ClassificationMarkerBuilder builder, List<String> losses) {
+        builder.addAdditionalInstruction(value);
+        losses.add(kind + " \"" + value + "\" is not permitted on this Classification, carried as an Additional "
+                + "Instruction.");
+    }
+
+    /**
+     * Converts three letter codes to Eyes Only countries, writing the Five Eyes countries as {@code FIVE}.
+     */
+    private static List<String> eyesOnly(Set<String> releasableTo) {
+        Set<String> countries = new TreeSet<>(releasableTo);
+        List<String> eyesOnly = new ArrayList<>();
+        if (countries.containsAll(FIVE_EYES)) {
+            countries.removeAll(FIVE_EYES);
+            eyesOnly.add(Utils.FIVE);
+        } else if (countries.remove(GBR)) {
+            eyesOnly.add(Utils.UK);
+        }
+        eyesOnly.addAll(countries);
+        return eyesOnly;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Provides a translator between Australian, New Zealand and UK markers, driven by configurable equivalence tables,
+ * which reports every part of a marker it can not translate exactly.
+ */
+package io.github.trquinn76.classification.translation;
@@ -0,0 +1,10 @@
+/**
+ * Translates Classification markers between the Australian, New Zealand and UK schemes.
+ */
+open module io.github.trquinn76.classification.translation {
+    requires transitive io.github.trquinn76.classification.aus;
+    requires transitive io.github.trquinn76.classification.nzl;
+    requires transitive io.github.trquinn76.classification.uk;
+
+    exports io.github.trquinn76.classification.translation;
+}
@@ -0,0 +1,180 @@
+package io.github.trquinn76.classification.translation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.ClassificationMarkerBuilder;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class MarkerTranslatorTest {
+
+    private final MarkerTranslator translator = new MarkerTranslator();
+
+    @Test
+    void ausTest() {
+        io.github.trquinn76.classification.aus.model.ProtectiveMarker marker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder()
+                .secret().addCodeword("AAA").orcon().rel("AUS", "GBR", "NZL").build();
+
+        Translation<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> nzl = translator
+                .translate(Direction.AUS_TO_NZL, marker);
+        assertEquals(new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().secret()
+                .sensitiveCompartments("AAA").disseminationMarks("ORCON").relTo("NZL", "AUS", "GBR").build(),
+                nzl.marker());
+        assertTrue(nzl.isLossless(), nzl.losses().toString());
+
+        Translation<ClassificationMarker> uk = translator.translate(Direction.AUS_TO_UK, marker);
+        assertEquals(new ClassificationMarkerBuilder().secret().codeWords("AAA").eyesOnly("UK", "AUS", "NZL")
+                .additionalInstructions("ORCON").build(), uk.marker());
+        assertEquals(1, uk.losses().size(), uk.losses().toString());
+
+        marker = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().officialSensitive()
+                .personalPrivacy().build();
+        uk = translator.translate(Direction.AUS_TO_UK, marker);
+        assertEquals(new ClassificationMarkerBuilder().officialSensitive().personalData().build(), uk.marker());
+        assertTrue(uk.isLossless(), uk.losses().toString());
+    }
+
+    @Test
+    void nzlTest() {
+        io.github.trquinn76.classification.nzl.model.ProtectiveMarker marker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder()
+                .inConfidence().staff().build();
+        Translation<io.github.trquinn76.classification.aus.model.ProtectiveMarker> aus = translator
+                .translate(Direction.NZL_TO_AUS, marker);
+        assertEquals(new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().officialSensitive()
+                .personalPrivacy().build(), aus.marker());
+        // IN-CONFIDENCE has no exact equivalent.
+        assertEquals(1, aus.losses().size(), aus.losses().toString());
+
+        marker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().topSecret().accountableMaterial()
+                .sensitiveCompartments("AAA").relTo("NZL", "AUS", "CAN", "GBR", "USA").build();
+        Translation<ClassificationMarker> uk = translator.translate(Direction.NZL_TO_UK, marker);
+        assertEquals(new ClassificationMarkerBuilder().topSecret().codeWords("AAA").fiveEyesOnly().build(),
+                uk.marker());
+        assertTrue(uk.isLossless(), uk.losses().toString());
+    }
+
+    @Test
+    void ukTest() {
+        ClassificationMarker marker = new ClassificationMarkerBuilder().topSecret().codeWords("AAA").fiveEyesOnly()
+                .build();
+        Translation<io.github.trquinn76.classification.aus.model.ProtectiveMarker> aus = translator
+                .translate(Direction.UK_TO_AUS, marker);
+        assertEquals(new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().topSecret()
+                .addCodeword("AAA").rel("AUS", "CAN", "GBR", "NZL", "USA").build(), aus.marker());
+        assertTrue(aus.isLossless(), aus.losses().toString());
+
+        Translation<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> nzl = translator
+                .translate(Direction.UK_TO_NZL, marker);
+        assertEquals(new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().topSecret()
+                .accountableMaterial().sensitiveCompartments("AAA").relTo("NZL", "AUS", "CAN", "GBR", "USA").build(),
+                nzl.marker());
+        assertTrue(nzl.isLossless(), nzl.losses().toString());
+    }
+
+    @Test
+    void raisedClassificationTest() {
+        // Foreign Government Markings are Security Caveats, which need at least PROTECTED.
+        ClassificationMarker uk = new ClassificationMarkerBuilder().official().legal().build();
+        Translation<io.github.trquinn76.classification.aus.model.ProtectiveMarker> aus = translator
+                .translate(Direction.UK_TO_AUS, uk);
+        assertEquals(new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().protect()
+                .addForeignGovernmentMarking("LEGAL").build(), aus.marker());
+        assertEquals(2, aus.losses().size(), aus.losses().toString());
+
+        // Eyes Only Caveats need at least SECRET.
+        io.github.trquinn76.classification.aus.model.ProtectiveMarker protect = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder()
+                .protect().rel("AUS", "GBR").build();
+        Translation<ClassificationMarker> translated = translator.translate(Direction.AUS_TO_UK, protect);
+        assertEquals(new ClassificationMarkerBuilder().secret().eyesOnly("UK", "AUS").build(), translated.marker());
+        assertEquals(1, translated.losses().size(), translated.losses().toString());
+
+        // Policy and Privacy Endorsements are not permitted on National Security Classifications.
+        io.github.trquinn76.classification.aus.model.ProtectiveMarker secret = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder()
+                .secret().legalPrivilege().build();
+        Translation<io.github.trquinn76.classification.nzl.model.ProtectiveMarker> nzl = translator
+                .translate(Direction.AUS_TO_NZL, secret);
+        assertEquals(new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().secret()
+                .disseminationMarks("LEGAL PRIVILEGE").build(), nzl.marker());
+        assertEquals(1, nzl.losses().size(), nzl.losses().toString());
+    }
+
+    @Test
+    void releasabilityTest() {
+        io.github.trquinn76.classification.nzl.model.ProtectiveMarker nzeo = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder()
+                .secret().nzeo().build();
+        Translation<io.github.trquinn76.classification.aus.model.ProtectiveMarker> aus = translator
+                .translate(Direction.NZL_TO_AUS, nzeo);
+        assertEquals(new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret()
+                .addForeignGovernmentMarking("REL NZL").build(), aus.marker());
+        assertEquals(1, aus.losses().size(), aus.losses().toString());
+
+        io.github.trquinn76.classification.aus.model.ProtectiveMarker agao = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder()
+                .secret().agao().build();
+        aus = translator.translate(Direction.NZL_TO_AUS,
+                translator.translate(Direction.AUS_TO_NZL, agao).marker());
+        assertEquals(new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder().secret()
+                .addForeignGovernmentMarking("REL TO AUS").build(), aus.marker());
+    }
+
+    @Test
+    void tablesTest() {
+        Properties properties = TranslationTables.defaultProperties();
+        properties.setProperty("nzl.uk.caveat.ORCON", "HMG USE ONLY");
+        properties.setProperty("nzl.uk.caveat.EVALUATE", "");
+        MarkerTranslator custom = new MarkerTranslator(TranslationTables.of(properties), 16);
+
+        // HMG USE ONLY is only permitted on OFFICIAL.
+        io.github.trquinn76.classification.nzl.model.ProtectiveMarker marker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder()
+                .secret().disseminationMarks("ORCON").build();
+        Translation<ClassificationMarker> uk = custom.translate(Direction.NZL_TO_UK, marker);
+        assertEquals(new ClassificationMarkerBuilder().secret().additionalInstructions("HMG USE ONLY").build(),
+                uk.marker());
+        assertEquals(1, uk.losses().size(), uk.losses().toString());
+
+        marker = new io.github.trquinn76.classification.nzl.ProtectiveMarkerBuilder().sensitive().evaluate().build();
+        uk = custom.translate(Direction.NZL_TO_UK, marker);
+        assertEquals(new ClassificationMarkerBuilder().officialSensitive().build(), uk.marker());
+        assertEquals(2, uk.losses().size(), uk.losses().toString());
+
+        Properties missing = TranslationTables.defaultProperties();
+        missing.remove("aus.uk.classification.PROTECTED");
+        assertThrows(IllegalArgumentException.class, () -> TranslationTables.of(missing));
+
+        Properties unknown = TranslationTables.defaultProperties();
+        unknown.setProperty("aus.usa.classification.SECRET", "SECRET");
+        assertThrows(IllegalArgumentException.class, () -> TranslationTables.of(unknown));
+
+        Properties invalid = TranslationTables.defaultProperties();
+        invalid.setProperty("aus.uk.classification.PROTECTED", "~RESTRICTED");
+        assertThrows(IllegalArgumentException.class, () -> TranslationTables.of(invalid));
+    }
+
+    @Test
+    void cacheTest() {
+        MarkerTranslator cached = new MarkerTranslator(TranslationTables.defaults(), 2);
+        io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder builder = new io.github.trquinn76.classification.aus.ProtectiveMarkerBuilder();
+        List<io.github.trquinn76.classification.aus.model.ProtectiveMarker> markers = List.of(builder.secret().build(),
+                builder.clear().protect().build(), builder.clear().secret().build(), builder.clear().official().build());
+
+        List<Translation<io.github.trquinn76.classification.nzl.model.ProtectiveMarker>> translations = cached
+                .translateAll(Direction.AUS_TO_NZL, markers.stream()).toList();
+        assertEquals(markers.size(), translations.size());
+        assertSame(translations.get(0), translations.get(2));
+        assertEquals(io.github.trquinn76.classification.nzl.model.Classification.confidential(),
+                translations.get(1).marker().classification());
+        assertTrue(cached.size() <= 2);
+
+        cached.translate(Direction.AUS_TO_UK, markers.get(0));
+        cached.clear();
+        assertEquals(0, cached.size());
+
+        assertEquals(translations, cached.translateAll(Direction.AUS_TO_NZL, markers.stream().parallel()).toList());
+        Stream<io.github.trquinn76.classification.aus.model.ProtectiveMarker> nulls = Stream.of(markers.get(0), null);
+        assertThrows(NullPointerException.class, () -> cached.translateAll(Direction.AUS_TO_NZL, nulls).toList());
+    }
+}
@@ -28,6 +28,7 @@ public class ClassificationConfig {
 
     protected static final String UKFIRST = "ukfirst";
     protected static final String ALPHABETICAL = "alphabetical";
+    public static final List<String> EYES_ONLY_ORDER_VALUES = List.of(UKFIRST, ALPHABETICAL);
 
     static final ConfigKeys PRODUCTIONMODECONFIGKEYS = new ConfigKeys("classificationProductionMode",
             "CLASSIFICATION_PRODUCTION_MODE", "io.github.trquinn76.classification.production.mode");
@@ -54,19 +55,44 @@ public class ClassificationConfig {
 
     /**
      * Gets the {@link Comparator} which defines the order in which eyes only lists
-     * should be sorted.
+     * should be sorted, from the bound {@link ClassificationContext} if there is one.
      * 
      * @return the configured {@link Comparator}.
      */
     public static Comparator<String> eyesOnlyOrder() {
-        Config config = getInstance();
-        if (config.trquinnClassificationUkEyesOnlyOrder.equals(UKFIRST)) {
+        ClassificationContext context = ClassificationContext.bound();
+        if (context != null) {
+            return context.eyesOnlyOrder();
+        }
+        return eyesOnlyOrder(getInstance().trquinnClassificationUkEyesOnlyOrder);
+    }
+
+    static Comparator<String> eyesOnlyOrder(String order) {
+        if (order.equals(UKFIRST)) {
             return Utils.UK_FIRST;
         }
         return Utils.ALPHABETICAL;
     }
 
+    static String configuredEyesOnlyOrder() {
+        return getInstance().trquinnClassificationUkEyesOnlyOrder;
+    }
+
+    /**
+     * Returns if the Classifications are in production mode, from the bound {@link ClassificationContext} if there is
+     * one.
+     * 
+     * @return true if in Production Mode, false otherwise.
+     */
     public static boolean productionMode() {
+        ClassificationContext context = ClassificationContext.bound();
+        if (context != null) {
+            return context.productionMode();
+        }
+        return configuredProductionMode();
+    }
+
+    static boolean configuredProductionMode() {
         Config config = getInstance();
         return config.trquinnClassificationProductionMode;
     }
@@ -96,6 +122,8 @@ public class ClassificationConfig {
 
     private static Config getInstance() {
         if (INSTANCE == null) {
+            ConfigLoadEvent event = new ConfigLoadEvent();
+            event.begin();
             List<String> filesToSearch = makeListOfConfigFiles();
             List<Properties> configProperties = readPropertiesConfigFiles(filesToSearch);
 
@@ -110,6 +138,8 @@ public class ClassificationConfig {
             config.develTopSecretName = getConfig(DEVELTOPSECRETNAME, configProperties);
 
             INSTANCE = config;
+            Instrumentation.configLoaded(event, filesToSearch, configProperties.size(),
+                    config.trquinnClassificationProductionMode);
         }
         return INSTANCE;
     }
@@ -3,10 +3,13 @@ package io.github.trquinn76.classification.uk;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 
 import io.github.trquinn76.classification.uk.model.Classification;
@@ -29,6 +32,29 @@ public class ClassificationMarkerBuilder {
 
     private static final Logger LOGGER = Logger.getLogger(ClassificationMarkerBuilder.class.getCanonicalName());
 
+    // Code Words are not checked by any rule, so are not tracked.
+    private static final int UK_PREFIX = 1;
+    private static final int CLASSIFICATION = 1 << 1;
+    private static final int HANDLING_INSTRUCTIONS = 1 << 2;
+    private static final int DESCRIPTORS = 1 << 3;
+    private static final int EYES_ONLY = 1 << 4;
+    private static final int ADDITIONAL_INSTRUCTIONS = 1 << 5;
+    private static final int ALL_FIELDS = (1 << 6) - 1;
+
+    /**
+     * A validation rule, named as reported to {@link MarkerMetrics}, with the fields it depends on.
+     */
+    private record Rule(String name, int fields, BiConsumer<ClassificationMarkerBuilder, List<String>> check) {
+    }
+
+    private static final List<Rule> RULES = List.of(
+            new Rule("ukPrefix", UK_PREFIX | ADDITIONAL_INSTRUCTIONS, ClassificationMarkerBuilder::checkUkPrefix),
+            new Rule("classification", CLASSIFICATION, ClassificationMarkerBuilder::checkClassificationValid),
+            new Rule("handlingInstruction", CLASSIFICATION | HANDLING_INSTRUCTIONS,
+                    ClassificationMarkerBuilder::checkHandlingInstructionsValid),
+            new Rule("descriptor", CLASSIFICATION | DESCRIPTORS, ClassificationMarkerBuilder::checkDescriptorsValid),
+            new Rule("nationalCaveat", CLASSIFICATION | EYES_ONLY, ClassificationMarkerBuilder::checkNationalCaveats));
+
     private boolean ukPrefix = false;
     private Classification classification = null;
     private boolean sensitive = false;
@@ -39,6 +65,19 @@ public class ClassificationMarkerBuilder {
     private Set<String> eyesOnly = new TreeSet<>(ClassificationConfig.eyesOnlyOrder());
     private Set<String> additionalInstructions = new TreeSet<>();
 
+    // the fields changed since the last validation, and each rule's report from then. isValid() only re-runs the
+    // rules which depend on changed fields.
+    private int changedFields = ALL_FIELDS;
+    private final List<List<String>> ruleReports = new ArrayList<>(Collections.nCopies(RULES.size(), List.of()));
+
+    // the marker this builder was seeded from, and the fields which still hold its values. build() reuses the
+    // handling instructions of the seed while they are unchanged, and every other list while it is still shared.
+    private ClassificationMarker seed = null;
+    private int seededFields = 0;
+    // the seed's [INSERT ORGANISATION(S) NAME] USE ONLY instruction, split into useOnlyOrganisations only when they
+    // are first needed.
+    private String seededUseOnly = null;
+
     public ClassificationMarkerBuilder() {
 
     }
@@ -48,28 +87,47 @@ public class ClassificationMarkerBuilder {
      * 
      * Creates an instance of {@link ClassificationMarkerBuilder} which is populated
      * with the values of the given {@link ClassificationMarker} parameter.
+     * <p>
+     * The builder shares the immutable lists of the {@link ClassificationMarker}, and only copies a list when its
+     * field is first modified. {@link #build()} passes unchanged lists back by reference, so changing one field of an
+     * existing marking costs little more than the change.
      * 
      * @param classificationMarker the {@link ClassificationMarker} with which to
      *                             populate the builder. May not be null.
      */
     public ClassificationMarkerBuilder(ClassificationMarker classificationMarker) {
+        this.seed = classificationMarker;
         this.ukPrefix = classificationMarker.ukPrefix();
         this.classification = classificationMarker.classification();
         this.sensitive = classificationMarker.sensitive();
-        this.descriptors.addAll(classificationMarker.descriptors());
-        this.codeWords.addAll(classificationMarker.codeWords());
-        this.eyesOnly.addAll(classificationMarker.eyesOnly());
-        this.additionalInstructions.addAll(classificationMarker.additionalInstructions());
-
+        this.descriptors = SharedListSet.of(classificationMarker.descriptors(), Comparator.naturalOrder());
+        this.codeWords = SharedListSet.of(classificationMarker.codeWords(), Comparator.naturalOrder());
+        this.eyesOnly = SharedListSet.of(classificationMarker.eyesOnly(), ClassificationConfig.eyesOnlyOrder());
+        this.additionalInstructions = SharedListSet.of(classificationMarker.additionalInstructions(),
+                Comparator.naturalOrder());
+
+        Set<String> handlingInstructions = SharedListSet.of(classificationMarker.handlingInstructions(),
+                Comparator.naturalOrder());
+        // a list out of order, or with more than one USE ONLY instruction, is not reused.
+        boolean handlingInstructionsSeeded = handlingInstructions instanceof SharedListSet;
         for (String handlingInstruction : classificationMarker.handlingInstructions()) {
             if (Utils.endsInOrganisationUseOnly(handlingInstruction)) {
-                String str = handlingInstruction.substring(0, handlingInstruction.length() - Utils.USE_ONLY.length())
-                        .trim();
-                String[] organisations = str.split(", ");
-                this.useOnly(organisations);
-            } else {
-                this.handlingInstructions.add(handlingInstruction);
+                handlingInstructionsSeeded &= this.seededUseOnly == null;
+                this.seededUseOnly = handlingInstruction;
+            }
+        }
+        if (this.seededUseOnly != null) {
+            for (String handlingInstruction : classificationMarker.handlingInstructions()) {
+                if (!Utils.endsInOrganisationUseOnly(handlingInstruction)) {
+                    this.handlingInstructions.add(handlingInstruction);
+                }
             }
+            this.handlingInstructions.add(Utils.USE_ONLY);
+        } else {
+            this.handlingInstructions = handlingInstructions;
+        }
+        if (handlingInstructionsSeeded) {
+            this.seededFields |= HANDLING_INSTRUCTIONS;
         }
     }
 
@@ -87,6 +145,7 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder setUkPrefix(boolean value) {
         this.ukPrefix = value;
+        changed(UK_PREFIX);
         return this;
     }
 
@@ -115,7 +174,9 @@ public class ClassificationMarkerBuilder {
      * @return this for function chaining.
      */
     public ClassificationMarkerBuilder addRelEu() {
+        this.additionalInstructions = SharedListSet.writable(this.additionalInstructions);
         this.additionalInstructions.add(Utils.REL_EU);
+        changed(ADDITIONAL_INSTRUCTIONS);
         return this;
     }
 
@@ -125,7 +186,9 @@ public class ClassificationMarkerBuilder {
      * @return this for function chaining.
      */
     public ClassificationMarkerBuilder removeRelEu() {
+        this.additionalInstructions = SharedListSet.writable(this.additionalInstructions);
         this.additionalInstructions.remove(Utils.REL_EU);
+        changed(ADDITIONAL_INSTRUCTIONS);
         return this;
     }
 
@@ -137,6 +200,7 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder ukPrefixWithRelEU() {
         this.ukPrefix = true;
+        changed(UK_PREFIX);
         return addRelEu();
     }
 
@@ -148,7 +212,9 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder clearUkPrefix() {
         setUkPrefix(false);
+        this.additionalInstructions = SharedListSet.writable(this.additionalInstructions);
         this.additionalInstructions.remove(Utils.REL_EU);
+        changed(ADDITIONAL_INSTRUCTIONS);
         return this;
     }
 
@@ -161,6 +227,7 @@ public class ClassificationMarkerBuilder {
     public ClassificationMarkerBuilder setClassification(Classification classification) {
         Objects.requireNonNull(classification);
         this.classification = classification;
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -181,6 +248,7 @@ public class ClassificationMarkerBuilder {
     public ClassificationMarkerBuilder official() {
         this.classification = Classification.official();
         this.sensitive = false;
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -192,6 +260,7 @@ public class ClassificationMarkerBuilder {
     public ClassificationMarkerBuilder officialSensitive() {
         this.classification = Classification.official();
         this.sensitive = true;
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -203,6 +272,7 @@ public class ClassificationMarkerBuilder {
     public ClassificationMarkerBuilder secret() {
         this.classification = Classification.secret();
         this.sensitive = false;
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -215,6 +285,7 @@ public class ClassificationMarkerBuilder {
     public ClassificationMarkerBuilder topSecret() {
         this.classification = Classification.topSecret();
         this.sensitive = false;
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -228,6 +299,7 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder setSensitiveMark(boolean sensitive) {
         this.sensitive = sensitive;
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -248,6 +320,7 @@ public class ClassificationMarkerBuilder {
     public ClassificationMarkerBuilder clearClassification() {
         this.classification = null;
         this.sensitive = false;
+        changed(CLASSIFICATION);
         return this;
     }
 
@@ -285,6 +358,7 @@ public class ClassificationMarkerBuilder {
         if (useOnlyOrganisations != null) {
             this.useOnlyOrganisations.addAll(useOnlyOrganisations);
         }
+        changed(HANDLING_INSTRUCTIONS);
         return this;
     }
 
@@ -299,7 +373,9 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder addHandlingInstruction(String instruction) {
         Objects.requireNonNull(instruction);
+        this.handlingInstructions = SharedListSet.writable(this.handlingInstructions);
         this.handlingInstructions.add(instruction);
+        changed(HANDLING_INSTRUCTIONS);
         return this;
     }
 
@@ -318,7 +394,8 @@ public class ClassificationMarkerBuilder {
      * @return this for function chaining.
      */
     public ClassificationMarkerBuilder clearHandlingInstructions() {
-        this.handlingInstructions.clear();
+        this.handlingInstructions = SharedListSet.cleared(this.handlingInstructions);
+        changed(HANDLING_INSTRUCTIONS);
         return clearUseOnlyOrganisations();
     }
 
@@ -331,8 +408,10 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder setUseOnlyOrganisations(Collection<String> organisations) {
         Objects.requireNonNull(organisations);
+        this.seededUseOnly = null;
         this.useOnlyOrganisations.clear();
         this.useOnlyOrganisations.addAll(organisations);
+        changed(HANDLING_INSTRUCTIONS);
         return this;
     }
 
@@ -345,7 +424,8 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder addUseOnlyOrganisation(String organisation) {
         Objects.requireNonNull(organisation);
-        this.useOnlyOrganisations.add(organisation);
+        useOnlyOrganisations().add(organisation);
+        changed(HANDLING_INSTRUCTIONS);
         return this;
     }
 
@@ -355,7 +435,7 @@ public class ClassificationMarkerBuilder {
      * @return the Set of Use Only Organisations.
      */
     public Set<String> getUseOnlyOrganisations() {
-        return new TreeSet<>(this.useOnlyOrganisations);
+        return new TreeSet<>(useOnlyOrganisations());
     }
 
     /**
@@ -364,7 +444,9 @@ public class ClassificationMarkerBuilder {
      * @return this for function chaining.
      */
     public ClassificationMarkerBuilder clearUseOnlyOrganisations() {
+        this.seededUseOnly = null;
         this.useOnlyOrganisations.clear();
+        changed(HANDLING_INSTRUCTIONS);
         return this;
     }
 
@@ -434,6 +516,7 @@ public class ClassificationMarkerBuilder {
         Objects.requireNonNull(descriptors);
         clearDescriptors();
         this.descriptors.addAll(descriptors);
+        changed(DESCRIPTORS);
         return this;
     }
 
@@ -446,7 +529,9 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder addDescriptor(String descriptor) {
         Objects.requireNonNull(descriptor);
+        this.descriptors = SharedListSet.writable(this.descriptors);
         this.descriptors.add(descriptor);
+        changed(DESCRIPTORS);
         return this;
     }
 
@@ -465,7 +550,8 @@ public class ClassificationMarkerBuilder {
      * @return this for function chaining.
      */
     public ClassificationMarkerBuilder clearDescriptors() {
-        this.descriptors.clear();
+        this.descriptors = SharedListSet.cleared(this.descriptors);
+        changed(DESCRIPTORS);
         return this;
     }
     
@@ -558,6 +644,7 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder addCodeWord(String codeWord) {
         Objects.requireNonNull(codeWord);
+        this.codeWords = SharedListSet.writable(this.codeWords);
         this.codeWords.add(codeWord);
         return this;
     }
@@ -577,7 +664,7 @@ public class ClassificationMarkerBuilder {
      * @return this for function chaining.
      */
     public ClassificationMarkerBuilder clearCodeWords() {
-        this.codeWords.clear();
+        this.codeWords = SharedListSet.cleared(this.codeWords);
         return this;
     }
 
@@ -607,6 +694,7 @@ public class ClassificationMarkerBuilder {
         Objects.requireNonNull(eyesOnlyList);
         clearEyesOnly();
         this.eyesOnly.addAll(eyesOnlyList);
+        changed(EYES_ONLY);
         return this;
     }
 
@@ -618,7 +706,9 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder addEyesOnlyCountry(String country) {
         Objects.requireNonNull(country);
+        this.eyesOnly = SharedListSet.writable(this.eyesOnly);
         this.eyesOnly.add(country);
+        changed(EYES_ONLY);
         return this;
     }
 
@@ -639,7 +729,8 @@ public class ClassificationMarkerBuilder {
      * @return this for function chaining.
      */
     public ClassificationMarkerBuilder clearEyesOnly() {
-        this.eyesOnly.clear();
+        this.eyesOnly = SharedListSet.cleared(this.eyesOnly);
+        changed(EYES_ONLY);
         return this;
     }
 
@@ -691,6 +782,7 @@ public class ClassificationMarkerBuilder {
         Objects.requireNonNull(instructions);
         clearAdditionalInstructions();
         this.additionalInstructions.addAll(instructions);
+        changed(ADDITIONAL_INSTRUCTIONS);
         return this;
     }
 
@@ -702,7 +794,9 @@ public class ClassificationMarkerBuilder {
      */
     public ClassificationMarkerBuilder addAdditionalInstruction(String instruction) {
         Objects.requireNonNull(instruction);
+        this.additionalInstructions = SharedListSet.writable(this.additionalInstructions);
         this.additionalInstructions.add(instruction);
+        changed(ADDITIONAL_INSTRUCTIONS);
         return this;
     }
 
@@ -721,7 +815,8 @@ public class ClassificationMarkerBuilder {
      * @return
      */
     public ClassificationMarkerBuilder clearAdditionalInstructions() {
-        this.additionalInstructions.clear();
+        this.additionalInstructions = SharedListSet.cleared(this.additionalInstructions);
+        changed(ADDITIONAL_INSTRUCTIONS);
         return this;
     }
 
@@ -757,19 +852,29 @@ public class ClassificationMarkerBuilder {
      * Used to determine if the {@link ClassificationMarkerBuilder} is in a valid
      * state, and able to build a {@link ClassificationMarker}.
      * 
+     * Only the rules which depend on fields changed since the last call are re-run,
+     * so repeated calls while a UI edits the builder cost in proportion to the
+     * edit.
+     * 
      * @return a list of String, which reports on invalid parts of the builder which
      *         would need to be fixed in order to perform a build. If there are no
      *         problems, and the builder is in a valid state, this list is empty.
      */
     public List<String> isValid() {
-        List<String> report = new ArrayList<>();
-
-        checkUkPrefix(report);
-        checkClassificationValid(report);
-        checkHandlingInstructionsValid(report);
-        checkDescriptorsValid(report);
-        checkNationalCaveats(report);
+        if (this.changedFields != 0) {
+            for (int i = 0; i < RULES.size(); i++) {
+                Rule rule = RULES.get(i);
+                if ((rule.fields() & this.changedFields) != 0) {
+                    List<String> ruleReport = new ArrayList<>();
+                    rule.check().accept(this, ruleReport);
+                    this.ruleReports.set(i, ruleReport.isEmpty() ? List.of() : ruleReport);
+                }
+            }
+            this.changedFields = 0;
+        }
 
+        List<String> report = new ArrayList<>();
+        this.ruleReports.forEach(report::addAll);
         return report;
     }
 
@@ -782,6 +887,8 @@ public class ClassificationMarkerBuilder {
      *                               this exception is thrown.
      */
     public ClassificationMarker build() {
+        MarkerBuildEvent event = new MarkerBuildEvent();
+        event.begin();
         List<String> report = isValid();
 
         if (report.size() > 0) {
@@ -789,26 +896,74 @@ public class ClassificationMarkerBuilder {
             for (String line : report) {
                 LOGGER.severe(line);
             }
+            Instrumentation.buildFailed(event, report, this::failedRules);
             throw new IllegalStateException("Invalid state, cannot build Classification Marker.");
         }
 
+        Instrumentation.built(event, this.classification);
+        return new ClassificationMarker(this.ukPrefix, this.classification, this.sensitive,
+                seeded(HANDLING_INSTRUCTIONS) ? this.seed.handlingInstructions() : buildHandlingInstructions(),
+                SharedListSet.list(this.descriptors), SharedListSet.list(this.codeWords),
+                SharedListSet.list(this.eyesOnly), SharedListSet.list(this.additionalInstructions));
+    }
+
+    private List<String> buildHandlingInstructions() {
+        if (!this.handlingInstructions.contains(Utils.USE_ONLY)) {
+            return SharedListSet.list(this.handlingInstructions);
+        }
         Set<String> handlingInstructions = new TreeSet<>(this.handlingInstructions);
-        if (handlingInstructions.contains(Utils.USE_ONLY)) {
-            handlingInstructions.remove(Utils.USE_ONLY);
-            StringBuilder buf = new StringBuilder();
-            for (String organisation : this.useOnlyOrganisations) {
-                if (buf.length() > 0) {
-                    buf.append(", ");
-                }
-                buf.append(organisation);
+        handlingInstructions.remove(Utils.USE_ONLY);
+        StringBuilder buf = new StringBuilder();
+        for (String organisation : useOnlyOrganisations()) {
+            if (buf.length() > 0) {
+                buf.append(", ");
             }
-            buf.append(" ").append(Utils.USE_ONLY);
-            handlingInstructions.add(buf.toString().trim());
+            buf.append(organisation);
         }
+        buf.append(" ").append(Utils.USE_ONLY);
+        handlingInstructions.add(buf.toString().trim());
+        return List.copyOf(handlingInstructions);
+    }
 
-        return new ClassificationMarker(this.ukPrefix, this.classification, this.sensitive,
-                List.copyOf(handlingInstructions), List.copyOf(this.descriptors), List.copyOf(this.codeWords),
-                List.copyOf(this.eyesOnly), List.copyOf(this.additionalInstructions));
+    /**
+     * @return the Use Only Organisations, first splitting them from the seeded instruction if it has not yet been.
+     */
+    private Set<String> useOnlyOrganisations() {
+        if (this.seededUseOnly != null) {
+            String str = this.seededUseOnly.substring(0, this.seededUseOnly.length() - Utils.USE_ONLY.length()).trim();
+            this.useOnlyOrganisations = new TreeSet<>(Arrays.asList(str.split(", ")));
+            this.seededUseOnly = null;
+        }
+        return this.useOnlyOrganisations;
+    }
+
+    /**
+     * Records that the given fields have changed, so must be validated again and no longer hold the values of the seed.
+     */
+    private void changed(int fields) {
+        this.changedFields |= fields;
+        this.seededFields &= ~fields;
+    }
+
+    /**
+     * @return true if all the given fields still hold the values of the {@link ClassificationMarker} the builder was
+     *         seeded from.
+     */
+    private boolean seeded(int fields) {
+        return (this.seededFields & fields) == fields;
+    }
+
+    /**
+     * @return the names of the validation rules which are not met, as reported to {@link MarkerMetrics}.
+     */
+    private List<String> failedRules() {
+        List<String> rules = new ArrayList<>();
+        for (int i = 0; i < RULES.size(); i++) {
+            if (!this.ruleReports.get(i).isEmpty()) {
+                rules.add(RULES.get(i).name());
+            }
+        }
+        return rules;
     }
 
     private void checkUkPrefix(List<String> report) {
@@ -853,7 +1008,9 @@ public class ClassificationMarkerBuilder {
             }
         }
 
-        if (this.handlingInstructions.contains(Utils.USE_ONLY) && this.useOnlyOrganisations.isEmpty()) {
+        // organisations split from a seeded instruction are never empty, so are not split to check.
+        if (this.handlingInstructions.contains(Utils.USE_ONLY) && this.seededUseOnly == null
+                && this.useOnlyOrganisations.isEmpty()) {
             report.add(
                     "When the [INSERT ORGANISATION(S) NAME] USE ONLY Handling Instruction is used, there must be at least one 'Use Only Organisation' defined.");
         }
@@ -906,7 +1063,7 @@ public class ClassificationMarkerBuilder {
     @Override
     public int hashCode() {
         return Objects.hash(additionalInstructions, classification, codeWords, descriptors, eyesOnly,
-                handlingInstructions, sensitive, ukPrefix, useOnlyOrganisations);
+                handlingInstructions, sensitive, ukPrefix, useOnlyOrganisations());
     }
 
     @Override
@@ -922,6 +1079,6 @@ public class ClassificationMarkerBuilder {
                 && Objects.equals(classification, other.classification) && Objects.equals(codeWords, other.codeWords)
                 && Objects.equals(descriptors, other.descriptors) && Objects.equals(eyesOnly, other.eyesOnly)
                 && Objects.equals(handlingInstructions, other.handlingInstructions) && sensitive == other.sensitive
-                && ukPrefix == other.ukPrefix && Objects.equals(useOnlyOrganisations, other.useOnlyOrganisations);
+                && ukPrefix == other.ukPrefix && Objects.equals(useOnlyOrganisations(), other.useOnlyOrganisations());
     }
 }
@@ -0,0 +1,317 @@
+package io.github.trquinn76.classification.uk;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+import io.github.trquinn76.classification.uk.model.DevelopmentClassification;
+import io.github.trquinn76.classification.uk.model.SecurityClassification;
+
+/**
+ * Encodes {@link ClassificationMarker}'s in a compact binary form, and decodes them again.
+ * <p>
+ * The encoded form is:
+ * <ul>
+ * <li>a version byte, currently {@value #VERSION}.</li>
+ * <li>a flags byte, recording production mode, the UK prefix and the sensitive marker.</li>
+ * <li>the {@link Classification}, as the ordinal of its enumeration entry.</li>
+ * <li>the handling instructions, descriptors, code words, eyes only and additional instructions, each as a count
+ * followed by each String.</li>
+ * </ul>
+ * Counts and lengths are written as unsigned variable length integers, using 7 bits per byte. Each String is written as
+ * a reference into the dictionary of the {@link ClassificationMarkerCodec}, or as a reference of 0 followed by the
+ * length and UTF-8 bytes of the String when it is not in the dictionary.
+ * <p>
+ * The dictionary always begins with the constants defined in {@link Utils}, and may be extended with frequently used
+ * code words and eyes only countries. The encoding and decoding parties must use the same dictionary. Dictionary
+ * entries are decoded as the dictionary String itself, so {@link Utils#UK} decodes as the same instance, as expected by
+ * {@link Utils#UK_FIRST}.
+ * <p>
+ * Markers are decoded in the currently configured mode. Decoding a marker encoded in the other mode is an error, so
+ * that a development marking can never be read as a real one, or the reverse.
+ */
+public final class ClassificationMarkerCodec {
+
+    /**
+     * The version of the encoded form written by this codec.
+     */
+    public static final byte VERSION = 1;
+
+    private static final List<String> BUILT_IN_DICTIONARY = List.of(Utils.UK, Utils.FIVE, Utils.REL_EU,
+            Utils.RECIPIENTS_ONLY, Utils.FOR_PUBLIC_RELEASE, Utils.HMG_USE_ONLY, Utils.EMBARGOED, Utils.PERSONAL_DATA,
+            Utils.LEGAL_PROFESSIONAL_PRIVILEGE, Utils.LEGAL, Utils.MARKET_SENSITIVE, Utils.COMMERCIAL,
+            Utils.HR_MANAGEMENT);
+
+    private static final int PRODUCTION_MODE = 0x01;
+    private static final int UK_PREFIX = 0x02;
+    private static final int SENSITIVE = 0x04;
+
+    private static final SecurityClassification[] SECURITY_CLASSIFICATIONS = SecurityClassification.values();
+    private static final DevelopmentClassification[] DEVELOPMENT_CLASSIFICATIONS = DevelopmentClassification
+            .values();
+
+    private final String[] dictionary;
+    private final Map<String, Integer> references;
+
+    /**
+     * Constructor for a codec which uses only the built in dictionary.
+     */
+    public ClassificationMarkerCodec() {
+        this(List.of());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dictionary additional Strings, such as code words, which are encoded as a reference rather than in full.
+     *                   The order is significant, and must be the same when encoding and decoding. May be empty, may
+     *                   not be null.
+     */
+    public ClassificationMarkerCodec(Collection<String> dictionary) {
+        Objects.requireNonNull(dictionary);
+        List<String> entries = new ArrayList<>(BUILT_IN_DICTIONARY);
+        entries.addAll(dictionary);
+        this.dictionary = entries.toArray(new String[0]);
+        this.references = new HashMap<>();
+        for (int i = 0; i < this.dictionary.length; i++) {
+            // the first occurrence of a duplicated entry is used.
+            this.references.putIfAbsent(Objects.requireNonNull(this.dictionary[i]), i + 1);
+        }
+    }
+
+    /**
+     * Writes the encoded form of the given {@link ClassificationMarker} into the {@code buffer}, starting at its
+     * current position.
+     * <p>
+     * If the {@code buffer} does not have enough space remaining, its position is restored to where it was before
+     * this call, and a {@link BufferOverflowException} is thrown.
+     *
+     * @param marker the {@link ClassificationMarker} to encode. May not be null.
+     * @param buffer the {@link ByteBuffer} to write into. May not be null.
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if the marker does not fit in the remaining space of the buffer.
+     */
+    public int encode(ClassificationMarker marker, ByteBuffer buffer) {
+        Objects.requireNonNull(marker);
+        Objects.requireNonNull(buffer);
+        int start = buffer.position();
+        try {
+            boolean productionMode = ClassificationConfig.productionMode();
+            int flags = productionMode ? PRODUCTION_MODE : 0;
+            if (marker.ukPrefix())
+                flags |= UK_PREFIX;
+            if (marker.sensitive())
+                flags |= SENSITIVE;
+
+            buffer.put(VERSION);
+            buffer.put((byte) flags);
+            buffer.put((byte) classificationOrdinal(marker.classification(), productionMode));
+            putStrings(marker.handlingInstructions(), buffer);
+            putStrings(marker.descriptors(), buffer);
+            putStrings(marker.codeWords(), buffer);
+            putStrings(marker.eyesOnly(), buffer);
+            putStrings(marker.additionalInstructions(), buffer);
+        } catch (BufferOverflowException boe) {
+            buffer.position(start);
+            throw boe;
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * Encodes the given {@link ClassificationMarker} into a new, exactly sized, byte array.
+     *
+     * @param marker the {@link ClassificationMarker} to encode. May not be null.
+     * @return the encoded form of the marker.
+     */
+    public byte[] encode(ClassificationMarker marker) {
+        byte[] bytes = new byte[encodedLength(marker)];
+        encode(marker, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Calculates the number of bytes {@code encode()} will write for the given {@link ClassificationMarker}.
+     *
+     * @param marker the {@link ClassificationMarker} to measure. May not be null.
+     * @return the length in bytes of the encoded form of the marker.
+     */
+    public int encodedLength(ClassificationMarker marker) {
+        Objects.requireNonNull(marker);
+        // version, flags and classification.
+        return 3 + stringsLength(marker.handlingInstructions()) + stringsLength(marker.descriptors())
+                + stringsLength(marker.codeWords()) + stringsLength(marker.eyesOnly())
+                + stringsLength(marker.additionalInstructions());
+    }
+
+    /**
+     * Reads an encoded {@link ClassificationMarker} from the {@code buffer}, starting at its current position. On
+     * return the position of the {@code buffer} is immediately after the encoded marker.
+     *
+     * @param buffer the {@link ByteBuffer} to read from. May not be null.
+     * @return the decoded {@link ClassificationMarker}.
+     * @throws IllegalArgumentException if the buffer does not contain a valid encoded marker, or the marker was
+     *                                  encoded in a different production mode.
+     */
+    public ClassificationMarker decode(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported encoded ClassificationMarker version: " + version);
+            }
+            int flags = buffer.get();
+            boolean productionMode = ClassificationConfig.productionMode();
+            if (((flags & PRODUCTION_MODE) != 0) != productionMode) {
+                throw new IllegalArgumentException(
+                        "Encoded ClassificationMarker production mode does not match configured production mode: "
+                                + productionMode);
+            }
+            Classification classification = classification(buffer.get(), productionMode);
+            List<String> handlingInstructions = getStrings(buffer);
+            List<String> descriptors = getStrings(buffer);
+            List<String> codeWords = getStrings(buffer);
+            List<String> eyesOnly = getStrings(buffer);
+            List<String> additionalInstructions = getStrings(buffer);
+            return new ClassificationMarker((flags & UK_PREFIX) != 0, classification, (flags & SENSITIVE) != 0,
+                    handlingInstructions, descriptors, codeWords, eyesOnly, additionalInstructions);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("Invalid encoded ClassificationMarker", e);
+        }
+    }
+
+    /**
+     * Decodes the given bytes as a {@link ClassificationMarker}.
+     *
+     * @param bytes the encoded form of a marker. May not be null.
+     * @return the decoded {@link ClassificationMarker}.
+     * @throws IllegalArgumentException if the bytes are not a valid encoded marker, or the marker was encoded in a
+     *                                  different production mode.
+     */
+    public ClassificationMarker decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    private static int classificationOrdinal(Classification classification, boolean productionMode) {
+        if (productionMode) {
+            return SecurityClassification.valueOf(classification.classificationName()).ordinal();
+        }
+        return DevelopmentClassification.valueOf(classification.classificationName()).ordinal();
+    }
+
+    private static Classification classification(int ordinal, boolean productionMode) {
+        if (productionMode) {
+            return new Classification(SECURITY_CLASSIFICATIONS[ordinal].name());
+        }
+        return new Classification(DEVELOPMENT_CLASSIFICATIONS[ordinal].name());
+    }
+
+    private void putStrings(List<String> values, ByteBuffer buffer) {
+        putVarint(values.size(), buffer);
+        for (String value : values) {
+            Integer reference = references.get(value);
+            if (reference != null) {
+                putVarint(reference, buffer);
+            } else {
+                buffer.put((byte) 0);
+                putVarint(ClassificationMarkerRenderer.utf8Length(value), buffer);
+                ClassificationMarkerRenderer.putText(value, buffer);
+            }
+        }
+    }
+
+    private int stringsLength(List<String> values) {
+        int length = varintLength(values.size());
+        for (String value : values) {
+            Integer reference = references.get(value);
+            if (reference != null) {
+                length += varintLength(reference);
+            } else {
+                int utf8Length = ClassificationMarkerRenderer.utf8Length(value);
+                length += 1 + varintLength(utf8Length) + utf8Length;
+            }
+        }
+        return length;
+    }
+
+    private List<String> getStrings(ByteBuffer buffer) {
+        int count = getCount(buffer);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(getString(buffer));
+        }
+        return values;
+    }
+
+    private String getString(ByteBuffer buffer) {
+        int reference = getVarint(buffer);
+        if (reference > 0) {
+            return dictionary[reference - 1];
+        }
+        int length = getCount(buffer);
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a count, which can never be more than the number of bytes remaining, so that corrupt input can not cause
+     * excessive allocation.
+     */
+    private static int getCount(ByteBuffer buffer) {
+        int count = getVarint(buffer);
+        if (count > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid encoded count: " + count);
+        }
+        return count;
+    }
+
+    static void putVarint(int value, ByteBuffer buffer) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid encoded varint");
+    }
+
+    static int varintLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,290 @@
+package io.github.trquinn76.classification.uk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+import io.github.trquinn76.classification.uk.model.DevelopmentClassification;
+import io.github.trquinn76.classification.uk.model.SecurityClassification;
+
+/**
+ * Parses the text form of a {@link ClassificationMarker}, as produced by its {@code toString()} function, back into a
+ * {@link ClassificationMarker}.
+ * <p>
+ * The first line of the text is expected to be made of, in order:
+ * <ul>
+ * <li>optionally, the {@code UK} prefix.</li>
+ * <li>the {@link Classification}, for the configured mode, followed by the configured sensitive mark if it is
+ * SENSITIVE.</li>
+ * <li>optionally, a {@code " - "} section of Handling Instructions.</li>
+ * <li>optionally, a {@code " - "} section of Descriptors.</li>
+ * <li>optionally, a {@code " - "} section of space separated code words.</li>
+ * <li>optionally, a {@code " - "} section of '/' separated countries, followed by {@code EYES ONLY}.</li>
+ * </ul>
+ * Any following lines are Additional Instructions.
+ * <p>
+ * The text form does not name its sections, so Handling Instructions and Descriptors are only recognised when they are
+ * the values defined in {@link Utils}. A section of any other words is read as code words. The organisations of an
+ * ORGANISATION USE ONLY Handling Instruction are read as single words, as the text form does not separate them.
+ * <p>
+ * The parsed marker is validated by the {@link ClassificationMarkerBuilder}. A {@link ClassificationMarkerParser} is
+ * immutable, and may be shared between threads.
+ */
+public final class ClassificationMarkerParser {
+
+    private static final String PREFIX = Utils.UK + " ";
+    private static final String SEPARATOR = " - ";
+    private static final Pattern SECTIONS = Pattern.compile(SEPARATOR, Pattern.LITERAL);
+    private static final String EYES_ONLY = " EYES ONLY";
+    private static final Vocabulary<SecurityClassification> SECURITY_CLASSIFICATIONS = Vocabulary
+            .of(SecurityClassification.class, Object::toString);
+    private static final Vocabulary<DevelopmentClassification> DEVELOPMENT_CLASSIFICATIONS = Vocabulary
+            .of(DevelopmentClassification.class, Object::toString);
+
+    // the known phrases, split into words.
+    private static final List<String[]> HANDLING_INSTRUCTIONS = words(Utils.FOR_PUBLIC_RELEASE, Utils.RECIPIENTS_ONLY,
+            Utils.HMG_USE_ONLY, Utils.EMBARGOED);
+    private static final List<String[]> DESCRIPTORS = words(Utils.LEGAL_PROFESSIONAL_PRIVILEGE, Utils.MARKET_SENSITIVE,
+            Utils.PERSONAL_DATA, Utils.HR_MANAGEMENT, Utils.COMMERCIAL, Utils.LEGAL);
+    private static final String[] USE_ONLY = Utils.USE_ONLY.split(" ");
+
+    /**
+     * Parses the given text.
+     *
+     * @param text the text form of a {@link ClassificationMarker}. May not be null.
+     * @return the {@link ClassificationMarker}.
+     * @throws IllegalArgumentException if the text is not a valid {@link ClassificationMarker}.
+     */
+    public ClassificationMarker parse(String text) {
+        Objects.requireNonNull(text);
+        List<String> report = new ArrayList<>();
+        ClassificationMarkerBuilder builder = read(text, report);
+        Instrumentation.parsed(report.isEmpty());
+        if (!report.isEmpty()) {
+            throw new IllegalArgumentException("Unable to parse \"" + text + "\" as a ClassificationMarker: "
+                    + String.join(" ", report));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses the given text, without raising an exception if it is not valid.
+     *
+     * @param text the text form of a {@link ClassificationMarker}. May not be null.
+     * @return the {@link ClassificationMarker}, or empty if the text is not a valid {@link ClassificationMarker}.
+     */
+    public Optional<ClassificationMarker> tryParse(String text) {
+        Objects.requireNonNull(text);
+        List<String> report = new ArrayList<>();
+        ClassificationMarkerBuilder builder = read(text, report);
+        Instrumentation.parsed(report.isEmpty());
+        return report.isEmpty() ? Optional.of(builder.build()) : Optional.empty();
+    }
+
+    /**
+     * Reads the text into a {@link ClassificationMarkerBuilder}, adding any problems found to the report. The builder
+     * may only be built if the report is empty.
+     */
+    private static ClassificationMarkerBuilder read(String text, List<String> report) {
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        String[] lines = text.strip().split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            if (!lines[i].isBlank()) {
+                builder.addAdditionalInstruction(lines[i].strip());
+            }
+        }
+
+        String line = lines[0].strip();
+        if (line.startsWith(PREFIX)) {
+            builder.ukPrefix();
+            line = line.substring(PREFIX.length());
+        }
+
+        int end = readClassification(line, builder);
+        if (end < 0) {
+            report.add("No Classification found.");
+            return builder;
+        }
+        String rest = line.substring(end);
+        if (!rest.isEmpty() && !readSections(rest, builder, report)) {
+            return builder;
+        }
+        report.addAll(builder.isValid());
+        return builder;
+    }
+
+    /**
+     * Reads the longest Classification, and any sensitive mark, at the start of the line.
+     *
+     * @return the end of the Classification and sensitive mark, or -1 if no Classification was found.
+     */
+    private static int readClassification(String line, ClassificationMarkerBuilder builder) {
+        Vocabulary<?> classifications = ClassificationConfig.productionMode() ? SECURITY_CLASSIFICATIONS
+                : DEVELOPMENT_CLASSIFICATIONS;
+
+        String sensitiveMark = ClassificationConfig.sensitiveMark();
+        for (int length : classifications.lengths()) {
+            Enum<?> classification = length <= line.length() ? classifications.get(line, 0, length) : null;
+            if (classification == null) {
+                continue;
+            }
+            boolean marked = line.startsWith(sensitiveMark, length);
+            int end = marked ? length + sensitiveMark.length() : length;
+            if (end == line.length() || line.startsWith(SEPARATOR, end)) {
+                builder.setClassification(new Classification(classification.name()));
+                builder.setSensitiveMark(marked);
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the {@code " - "} sections after the Classification. Sections must appear in the order Handling
+     * Instructions, Descriptors, code words and then Eyes Only, and any may be left out.
+     */
+    private static boolean readSections(String text, ClassificationMarkerBuilder builder, List<String> report) {
+        String[] sections = SECTIONS.split(text.substring(SEPARATOR.length()), -1);
+        int last = sections.length - 1;
+        if (sections[last].endsWith(EYES_ONLY)) {
+            String countries = sections[last].substring(0, sections[last].length() - EYES_ONLY.length());
+            for (String country : countries.split("/", -1)) {
+                if (country.isBlank()) {
+                    report.add("Empty Eyes Only country.");
+                    return false;
+                }
+                builder.addEyesOnlyCountry(canonicalCountry(country));
+            }
+            last--;
+        }
+
+        // 0 for Handling Instructions, 1 for Descriptors and 2 for code words.
+        int kind = 0;
+        for (int i = 0; i <= last; i++) {
+            String section = sections[i];
+            if (section.isBlank()) {
+                report.add("Empty section.");
+                return false;
+            }
+            if (kind == 0 && readHandlingInstructions(section, builder)) {
+                kind = 1;
+            } else if (kind <= 1 && readDescriptors(section, builder)) {
+                kind = 2;
+            } else if (kind <= 2) {
+                for (String codeWord : section.split(" ")) {
+                    if (codeWord.isEmpty()) {
+                        report.add("Empty code word.");
+                        return false;
+                    }
+                    builder.addCodeWord(codeWord);
+                }
+                kind = 3;
+            } else {
+                report.add("Unexpected section: \"" + section + "\".");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the section as Handling Instructions, if every word belongs to one. Words which do not belong to a
+     * Handling Instruction are Organisations, if they are followed by {@code USE ONLY}.
+     */
+    private static boolean readHandlingInstructions(String section, ClassificationMarkerBuilder builder) {
+        List<String> instructions = new ArrayList<>();
+        List<String> organisations = new ArrayList<>();
+        boolean useOnly = false;
+        List<String> pending = new ArrayList<>();
+        String[] words = section.split(" ");
+        int i = 0;
+        while (i < words.length) {
+            String[] instruction = phraseAt(words, i, HANDLING_INSTRUCTIONS);
+            if (instruction != null) {
+                if (!pending.isEmpty()) {
+                    return false;
+                }
+                instructions.add(String.join(" ", instruction));
+                i += instruction.length;
+            } else if (!pending.isEmpty() && phraseMatches(words, i, USE_ONLY)) {
+                if (useOnly) {
+                    return false;
+                }
+                useOnly = true;
+                organisations.addAll(pending);
+                pending.clear();
+                i += USE_ONLY.length;
+            } else {
+                pending.add(words[i]);
+                i++;
+            }
+        }
+        if (!pending.isEmpty()) {
+            return false;
+        }
+        instructions.forEach(builder::addHandlingInstruction);
+        if (useOnly) {
+            builder.useOnly(organisations.toArray(String[]::new));
+        }
+        return true;
+    }
+
+    /**
+     * Reads the section as Descriptors, if every word belongs to one.
+     */
+    private static boolean readDescriptors(String section, ClassificationMarkerBuilder builder) {
+        List<String> descriptors = new ArrayList<>();
+        String[] words = section.split(" ");
+        int i = 0;
+        while (i < words.length) {
+            String[] descriptor = phraseAt(words, i, DESCRIPTORS);
+            if (descriptor == null) {
+                return false;
+            }
+            descriptors.add(String.join(" ", descriptor));
+            i += descriptor.length;
+        }
+        descriptors.forEach(builder::addDescriptor);
+        return true;
+    }
+
+    /**
+     * @return the first of the phrases which the words start with at the given index, or null.
+     */
+    private static String[] phraseAt(String[] words, int index, List<String[]> phrases) {
+        for (String[] phrase : phrases) {
+            if (phraseMatches(words, index, phrase)) {
+                return phrase;
+            }
+        }
+        return null;
+    }
+
+    private static boolean phraseMatches(String[] words, int index, String[] phraseWords) {
+        if (index + phraseWords.length > words.length) {
+            return false;
+        }
+        for (int i = 0; i < phraseWords.length; i++) {
+            if (!phraseWords[i].equals(words[index + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String[]> words(String... phrases) {
+        return Arrays.stream(phrases).map(phrase -> phrase.split(" ")).toList();
+    }
+
+    /**
+     * The eyes only order compares 'UK' by identity, so it is replaced by the {@link Utils} constant.
+     */
+    private static String canonicalCountry(String country) {
+        return Utils.UK.equals(country) ? Utils.UK : country;
+    }
+}
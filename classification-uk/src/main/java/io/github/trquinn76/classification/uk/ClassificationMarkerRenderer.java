@@ -0,0 +1,228 @@
+package io.github.trquinn76.classification.uk;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+import io.github.trquinn76.classification.uk.model.DevelopmentClassification;
+import io.github.trquinn76.classification.uk.model.SecurityClassification;
+
+/**
+ * Renders {@link ClassificationMarker}'s directly as UTF-8 bytes.
+ * <p>
+ * The bytes written are exactly those of {@code marker.toString().getBytes(StandardCharsets.UTF_8)}, but are written
+ * straight into a caller supplied {@link ByteBuffer}, such as a network or file output buffer, without first creating
+ * the intermediate String. The {@link Classification} texts are encoded once, when this class is loaded, so that only
+ * free text values such as handling instructions, code words and countries need to be encoded per call.
+ */
+public final class ClassificationMarkerRenderer {
+
+    private static final byte SPACE = ' ';
+    private static final byte SLASH = '/';
+    private static final byte NEWLINE = '\n';
+    private static final byte[] UK_PREFIX = "UK ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARATOR = " -".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EYES_ONLY = " EYES ONLY".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[][] SECURITY_CLASSIFICATIONS = encode(SecurityClassification.values());
+    private static final byte[][] DEVELOPMENT_CLASSIFICATIONS = encode(DevelopmentClassification.values());
+
+    /**
+     * Writes the UTF-8 form of the given {@link ClassificationMarker} into the {@code buffer}, starting at its
+     * current position.
+     * <p>
+     * If the {@code buffer} does not have enough space remaining, its position is restored to where it was before
+     * this call, and a {@link BufferOverflowException} is thrown. {@code renderedLength()} may be used to size the
+     * buffer beforehand.
+     *
+     * @param marker the {@link ClassificationMarker} to render. May not be null.
+     * @param buffer the {@link ByteBuffer} to write into. May not be null.
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if the marker does not fit in the remaining space of the buffer.
+     */
+    public static int render(ClassificationMarker marker, ByteBuffer buffer) {
+        Objects.requireNonNull(marker);
+        Objects.requireNonNull(buffer);
+        int start = buffer.position();
+        try {
+            if (marker.ukPrefix()) {
+                buffer.put(UK_PREFIX);
+            }
+            buffer.put(classificationBytes(marker.classification()));
+            if (marker.sensitive()) {
+                putText(ClassificationConfig.sensitiveMark(), buffer);
+            }
+
+            if (!marker.handlingInstructions().isEmpty()) {
+                buffer.put(SEPARATOR);
+                for (String instruction : marker.handlingInstructions()) {
+                    buffer.put(SPACE);
+                    putText(handlingInstructionText(instruction), buffer);
+                }
+            }
+            putSection(marker.descriptors(), buffer);
+            putSection(marker.codeWords(), buffer);
+
+            if (!marker.eyesOnly().isEmpty()) {
+                buffer.put(SEPARATOR).put(SPACE);
+                List<String> eyesOnly = marker.eyesOnly();
+                for (int i = 0; i < eyesOnly.size(); i++) {
+                    if (i > 0)
+                        buffer.put(SLASH);
+                    putText(eyesOnly.get(i), buffer);
+                }
+                buffer.put(EYES_ONLY);
+            }
+
+            for (String instruction : marker.additionalInstructions()) {
+                buffer.put(NEWLINE);
+                putText(instruction, buffer);
+            }
+        } catch (BufferOverflowException boe) {
+            buffer.position(start);
+            throw boe;
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * Calculates the number of bytes {@code render()} will write for the given {@link ClassificationMarker}.
+     *
+     * @param marker the {@link ClassificationMarker} to measure. May not be null.
+     * @return the length in bytes of the UTF-8 form of the marker.
+     */
+    public static int renderedLength(ClassificationMarker marker) {
+        Objects.requireNonNull(marker);
+        int length = marker.ukPrefix() ? UK_PREFIX.length : 0;
+        length += classificationBytes(marker.classification()).length;
+        if (marker.sensitive()) {
+            length += utf8Length(ClassificationConfig.sensitiveMark());
+        }
+
+        if (!marker.handlingInstructions().isEmpty()) {
+            length += SEPARATOR.length;
+            for (String instruction : marker.handlingInstructions()) {
+                length += 1 + utf8Length(handlingInstructionText(instruction));
+            }
+        }
+        length += sectionLength(marker.descriptors());
+        length += sectionLength(marker.codeWords());
+
+        if (!marker.eyesOnly().isEmpty()) {
+            // the separating slashes, less one, plus the space after the separator.
+            length += SEPARATOR.length + marker.eyesOnly().size() + EYES_ONLY.length;
+            for (String country : marker.eyesOnly()) {
+                length += utf8Length(country);
+            }
+        }
+
+        for (String instruction : marker.additionalInstructions()) {
+            length += 1 + utf8Length(instruction);
+        }
+        return length;
+    }
+
+    /**
+     * Renders the given {@link ClassificationMarker} into a new, exactly sized, byte array.
+     *
+     * @param marker the {@link ClassificationMarker} to render. May not be null.
+     * @return the UTF-8 bytes of the marker.
+     */
+    public static byte[] toBytes(ClassificationMarker marker) {
+        byte[] bytes = new byte[renderedLength(marker)];
+        render(marker, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    private static String handlingInstructionText(String instruction) {
+        // organisation USE ONLY instructions are rendered without the commas separating the organisations.
+        if (Utils.endsInOrganisationUseOnly(instruction)) {
+            return instruction.replace(",", "");
+        }
+        return instruction;
+    }
+
+    private static void putSection(List<String> words, ByteBuffer buffer) {
+        if (!words.isEmpty()) {
+            buffer.put(SEPARATOR);
+            for (String word : words) {
+                buffer.put(SPACE);
+                putText(word, buffer);
+            }
+        }
+    }
+
+    private static int sectionLength(List<String> words) {
+        if (words.isEmpty()) {
+            return 0;
+        }
+        int length = SEPARATOR.length;
+        for (String word : words) {
+            length += 1 + utf8Length(word);
+        }
+        return length;
+    }
+
+    private static byte[] classificationBytes(Classification classification) {
+        if (ClassificationConfig.productionMode()) {
+            return SECURITY_CLASSIFICATIONS[SecurityClassification.valueOf(classification.classificationName())
+                    .ordinal()];
+        }
+        return DEVELOPMENT_CLASSIFICATIONS[DevelopmentClassification.valueOf(classification.classificationName())
+                .ordinal()];
+    }
+
+    /**
+     * Writes the given text as UTF-8. ASCII characters are written directly, and only text containing other
+     * characters falls back to the {@link String} encoder.
+     */
+    static void putText(String text, ByteBuffer buffer) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                buffer.put(text.substring(i).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    static int utf8Length(String text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    // 4 bytes for the 2 chars of the pair.
+                    bytes += 2;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    // unpaired surrogates are replaced with a single '?'.
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static byte[][] encode(Enum<?>[] values) {
+        byte[][] encoded = new byte[values.length][];
+        for (Enum<?> value : values) {
+            encoded[value.ordinal()] = value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    private ClassificationMarkerRenderer() {
+    }
+}
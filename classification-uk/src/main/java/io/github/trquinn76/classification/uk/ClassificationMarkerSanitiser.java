@@ -0,0 +1,140 @@
+package io.github.trquinn76.classification.uk;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * Filters items labelled with {@link ClassificationMarker}'s down to those which may be released at a target
+ * {@link Classification} ceiling, and optionally to a foreign country.
+ * <p>
+ * A {@link ClassificationMarker} is permitted when:
+ * <ul>
+ * <li>its {@link Classification} is no higher than the ceiling.</li>
+ * <li>if the target country is a foreign country, and it has Eyes Only countries, they name the target country or
+ * {@link Utils#FIVE} and the target country is one of the Five Eyes.</li>
+ * </ul>
+ * The SENSITIVE mark does not change the {@link Classification}, so {@code OFFICIAL-SENSITIVE} markers are permitted
+ * by an {@code OFFICIAL} ceiling.
+ * <p>
+ * Labelled data typically carries a small number of distinct markers, so the verdict for each distinct marker is
+ * computed once and held in a bounded map, making the cost of each item a single lookup. The map is cleared when it
+ * reaches its maximum size. Items without a marker are never permitted.
+ * <p>
+ * A {@link ClassificationMarkerSanitiser} may be shared between threads. The verdicts depend on the configured mode,
+ * so a new {@link ClassificationMarkerSanitiser} should be created if the configuration is changed.
+ */
+public final class ClassificationMarkerSanitiser {
+
+    /**
+     * The maximum number of verdicts held by default.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private static final String GBR = "GBR";
+    private static final Set<String> FIVE_EYES = Set.of("AUS", "CAN", GBR, "NZL", "USA");
+
+    private final Classification ceiling;
+    private final String country;
+    private final int maximumSize;
+    private final ConcurrentHashMap<ClassificationMarker, Boolean> verdicts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param ceiling the highest {@link Classification} to permit. May not be null.
+     * @param country the three letter code of the country items are released to, or null if they stay in the
+     *                UK.
+     */
+    public ClassificationMarkerSanitiser(Classification ceiling, String country) {
+        this(ceiling, country, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ceiling     the highest {@link Classification} to permit. May not be null.
+     * @param country     the three letter code of the country items are released to, or null if they stay in
+     *                    UK.
+     * @param maximumSize the maximum number of verdicts to hold. Must be positive.
+     */
+    public ClassificationMarkerSanitiser(Classification ceiling, String country, int maximumSize) {
+        Objects.requireNonNull(ceiling);
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.ceiling = ceiling;
+        this.country = Utils.UK.equals(country) || GBR.equals(country) ? null : country;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Decides whether an item with the given {@link ClassificationMarker} may be released.
+     *
+     * @param marker the {@link ClassificationMarker}. May be null, in which case the item is not permitted.
+     * @return true if the item may be released.
+     */
+    public boolean permits(ClassificationMarker marker) {
+        if (marker == null) {
+            return false;
+        }
+        Boolean verdict = this.verdicts.get(marker);
+        if (verdict == null) {
+            verdict = verdict(marker);
+            if (this.verdicts.size() >= this.maximumSize) {
+                this.verdicts.clear();
+            }
+            this.verdicts.putIfAbsent(marker, verdict);
+        }
+        return verdict;
+    }
+
+    /**
+     * Filters a {@link Stream} of labelled items. The returned {@link Stream} is lazy, and may be parallel.
+     *
+     * @param <T>      the item type.
+     * @param items    the items to filter. May not be null.
+     * @param markerOf provides the {@link ClassificationMarker} of an item. May not be null.
+     * @return a {@link Stream} of the permitted items, in order.
+     */
+    public <T> Stream<T> sanitise(Stream<T> items, Function<? super T, ClassificationMarker> markerOf) {
+        Objects.requireNonNull(items);
+        Objects.requireNonNull(markerOf);
+        return items.filter(item -> permits(markerOf.apply(item)));
+    }
+
+    /**
+     * Filters an {@link Iterator} of labelled items. The returned {@link Iterator} is lazy, and does not support
+     * removal.
+     *
+     * @param <T>      the item type.
+     * @param items    the items to filter. May not be null.
+     * @param markerOf provides the {@link ClassificationMarker} of an item. May not be null.
+     * @return an {@link Iterator} of the permitted items, in order.
+     */
+    public <T> Iterator<T> sanitise(Iterator<T> items, Function<? super T, ClassificationMarker> markerOf) {
+        Objects.requireNonNull(items);
+        return sanitise(StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false),
+                markerOf).iterator();
+    }
+
+    private boolean verdict(ClassificationMarker marker) {
+        if (marker.classification().compareTo(this.ceiling) > 0) {
+            return false;
+        }
+        if (this.country == null || marker.eyesOnly().isEmpty()) {
+            return true;
+        }
+        return marker.eyesOnly().contains(this.country)
+                || (marker.eyesOnly().contains(Utils.FIVE) && FIVE_EYES.contains(this.country));
+    }
+}
@@ -0,0 +1,195 @@
+package io.github.trquinn76.classification.uk;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * Folds {@link ClassificationMarker}'s into their high water mark one at a time, as {@link Utils#merge(Collection)}
+ * does, so the markers need not be collected first.
+ * <p>
+ * The merge of two collections is the merge of their merges, so {@link #addAll(HighWaterMarkAccumulator)} combines
+ * the accumulators of separate collections without revisiting their markers. Adding a {@link ClassificationMarker}
+ * again changes nothing.
+ * <p>
+ * A {@link HighWaterMarkAccumulator} is not thread safe.
+ */
+final class HighWaterMarkAccumulator {
+
+    // the Five Eyes countries which FIVE stands for, by the names an Eyes Only list may give them.
+    private static final Map<String, String> FIVE_EYES = Map.of(Utils.UK, Utils.UK, "GBR", Utils.UK, "US", "USA",
+            "USA", "USA", "AUS", "AUS", "CAN", "CAN", "NZ", "NZL", "NZL", "NZL");
+    private static final int FIVE_EYES_COUNTRIES = 5;
+
+    private Classification classification = null;
+    private boolean sensitive = false;
+    private boolean ukPrefix = false;
+    private boolean relEu = true;
+    private final Set<String> additionalInstructions = new HashSet<>();
+    private final Set<String> descriptors = new HashSet<>();
+    private final Set<String> codeWords = new HashSet<>();
+    private final Set<String> handlingInstructions = new HashSet<>();
+    // null until a USE ONLY instruction is added, as no organisation is excluded before then.
+    private Set<String> useOnlyOrganisations = null;
+    // null until an Eyes Only list is added, as no country is excluded before then. FIVE is kept while every list
+    // names it, and otherwise stands for the Five Eyes countries named by the other lists.
+    private Set<String> eyesOnly = null;
+
+    /**
+     * Adds a {@link ClassificationMarker} to the high water mark.
+     *
+     * @param marker the {@link ClassificationMarker} to add. May not be null.
+     */
+    void add(ClassificationMarker marker) {
+        Objects.requireNonNull(marker);
+        raiseClassification(marker.classification(), marker.sensitive());
+        this.ukPrefix |= marker.ukPrefix();
+        this.relEu &= marker.additionalInstructions().contains(Utils.REL_EU);
+        this.additionalInstructions.addAll(marker.additionalInstructions());
+        this.descriptors.addAll(marker.descriptors());
+        this.codeWords.addAll(marker.codeWords());
+        // the builder separates the organisations from a USE ONLY instruction.
+        ClassificationMarkerBuilder handling = new ClassificationMarkerBuilder(marker);
+        Set<String> instructions = handling.getHandlingInstructions();
+        this.handlingInstructions.addAll(instructions);
+        if (instructions.contains(Utils.USE_ONLY)) {
+            this.useOnlyOrganisations = intersect(this.useOnlyOrganisations, handling.getUseOnlyOrganisations());
+        }
+        if (!marker.eyesOnly().isEmpty()) {
+            this.eyesOnly = intersectEyesOnly(this.eyesOnly, marker.eyesOnly());
+        }
+    }
+
+    /**
+     * Adds the high water mark of another {@link HighWaterMarkAccumulator} to this one.
+     *
+     * @param other the {@link HighWaterMarkAccumulator} to add. May not be null.
+     */
+    void addAll(HighWaterMarkAccumulator other) {
+        if (other.isEmpty()) {
+            return;
+        }
+        raiseClassification(other.classification, other.sensitive);
+        this.ukPrefix |= other.ukPrefix;
+        this.relEu &= other.relEu;
+        this.additionalInstructions.addAll(other.additionalInstructions);
+        this.descriptors.addAll(other.descriptors);
+        this.codeWords.addAll(other.codeWords);
+        this.handlingInstructions.addAll(other.handlingInstructions);
+        if (other.useOnlyOrganisations != null) {
+            this.useOnlyOrganisations = intersect(this.useOnlyOrganisations, other.useOnlyOrganisations);
+        }
+        if (other.eyesOnly != null) {
+            this.eyesOnly = intersectEyesOnly(this.eyesOnly, other.eyesOnly);
+        }
+    }
+
+    /**
+     * @return true if no {@link ClassificationMarker} has been added.
+     */
+    boolean isEmpty() {
+        return this.classification == null;
+    }
+
+    /**
+     * @return the highest {@link Classification} added, or null if no {@link ClassificationMarker} has been added.
+     */
+    Classification classification() {
+        return this.classification;
+    }
+
+    /**
+     * @return a new {@link ClassificationMarkerBuilder} representing the high water mark, as
+     *         {@link Utils#merge(Collection)} describes, or null if no {@link ClassificationMarker} has been added.
+     */
+    ClassificationMarkerBuilder merged() {
+        if (isEmpty()) {
+            return null;
+        }
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder().setClassification(this.classification)
+                .setSensitiveMark(this.sensitive);
+        if (this.ukPrefix) {
+            builder.ukPrefix();
+        }
+        this.additionalInstructions.forEach(builder::addAdditionalInstruction);
+        if (!this.relEu) {
+            builder.removeRelEu();
+        }
+        this.descriptors.forEach(builder::addDescriptor);
+        this.codeWords.forEach(builder::addCodeWord);
+        this.handlingInstructions.forEach(builder::addHandlingInstruction);
+        if (this.useOnlyOrganisations != null) {
+            builder.setUseOnlyOrganisations(this.useOnlyOrganisations);
+        }
+        if (this.eyesOnly != null) {
+            if (this.eyesOnly.isEmpty()) {
+                builder.ukEyesOnly();
+            } else {
+                builder.setEyesOnly(collapseFiveEyes(this.eyesOnly));
+            }
+        }
+        return builder;
+    }
+
+    private void raiseClassification(Classification classification, boolean sensitive) {
+        int order = this.classification == null ? -1 : this.classification.compareTo(classification);
+        if (order < 0) {
+            this.classification = classification;
+            this.sensitive = sensitive;
+        } else if (order == 0) {
+            // SENSITIVE applies if any marker of the highest Classification is.
+            this.sensitive |= sensitive;
+        }
+    }
+
+    private static Set<String> intersectEyesOnly(Set<String> current, Collection<String> values) {
+        if (current == null) {
+            return new HashSet<>(values);
+        }
+        boolean currentFive = current.contains(Utils.FIVE);
+        Set<String> intersection = new HashSet<>();
+        for (String country : values) {
+            if (current.contains(country) || (currentFive && FIVE_EYES.containsKey(country))) {
+                intersection.add(country);
+            }
+        }
+        if (values.contains(Utils.FIVE)) {
+            for (String country : current) {
+                if (FIVE_EYES.containsKey(country)) {
+                    intersection.add(country);
+                }
+            }
+        }
+        return intersection;
+    }
+
+    private static Set<String> collapseFiveEyes(Set<String> eyesOnly) {
+        Set<String> countries = new HashSet<>();
+        for (String country : eyesOnly) {
+            String fiveEyesCountry = FIVE_EYES.get(country);
+            if (fiveEyesCountry != null) {
+                countries.add(fiveEyesCountry);
+            }
+        }
+        if (countries.size() < FIVE_EYES_COUNTRIES) {
+            return eyesOnly;
+        }
+        Set<String> collapsed = new HashSet<>(eyesOnly);
+        collapsed.removeAll(FIVE_EYES.keySet());
+        collapsed.add(Utils.FIVE);
+        return collapsed;
+    }
+
+    private static Set<String> intersect(Set<String> current, Collection<String> values) {
+        if (current == null) {
+            return new HashSet<>(values);
+        }
+        current.retainAll(values);
+        return current;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.trquinn76.classification.uk;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The build of a {@link io.github.trquinn76.classification.uk.model.ClassificationMarker} by a
+ * {@link ClassificationMarkerBuilder}.
+ */
+@Name("io.github.trquinn76.classification.uk.MarkerBuild")
+@Label("Marker Build")
+@Category({ "Classification", "UK" })
+@StackTrace(false)
+final class MarkerBuildEvent extends Event {
+
+    @Label("Classification")
+    String classification;
+
+    @Label("Valid")
+    @Description("False if the builder was not in a valid state.")
+    boolean valid;
+}
@@ -0,0 +1,195 @@
+package io.github.trquinn76.classification.uk;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+import io.github.trquinn76.classification.uk.model.DevelopmentClassification;
+import io.github.trquinn76.classification.uk.model.SecurityClassification;
+
+/**
+ * A 128 bit fingerprint of a {@link ClassificationMarker}, for keying markers in distributed caches and deduplicating
+ * stores.
+ * <p>
+ * The fingerprint is the {@code MurmurHash3_x64_128} of a canonical encoding of the marker, so that it is the same in
+ * every JVM, and unlike {@link ClassificationMarker#hashCode()} may be stored and shared. The canonical encoding is:
+ * <ul>
+ * <li>the scheme, {@code UK}, and the version of the canonical encoding, currently {@value #VERSION}.</li>
+ * <li>whether the UK prefix is shown.</li>
+ * <li>the {@link SecurityClassification} name of the Classification. A development Classification is written as the
+ * production Classification of the same level, so fingerprints do not change between production and development
+ * mode.</li>
+ * <li>whether the marker is SENSITIVE.</li>
+ * <li>the handling instructions, descriptors, code words, eyes only list and additional instructions.</li>
+ * </ul>
+ * Strings are written in full rather than through a dictionary, so that a {@link ClassificationMarkerCodec} dictionary
+ * does not change a fingerprint. Strings are written as their length, as an unsigned variable length integer, and
+ * UTF-8 bytes, and lists as their count and each String. The encoding only changes with its version, and a new version
+ * is expected to change every fingerprint.
+ * <p>
+ * Equal markers always have equal fingerprints.
+ * {@link ClassificationMarkerInterner#fingerprint(ClassificationMarker)} computes the fingerprint of each interned
+ * marker once.
+ *
+ * @param high the high 64 bits, {@code h1} of MurmurHash3.
+ * @param low  the low 64 bits, {@code h2} of MurmurHash3.
+ */
+public record MarkerFingerprint(long high, long low) {
+
+    /**
+     * The version of the canonical encoding fingerprinted.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * The number of bytes in a fingerprint.
+     */
+    public static final int BYTES = 16;
+
+    private static final byte[] SCHEME = "UK".getBytes(StandardCharsets.US_ASCII);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * The production Classification name of each development Classification name.
+     */
+    private static final Map<String, String> PRODUCTION_NAMES = productionNames();
+
+    /**
+     * Computes the fingerprint of a {@link ClassificationMarker}.
+     *
+     * @param marker the {@link ClassificationMarker}. May not be null.
+     * @return the fingerprint of the marker.
+     */
+    public static MarkerFingerprint of(ClassificationMarker marker) {
+        Objects.requireNonNull(marker);
+        Canonical out = new Canonical();
+        out.putBytes(SCHEME);
+        out.put(VERSION);
+        out.put(marker.ukPrefix() ? 1 : 0);
+        String name = marker.classification().classificationName();
+        out.putString(PRODUCTION_NAMES.getOrDefault(name, name));
+        out.put(marker.sensitive() ? 1 : 0);
+        out.putStrings(marker.handlingInstructions());
+        out.putStrings(marker.descriptors());
+        out.putStrings(marker.codeWords());
+        out.putStrings(marker.eyesOnly());
+        out.putStrings(marker.additionalInstructions());
+        return MurmurHash3.hash128(out.bytes, out.length);
+    }
+
+    /**
+     * Reads a fingerprint from the bytes written by {@link #toBytes()}.
+     *
+     * @param bytes {@value #BYTES} bytes. May not be null.
+     * @return the fingerprint.
+     * @throws IllegalArgumentException if there are not {@value #BYTES} bytes.
+     */
+    public static MarkerFingerprint fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("A MarkerFingerprint is " + BYTES + " bytes, not " + bytes.length);
+        }
+        return new MarkerFingerprint(getLong(bytes, 0), getLong(bytes, 8));
+    }
+
+    /**
+     * Reads a fingerprint from the text written by {@link #toString()}.
+     *
+     * @param text 32 hexadecimal digits. May not be null.
+     * @return the fingerprint.
+     * @throws IllegalArgumentException if the text is not 32 hexadecimal digits.
+     */
+    public static MarkerFingerprint fromString(String text) {
+        if (text.length() != BYTES * 2) {
+            throw new IllegalArgumentException("A MarkerFingerprint is " + BYTES * 2 + " hexadecimal digits: " + text);
+        }
+        return fromBytes(HEX.parseHex(text));
+    }
+
+    /**
+     * @return the fingerprint as {@value #BYTES} bytes, the high bits first, each half in big endian order.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (this.high >>> (56 - i * 8));
+            bytes[i + 8] = (byte) (this.low >>> (56 - i * 8));
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the fingerprint as 32 lower case hexadecimal digits, the high bits first.
+     */
+    @Override
+    public String toString() {
+        return HEX.toHexDigits(this.high) + HEX.toHexDigits(this.low);
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    private static Map<String, String> productionNames() {
+        Map<String, String> names = new HashMap<>();
+        SecurityClassification[] production = SecurityClassification.values();
+        for (DevelopmentClassification development : DevelopmentClassification.values()) {
+            names.put(development.name(), production[development.ordinal()].name());
+        }
+        return Map.copyOf(names);
+    }
+
+    /**
+     * A growable buffer holding a canonical encoding.
+     */
+    private static final class Canonical {
+
+        private byte[] bytes = new byte[64];
+        private int length;
+
+        void put(int value) {
+            if (this.length == this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, this.length * 2);
+            }
+            this.bytes[this.length++] = (byte) value;
+        }
+
+        void putBytes(byte[] values) {
+            if (this.length + values.length > this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.length + values.length, this.length * 2));
+            }
+            System.arraycopy(values, 0, this.bytes, this.length, values.length);
+            this.length += values.length;
+        }
+
+        void putVarint(int value) {
+            while ((value & ~0x7f) != 0) {
+                put((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            put(value);
+        }
+
+        void putString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(utf8.length);
+            putBytes(utf8);
+        }
+
+        void putStrings(List<String> values) {
+            putVarint(values.size());
+            for (String value : values) {
+                putString(value);
+            }
+        }
+    }
+}
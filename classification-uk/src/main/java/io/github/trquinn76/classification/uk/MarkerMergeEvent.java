@@ -0,0 +1,25 @@
+package io.github.trquinn76.classification.uk;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The merge of {@link io.github.trquinn76.classification.uk.model.ClassificationMarker}'s by {@link Utils}.
+ */
+@Name("io.github.trquinn76.classification.uk.MarkerMerge")
+@Label("Marker Merge")
+@Category({ "Classification", "UK" })
+@StackTrace(false)
+final class MarkerMergeEvent extends Event {
+
+    @Label("Marker Count")
+    int markerCount;
+
+    @Label("Classification")
+    @Description("The merged Classification, if any.")
+    String classification;
+}
@@ -0,0 +1,28 @@
+package io.github.trquinn76.classification.uk;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A {@link ClassificationMarkerBuilder} which could not build, as it was not in a valid state.
+ */
+@Name("io.github.trquinn76.classification.uk.MarkerValidationFailed")
+@Label("Marker Validation Failed")
+@Category({ "Classification", "UK" })
+@StackTrace(false)
+final class MarkerValidationFailedEvent extends Event {
+
+    @Label("Rules")
+    @Description("The validation rules which failed.")
+    String rules;
+
+    @Label("Problems")
+    String problems;
+
+    @Label("Problem Count")
+    int problemCount;
+}
@@ -0,0 +1,101 @@
+package io.github.trquinn76.classification.uk;
+
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+/**
+ * An unmodifiable Set view of a sorted, immutable List taken from a {@link ClassificationMarker}.
+ * <p>
+ * A {@link ClassificationMarkerBuilder} seeded from a {@link ClassificationMarker} holds its lists in these views,
+ * sharing them with the marker, and only copies a list into a {@link TreeSet} when the field is first modified.
+ * Unmodified lists are then passed back to the built marker by reference.
+ */
+final class SharedListSet extends AbstractSet<String> {
+
+    private final List<String> list;
+    private final Comparator<String> order;
+
+    private SharedListSet(List<String> list, Comparator<String> order) {
+        this.list = list;
+        this.order = order;
+    }
+
+    /**
+     * Provides a Set holding the values of the given List. The List is shared when it is already in the given order
+     * without duplicates, as a builder would have produced it, and copied otherwise.
+     *
+     * @param list  an immutable List. May not be null.
+     * @param order the order of the Set.
+     * @return a {@link SharedListSet} over the List, or a {@link TreeSet} copy of it.
+     */
+    static Set<String> of(List<String> list, Comparator<String> order) {
+        for (int i = 1; i < list.size(); i++) {
+            if (order.compare(list.get(i - 1), list.get(i)) >= 0) {
+                TreeSet<String> copy = new TreeSet<>(order);
+                copy.addAll(list);
+                return copy;
+            }
+        }
+        return new SharedListSet(list, order);
+    }
+
+    /**
+     * Provides a Set which may be modified, copying the given Set if it is shared.
+     *
+     * @param set a Set held by a builder.
+     * @return the given Set, or a {@link TreeSet} copy of it if it is a {@link SharedListSet}.
+     */
+    static Set<String> writable(Set<String> set) {
+        if (set instanceof SharedListSet shared) {
+            TreeSet<String> copy = new TreeSet<>(shared.order);
+            copy.addAll(shared.list);
+            return copy;
+        }
+        return set;
+    }
+
+    /**
+     * Provides an empty Set which may be modified, without copying the given Set if it is shared.
+     *
+     * @param set a Set held by a builder.
+     * @return the given Set cleared, or a new empty {@link TreeSet} in the same order if it is a {@link SharedListSet}.
+     */
+    static Set<String> cleared(Set<String> set) {
+        if (set instanceof SharedListSet shared) {
+            return new TreeSet<>(shared.order);
+        }
+        set.clear();
+        return set;
+    }
+
+    /**
+     * Provides the values of the given Set as an immutable List.
+     *
+     * @param set a Set held by a builder.
+     * @return the shared List if the Set is a {@link SharedListSet}, or a copy of the Set otherwise.
+     */
+    static List<String> list(Set<String> set) {
+        return set instanceof SharedListSet shared ? shared.list : List.copyOf(set);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return this.list.iterator();
+    }
+
+    @Override
+    public int size() {
+        return this.list.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return this.list.contains(o);
+    }
+}
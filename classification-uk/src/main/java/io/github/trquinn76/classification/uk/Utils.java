@@ -1,6 +1,10 @@
 package io.github.trquinn76.classification.uk;
 
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Objects;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
 
 /**
  * Utility functions and constants for the Classification scheme.
@@ -64,6 +68,47 @@ public class Utils {
         return str.endsWith(Utils.USE_ONLY) && !str.endsWith(Utils.HMG_USE_ONLY);
     }
 
+    /**
+     * Merges the {@code Collection} of {@link ClassificationMarker}'s into a single
+     * {@link ClassificationMarkerBuilder}, which represents their high water mark.
+     * <p>
+     * The returned {@link ClassificationMarkerBuilder} will have:
+     * <ul>
+     * <li>the UK Prefix if any {@link ClassificationMarker} has it, and REL EU only
+     * if every {@link ClassificationMarker} has it.</li>
+     * <li>the highest Classification, which is SENSITIVE if any
+     * {@link ClassificationMarker} of that Classification is.</li>
+     * <li>every Handling Instruction, with only the organisations named by every
+     * {@code USE ONLY} instruction.</li>
+     * <li>every Descriptor, Code Word and Additional Instruction.</li>
+     * <li>an Eyes Only list of the countries named by every Eyes Only list, where
+     * FIVE names each of the Five Eyes countries, or UK alone if no country is
+     * named by every list. The list is FIVE again if all five countries
+     * remain.</li>
+     * </ul>
+     * The returned {@link ClassificationMarkerBuilder} may be in an invalid state,
+     * and may need additional changes to be able to build a valid
+     * {@link ClassificationMarker}.
+     * <p>
+     * If the {@code Collection} is empty, this function will return null.
+     * 
+     * @param classificationMarkers the {@code Collection} of
+     *                              {@link ClassificationMarker}'s to merge. May not
+     *                              be null. May be empty.
+     * @return a {@link ClassificationMarkerBuilder} which represents the merging of
+     *         the given {@link ClassificationMarker}'s. Will be null if the
+     *         {@code Collection} is empty.
+     */
+    public static ClassificationMarkerBuilder merge(Collection<ClassificationMarker> classificationMarkers) {
+        Objects.requireNonNull(classificationMarkers);
+        MarkerMergeEvent event = new MarkerMergeEvent();
+        event.begin();
+        HighWaterMarkAccumulator accumulator = new HighWaterMarkAccumulator();
+        classificationMarkers.forEach(accumulator::add);
+        Instrumentation.merged(event, classificationMarkers.size(), accumulator.classification());
+        return accumulator.merged();
+    }
+
     private Utils() {
     }
 }
@@ -1,5 +1,9 @@
 package io.github.trquinn76.classification.uk.model;
 
+import java.util.Objects;
+
+import io.github.trquinn76.classification.uk.Vocabulary;
+
 /**
  * The {@link Classification}'s as defined in the UK Government Security
  * Classification Policy.
@@ -16,6 +20,9 @@ public enum SecurityClassification {
     TOP_SECRET("TOP SECRET");
     // @formatter:on
 
+    private static final Vocabulary<SecurityClassification> TEXTS = Vocabulary.of(SecurityClassification.class,
+            Object::toString);
+
     private final String text;
 
     private SecurityClassification(String text) {
@@ -32,4 +39,31 @@ public enum SecurityClassification {
     public String toString() {
         return this.text;
     }
+
+    /**
+     * Maps from a String back to a {@link SecurityClassification}.
+     * 
+     * @param text the text to map.
+     * @return the {@link SecurityClassification} for which the given text equals the result of the
+     *         {@code toString()} function.
+     * @throws IllegalArgumentException if the given String does not map to any {@link SecurityClassification}.
+     */
+    public static SecurityClassification fromString(String text) {
+        Objects.requireNonNull(text);
+        SecurityClassification value = TEXTS.get(text);
+        if (value != null) {
+            return value;
+        }
+        throw new IllegalArgumentException("Unable to map string \"" + text + "\" to a SecurityClassification");
+    }
+
+    /**
+     * Returns true if the given text will map to a {@link SecurityClassification}.
+     * 
+     * @param text the text to check for a matching {@link SecurityClassification}.
+     * @return true if the text will map to a {@link SecurityClassification}. false otherwise.
+     */
+    public static boolean isString(String text) {
+        return TEXTS.contains(text);
+    }
 }
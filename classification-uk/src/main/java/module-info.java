@@ -3,7 +3,10 @@
  */
 open module io.github.trquinn76.classification.uk {
     requires java.logging;
+    requires jdk.jfr;
 
     exports io.github.trquinn76.classification.uk;
     exports io.github.trquinn76.classification.uk.model;
+
+    uses io.github.trquinn76.classification.uk.MarkerMetrics;
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class ClassificationContextTest {
+
+    private static final ClassificationContext PRODUCTION = ClassificationContext.of(true,
+            ClassificationConfig.ALPHABETICAL);
+    private static final ClassificationContext DEVELOPMENT = ClassificationContext.of(false,
+            ClassificationConfig.UKFIRST);
+
+    @AfterEach
+    void afterEach() {
+        ClassificationConfig.reset();
+    }
+
+    @Test
+    void defaultContextTest() {
+        assertNull(ClassificationContext.bound());
+        assertEquals(ClassificationContext.defaultContext(), ClassificationContext.current());
+        assertFalse(ClassificationContext.current().productionMode());
+        assertEquals(ClassificationConfig.eyesOnlyOrder(), ClassificationContext.current().eyesOnlyOrder());
+        assertThrows(IllegalArgumentException.class, () -> ClassificationContext.of(true, "nzlfirst"));
+    }
+
+    @Test
+    void boundContextTest() {
+        PRODUCTION.run(() -> {
+            assertSame(PRODUCTION, ClassificationContext.current());
+            assertTrue(ClassificationConfig.productionMode());
+            assertEquals(Utils.ALPHABETICAL, ClassificationConfig.eyesOnlyOrder());
+            assertEquals("SECRET", Classification.secret().classificationName());
+            DEVELOPMENT.run(() -> {
+                assertEquals("DEVELOPMENT_SECRET", Classification.secret().classificationName());
+                assertEquals(Utils.UK_FIRST, ClassificationConfig.eyesOnlyOrder());
+            });
+            assertEquals("SECRET", Classification.secret().classificationName());
+        });
+        assertFalse(ClassificationConfig.productionMode());
+        assertEquals(ClassificationContext.defaultContext().eyesOnlyOrder(),
+            ClassificationConfig.eyesOnlyOrder());
+        assertNull(ClassificationContext.bound());
+    }
+
+    @Test
+    void restoredOnExceptionTest() {
+        assertThrows(IllegalStateException.class, () -> PRODUCTION.run(() -> {
+            throw new IllegalStateException();
+        }));
+        assertNull(ClassificationContext.bound());
+        assertFalse(ClassificationConfig.productionMode());
+    }
+
+    @Test
+    void parseAndRenderTest() {
+        ClassificationMarkerParser parser = new ClassificationMarkerParser();
+        ClassificationMarker production = PRODUCTION.get(() -> parser.parse("SECRET - AAA"));
+        assertEquals("SECRET", production.classification().classificationName());
+        assertEquals("SECRET - AAA", PRODUCTION.get(production::toString));
+        assertArrayEquals(PRODUCTION.get(() -> production.toString().getBytes()),
+                PRODUCTION.get(() -> ClassificationMarkerRenderer.toBytes(production)));
+        ClassificationMarkerCodec codec = new ClassificationMarkerCodec();
+        byte[] encoded = PRODUCTION.get(() -> codec.encode(production));
+        // equality of Classifications also follows the context.
+        assertTrue(PRODUCTION.get(() -> production.equals(codec.decode(encoded))));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(encoded));
+
+        ClassificationMarker development = parser.parse("Development-SECRET - AAA");
+        assertEquals("Development-SECRET - AAA", development.toString());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("SECRET - AAA"));
+    }
+
+    @Test
+    void concurrentTenantsTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch latch = new CountDownLatch(2);
+            Future<String> production = executor.submit(() -> PRODUCTION.get(() -> awaitSecret(latch)));
+            Future<String> development = executor.submit(() -> DEVELOPMENT.get(() -> awaitSecret(latch)));
+            assertEquals("SECRET", production.get());
+            assertEquals("DEVELOPMENT_SECRET", development.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void sharedInternerTest() {
+        ClassificationMarkerInterner interner = new ClassificationMarkerInterner(16);
+        assertEquals("SECRET", PRODUCTION.get(() -> interner.classification("SECRET")).classificationName());
+        assertEquals("DEVELOPMENT_SECRET", interner.classification("DEVELOPMENT_SECRET").classificationName());
+        assertThrows(IllegalArgumentException.class, () -> interner.classification("SECRET"));
+    }
+
+    private static String awaitSecret(CountDownLatch latch) {
+        // both tasks hold their contexts at the same time.
+        latch.countDown();
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Classification.secret().classificationName();
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class ClassificationMarkerCodecTest {
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void roundTripTest() {
+        ClassificationMarkerCodec codec = new ClassificationMarkerCodec(List.of("AAA"));
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        List<ClassificationMarker> markers = List.of(
+                builder.official().build(),
+                builder.clear().officialSensitive().recipientsOnly().personalData().build(),
+                builder.clear().secret().useOnly("ALPHA", "BETA").codeWords("AAA", "BBB").ukEyesOnly()
+                        .addEyesOnlyCountry("US").build(),
+                builder.clear().ukPrefix().topSecret().fiveEyesOnly().additionalInstructions("Handle with care",
+                        "Ne pas copier à la main").build());
+
+        for (ClassificationMarker marker : markers) {
+            byte[] encoded = codec.encode(marker);
+            assertEquals(encoded.length, codec.encodedLength(marker));
+            ClassificationMarker decoded = codec.decode(encoded);
+            assertEquals(marker, decoded);
+            assertEquals(marker.toString(), decoded.toString());
+        }
+    }
+
+    @Test
+    void ukInstanceTest() {
+        ClassificationMarker marker = new ClassificationMarkerBuilder().secret().ukEyesOnly().addEyesOnlyCountry("AUS")
+                .build();
+        ClassificationMarkerCodec codec = new ClassificationMarkerCodec();
+        ClassificationMarker decoded = codec.decode(codec.encode(marker));
+        assertTrue(decoded.eyesOnly().contains(Utils.UK));
+        assertTrue(decoded.eyesOnly().stream().anyMatch(eyesOnly -> eyesOnly == Utils.UK));
+    }
+
+    @Test
+    void smallerThanJsonTest() throws JsonProcessingException {
+        ClassificationMarker marker = new ClassificationMarkerBuilder().ukPrefix().secret().useOnly("ALPHA", "BETA")
+                .codeWords("AAA", "BBB").fiveEyesOnly().build();
+        byte[] json = new ObjectMapper().writeValueAsBytes(marker);
+        byte[] encoded = new ClassificationMarkerCodec().encode(marker);
+        byte[] withDictionary = new ClassificationMarkerCodec(List.of("AAA", "BBB")).encode(marker);
+
+        assertTrue(encoded.length * 5 < json.length, encoded.length + " vs " + json.length);
+        // each dictionary code word is a single byte reference, rather than 5 bytes.
+        assertEquals(encoded.length - 8, withDictionary.length);
+    }
+
+    @Test
+    void sharedBufferTest() {
+        ClassificationMarkerCodec codec = new ClassificationMarkerCodec();
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        ClassificationMarker first = builder.secret().codeWords("AAA").build();
+        ClassificationMarker second = builder.clear().officialSensitive().personalData().build();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        codec.encode(first, buffer);
+        codec.encode(second, buffer);
+        buffer.flip();
+        assertEquals(first, codec.decode(buffer));
+        assertEquals(second, codec.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void overflowRestoresPositionTest() {
+        ClassificationMarker marker = new ClassificationMarkerBuilder().secret().codeWords("AAAAAAAAAAAAAAAAAAAA")
+                .build();
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) 1);
+        assertThrows(BufferOverflowException.class, () -> new ClassificationMarkerCodec().encode(marker, buffer));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    void invalidInputTest() {
+        ClassificationMarkerCodec codec = new ClassificationMarkerCodec();
+        byte[] encoded = codec.encode(new ClassificationMarkerBuilder().secret().codeWords("AAA").build());
+
+        byte[] wrongVersion = encoded.clone();
+        wrongVersion[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(wrongVersion));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(Arrays.copyOf(encoded, encoded.length - 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode("not a marker".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void productionModeMismatchTest() {
+        byte[] encoded = new ClassificationMarkerCodec().encode(new ClassificationMarkerBuilder().secret().build());
+
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        assertThrows(IllegalArgumentException.class, () -> new ClassificationMarkerCodec().decode(encoded));
+
+        ClassificationMarker marker = new ClassificationMarkerBuilder().secret().build();
+        ClassificationMarkerCodec codec = new ClassificationMarkerCodec();
+        assertEquals(marker, codec.decode(codec.encode(marker)));
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.DevelopmentClassification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class ClassificationMarkerInternerTest {
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void internMarkerTest() {
+        ClassificationMarkerInterner interner = new ClassificationMarkerInterner(16);
+        ClassificationMarker first = new ClassificationMarkerBuilder().secret().eyesOnly("UK", "US").build();
+        ClassificationMarker second = new ClassificationMarkerBuilder().secret().eyesOnly("US", "UK").build();
+        assertNotSame(first, second);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void internStringTest() {
+        ClassificationMarkerInterner interner = new ClassificationMarkerInterner(16);
+        String first = new String("AAA");
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(new String("AAA")));
+    }
+
+    @Test
+    void classificationTest() {
+        ClassificationMarkerInterner interner = new ClassificationMarkerInterner(16);
+        Classification secret = interner.classification(DevelopmentClassification.DEVELOPMENT_SECRET.name());
+        assertEquals(Classification.secret(), secret);
+        assertSame(secret, interner.classification(DevelopmentClassification.DEVELOPMENT_SECRET.name()));
+        assertThrows(IllegalArgumentException.class, () -> interner.classification("SECRET"));
+
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        assertEquals(Classification.secret(), interner.classification("SECRET"));
+        assertThrows(IllegalArgumentException.class,
+                () -> interner.classification(DevelopmentClassification.DEVELOPMENT_SECRET.name()));
+    }
+
+    @Test
+    void boundedTest() {
+        ClassificationMarkerInterner interner = new ClassificationMarkerInterner(2);
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        interner.intern(builder.official().build());
+        interner.intern(builder.officialSensitive().build());
+        interner.intern(builder.secret().build());
+        assertTrue(interner.size() <= 2);
+
+        assertThrows(IllegalArgumentException.class, () -> new ClassificationMarkerInterner(0));
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class ClassificationMarkerParserTest {
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void toStringRoundTripTest() {
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        List<ClassificationMarker> markers = List.of(
+                builder.official().build(),
+                builder.clear().officialSensitive().recipientsOnly().personalData().legal().build(),
+                builder.clear().official().useOnly("MOD", "FCDO").hmgUseOnly().commercial().build(),
+                builder.clear().secret().embargoed().codeWords("AAA", "BBB").eyesOnly("UK", "USA").build(),
+                builder.clear().ukPrefixWithRelEU().topSecret().hrManagement().fiveEyesOnly()
+                        .additionalInstructions("HANDLE WITH CARE").build(),
+                builder.clear().secret().codeWords("CCC").build());
+
+        ClassificationMarkerParser parser = new ClassificationMarkerParser();
+        for (ClassificationMarker marker : markers) {
+            assertEquals(marker, parser.parse(marker.toString()), marker.toString());
+        }
+    }
+
+    @Test
+    void unknownSectionTest() {
+        ClassificationMarker marker = new ClassificationMarkerBuilder().secret().codeWords("RECIPIENTS", "DDD")
+                .build();
+        assertEquals(marker, new ClassificationMarkerParser().parse(marker.toString()));
+    }
+
+    @Test
+    void invalidTest() {
+        ClassificationMarkerParser parser = new ClassificationMarkerParser();
+        String secret = Classification.secret().toString();
+        List<String> invalid = List.of(
+                "",
+                "NOT A MARKING",
+                secret + "X",
+                secret + " - ",
+                secret + " - AAA - BBB",
+                secret + " - AAA - PERSONAL DATA",
+                secret + " - USA EYES ONLY",
+                secret + " - UK/ EYES ONLY",
+                Classification.official() + " - AAA - UK EYES ONLY");
+
+        for (String text : invalid) {
+            assertEquals(Optional.empty(), parser.tryParse(text), text);
+            assertThrows(IllegalArgumentException.class, () -> parser.parse(text), text);
+        }
+    }
+
+    @Test
+    void productionModeTest() {
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        ClassificationMarkerParser parser = new ClassificationMarkerParser();
+        assertEquals(new ClassificationMarkerBuilder().officialSensitive().build(),
+                parser.parse("OFFICIAL-SENSITIVE"));
+        assertEquals(new ClassificationMarkerBuilder().ukPrefix().topSecret().codeWords("AAA").ukEyesOnly().build(),
+                parser.parse("UK TOP SECRET - AAA - UK EYES ONLY"));
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class ClassificationMarkerRendererTest {
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void matchesToStringTest() {
+        ClassificationMarkerBuilder builder = new ClassificationMarkerBuilder();
+        List<ClassificationMarker> markers = List.of(
+                builder.official().build(),
+                builder.clear().officialSensitive().recipientsOnly().personalData().build(),
+                builder.clear().secret().useOnly("ALPHA", "BETA").codeWords("AAA", "BBB").ukEyesOnly()
+                        .addEyesOnlyCountry("US").build(),
+                builder.clear().ukPrefix().topSecret().fiveEyesOnly().additionalInstructions("Handle with care",
+                        "Do not copy").build());
+
+        for (ClassificationMarker marker : markers) {
+            byte[] expected = marker.toString().getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expected, ClassificationMarkerRenderer.toBytes(marker), marker.toString());
+            assertEquals(expected.length, ClassificationMarkerRenderer.renderedLength(marker));
+        }
+    }
+
+    @Test
+    void productionModeTest() {
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationMarker marker = new ClassificationMarkerBuilder().officialSensitive().build();
+        assertEquals("OFFICIAL-SENSITIVE",
+                new String(ClassificationMarkerRenderer.toBytes(marker), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void nonAsciiTest() {
+        ClassificationMarker marker = new ClassificationMarkerBuilder().secret().codeWords("ÉCLAIR", "😀")
+                .additionalInstructions("Café only").build();
+        byte[] expected = marker.toString().getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, ClassificationMarkerRenderer.toBytes(marker));
+        assertEquals(expected.length, ClassificationMarkerRenderer.renderedLength(marker));
+    }
+
+    @Test
+    void overflowRestoresPositionTest() {
+        ClassificationMarker marker = new ClassificationMarkerBuilder().secret().fiveEyesOnly().build();
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) 1);
+        assertThrows(BufferOverflowException.class, () -> ClassificationMarkerRenderer.render(marker, buffer));
+        assertEquals(1, buffer.position());
+    }
+}
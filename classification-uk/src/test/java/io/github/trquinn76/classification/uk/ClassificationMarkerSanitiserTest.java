@@ -0,0 +1,92 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.model.Classification;
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class ClassificationMarkerSanitiserTest {
+
+    private final ClassificationMarker sensitive = new ClassificationMarkerBuilder().officialSensitive().build();
+    private final ClassificationMarker secret = new ClassificationMarkerBuilder().secret().build();
+    private final ClassificationMarker secretEyes = new ClassificationMarkerBuilder().secret().eyesOnly("UK", "AUS")
+            .build();
+    private final ClassificationMarker secretFive = new ClassificationMarkerBuilder().secret().fiveEyesOnly().build();
+    private final ClassificationMarker topSecretUk = new ClassificationMarkerBuilder().topSecret().ukEyesOnly().build();
+
+    @AfterEach
+    void afterEach() {
+        // ensure modified config is reverted even if test fails.
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    @Test
+    void ceilingTest() {
+        ClassificationMarkerSanitiser sanitiser = new ClassificationMarkerSanitiser(Classification.official(), null);
+        assertTrue(sanitiser.permits(sensitive));
+        assertFalse(sanitiser.permits(secret));
+        assertFalse(sanitiser.permits(null));
+
+        // the UK is not a foreign country.
+        sanitiser = new ClassificationMarkerSanitiser(Classification.topSecret(), Utils.UK);
+        assertTrue(sanitiser.permits(secretEyes));
+        assertTrue(sanitiser.permits(topSecretUk));
+        sanitiser = new ClassificationMarkerSanitiser(Classification.topSecret(), "GBR");
+        assertTrue(sanitiser.permits(topSecretUk));
+    }
+
+    @Test
+    void releasabilityTest() {
+        ClassificationMarkerSanitiser sanitiser = new ClassificationMarkerSanitiser(Classification.topSecret(), "AUS");
+        assertTrue(sanitiser.permits(sensitive));
+        assertTrue(sanitiser.permits(secret));
+        assertTrue(sanitiser.permits(secretEyes));
+        assertTrue(sanitiser.permits(secretFive));
+        assertFalse(sanitiser.permits(topSecretUk));
+
+        sanitiser = new ClassificationMarkerSanitiser(Classification.topSecret(), "FRA");
+        assertTrue(sanitiser.permits(secret));
+        assertFalse(sanitiser.permits(secretEyes));
+        assertFalse(sanitiser.permits(secretFive));
+    }
+
+    @Test
+    void sanitiseTest() {
+        List<Map.Entry<String, ClassificationMarker>> items = List.of(Map.entry("a", sensitive), Map.entry("b", topSecretUk),
+                Map.entry("c", secretEyes), Map.entry("d", secretFive), Map.entry("e", sensitive));
+        ClassificationMarkerSanitiser sanitiser = new ClassificationMarkerSanitiser(Classification.topSecret(), "AUS",
+                2);
+
+        assertEquals(List.of("a", "c", "d", "e"),
+                sanitiser.sanitise(items.stream(), Map.Entry::getValue).map(Map.Entry::getKey).toList());
+        assertEquals(List.of("a", "c", "d", "e"), sanitiser.sanitise(items.stream().parallel(), Map.Entry::getValue)
+                .map(Map.Entry::getKey).toList());
+
+        Iterator<Map.Entry<String, ClassificationMarker>> iterator = sanitiser.sanitise(items.iterator(),
+                Map.Entry::getValue);
+        List<String> keys = new ArrayList<>();
+        iterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+        assertEquals(List.of("a", "c", "d", "e"), keys);
+    }
+
+    @Test
+    void productionModeTest() {
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        ClassificationMarkerSanitiser sanitiser = new ClassificationMarkerSanitiser(Classification.secret(), "NZL");
+        assertTrue(sanitiser.permits(new ClassificationMarkerBuilder().officialSensitive().build()));
+        assertTrue(sanitiser.permits(new ClassificationMarkerBuilder().secret().fiveEyesOnly().build()));
+        assertFalse(sanitiser.permits(new ClassificationMarkerBuilder().secret().ukEyesOnly().build()));
+        assertFalse(sanitiser.permits(new ClassificationMarkerBuilder().topSecret().fiveEyesOnly().build()));
+    }
+}
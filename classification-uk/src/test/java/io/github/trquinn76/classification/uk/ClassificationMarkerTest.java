@@ -2,8 +2,12 @@ package io.github.trquinn76.classification.uk;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 
@@ -232,4 +236,107 @@ class ClassificationMarkerTest {
         ClassificationMarkerBuilder other = new ClassificationMarkerBuilder(marker);
         assertEquals(builder, other);
     }
+
+    @Test
+    void incrementalValidationTest() {
+        List<Consumer<ClassificationMarkerBuilder>> edits = List.of(
+                builder -> builder.official(),
+                builder -> builder.setSensitiveMark(true),
+                builder -> builder.recipientsOnly(),
+                builder -> builder.forPublicRelease(),
+                builder -> builder.addHandlingInstruction(Utils.USE_ONLY),
+                builder -> builder.addUseOnlyOrganisation("MOD"),
+                builder -> builder.clearHandlingInstructions(),
+                builder -> builder.legal(),
+                builder -> builder.clearDescriptors(),
+                builder -> builder.secret(),
+                builder -> builder.topSecret(),
+                builder -> builder.addEyesOnlyCountry("AUS"),
+                builder -> builder.ukEyesOnly(),
+                builder -> builder.clearEyesOnly(),
+                builder -> builder.addRelEu(),
+                builder -> builder.setUkPrefix(true),
+                builder -> builder.clearUkPrefix(),
+                builder -> builder.clear().official());
+        Random random = new Random(42);
+        ClassificationMarkerBuilder incremental = new ClassificationMarkerBuilder().official();
+        List<Consumer<ClassificationMarkerBuilder>> applied = new ArrayList<>(List.of(edits.get(0)));
+        for (int i = 0; i < 200; i++) {
+            Consumer<ClassificationMarkerBuilder> edit = edits.get(random.nextInt(edits.size()));
+            edit.accept(incremental);
+            applied.add(edit);
+            ClassificationMarkerBuilder fresh = new ClassificationMarkerBuilder();
+            applied.forEach(replay -> replay.accept(fresh));
+            assertEquals(fresh.isValid(), incremental.isValid());
+            assertEquals(fresh.isValid(), incremental.isValid());
+        }
+    }
+
+    @Test
+    void seededBuilderSharesUnchangedPartsTest() {
+        ClassificationMarker seed = new ClassificationMarkerBuilder().ukPrefix().secret().useOnly("BBB", "AAA")
+                .embargoed().codeWords("CCC").eyesOnly("UK", "US").build();
+        assertEquals(List.of("AAA, BBB USE ONLY", "EMBARGOED"), seed.handlingInstructions());
+
+        ClassificationMarker unprefixed = new ClassificationMarkerBuilder(seed).setUkPrefix(false).build();
+        assertFalse(unprefixed.ukPrefix());
+        assertSame(seed.handlingInstructions(), unprefixed.handlingInstructions());
+        assertSame(seed.codeWords(), unprefixed.codeWords());
+        assertSame(seed.eyesOnly(), unprefixed.eyesOnly());
+
+        ClassificationMarker coded = new ClassificationMarkerBuilder(seed).addCodeWord("DDD").build();
+        assertEquals(List.of("CCC", "DDD"), coded.codeWords());
+        assertEquals(List.of("CCC"), seed.codeWords());
+        assertSame(seed.handlingInstructions(), coded.handlingInstructions());
+
+        ClassificationMarkerBuilder organisations = new ClassificationMarkerBuilder(seed).addUseOnlyOrganisation("CCC");
+        assertEquals(Set.of("AAA", "BBB", "CCC"), organisations.getUseOnlyOrganisations());
+        assertEquals(List.of("AAA, BBB, CCC USE ONLY", "EMBARGOED"), organisations.build().handlingInstructions());
+
+        // lists which a build would not have produced are copied, so the build is as before.
+        ClassificationMarker unsorted = new ClassificationMarker(false, Classification.secret(), false, EMPTY, EMPTY,
+                List.of("BBB", "AAA", "AAA"), EMPTY, EMPTY);
+        assertEquals(List.of("AAA", "BBB"), new ClassificationMarkerBuilder(unsorted).build().codeWords());
+    }
+
+    @Test
+    void seededBuilderEditsTest() {
+        Consumer<ClassificationMarkerBuilder> seedValues = builder -> builder.ukPrefixWithRelEU().secret()
+                .useOnly("BBB", "AAA").embargoed().descriptors("PERSONAL DATA").codeWords("CCC").eyesOnly("UK", "US");
+        ClassificationMarkerBuilder seedBuilder = new ClassificationMarkerBuilder();
+        seedValues.accept(seedBuilder);
+        ClassificationMarker seed = seedBuilder.build();
+        List<Consumer<ClassificationMarkerBuilder>> edits = List.of(
+                builder -> builder.topSecret(),
+                builder -> builder.official(),
+                builder -> builder.clearUkPrefix(),
+                builder -> builder.addRelEu(),
+                builder -> builder.addAdditionalInstruction("DDD"),
+                builder -> builder.clearAdditionalInstructions(),
+                builder -> builder.recipientsOnly(),
+                builder -> builder.clearHandlingInstructions(),
+                builder -> builder.addUseOnlyOrganisation("CCC"),
+                builder -> builder.clearUseOnlyOrganisations(),
+                builder -> builder.useOnly("DDD"),
+                builder -> builder.legal(),
+                builder -> builder.clearDescriptors(),
+                builder -> builder.addCodeWord("DDD"),
+                builder -> builder.clearCodeWords(),
+                builder -> builder.addEyesOnlyCountry("CAN"),
+                builder -> builder.clearEyesOnly(),
+                builder -> builder.clear().official());
+        for (Consumer<ClassificationMarkerBuilder> edit : edits) {
+            ClassificationMarkerBuilder seeded = new ClassificationMarkerBuilder(seed);
+            edit.accept(seeded);
+            ClassificationMarkerBuilder fresh = new ClassificationMarkerBuilder();
+            seedValues.andThen(edit).accept(fresh);
+            assertEquals(fresh.isValid(), seeded.isValid());
+            if (fresh.isValid().isEmpty()) {
+                assertEquals(fresh.build(), seeded.build());
+            }
+            assertEquals(fresh, seeded);
+            assertEquals(fresh.hashCode(), seeded.hashCode());
+        }
+        assertEquals(seedBuilder.build(), seed);
+    }
 }
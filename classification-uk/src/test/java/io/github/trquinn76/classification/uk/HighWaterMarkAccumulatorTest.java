@@ -0,0 +1,51 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class HighWaterMarkAccumulatorTest {
+
+    private final List<ClassificationMarker> samples = List.of(
+            new ClassificationMarkerBuilder().official().ukPrefixWithRelEU().descriptors("PERSONAL DATA").build(),
+            new ClassificationMarkerBuilder().officialSensitive().codeWords("AAA").useOnly("MOD", "FCDO").build(),
+            new ClassificationMarkerBuilder().secret().useOnly("MOD").eyesOnly("UK", "US").build(),
+            new ClassificationMarkerBuilder().secret().codeWords("BBB").eyesOnly("UK", "US", "AUS").build());
+
+    @Test
+    void emptyTest() {
+        HighWaterMarkAccumulator accumulator = new HighWaterMarkAccumulator();
+        assertTrue(accumulator.isEmpty());
+        assertNull(accumulator.classification());
+        assertNull(accumulator.merged());
+        accumulator.addAll(new HighWaterMarkAccumulator());
+        assertNull(accumulator.merged());
+    }
+
+    @Test
+    void addAllTest() {
+        // the merge of the accumulators of any split of the markers is the merge of all of them.
+        for (int split = 0; split <= samples.size(); split++) {
+            HighWaterMarkAccumulator first = new HighWaterMarkAccumulator();
+            HighWaterMarkAccumulator second = new HighWaterMarkAccumulator();
+            samples.subList(0, split).forEach(first::add);
+            samples.subList(split, samples.size()).forEach(second::add);
+            first.addAll(second);
+            assertEquals(Utils.merge(samples), first.merged());
+            assertEquals(Utils.merge(samples).getClassification(), first.classification());
+        }
+    }
+
+    @Test
+    void addAgainTest() {
+        HighWaterMarkAccumulator accumulator = new HighWaterMarkAccumulator();
+        samples.forEach(accumulator::add);
+        samples.forEach(accumulator::add);
+        accumulator.addAll(accumulator);
+        assertEquals(Utils.merge(samples), accumulator.merged());
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
+class MarkerFingerprintTest {
+
+    @AfterEach
+    void afterEach() {
+        ClassificationConfig.reset();
+        System.clearProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty());
+    }
+
+    private static ClassificationMarker sample() {
+        return new ClassificationMarkerBuilder().ukPrefix().secret().codeWords("AAA").eyesOnly("UK", "US").build();
+    }
+
+    @Test
+    void murmurHash3Test() {
+        byte[] hello = "hello".getBytes(StandardCharsets.UTF_8);
+        assertEquals(new MarkerFingerprint(0xcbd8a7b341bd9b02L, 0x5b1e906a48ae1d19L),
+                MurmurHash3.hash128(hello, hello.length));
+    }
+
+    @Test
+    void fingerprintTest() {
+        MarkerFingerprint fingerprint = MarkerFingerprint.of(sample());
+        assertEquals(fingerprint, MarkerFingerprint.of(sample()));
+        assertNotEquals(fingerprint, MarkerFingerprint.of(new ClassificationMarkerBuilder().secret().codeWords("AAA")
+                .eyesOnly("UK", "US").build()));
+        // a code word is not mistaken for an additional instruction.
+        assertNotEquals(MarkerFingerprint.of(new ClassificationMarkerBuilder().secret().codeWords("AAA").build()),
+                MarkerFingerprint.of(new ClassificationMarkerBuilder().secret().additionalInstructions("AAA").build()));
+        assertNotEquals(MarkerFingerprint.of(new ClassificationMarkerBuilder().official().build()),
+                MarkerFingerprint.of(new ClassificationMarkerBuilder().officialSensitive().build()));
+    }
+
+    @Test
+    void stableTest() {
+        // pinned, as fingerprints are shared between JVMs and releases.
+        assertEquals("13cb173dfcf84485cf67b1186fbc090b", MarkerFingerprint.of(sample()).toString());
+
+        MarkerFingerprint development = MarkerFingerprint.of(sample());
+        ClassificationConfigTest
+                .setAndWaitForSystemProperty(ClassificationConfig.PRODUCTIONMODECONFIGKEYS.cmdLineProperty(), "true");
+        ClassificationConfig.reset();
+        assertTrue(ClassificationConfig.productionMode());
+        assertEquals(development, MarkerFingerprint.of(sample()));
+    }
+
+    @Test
+    void bytesAndStringTest() {
+        MarkerFingerprint fingerprint = MarkerFingerprint.of(sample());
+        assertEquals(fingerprint, MarkerFingerprint.fromBytes(fingerprint.toBytes()));
+        assertEquals(fingerprint, MarkerFingerprint.fromString(fingerprint.toString()));
+        assertThrows(IllegalArgumentException.class, () -> MarkerFingerprint.fromBytes(new byte[17]));
+    }
+
+    @Test
+    void internerTest() {
+        ClassificationMarkerInterner interner = new ClassificationMarkerInterner(16);
+        MarkerFingerprint fingerprint = interner.fingerprint(sample());
+        assertEquals(MarkerFingerprint.of(sample()), fingerprint);
+        assertSame(fingerprint, interner.fingerprint(sample()));
+    }
+}
@@ -2,11 +2,14 @@ package io.github.trquinn76.classification.uk;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
 import org.junit.jupiter.api.Test;
 
+import io.github.trquinn76.classification.uk.model.ClassificationMarker;
+
 class UtilsTest {
 
     @Test
@@ -39,4 +42,65 @@ class UtilsTest {
         assertTrue(Utils.endsInOrganisationUseOnly(orgUseOnlyStr));
         assertFalse(Utils.endsInOrganisationUseOnly(hmgUseOnlyStr));
     }
+
+    @Test
+    void mergeClassificationTest() {
+        ClassificationMarker official = new ClassificationMarkerBuilder().official().descriptors("PERSONAL DATA")
+                .build();
+        ClassificationMarker sensitive = new ClassificationMarkerBuilder().officialSensitive().codeWords("AAA").build();
+        ClassificationMarker secret = new ClassificationMarkerBuilder().secret().build();
+        assertEquals(
+                new ClassificationMarkerBuilder().officialSensitive().descriptors("PERSONAL DATA").codeWords("AAA"),
+                Utils.merge(List.of(official, sensitive)));
+        assertEquals(new ClassificationMarkerBuilder().secret().codeWords("AAA"),
+                Utils.merge(List.of(sensitive, secret)));
+    }
+
+    @Test
+    void mergeRelEuTest() {
+        ClassificationMarker relEu = new ClassificationMarkerBuilder().official().ukPrefixWithRelEU().build();
+        ClassificationMarker ukPrefix = new ClassificationMarkerBuilder().official().ukPrefix().build();
+        assertEquals(new ClassificationMarkerBuilder().official().ukPrefixWithRelEU(),
+                Utils.merge(List.of(relEu, relEu)));
+        assertEquals(new ClassificationMarkerBuilder().official().ukPrefix(), Utils.merge(List.of(relEu, ukPrefix)));
+    }
+
+    @Test
+    void mergeUseOnlyAndEyesOnlyTest() {
+        ClassificationMarker first = new ClassificationMarkerBuilder().secret().useOnly("MOD", "FCDO")
+                .eyesOnly("UK", "US").build();
+        ClassificationMarker second = new ClassificationMarkerBuilder().secret().useOnly("MOD").eyesOnly("UK", "AUS")
+                .build();
+        ClassificationMarker five = new ClassificationMarkerBuilder().secret().fiveEyesOnly().build();
+        assertEquals(new ClassificationMarkerBuilder().secret().useOnly("MOD").ukEyesOnly(),
+                Utils.merge(List.of(first, second)));
+        assertEquals(new ClassificationMarkerBuilder().secret().useOnly("MOD", "FCDO").eyesOnly("UK", "US"),
+                Utils.merge(List.of(first, five)));
+    }
+
+    @Test
+    void mergeFiveEyesOnlyTest() {
+        ClassificationMarker five = new ClassificationMarkerBuilder().secret().fiveEyesOnly().build();
+        ClassificationMarker ukUsa = new ClassificationMarkerBuilder().secret().eyesOnly("UK", "USA").build();
+        ClassificationMarker ukNato = new ClassificationMarkerBuilder().secret().eyesOnly("UK", "NATO").build();
+        ClassificationMarker fiveEyes = new ClassificationMarkerBuilder().secret()
+                .eyesOnly("AUS", "CAN", "NZ", "UK", "US", "NATO").build();
+        // FIVE names each of the Five Eyes countries.
+        assertEquals(new ClassificationMarkerBuilder().secret().eyesOnly("UK", "USA"),
+                Utils.merge(List.of(five, ukUsa)));
+        assertEquals(new ClassificationMarkerBuilder().secret().eyesOnly("UK", "USA"),
+                Utils.merge(List.of(ukUsa, five, five)));
+        assertEquals(new ClassificationMarkerBuilder().secret().ukEyesOnly(), Utils.merge(List.of(ukNato, five)));
+        // FIVE is kept while every list names it, or all five countries remain.
+        assertEquals(new ClassificationMarkerBuilder().secret().fiveEyesOnly(), Utils.merge(List.of(five, five)));
+        assertEquals(new ClassificationMarkerBuilder().secret().fiveEyesOnly(), Utils.merge(List.of(five, fiveEyes)));
+        assertEquals(new ClassificationMarkerBuilder().secret().eyesOnly("UK", "NATO"),
+                Utils.merge(List.of(fiveEyes, ukNato)));
+    }
+
+    @Test
+    void mergeEmptyTest() {
+        assertNull(Utils.merge(List.of()));
+    }
+
 }
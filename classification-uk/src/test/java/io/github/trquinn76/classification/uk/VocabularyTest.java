@@ -0,0 +1,33 @@
+package io.github.trquinn76.classification.uk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.trquinn76.classification.uk.model.SecurityClassification;
+
+class VocabularyTest {
+
+    @Test
+    void getTest() {
+        Vocabulary<SecurityClassification> vocabulary = Vocabulary.of(SecurityClassification.class, Enum::name,
+                Object::toString);
+        assertSame(SecurityClassification.TOP_SECRET, vocabulary.get("TOP_SECRET"));
+        assertSame(SecurityClassification.TOP_SECRET, vocabulary.get("TOP SECRET"));
+        assertNull(vocabulary.get("TOP"));
+
+        String text = "UK TOP SECRET - EMBARGOED";
+        assertSame(SecurityClassification.TOP_SECRET, vocabulary.get(text, 3, 13));
+        assertSame(SecurityClassification.SECRET, vocabulary.get(text.getBytes(StandardCharsets.US_ASCII), 7, 13));
+    }
+
+    @Test
+    void reverseLookupTest() {
+        assertSame(SecurityClassification.OFFICIAL, SecurityClassification.fromString("OFFICIAL"));
+        assertTrue(SecurityClassification.isString("SECRET"));
+        assertFalse(SecurityClassification.isString("TOP_SECRET"));
+        assertThrows(IllegalArgumentException.class, () -> SecurityClassification.fromString("RESTRICTED"));
+    }
+}